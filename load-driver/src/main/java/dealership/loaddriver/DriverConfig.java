@@ -0,0 +1,302 @@
+package dealership.loaddriver;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Settings of one load run, parsed from {@code --key=value} command line arguments.
+ * <p>
+ * Every setting has a default, so {@code --base-url} is usually the only one
+ * that has to be given. Durations use the ISO-8601 form ({@code PT2M}) or a
+ * plain number of seconds.
+ * </p>
+ */
+public class DriverConfig {
+
+    private static final Set<String> KEYS = Set.of(
+            "base-url", "rate", "duration", "warmup", "workers", "timeout", "mix",
+            "login-users", "dealership-ids", "role-ids", "report", "baseline", "run-id");
+
+    private URI baseUrl = URI.create("http://localhost:8080");
+    private double rate = 100;
+    private Duration duration = Duration.ofSeconds(60);
+    private Duration warmup = Duration.ofSeconds(10);
+    private int workers = 32;
+    private Duration timeout = Duration.ofSeconds(10);
+    private WorkloadMix mix = WorkloadMix.parse(WorkloadMix.DEFAULT);
+    private List<Credentials> loginUsers = List.of(new Credentials("admin", "admin"));
+    private List<Integer> dealershipIds = List.of(1);
+    private List<Integer> roleIds = List.of(1);
+    private Path report = Path.of("load-report.txt");
+    private Path baseline;
+    private String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    /**
+     * Parses the command line.
+     *
+     * @param args {@code --key=value} arguments
+     * @return the settings
+     * @throws IllegalArgumentException if an argument is unknown or malformed
+     */
+    public static DriverConfig parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Arguments must be --key=value: " + arg);
+            }
+            String key = arg.substring(2, separator);
+            if (!KEYS.contains(key)) {
+                throw new IllegalArgumentException("Unknown argument: --" + key);
+            }
+            values.put(key, arg.substring(separator + 1));
+        }
+
+        DriverConfig config = new DriverConfig();
+        if (values.containsKey("base-url")) {
+            config.baseUrl = URI.create(stripTrailingSlash(values.get("base-url")));
+        }
+        if (values.containsKey("rate")) {
+            config.rate = Double.parseDouble(values.get("rate"));
+        }
+        if (values.containsKey("duration")) {
+            config.duration = parseDuration(values.get("duration"));
+        }
+        if (values.containsKey("warmup")) {
+            config.warmup = parseDuration(values.get("warmup"));
+        }
+        if (values.containsKey("workers")) {
+            config.workers = Integer.parseInt(values.get("workers"));
+        }
+        if (values.containsKey("timeout")) {
+            config.timeout = parseDuration(values.get("timeout"));
+        }
+        if (values.containsKey("mix")) {
+            config.mix = WorkloadMix.parse(values.get("mix"));
+        }
+        if (values.containsKey("login-users")) {
+            config.loginUsers = parseCredentials(values.get("login-users"));
+        }
+        if (values.containsKey("dealership-ids")) {
+            config.dealershipIds = parseIds(values.get("dealership-ids"));
+        }
+        if (values.containsKey("role-ids")) {
+            config.roleIds = parseIds(values.get("role-ids"));
+        }
+        if (values.containsKey("report")) {
+            config.report = Path.of(values.get("report"));
+        }
+        if (values.containsKey("baseline")) {
+            config.baseline = Path.of(values.get("baseline"));
+        }
+        if (values.containsKey("run-id")) {
+            config.runId = values.get("run-id");
+        }
+
+        if (config.rate <= 0) {
+            throw new IllegalArgumentException("--rate must be positive");
+        }
+        if (config.workers <= 0) {
+            throw new IllegalArgumentException("--workers must be positive");
+        }
+        if (config.duration.isNegative() || config.duration.isZero()) {
+            throw new IllegalArgumentException("--duration must be positive");
+        }
+        if (config.warmup.isNegative()) {
+            throw new IllegalArgumentException("--warmup must not be negative");
+        }
+        return config;
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    private static Duration parseDuration(String value) {
+        if (value.startsWith("P") || value.startsWith("p")) {
+            return Duration.parse(value);
+        }
+        return Duration.ofMillis(Math.round(Double.parseDouble(value) * 1000));
+    }
+
+    private static List<Credentials> parseCredentials(String value) {
+        List<Credentials> credentials = new ArrayList<>();
+        for (String part : value.split(",")) {
+            int separator = part.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Login users must be user:password pairs: " + part);
+            }
+            credentials.add(new Credentials(part.substring(0, separator), part.substring(separator + 1)));
+        }
+        return List.copyOf(credentials);
+    }
+
+    private static List<Integer> parseIds(String value) {
+        List<Integer> ids = new ArrayList<>();
+        for (String part : value.split(",")) {
+            ids.add(Integer.parseInt(part.trim()));
+        }
+        return List.copyOf(ids);
+    }
+
+    /**
+     * Returns the base URL of the instance under test.
+     *
+     * @return base URL without a trailing slash
+     */
+    public URI getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * Returns the target throughput over all workers.
+     *
+     * @return requests per second
+     */
+    public double getRate() {
+        return rate;
+    }
+
+    /**
+     * Returns how long requests are recorded for, after the warm-up.
+     *
+     * @return measured duration
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Returns how long requests are sent before recording starts.
+     *
+     * @return warm-up duration
+     */
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    /**
+     * Returns the number of worker threads sharing the target rate.
+     *
+     * @return worker count
+     */
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Returns the per-request timeout.
+     *
+     * @return request timeout
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Returns the operation mix.
+     *
+     * @return workload mix
+     */
+    public WorkloadMix getMix() {
+        return mix;
+    }
+
+    /**
+     * Returns the credentials logins are sent with.
+     *
+     * @return login credentials
+     */
+    public List<Credentials> getLoginUsers() {
+        return loginUsers;
+    }
+
+    /**
+     * Returns the dealership ids used for user filters and new users.
+     *
+     * @return dealership ids
+     */
+    public List<Integer> getDealershipIds() {
+        return dealershipIds;
+    }
+
+    /**
+     * Returns the role ids used for user filters and new users.
+     *
+     * @return role ids
+     */
+    public List<Integer> getRoleIds() {
+        return roleIds;
+    }
+
+    /**
+     * Returns the file the report is written to.
+     *
+     * @return report path
+     */
+    public Path getReport() {
+        return report;
+    }
+
+    /**
+     * Returns the report of an earlier run to compare against.
+     *
+     * @return baseline report path, or {@code null} when there is none
+     */
+    public Path getBaseline() {
+        return baseline;
+    }
+
+    /**
+     * Returns the id that makes the usernames created by this run unique.
+     *
+     * @return run id
+     */
+    public String getRunId() {
+        return runId;
+    }
+
+    /**
+     * Username and password of an account logins are sent for.
+     */
+    public static class Credentials {
+
+        private final String username;
+        private final String password;
+
+        /**
+         * Creates a new credentials instance.
+         *
+         * @param username username
+         * @param password plain text password
+         */
+        public Credentials(String username, String password) {
+            this.username = username;
+            this.password = password;
+        }
+
+        /**
+         * Returns the username.
+         *
+         * @return username
+         */
+        public String getUsername() {
+            return username;
+        }
+
+        /**
+         * Returns the plain text password.
+         *
+         * @return password
+         */
+        public String getPassword() {
+            return password;
+        }
+    }
+}
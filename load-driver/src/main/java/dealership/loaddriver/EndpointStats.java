@@ -0,0 +1,185 @@
+package dealership.loaddriver;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and outcome counters of one operation.
+ * <p>
+ * All workers record into the same instance: {@link Recorder} and
+ * {@link LongAdder} are safe for concurrent writers without locking.
+ * Latencies are kept in microseconds with three significant digits, and only
+ * successful (2xx) responses are recorded in the histograms; everything else
+ * is counted by outcome.
+ * </p>
+ * <p>
+ * Two latencies are kept per request. The response time is measured from the
+ * moment the request was scheduled to be sent, so a stall on the server also
+ * delays, and is charged to, every request queued behind it. The service time
+ * is measured from the moment it was actually sent and hides that queueing;
+ * the gap between the two shows how far the driver fell behind its schedule.
+ * </p>
+ */
+public class EndpointStats {
+
+    private final Recorder responseTime = new Recorder(3);
+    private final Recorder serviceTime = new Recorder(3);
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder ioErrors = new LongAdder();
+
+    /**
+     * Records a response.
+     *
+     * @param status HTTP status code
+     * @param responseNanos time from the scheduled send time to the response
+     * @param serviceNanos time from the actual send time to the response
+     */
+    public void recordResponse(int status, long responseNanos, long serviceNanos) {
+        if (status >= 200 && status < 300) {
+            ok.increment();
+            responseTime.recordValue(toMicros(responseNanos));
+            serviceTime.recordValue(toMicros(serviceNanos));
+        } else if (status == 429) {
+            rejected.increment();
+        } else if (status >= 500) {
+            serverErrors.increment();
+        } else {
+            clientErrors.increment();
+        }
+    }
+
+    /**
+     * Records a request that got no response: a timeout, refused connection or reset.
+     */
+    public void recordIoError() {
+        ioErrors.increment();
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.max(1, nanos / 1_000);
+    }
+
+    /**
+     * Returns everything recorded so far.
+     *
+     * @param operation operation the statistics belong to
+     * @return immutable snapshot
+     */
+    public Snapshot snapshot(Operation operation) {
+        return new Snapshot(operation, responseTime.getIntervalHistogram(), serviceTime.getIntervalHistogram(),
+                ok.sum(), rejected.sum(), clientErrors.sum(), serverErrors.sum(), ioErrors.sum());
+    }
+
+    /**
+     * Recorded latencies and counts of one operation at the end of a run.
+     */
+    public static class Snapshot {
+
+        private final Operation operation;
+        private final Histogram responseTime;
+        private final Histogram serviceTime;
+        private final long ok;
+        private final long rejected;
+        private final long clientErrors;
+        private final long serverErrors;
+        private final long ioErrors;
+
+        Snapshot(Operation operation, Histogram responseTime, Histogram serviceTime, long ok, long rejected,
+                 long clientErrors, long serverErrors, long ioErrors) {
+            this.operation = operation;
+            this.responseTime = responseTime;
+            this.serviceTime = serviceTime;
+            this.ok = ok;
+            this.rejected = rejected;
+            this.clientErrors = clientErrors;
+            this.serverErrors = serverErrors;
+            this.ioErrors = ioErrors;
+        }
+
+        /**
+         * Returns the operation.
+         *
+         * @return operation
+         */
+        public Operation getOperation() {
+            return operation;
+        }
+
+        /**
+         * Returns the response times, in microseconds, measured from the scheduled send time.
+         *
+         * @return response time histogram
+         */
+        public Histogram getResponseTime() {
+            return responseTime;
+        }
+
+        /**
+         * Returns the service times, in microseconds, measured from the actual send time.
+         *
+         * @return service time histogram
+         */
+        public Histogram getServiceTime() {
+            return serviceTime;
+        }
+
+        /**
+         * Returns the number of 2xx responses.
+         *
+         * @return successful responses
+         */
+        public long getOk() {
+            return ok;
+        }
+
+        /**
+         * Returns the number of 429 responses.
+         *
+         * @return rate limited responses
+         */
+        public long getRejected() {
+            return rejected;
+        }
+
+        /**
+         * Returns the number of 4xx responses other than 429.
+         *
+         * @return client error responses
+         */
+        public long getClientErrors() {
+            return clientErrors;
+        }
+
+        /**
+         * Returns the number of 5xx responses.
+         *
+         * @return server error responses
+         */
+        public long getServerErrors() {
+            return serverErrors;
+        }
+
+        /**
+         * Returns the number of requests that got no response.
+         *
+         * @return timeouts and connection errors
+         */
+        public long getIoErrors() {
+            return ioErrors;
+        }
+
+        /**
+         * Returns the number of requests sent.
+         *
+         * @return all recorded requests
+         */
+        public long getTotal() {
+            return ok + rejected + clientErrors + serverErrors + ioErrors;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package dealership.loaddriver;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+/**
+ * Command line entry point of the load driver.
+ * <p>
+ * Replays a weighted mix of logins, owner reports, user listings and user
+ * creations against a running instance at a fixed target rate, then writes a
+ * per-endpoint latency report and, given {@code --baseline}, compares it with
+ * the report of an earlier run:
+ * </p>
+ * <pre>
+ * java -jar dealership-load-driver.jar --base-url=http://localhost:8080 --rate=200 \
+ *     --duration=PT2M --warmup=PT20S --login-users=ana:secret,bea:secret \
+ *     --report=after.txt --baseline=before.txt
+ * </pre>
+ * <p>
+ * Arguments: {@code --base-url}, {@code --rate} (requests per second over all
+ * workers), {@code --duration}, {@code --warmup}, {@code --workers},
+ * {@code --timeout}, {@code --mix} (default {@value WorkloadMix#DEFAULT}),
+ * {@code --login-users}, {@code --dealership-ids}, {@code --role-ids},
+ * {@code --report}, {@code --baseline} and {@code --run-id}.
+ * </p>
+ * <p>
+ * The instance under test applies its login rate limits to the driver like to
+ * any client, so raise {@code dealership.login-rate-limit.*} there or most
+ * logins are reported as 429. User creation inserts real rows, one per
+ * request, named {@code load-<run id>-<n>}: point the driver at a disposable
+ * database. The workers block on their request, so keep
+ * {@code --workers} above the target rate times the expected worst latency or
+ * the driver itself becomes the bottleneck; late requests are still timed
+ * from their scheduled slot, so that shows up as latency rather than being hidden.
+ * </p>
+ */
+public final class LoadDriver {
+
+    private LoadDriver() {
+    }
+
+    /**
+     * Runs the driver.
+     *
+     * @param args {@code --key=value} arguments
+     * @throws IOException if the report cannot be written or the baseline read
+     * @throws InterruptedException if interrupted while the run is in progress
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        DriverConfig config;
+        try {
+            config = DriverConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        System.out.printf("Sending %.1f req/s to %s with %d workers: %s warm-up, then %s measured%n",
+                config.getRate(), config.getBaseUrl(), config.getWorkers(), config.getWarmup(), config.getDuration());
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newCachedThreadPool())
+                .build();
+        List<EndpointStats.Snapshot> snapshots = new LoadRun(config, client).run();
+
+        String report = ReportWriter.format(config, snapshots);
+        Files.writeString(config.getReport(), report, StandardCharsets.UTF_8);
+        System.out.print(report);
+        System.out.println("Report written to " + config.getReport());
+
+        if (config.getBaseline() != null) {
+            System.out.println();
+            System.out.print(ReportComparison.compare(
+                    Files.readAllLines(config.getBaseline(), StandardCharsets.UTF_8), report.lines().toList()));
+        }
+        System.exit(0);
+    }
+}
@@ -0,0 +1,121 @@
+package dealership.loaddriver;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends the workload mix at a fixed rate and records the latencies.
+ * <p>
+ * The target rate is split evenly over the worker threads. Each worker owns a
+ * fixed schedule of send times, {@code workers / rate} seconds apart and
+ * offset from the other workers, and waits for the next slot before sending.
+ * When a response is late the worker does not skip or shift the slots it
+ * missed: it sends them back to back, and each is timed from its scheduled
+ * slot. This is what keeps the percentiles honest when the server stalls —
+ * a closed loop that only times requests from when they were actually sent
+ * would leave out exactly the requests that a stall held up.
+ * </p>
+ * <p>
+ * Requests scheduled during the warm-up are sent but not recorded.
+ * </p>
+ */
+public class LoadRun {
+
+    private final DriverConfig config;
+    private final HttpClient client;
+    private final RequestFactory requests;
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+
+    /**
+     * Creates a new run.
+     *
+     * @param config run settings
+     * @param client HTTP client shared by the workers
+     */
+    public LoadRun(DriverConfig config, HttpClient client) {
+        this.config = config;
+        this.client = client;
+        this.requests = new RequestFactory(config);
+        for (Operation operation : Operation.values()) {
+            if (config.getMix().contains(operation)) {
+                stats.put(operation, new EndpointStats());
+            }
+        }
+    }
+
+    /**
+     * Runs the warm-up and the measured period, and waits for the last response.
+     *
+     * @return the recorded statistics, one entry per operation in the mix
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public List<EndpointStats.Snapshot> run() throws InterruptedException {
+        int workers = config.getWorkers();
+        long intervalNanos = Math.max(1, Math.round(1e9 * workers / config.getRate()));
+        long startNanos = System.nanoTime() + 50_000_000L;
+        long measureFromNanos = startNanos + config.getWarmup().toNanos();
+        long endNanos = measureFromNanos + config.getDuration().toNanos();
+
+        List<Thread> threads = new ArrayList<>(workers);
+        SplittableRandom seeds = new SplittableRandom();
+        for (int i = 0; i < workers; i++) {
+            long firstNanos = startNanos + intervalNanos * i / workers;
+            SplittableRandom random = seeds.split();
+            Thread thread = new Thread(() -> work(firstNanos, intervalNanos, measureFromNanos, endNanos, random),
+                    "load-worker-" + i);
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        List<EndpointStats.Snapshot> snapshots = new ArrayList<>(stats.size());
+        stats.forEach((operation, endpointStats) -> snapshots.add(endpointStats.snapshot(operation)));
+        return snapshots;
+    }
+
+    private void work(long firstNanos, long intervalNanos, long measureFromNanos, long endNanos,
+                      SplittableRandom random) {
+        Random requestRandom = new Random(random.nextLong());
+        for (long scheduledNanos = firstNanos; scheduledNanos < endNanos; scheduledNanos += intervalNanos) {
+            long now;
+            while ((now = System.nanoTime()) < scheduledNanos) {
+                LockSupport.parkNanos(scheduledNanos - now);
+            }
+
+            Operation operation = config.getMix().pick(random.nextDouble());
+            HttpRequest request = requests.create(operation, requestRandom);
+            long sentNanos = System.nanoTime();
+            int status;
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                status = -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long doneNanos = System.nanoTime();
+
+            if (scheduledNanos >= measureFromNanos) {
+                EndpointStats endpointStats = stats.get(operation);
+                if (status < 0) {
+                    endpointStats.recordIoError();
+                } else {
+                    endpointStats.recordResponse(status, doneNanos - scheduledNanos, doneNanos - sentNanos);
+                }
+            }
+        }
+    }
+}
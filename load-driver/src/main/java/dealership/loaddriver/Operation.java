@@ -0,0 +1,63 @@
+package dealership.loaddriver;
+
+/**
+ * API operations the driver can replay.
+ * <p>
+ * Each operation is reported as its own endpoint, under the name used in the
+ * workload mix and in the report.
+ * </p>
+ */
+public enum Operation {
+
+    /** {@code POST /api/auth/login} with one of the configured credentials. */
+    LOGIN("login"),
+
+    /** {@code GET /api/owner/summary}. */
+    SUMMARY("summary"),
+
+    /** {@code GET /api/owner/stock-unsold}. */
+    STOCK_UNSOLD("stock-unsold"),
+
+    /** {@code GET /api/owner/sales/by-employee}. */
+    SALES_BY_EMPLOYEE("sales-by-employee"),
+
+    /** {@code GET /api/owner/repairs/revenue-by-dealership}. */
+    REPAIR_REVENUE("repair-revenue"),
+
+    /** {@code GET /api/owner/users} with a random combination of filters. */
+    LIST_USERS("list-users"),
+
+    /** {@code POST /api/owner/users} creating a uniquely named user. */
+    CREATE_USER("create-user");
+
+    private final String reportName;
+
+    Operation(String reportName) {
+        this.reportName = reportName;
+    }
+
+    /**
+     * Returns the name used in the workload mix and in the report.
+     *
+     * @return report name
+     */
+    public String getReportName() {
+        return reportName;
+    }
+
+    /**
+     * Resolves an operation from its report name.
+     *
+     * @param reportName name used in the workload mix
+     * @return the operation
+     * @throws IllegalArgumentException if no operation has that name
+     */
+    public static Operation fromReportName(String reportName) {
+        for (Operation operation : values()) {
+            if (operation.reportName.equals(reportName)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + reportName);
+    }
+}
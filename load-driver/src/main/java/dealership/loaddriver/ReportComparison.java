@@ -0,0 +1,91 @@
+package dealership.loaddriver;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compares two reports written by {@link ReportWriter}, e.g. of two builds.
+ * <p>
+ * For every endpoint present in both reports, the throughput and the
+ * latency columns are listed side by side with their relative change.
+ * Endpoints present in only one of the reports are skipped.
+ * </p>
+ */
+public final class ReportComparison {
+
+    private static final List<String> METRICS = List.of(
+            "req/s", "resp_p50", "resp_p90", "resp_p99", "resp_p99.9", "resp_max", "svc_p50", "svc_p99");
+
+    private ReportComparison() {
+    }
+
+    /**
+     * Formats the comparison of two reports.
+     *
+     * @param baseline lines of the earlier report
+     * @param current lines of the new report
+     * @return the comparison table
+     */
+    public static String compare(List<String> baseline, List<String> current) {
+        Map<String, Map<String, String>> before = parse(baseline);
+        Map<String, Map<String, String>> after = parse(current);
+
+        StringBuilder comparison = new StringBuilder();
+        comparison.append(String.format(Locale.ROOT, "%-18s %-11s %11s %11s %9s%n",
+                "endpoint", "metric", "baseline", "current", "change"));
+        for (Map.Entry<String, Map<String, String>> row : after.entrySet()) {
+            Map<String, String> old = before.get(row.getKey());
+            if (old == null) {
+                continue;
+            }
+            for (String metric : METRICS) {
+                String was = old.getOrDefault(metric, "-");
+                String now = row.getValue().getOrDefault(metric, "-");
+                comparison.append(String.format(Locale.ROOT, "%-18s %-11s %11s %11s %9s%n",
+                        row.getKey(), metric, was, now, change(was, now)));
+            }
+        }
+        return comparison.toString();
+    }
+
+    private static String change(String was, String now) {
+        if ("-".equals(was) || "-".equals(now)) {
+            return "-";
+        }
+        double before = Double.parseDouble(was);
+        double after = Double.parseDouble(now);
+        if (before == 0) {
+            return "-";
+        }
+        return String.format(Locale.ROOT, "%+.1f%%", (after - before) * 100 / before);
+    }
+
+    /**
+     * Reads the table of a report.
+     *
+     * @param lines report lines
+     * @return column values by column name, by endpoint, in report order
+     */
+    static Map<String, Map<String, String>> parse(List<String> lines) {
+        Map<String, Map<String, String>> rows = new LinkedHashMap<>();
+        String[] header = null;
+        for (String line : lines) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] cells = line.trim().split("\\s+");
+            if (header == null) {
+                header = cells;
+                continue;
+            }
+            Map<String, String> row = new LinkedHashMap<>();
+            for (int i = 1; i < cells.length && i < header.length; i++) {
+                row.put(header[i], cells[i]);
+            }
+            rows.put(cells[0], row);
+        }
+        return rows;
+    }
+}
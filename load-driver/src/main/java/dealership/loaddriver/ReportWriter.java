@@ -0,0 +1,104 @@
+package dealership.loaddriver;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Formats the statistics of a run as a plain text report.
+ * <p>
+ * Header lines start with {@code #}; the rest is a table with one row per
+ * operation and a final {@code all} row, in fixed-width columns and a fixed
+ * order, so two reports diff line by line. Latencies are in milliseconds.
+ * {@link ReportComparison} reads the table back by column name.
+ * </p>
+ */
+public final class ReportWriter {
+
+    /** Name of the row aggregating every operation. */
+    public static final String ALL = "all";
+
+    static final String[] COLUMNS = {
+            "endpoint", "requests", "req/s", "ok", "429", "4xx", "5xx", "io",
+            "resp_p50", "resp_p90", "resp_p99", "resp_p99.9", "resp_max", "svc_p50", "svc_p99"
+    };
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private ReportWriter() {
+    }
+
+    /**
+     * Formats a report.
+     *
+     * @param config settings of the run
+     * @param snapshots recorded statistics, one per operation
+     * @return the report text
+     */
+    public static String format(DriverConfig config, List<EndpointStats.Snapshot> snapshots) {
+        StringBuilder report = new StringBuilder();
+        report.append("# dealership-api load report\n");
+        report.append("# base-url  ").append(config.getBaseUrl()).append('\n');
+        report.append(String.format(Locale.ROOT, "# rate      %.1f req/s over %d workers%n",
+                config.getRate(), config.getWorkers()));
+        report.append("# duration  ").append(config.getDuration())
+                .append(" after ").append(config.getWarmup()).append(" warm-up\n");
+        report.append("# mix       ").append(config.getMix()).append('\n');
+        report.append("# latencies in ms; resp_* from the scheduled send time (coordinated-omission corrected),")
+                .append(" svc_* from the actual send time; 2xx responses only\n");
+
+        report.append(String.format(Locale.ROOT, "%-18s", COLUMNS[0]));
+        for (int i = 1; i < COLUMNS.length; i++) {
+            report.append(String.format(Locale.ROOT, " %11s", COLUMNS[i]));
+        }
+        report.append('\n');
+
+        double seconds = config.getDuration().toNanos() / 1e9;
+        Histogram allResponse = new Histogram(3);
+        Histogram allService = new Histogram(3);
+        long[] allCounts = new long[6];
+        for (EndpointStats.Snapshot snapshot : snapshots) {
+            long[] counts = counts(snapshot);
+            appendRow(report, snapshot.getOperation().getReportName(), counts, seconds,
+                    snapshot.getResponseTime(), snapshot.getServiceTime());
+            allResponse.add(snapshot.getResponseTime());
+            allService.add(snapshot.getServiceTime());
+            for (int i = 0; i < counts.length; i++) {
+                allCounts[i] += counts[i];
+            }
+        }
+        appendRow(report, ALL, allCounts, seconds, allResponse, allService);
+        return report.toString();
+    }
+
+    private static long[] counts(EndpointStats.Snapshot snapshot) {
+        return new long[] {
+                snapshot.getTotal(), snapshot.getOk(), snapshot.getRejected(),
+                snapshot.getClientErrors(), snapshot.getServerErrors(), snapshot.getIoErrors()
+        };
+    }
+
+    private static void appendRow(StringBuilder report, String endpoint, long[] counts, double seconds,
+                                  Histogram response, Histogram service) {
+        report.append(String.format(Locale.ROOT, "%-18s %11d %11.1f", endpoint, counts[0], counts[0] / seconds));
+        for (int i = 1; i < counts.length; i++) {
+            report.append(String.format(Locale.ROOT, " %11d", counts[i]));
+        }
+        for (double percentile : PERCENTILES) {
+            appendMillis(report, response, response.getValueAtPercentile(percentile));
+        }
+        appendMillis(report, response, response.getMaxValue());
+        appendMillis(report, service, service.getValueAtPercentile(50));
+        appendMillis(report, service, service.getValueAtPercentile(99));
+        report.append('\n');
+    }
+
+    private static void appendMillis(StringBuilder report, Histogram histogram, long micros) {
+        if (histogram.getTotalCount() == 0) {
+            report.append(String.format(Locale.ROOT, " %11s", "-"));
+        } else {
+            report.append(String.format(Locale.ROOT, " %11.3f", micros / 1000.0));
+        }
+    }
+}
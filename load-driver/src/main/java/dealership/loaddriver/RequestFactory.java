@@ -0,0 +1,121 @@
+package dealership.loaddriver;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.List;
+import java.util.Random;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Builds the HTTP request sent for each operation.
+ * <p>
+ * Logins rotate over the configured credentials, the user listing draws a
+ * random subset of its filters, and user creation uses a username made unique
+ * by the run id and a counter, so repeated runs never collide. Request bodies
+ * are small enough to be written by hand, which keeps the driver free of a
+ * JSON library.
+ * </p>
+ */
+public class RequestFactory {
+
+    private static final String JSON = "application/json";
+
+    private final DriverConfig config;
+    private final AtomicLong createdUsers = new AtomicLong();
+
+    /**
+     * Creates a new factory instance.
+     *
+     * @param config run settings
+     */
+    public RequestFactory(DriverConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Builds a request.
+     *
+     * @param operation operation to send
+     * @param random source of the random choices, owned by the calling worker
+     * @return the request
+     */
+    public HttpRequest create(Operation operation, Random random) {
+        switch (operation) {
+            case LOGIN:
+                DriverConfig.Credentials credentials = pick(config.getLoginUsers(), random);
+                return post("/api/auth/login", "{\"username\":" + quote(credentials.getUsername())
+                        + ",\"password\":" + quote(credentials.getPassword()) + "}");
+            case SUMMARY:
+                return get("/api/owner/summary");
+            case STOCK_UNSOLD:
+                return get("/api/owner/stock-unsold");
+            case SALES_BY_EMPLOYEE:
+                return get("/api/owner/sales/by-employee");
+            case REPAIR_REVENUE:
+                return get("/api/owner/repairs/revenue-by-dealership");
+            case LIST_USERS:
+                return get("/api/owner/users" + userFilters(random));
+            case CREATE_USER:
+                String username = "load-" + config.getRunId() + "-" + createdUsers.incrementAndGet();
+                return post("/api/owner/users", "{\"dealershipId\":" + pick(config.getDealershipIds(), random)
+                        + ",\"roleId\":" + pick(config.getRoleIds(), random)
+                        + ",\"username\":" + quote(username)
+                        + ",\"password\":\"load-driver\""
+                        + ",\"fullName\":" + quote("Load " + username)
+                        + ",\"active\":true}");
+            default:
+                throw new IllegalArgumentException("Unsupported operation: " + operation);
+        }
+    }
+
+    private String userFilters(Random random) {
+        StringJoiner query = new StringJoiner("&", "?", "");
+        query.setEmptyValue("");
+        if (random.nextBoolean()) {
+            query.add("dealershipId=" + pick(config.getDealershipIds(), random));
+        }
+        if (random.nextBoolean()) {
+            query.add("roleId=" + pick(config.getRoleIds(), random));
+        }
+        if (random.nextBoolean()) {
+            query.add("active=" + random.nextBoolean());
+        }
+        return query.toString();
+    }
+
+    private HttpRequest get(String path) {
+        return builder(path).header("Accept", JSON).GET().build();
+    }
+
+    private HttpRequest post(String path, String body) {
+        return builder(path)
+                .header("Accept", JSON)
+                .header("Content-Type", JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(URI.create(config.getBaseUrl() + path)).timeout(config.getTimeout());
+    }
+
+    private static <T> T pick(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    static String quote(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20) {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
@@ -0,0 +1,103 @@
+package dealership.loaddriver;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Weighted mix of operations, e.g. {@code login=10,summary=25,list-users=20}.
+ * <p>
+ * Each scheduled request picks its operation at random in proportion to the
+ * weights. Operations left out of the mix are never sent.
+ * </p>
+ */
+public class WorkloadMix {
+
+    /** Mix used when none is given: mostly dashboard reads, some logins and writes. */
+    public static final String DEFAULT = "login=10,summary=25,stock-unsold=15,sales-by-employee=15,"
+            + "repair-revenue=10,list-users=20,create-user=5";
+
+    private final Operation[] operations;
+    private final double[] cumulative;
+    private final Map<Operation, Integer> weights;
+
+    private WorkloadMix(Map<Operation, Integer> weights) {
+        this.weights = weights;
+        this.operations = new Operation[weights.size()];
+        this.cumulative = new double[weights.size()];
+        double total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        double sum = 0;
+        int i = 0;
+        for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+            sum += entry.getValue();
+            operations[i] = entry.getKey();
+            cumulative[i] = sum / total;
+            i++;
+        }
+    }
+
+    /**
+     * Parses a mix specification.
+     *
+     * @param spec comma-separated {@code operation=weight} pairs
+     * @return the parsed mix
+     * @throws IllegalArgumentException if the specification is malformed or has no positive weight
+     */
+    public static WorkloadMix parse(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String trimmed = part.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int separator = trimmed.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Mix entry must be operation=weight: " + trimmed);
+            }
+            Operation operation = Operation.fromReportName(trimmed.substring(0, separator).trim());
+            int weight = Integer.parseInt(trimmed.substring(separator + 1).trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weight must not be negative: " + trimmed);
+            }
+            if (weight > 0) {
+                weights.put(operation, weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Mix has no operation with a positive weight: " + spec);
+        }
+        return new WorkloadMix(weights);
+    }
+
+    /**
+     * Picks an operation.
+     *
+     * @param uniform random number in {@code [0, 1)}
+     * @return the operation whose share of the mix contains {@code uniform}
+     */
+    public Operation pick(double uniform) {
+        for (int i = 0; i < cumulative.length - 1; i++) {
+            if (uniform < cumulative[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    /**
+     * Returns whether the mix sends an operation at all.
+     *
+     * @param operation operation to check
+     * @return whether its weight is positive
+     */
+    public boolean contains(Operation operation) {
+        return weights.containsKey(operation);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(",");
+        weights.forEach((operation, weight) -> joiner.add(operation.getReportName() + "=" + weight));
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,100 @@
+package dealership.loaddriver;
+
+import com.sun.net.httpserver.HttpServer;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the driver against an in-process HTTP server that stalls once.
+ */
+class LoadRunTest {
+
+    private static final long STALL_MILLIS = 400;
+
+    private HttpServer server;
+    private final AtomicInteger served = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            if (served.incrementAndGet() == 50) {
+                try {
+                    Thread.sleep(STALL_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void requestsHeldUpByAStallAreTimedFromTheirScheduledSlot() throws InterruptedException {
+        DriverConfig config = DriverConfig.parse(
+                "--base-url=http://127.0.0.1:" + server.getAddress().getPort(),
+                "--rate=100", "--workers=1", "--warmup=0", "--duration=2", "--mix=summary=1");
+
+        List<EndpointStats.Snapshot> snapshots = new LoadRun(config, HttpClient.newHttpClient()).run();
+
+        assertEquals(1, snapshots.size());
+        EndpointStats.Snapshot summary = snapshots.get(0);
+        assertEquals(200, summary.getTotal());
+        assertEquals(200, summary.getOk());
+
+        // The one slow response is the only slow service time, but the ~40
+        // requests scheduled while it was outstanding all waited for it.
+        Histogram service = summary.getServiceTime();
+        Histogram response = summary.getResponseTime();
+        assertTrue(service.getValueAtPercentile(90) < 50_000, "service p90 " + service.getValueAtPercentile(90));
+        assertTrue(response.getValueAtPercentile(90) > 100_000, "response p90 " + response.getValueAtPercentile(90));
+        assertTrue(response.getMaxValue() >= STALL_MILLIS * 1_000, "response max " + response.getMaxValue());
+    }
+
+    @Test
+    void reportsCompareByEndpointAndColumn() {
+        DriverConfig config = DriverConfig.parse("--mix=login=1,list-users=3", "--duration=10");
+        EndpointStats login = new EndpointStats();
+        login.recordResponse(200, 2_000_000, 1_000_000);
+        login.recordResponse(429, 500_000, 500_000);
+        EndpointStats users = new EndpointStats();
+        users.recordResponse(200, 4_000_000, 4_000_000);
+        String before = ReportWriter.format(config, List.of(
+                login.snapshot(Operation.LOGIN), users.snapshot(Operation.LIST_USERS)));
+
+        users.recordResponse(200, 6_000_000, 6_000_000);
+        String after = ReportWriter.format(config, List.of(users.snapshot(Operation.LIST_USERS)));
+
+        Map<String, Map<String, String>> rows = ReportComparison.parse(before.lines().toList());
+        assertEquals(List.of("login", "list-users", ReportWriter.ALL), List.copyOf(rows.keySet()));
+        assertEquals("2", rows.get("login").get("requests"));
+        assertEquals("1", rows.get("login").get("429"));
+        assertEquals("2.000", rows.get("login").get("resp_p50"));
+        assertEquals("3", rows.get(ReportWriter.ALL).get("requests"));
+
+        String comparison = ReportComparison.compare(before.lines().toList(), after.lines().toList());
+        assertTrue(comparison.contains("list-users"), comparison);
+        assertTrue(comparison.lines().anyMatch(line -> line.startsWith("list-users")
+                && line.contains("resp_p50") && line.endsWith("+50.0%")), comparison);
+        assertTrue(comparison.lines().noneMatch(line -> line.startsWith("login")), comparison);
+    }
+}
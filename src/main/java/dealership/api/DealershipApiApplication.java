@@ -2,6 +2,7 @@ package dealership.api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 /**
  * Entry point for the Dealership API Spring Boot application.
@@ -19,17 +20,29 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 @SpringBootApplication
 public class DealershipApiApplication {
 
+	/**
+	 * Maximum number of bean instantiation steps buffered for the startup report.
+	 */
+	private static final int STARTUP_STEP_CAPACITY = 4096;
+
 	/**
 	 * Main method used as the starting point of the Spring Boot application.
 	 * <p>
 	 * It delegates the application startup process to {@link SpringApplication},
 	 * which handles context creation, auto-configuration, and lifecycle management.
+	 * Bean instantiation steps are buffered so that the startup report can list
+	 * the slowest beans once the application is ready.
 	 * </p>
 	 *
 	 * @param args command-line arguments passed to the application at startup
 	 */
 	public static void main(String[] args) {
-		SpringApplication.run(DealershipApiApplication.class, args);
+		BufferingApplicationStartup startup = new BufferingApplicationStartup(STARTUP_STEP_CAPACITY);
+		startup.addFilter(step -> step.getName().equals("spring.beans.instantiate"));
+
+		SpringApplication application = new SpringApplication(DealershipApiApplication.class);
+		application.setApplicationStartup(startup);
+		application.run(args);
 	}
 
 }
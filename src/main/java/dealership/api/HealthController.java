@@ -1,5 +1,10 @@
 package dealership.api;
 
+import dealership.api.health.DbHealthProber;
+import dealership.api.model.DbHealthRow;
+import dealership.api.warmup.WarmupState;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -10,10 +15,31 @@ import org.springframework.web.bind.annotation.RestController;
  * and reachable. It is typically used for monitoring, diagnostics, or
  * deployment validation purposes.
  * </p>
+ * <p>
+ * Liveness and readiness are exposed separately: {@code /api/health} answers
+ * as soon as the server accepts requests, while {@code /api/health/ready}
+ * only reports UP once the warm-up phase has finished. The liveness
+ * answer is normally written by {@link dealership.api.health.LivenessFilter}
+ * before the request reaches this controller.
+ * </p>
  */
 @RestController
 public class HealthController {
 
+    private final WarmupState warmupState;
+    private final DbHealthProber dbHealthProber;
+
+    /**
+     * Creates a new health controller.
+     *
+     * @param warmupState warm-up state backing the readiness endpoint
+     * @param dbHealthProber background database prober backing the deep health endpoint
+     */
+    public HealthController(WarmupState warmupState, DbHealthProber dbHealthProber) {
+        this.warmupState = warmupState;
+        this.dbHealthProber = dbHealthProber;
+    }
+
     /**
      * Health check endpoint.
      * <p>
@@ -27,5 +53,39 @@ public class HealthController {
     public String health() {
         return "ok";
     }
-}
 
+    /**
+     * Readiness endpoint.
+     * <p>
+     * Returns 503 while connection pools, queries and serialization are
+     * still being warmed up, so the load balancer keeps traffic away from
+     * the instance until it can answer at steady-state latency.
+     * </p>
+     *
+     * @return "UP" when ready, or 503 with "WARMING_UP" during warm-up
+     */
+    @GetMapping("/api/health/ready")
+    public ResponseEntity<String> ready() {
+        if (warmupState.isReady()) {
+            return ResponseEntity.ok("UP");
+        }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("WARMING_UP");
+    }
+
+    /**
+     * Deep health endpoint.
+     * <p>
+     * Reports database round-trip latency and connection pool saturation
+     * from the last background probe. Calling it never touches the
+     * database, so it is safe to poll at any frequency.
+     * </p>
+     *
+     * @return the database health snapshot, with 503 unless the database is UP
+     */
+    @GetMapping("/api/health/deep")
+    public ResponseEntity<DbHealthRow> deep() {
+        DbHealthRow health = dbHealthProber.snapshot();
+        HttpStatus status = "UP".equals(health.getStatus()) ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status).body(health);
+    }
+}
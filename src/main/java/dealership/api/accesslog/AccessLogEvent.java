@@ -0,0 +1,86 @@
+package dealership.api.accesslog;
+
+/**
+ * A single access log record.
+ * <p>
+ * Instances are preallocated slots of an {@link AccessLogRingBuffer} and are
+ * overwritten in place, so a reference must not be kept after the drain
+ * callback returns.
+ * </p>
+ */
+public final class AccessLogEvent {
+
+    long timestampMillis;
+    String method;
+    String endpoint;
+    int status;
+    long latencyMicros;
+    int rows;
+    long bytes;
+
+    AccessLogEvent() {
+    }
+
+    /**
+     * Returns the request completion time.
+     *
+     * @return epoch milliseconds
+     */
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    /**
+     * Returns the HTTP method.
+     *
+     * @return request method
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * Returns the endpoint, as its mapping pattern when one matched.
+     *
+     * @return endpoint pattern or request URI
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Returns the response status code.
+     *
+     * @return HTTP status
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the time spent serving the request.
+     *
+     * @return latency in microseconds
+     */
+    public long getLatencyMicros() {
+        return latencyMicros;
+    }
+
+    /**
+     * Returns the number of rows in the response body.
+     *
+     * @return row count, or -1 when the response carried no row data
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the number of response body bytes written.
+     *
+     * @return body size in bytes
+     */
+    public long getBytes() {
+        return bytes;
+    }
+}
@@ -0,0 +1,183 @@
+package dealership.api.accesslog;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Servlet filter recording one access log event per request.
+ * <p>
+ * The filter measures latency around the rest of the chain, counts response
+ * body bytes, and reads the row count left by {@link AccessLogRowsAdvice}.
+ * The event is handed to {@link AccessLogWriter}, which only copies it into
+ * a preallocated ring buffer; formatting and file I/O happen on the writer's
+ * background thread.
+ * </p>
+ * <p>
+ * Endpoints are logged by their mapping pattern (for example
+ * {@code /api/owner/stock-unsold}) so that requests to the same handler
+ * aggregate under one key. Asynchronous requests are recorded when they
+ * complete.
+ * </p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "dealership.access-log.enabled", havingValue = "true", matchIfMissing = true)
+public class AccessLogFilter implements Filter {
+
+    /**
+     * Request attribute holding the number of rows in the response body.
+     */
+    public static final String ROWS_ATTRIBUTE = AccessLogFilter.class.getName() + ".rows";
+
+    private final AccessLogWriter writer;
+
+    /**
+     * Creates a new filter.
+     *
+     * @param writer access log writer receiving the events
+     */
+    public AccessLogFilter(AccessLogWriter writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Serves the request and records its access log event.
+     *
+     * @param request incoming request
+     * @param response outgoing response
+     * @param chain remaining filter chain
+     * @throws IOException if a downstream component fails to write
+     * @throws ServletException if a downstream filter fails
+     */
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        CountingResponse countingResponse = new CountingResponse((HttpServletResponse) response);
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, countingResponse);
+        } finally {
+            if (httpRequest.isAsyncStarted()) {
+                httpRequest.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(httpRequest, countingResponse, start);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(httpRequest, countingResponse, start);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, CountingResponse response, long startNanos) {
+        long latencyMicros = (System.nanoTime() - startNanos) / 1_000L;
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Object rows = request.getAttribute(ROWS_ATTRIBUTE);
+        writer.record(request.getMethod(),
+                pattern instanceof String endpoint ? endpoint : request.getRequestURI(),
+                response.getStatus(),
+                latencyMicros,
+                rows instanceof Integer count ? count : -1,
+                response.bytesWritten());
+    }
+
+    /**
+     * Response wrapper counting the bytes written to the body.
+     */
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+
+        private CountingOutputStream outputStream;
+
+        private CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new CountingOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        private long bytesWritten() {
+            return outputStream != null ? outputStream.count : 0;
+        }
+    }
+
+    /**
+     * Output stream delegating to the container's stream while counting bytes.
+     */
+    private static final class CountingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private long count;
+
+        private CountingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package dealership.api.accesslog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free multi-producer, single-consumer ring buffer of access log events.
+ * <p>
+ * All slots are allocated up front and reused, so recording an event does
+ * not allocate. Each slot carries a sequence number: producers claim a
+ * position with a single CAS on the tail, fill the slot, then publish it by
+ * advancing its sequence; the consumer reads published slots in order and
+ * hands them back by advancing the sequence by one lap.
+ * </p>
+ * <p>
+ * When the buffer is full the event is dropped and counted instead of
+ * blocking the request thread.
+ * </p>
+ */
+public class AccessLogRingBuffer {
+
+    private final AccessLogEvent[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private long head;
+
+    /**
+     * Creates a new ring buffer.
+     *
+     * @param capacity number of slots, rounded up to a power of two
+     */
+    public AccessLogRingBuffer(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("capacity must be at least 2");
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AccessLogEvent[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            slots[i] = new AccessLogEvent();
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Records an event, or drops it when the buffer is full.
+     *
+     * @param timestampMillis request completion time in epoch milliseconds
+     * @param method HTTP method
+     * @param endpoint endpoint pattern or request URI
+     * @param status response status code
+     * @param latencyMicros time spent serving the request
+     * @param rows rows in the response body, or -1
+     * @param bytes response body size
+     * @return {@code true} if the event was recorded, {@code false} if it was dropped
+     */
+    public boolean offer(long timestampMillis, String method, String endpoint, int status,
+                         long latencyMicros, int rows, long bytes) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long available = sequences.get(index) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = tail.get();
+            } else if (available < 0) {
+                dropped.increment();
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+
+        int index = (int) position & mask;
+        AccessLogEvent event = slots[index];
+        event.timestampMillis = timestampMillis;
+        event.method = method;
+        event.endpoint = endpoint;
+        event.status = status;
+        event.latencyMicros = latencyMicros;
+        event.rows = rows;
+        event.bytes = bytes;
+        sequences.lazySet(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Hands published events to the consumer in order, up to a maximum.
+     * <p>
+     * Must only be called from the single consumer thread.
+     * </p>
+     *
+     * @param consumer callback receiving each event; the event is reused after it returns
+     * @param maxEvents maximum number of events to drain
+     * @return number of events drained
+     */
+    public int drain(Consumer<AccessLogEvent> consumer, int maxEvents) {
+        int drained = 0;
+        while (drained < maxEvents) {
+            int index = (int) head & mask;
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            consumer.accept(slots[index]);
+            sequences.lazySet(index, head + slots.length);
+            head++;
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Returns the number of events dropped because the buffer was full.
+     *
+     * @return drop count
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Returns the number of slots.
+     *
+     * @return capacity
+     */
+    public int capacity() {
+        return slots.length;
+    }
+}
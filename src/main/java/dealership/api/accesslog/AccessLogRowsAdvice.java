@@ -0,0 +1,63 @@
+package dealership.api.accesslog;
+
+import dealership.api.json.ProjectedRows;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Collection;
+
+/**
+ * Records the number of rows in each response body for the access log.
+ * <p>
+ * List responses count their elements; any other non-null body counts as a
+ * single row. The count is stored as a request attribute and picked up by
+ * {@link AccessLogFilter} once the request completes.
+ * </p>
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "dealership.access-log.enabled", havingValue = "true", matchIfMissing = true)
+public class AccessLogRowsAdvice implements ResponseBodyAdvice<Object> {
+
+    /**
+     * Applies to every response body.
+     *
+     * @param returnType controller method return type
+     * @param converterType selected message converter
+     * @return always {@code true}
+     */
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    /**
+     * Stores the row count of the body and returns the body unchanged.
+     *
+     * @param body response body
+     * @param returnType controller method return type
+     * @param selectedContentType negotiated content type
+     * @param selectedConverterType selected message converter
+     * @param request current request
+     * @param response current response
+     * @return the unchanged body
+     */
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body != null && request instanceof ServletServerHttpRequest servletRequest) {
+            int rows = body instanceof Collection<?> collection ? collection.size()
+                    : body instanceof ProjectedRows<?> projected ? projected.getRows().size()
+                    : 1;
+            servletRequest.getServletRequest().setAttribute(AccessLogFilter.ROWS_ATTRIBUTE, rows);
+        }
+        return body;
+    }
+}
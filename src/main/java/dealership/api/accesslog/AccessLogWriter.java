@@ -0,0 +1,288 @@
+package dealership.api.accesslog;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drains the access log ring buffer to a rolling file on a background thread.
+ * <p>
+ * Events are written in batches and the file is flushed once per batch. When
+ * the file grows past the configured size it is rolled to {@code .1},
+ * shifting older files up to the configured history; the oldest is deleted.
+ * </p>
+ * <p>
+ * Each line holds the completion time, method, endpoint, status, latency in
+ * microseconds, row count and response size, separated by spaces.
+ * </p>
+ * <p>
+ * A batch that cannot be written, for example because the disk is full, is
+ * dropped and counted so the buffer keeps moving. The writer then backs off
+ * before the next attempt, doubling the pause up to a few seconds while the
+ * failures last, and the warning is logged at most once per interval.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "dealership.access-log.enabled", havingValue = "true", matchIfMissing = true)
+public class AccessLogWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(AccessLogWriter.class);
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long DROP_REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final long MIN_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final AccessLogRingBuffer buffer;
+    private final Path file;
+    private final long maxFileSize;
+    private final int maxHistory;
+    private final int batchSize;
+    private final StringBuilder line = new StringBuilder(256);
+    private final Thread drainThread;
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean running = true;
+    private BufferedWriter writer;
+    private long fileSize;
+    private long reportedDrops;
+    private long lastDropReportNanos = System.nanoTime() - DROP_REPORT_INTERVAL_NANOS;
+    private IOException batchFailure;
+    private long backoffNanos;
+    private long reportedFailures;
+    private long lastFailureReportNanos = System.nanoTime() - DROP_REPORT_INTERVAL_NANOS;
+
+    /**
+     * Creates a new writer and starts its drain thread.
+     *
+     * @param file path of the active log file
+     * @param capacity number of ring buffer slots
+     * @param batchSize maximum number of events written per flush
+     * @param maxFileSize size in bytes after which the file is rolled
+     * @param maxHistory number of rolled files kept
+     */
+    public AccessLogWriter(@Value("${dealership.access-log.file:logs/access.log}") String file,
+                           @Value("${dealership.access-log.buffer-capacity:16384}") int capacity,
+                           @Value("${dealership.access-log.batch-size:512}") int batchSize,
+                           @Value("${dealership.access-log.max-file-size:104857600}") long maxFileSize,
+                           @Value("${dealership.access-log.max-history:5}") int maxHistory) {
+        this.buffer = new AccessLogRingBuffer(capacity);
+        this.file = Paths.get(file);
+        this.batchSize = batchSize;
+        this.maxFileSize = maxFileSize;
+        this.maxHistory = maxHistory;
+        this.drainThread = new Thread(this::drainLoop, "access-log-writer");
+        this.drainThread.setDaemon(true);
+        this.drainThread.start();
+    }
+
+    /**
+     * Records a completed request without blocking.
+     *
+     * @param method HTTP method
+     * @param endpoint endpoint pattern or request URI
+     * @param status response status code
+     * @param latencyMicros time spent serving the request
+     * @param rows rows in the response body, or -1
+     * @param bytes response body size
+     */
+    public void record(String method, String endpoint, int status, long latencyMicros, int rows, long bytes) {
+        buffer.offer(System.currentTimeMillis(), method, endpoint, status, latencyMicros, rows, bytes);
+    }
+
+    /**
+     * Returns the number of events dropped because the writer could not keep up.
+     *
+     * @return drop count
+     */
+    public long getDropped() {
+        return buffer.getDropped();
+    }
+
+    /**
+     * Returns the number of events lost because their batch could not be written.
+     *
+     * @return failed event count
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * Stops the drain thread after writing the events still buffered.
+     *
+     * @throws InterruptedException if interrupted while waiting for the drain thread
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(drainThread);
+        drainThread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void drainLoop() {
+        while (running) {
+            int drained = drainBatch();
+            if (backoffNanos > 0) {
+                LockSupport.parkNanos(backoffNanos);
+            } else if (drained == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        while (drainBatch() > 0 && backoffNanos == 0) {
+            // write whatever was recorded before shutdown
+        }
+        closeQuietly();
+    }
+
+    /**
+     * Writes one batch; on failure the whole batch is dropped and counted.
+     *
+     * @return number of events taken from the buffer, written or not
+     */
+    private int drainBatch() {
+        batchFailure = null;
+        int drained = buffer.drain(this::write, batchSize);
+        if (drained > 0 && batchFailure == null) {
+            try {
+                writer.flush();
+            } catch (IOException ex) {
+                batchFailure = ex;
+            }
+        }
+        if (batchFailure != null) {
+            failed.add(drained);
+            closeQuietly();
+            backoffNanos = backoffNanos == 0 ? MIN_BACKOFF_NANOS : Math.min(backoffNanos * 2, MAX_BACKOFF_NANOS);
+            reportFailures(batchFailure);
+        } else if (drained > 0) {
+            backoffNanos = 0;
+        }
+        reportDrops();
+        return drained;
+    }
+
+    private void write(AccessLogEvent event) {
+        if (batchFailure != null) {
+            // the rest of a failed batch is dropped with it
+            return;
+        }
+        line.setLength(0);
+        line.append(Instant.ofEpochMilli(event.timestampMillis)).append(' ')
+                .append(event.method).append(' ')
+                .append(event.endpoint).append(' ')
+                .append(event.status).append(' ')
+                .append(event.latencyMicros).append("us ")
+                .append("rows=").append(event.rows).append(' ')
+                .append("bytes=").append(event.bytes).append('\n');
+        try {
+            if (writer == null || fileSize >= maxFileSize) {
+                roll();
+            }
+            writer.append(line);
+            fileSize += utf8Length(line);
+        } catch (IOException ex) {
+            batchFailure = ex;
+        }
+    }
+
+    /**
+     * Returns the encoded size of a line without encoding it.
+     */
+    private static int utf8Length(CharSequence text) {
+        int bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    private void roll() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+            for (int i = maxHistory - 1; i >= 1; i--) {
+                Path from = rolled(i);
+                if (Files.exists(from)) {
+                    Files.move(from, rolled(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            if (maxHistory > 0) {
+                Files.move(file, rolled(1), StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                Files.delete(file);
+            }
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        fileSize = Files.size(file);
+    }
+
+    private Path rolled(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    private void reportDrops() {
+        long drops = buffer.getDropped();
+        long now = System.nanoTime();
+        if (drops != reportedDrops && now - lastDropReportNanos >= DROP_REPORT_INTERVAL_NANOS) {
+            log.warn("Access log buffer full, {} events dropped so far", drops);
+            reportedDrops = drops;
+            lastDropReportNanos = now;
+        }
+    }
+
+    private void reportFailures(IOException ex) {
+        long failures = failed.sum();
+        long now = System.nanoTime();
+        if (now - lastFailureReportNanos >= DROP_REPORT_INTERVAL_NANOS) {
+            log.warn("Could not write access log, {} events lost ({} since the last report): {}",
+                    failures, failures - reportedFailures, ex.getMessage());
+            reportedFailures = failures;
+            lastFailureReportNanos = now;
+        }
+    }
+
+    private void closeQuietly() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException ex) {
+            log.debug("Could not close access log", ex);
+        }
+        writer = null;
+    }
+}
@@ -0,0 +1,94 @@
+package dealership.api.audit;
+
+import java.time.Instant;
+
+/**
+ * A single login attempt waiting to be written to the {@code login_audit} table.
+ * <p>
+ * Failed attempts for unknown usernames carry neither a user nor a dealership;
+ * they are stored on the default shard.
+ * </p>
+ */
+public final class LoginAuditEvent {
+
+    private final Integer userId;
+    private final Integer dealershipId;
+    private final String username;
+    private final boolean success;
+    private final String ip;
+    private final Instant occurredAt;
+
+    /**
+     * Creates a new login audit event.
+     *
+     * @param userId identifier of the matched user, or {@code null} if the username is unknown
+     * @param dealershipId dealership of the matched user, or {@code null} if the username is unknown
+     * @param username username as submitted
+     * @param success whether the credentials were accepted
+     * @param ip client address
+     * @param occurredAt time of the attempt
+     */
+    public LoginAuditEvent(Integer userId, Integer dealershipId, String username, boolean success,
+                           String ip, Instant occurredAt) {
+        this.userId = userId;
+        this.dealershipId = dealershipId;
+        this.username = username;
+        this.success = success;
+        this.ip = ip;
+        this.occurredAt = occurredAt;
+    }
+
+    /**
+     * Returns the identifier of the matched user.
+     *
+     * @return user ID, or {@code null}
+     */
+    public Integer getUserId() {
+        return userId;
+    }
+
+    /**
+     * Returns the dealership of the matched user.
+     *
+     * @return dealership ID, or {@code null}
+     */
+    public Integer getDealershipId() {
+        return dealershipId;
+    }
+
+    /**
+     * Returns the submitted username.
+     *
+     * @return username
+     */
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * Returns whether the credentials were accepted.
+     *
+     * @return {@code true} for a successful login
+     */
+    public boolean isSuccess() {
+        return success;
+    }
+
+    /**
+     * Returns the client address.
+     *
+     * @return IP address
+     */
+    public String getIp() {
+        return ip;
+    }
+
+    /**
+     * Returns the time of the attempt.
+     *
+     * @return attempt timestamp
+     */
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+}
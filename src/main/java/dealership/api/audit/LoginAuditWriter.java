@@ -0,0 +1,213 @@
+package dealership.api.audit;
+
+import dealership.api.dao.LoginAuditDao;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind pipeline for login audit rows and last-login times.
+ * <p>
+ * The login endpoint only offers an event to a bounded in-memory queue. A
+ * background thread collects events into a batch and writes it once the batch
+ * is full or the oldest buffered event has waited for the flush interval,
+ * whichever comes first. Within a batch, successful logins of the same user
+ * are coalesced into a single {@code last_login_at} update.
+ * </p>
+ * <p>
+ * When the queue is full the new event is dropped and counted rather than
+ * slowing down logins; drops are logged at most every ten seconds. A batch
+ * that fails to write is logged and discarded. On shutdown the thread stops
+ * accepting new events and writes everything still buffered before the
+ * database pools are closed.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "dealership.login-audit.enabled", havingValue = "true", matchIfMissing = true)
+public class LoginAuditWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginAuditWriter.class);
+
+    private static final int MAX_USERNAME_LENGTH = 100;
+    private static final int MAX_IP_LENGTH = 45;
+    private static final long DROP_REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final long MAX_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private final LoginAuditDao loginAuditDao;
+    private final BlockingQueue<LoginAuditEvent> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Thread flushThread;
+
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean running = true;
+    private long reportedDrops;
+    private long lastDropReportNanos = System.nanoTime() - DROP_REPORT_INTERVAL_NANOS;
+
+    /**
+     * Creates a new writer and starts its flush thread.
+     *
+     * @param loginAuditDao DAO writing the batches
+     * @param capacity maximum number of events buffered in memory
+     * @param batchSize number of events that triggers an immediate flush
+     * @param flushIntervalMillis maximum time an event waits in the buffer
+     */
+    public LoginAuditWriter(LoginAuditDao loginAuditDao,
+                            @Value("${dealership.login-audit.buffer-capacity:10000}") int capacity,
+                            @Value("${dealership.login-audit.batch-size:200}") int batchSize,
+                            @Value("${dealership.login-audit.flush-interval-ms:1000}") long flushIntervalMillis) {
+        this.loginAuditDao = loginAuditDao;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.flushThread = new Thread(this::flushLoop, "login-audit-writer");
+        this.flushThread.setDaemon(true);
+        this.flushThread.start();
+    }
+
+    /**
+     * Records a login attempt without blocking.
+     *
+     * @param userId identifier of the matched user, or {@code null} if the username is unknown
+     * @param dealershipId dealership of the matched user, or {@code null} if the username is unknown
+     * @param username username as submitted
+     * @param success whether the credentials were accepted
+     * @param ip client address
+     */
+    public void record(Integer userId, Integer dealershipId, String username, boolean success, String ip) {
+        if (!running) {
+            dropped.increment();
+            return;
+        }
+        LoginAuditEvent event = new LoginAuditEvent(userId, dealershipId,
+                truncate(username, MAX_USERNAME_LENGTH), success, truncate(ip, MAX_IP_LENGTH), Instant.now());
+        if (!queue.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Returns the number of events dropped because the buffer was full.
+     *
+     * @return drop count
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Returns the number of events written to the database.
+     *
+     * @return written event count
+     */
+    public long getWritten() {
+        return written.sum();
+    }
+
+    /**
+     * Returns the number of events lost because their batch could not be written.
+     *
+     * @return failed event count
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * Stops the flush thread after writing the events still buffered.
+     *
+     * @throws InterruptedException if interrupted while waiting for the flush thread
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        flushThread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private void flushLoop() {
+        List<LoginAuditEvent> batch = new ArrayList<>(batchSize);
+        long deadline = 0;
+        while (running) {
+            // Bounded so that a shutdown request is noticed promptly.
+            long waitNanos = batch.isEmpty() ? MAX_POLL_NANOS : deadline - System.nanoTime();
+            try {
+                LoginAuditEvent event = queue.poll(Math.max(0, Math.min(waitNanos, MAX_POLL_NANOS)), TimeUnit.NANOSECONDS);
+                if (event != null) {
+                    if (batch.isEmpty()) {
+                        deadline = System.nanoTime() + flushIntervalNanos;
+                    }
+                    batch.add(event);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (batch.size() >= batchSize || (!batch.isEmpty() && System.nanoTime() - deadline >= 0)) {
+                flush(batch);
+            }
+            reportDrops();
+        }
+        do {
+            queue.drainTo(batch, batchSize - batch.size());
+            flush(batch);
+        } while (!queue.isEmpty());
+    }
+
+    private void flush(List<LoginAuditEvent> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<Integer, LoginAuditEvent> lastLogins = new HashMap<>();
+        for (LoginAuditEvent event : batch) {
+            if (event.isSuccess() && event.getUserId() != null) {
+                lastLogins.merge(event.getUserId(), event, (a, b) ->
+                        b.getOccurredAt().isAfter(a.getOccurredAt()) ? b : a);
+            }
+        }
+        try {
+            loginAuditDao.insertAttempts(batch);
+            if (!lastLogins.isEmpty()) {
+                loginAuditDao.updateLastLogins(lastLogins.values());
+            }
+            written.add(batch.size());
+        } catch (RuntimeException ex) {
+            failed.add(batch.size());
+            log.warn("Could not write {} login audit events: {}", batch.size(), ex.getMessage());
+        }
+        batch.clear();
+    }
+
+    private void reportDrops() {
+        long drops = dropped.sum();
+        long now = System.nanoTime();
+        if (drops != reportedDrops && now - lastDropReportNanos >= DROP_REPORT_INTERVAL_NANOS) {
+            log.warn("Login audit buffer full, {} events dropped so far", drops);
+            reportedDrops = drops;
+            lastDropReportNanos = now;
+        }
+    }
+
+    private static String truncate(String value, int maxLength) {
+        if (value == null) {
+            return "";
+        }
+        return value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+}
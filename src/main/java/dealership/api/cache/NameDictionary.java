@@ -0,0 +1,94 @@
+package dealership.api.cache;
+
+import dealership.api.model.IdNameRow;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable lookup of reference data names, such as dealerships or roles, by identifier.
+ * <p>
+ * Built from the identifier and name rows of a reference table and shared
+ * through the {@link ReportCache}, so that listings can carry identifiers
+ * and resolve names without joining the reference table on every query.
+ * </p>
+ */
+public final class NameDictionary {
+
+    private final List<IdNameRow> rows;
+    private final Map<Integer, String> names;
+
+    /**
+     * Creates a dictionary holding the given rows.
+     *
+     * @param rows identifier and name rows, in the order they are listed
+     */
+    public NameDictionary(List<IdNameRow> rows) {
+        this.rows = List.copyOf(rows);
+        this.names = new HashMap<>(rows.size() * 2);
+        for (IdNameRow row : rows) {
+            names.put(row.getId(), row.getName());
+        }
+    }
+
+    /**
+     * Returns the name of an identifier.
+     *
+     * @param id identifier
+     * @return the name, or {@code null} if the identifier is unknown
+     */
+    public String nameOf(int id) {
+        return names.get(id);
+    }
+
+    /**
+     * Tells whether an identifier has a name.
+     *
+     * @param id identifier
+     * @return {@code true} if the identifier is known
+     */
+    public boolean contains(int id) {
+        return names.containsKey(id);
+    }
+
+    /**
+     * Tells whether every given identifier has a name.
+     *
+     * @param ids identifiers to check
+     * @return {@code true} if none of them is unknown
+     */
+    public boolean containsAll(Collection<Integer> ids) {
+        return names.keySet().containsAll(ids);
+    }
+
+    /**
+     * Returns the rows of the given identifiers, in dictionary order.
+     * <p>
+     * Unknown identifiers are left out.
+     * </p>
+     *
+     * @param ids identifiers to keep
+     * @return the matching identifier and name rows
+     */
+    public List<IdNameRow> rowsOf(Collection<Integer> ids) {
+        List<IdNameRow> selected = new ArrayList<>(Math.min(ids.size(), rows.size()));
+        for (IdNameRow row : rows) {
+            if (ids.contains(row.getId())) {
+                selected.add(row);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return entry count
+     */
+    public int size() {
+        return rows.size();
+    }
+}
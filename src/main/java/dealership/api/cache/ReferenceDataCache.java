@@ -0,0 +1,123 @@
+package dealership.api.cache;
+
+import dealership.api.dao.DealershipDao;
+import dealership.api.dao.RoleDao;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Dealership and role names held in the {@link ReportCache} as {@link NameDictionary dictionaries}.
+ * <p>
+ * Both tables are small and rarely change, so the user listings read only
+ * the identifiers and resolve the names here instead of joining them. The
+ * dictionaries are cached under {@link ReportKeys#DEALERSHIPS} and
+ * {@link ReportKeys#ROLES} with the TTLs configured for those names, and a
+ * lookup that meets an identifier missing from the cached dictionary
+ * reloads it once, so a dealership or role created since the last load is
+ * resolved right away.
+ * </p>
+ * <p>
+ * Identifiers still missing after that reload, such as the dangling
+ * dealership of a user whose dealership was deleted, are remembered against
+ * the reloaded dictionary and do not reload it again until it expires.
+ * Callers leave rows with unresolved identifiers out, as the joins did.
+ * </p>
+ */
+public class ReferenceDataCache {
+
+    private final ReportCache reportCache;
+    private final DealershipDao dealershipDao;
+    private final RoleDao roleDao;
+    private final Map<String, Misses> misses = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new reference data cache.
+     *
+     * @param reportCache cache holding the dictionaries
+     * @param dealershipDao DAO loading the dealership names
+     * @param roleDao DAO loading the role names
+     */
+    public ReferenceDataCache(ReportCache reportCache, DealershipDao dealershipDao, RoleDao roleDao) {
+        this.reportCache = reportCache;
+        this.dealershipDao = dealershipDao;
+        this.roleDao = roleDao;
+    }
+
+    /**
+     * Returns the dealership dictionary, reloaded if it misses any of the given identifiers.
+     *
+     * @param ids dealership identifiers the caller needs names for
+     * @return the dealership dictionary
+     */
+    public NameDictionary dealerships(Collection<Integer> ids) {
+        return covering(ReportKeys.DEALERSHIPS, ids,
+                () -> new NameDictionary(dealershipDao.findAllDealerships()));
+    }
+
+    /**
+     * Returns the role dictionary, reloaded if it misses any of the given identifiers.
+     *
+     * @param ids role identifiers the caller needs names for
+     * @return the role dictionary
+     */
+    public NameDictionary roles(Collection<Integer> ids) {
+        return covering(ReportKeys.ROLES, ids, () -> new NameDictionary(roleDao.findAllRoles()));
+    }
+
+    private NameDictionary covering(String key, Collection<Integer> ids, Supplier<NameDictionary> loader) {
+        NameDictionary dictionary = reportCache.get(key, loader);
+        if (dictionary.containsAll(ids) || knownMissing(key, dictionary, ids)) {
+            return dictionary;
+        }
+        reportCache.invalidate(key);
+        NameDictionary reloaded = reportCache.get(key, loader);
+        Set<Integer> missing = new HashSet<>();
+        for (Integer id : ids) {
+            if (!reloaded.contains(id)) {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            misses.merge(key, new Misses(reloaded, missing),
+                    (known, more) -> known.dictionary == more.dictionary ? known.with(more.ids) : more);
+        }
+        return reloaded;
+    }
+
+    private boolean knownMissing(String key, NameDictionary dictionary, Collection<Integer> ids) {
+        Misses known = misses.get(key);
+        if (known == null || known.dictionary != dictionary) {
+            return false;
+        }
+        for (Integer id : ids) {
+            if (!dictionary.contains(id) && !known.ids.contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Identifiers a given dictionary instance is known not to contain.
+     */
+    private static final class Misses {
+        private final NameDictionary dictionary;
+        private final Set<Integer> ids;
+
+        private Misses(NameDictionary dictionary, Set<Integer> ids) {
+            this.dictionary = dictionary;
+            this.ids = ids;
+        }
+
+        private Misses with(Set<Integer> more) {
+            Set<Integer> union = new HashSet<>(ids);
+            union.addAll(more);
+            return new Misses(dictionary, union);
+        }
+    }
+}
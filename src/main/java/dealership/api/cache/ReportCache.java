@@ -0,0 +1,274 @@
+package dealership.api.cache;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * In-memory cache of owner report results with per-report TTLs and request coalescing.
+ * <p>
+ * On a miss, the first caller runs the database query while concurrent callers
+ * asking for the same report wait on that single in-flight load instead of
+ * issuing their own query. Failed loads are not cached, so the next request
+ * retries.
+ * </p>
+ * <p>
+ * Cached values are shared between requests and must be treated as immutable.
+ * </p>
+ * <p>
+ * Expired entries are only replaced when their key is requested again, so a
+ * periodic eviction removes them; otherwise every dealership scope and field
+ * selection ever requested would stay in memory.
+ * </p>
+ */
+public class ReportCache {
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Duration> ttls;
+    private final Duration defaultTtl;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    private final List<Consumer<String>> invalidationListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates a new cache.
+     *
+     * @param ttls time-to-live per report name
+     * @param defaultTtl time-to-live for reports without an explicit entry
+     */
+    public ReportCache(Map<String, Duration> ttls, Duration defaultTtl) {
+        this.ttls = Map.copyOf(ttls);
+        this.defaultTtl = defaultTtl;
+    }
+
+    /**
+     * Returns the cached result of a report, loading it if absent or expired.
+     *
+     * @param report report name, also used as the cache key
+     * @param loader query producing the report when it is not cached
+     * @param <T> report result type
+     * @return the cached or freshly loaded report
+     */
+    public <T> T get(String report, Supplier<T> loader) {
+        return get(report, loader, value -> true);
+    }
+
+    /**
+     * Returns the cached result of a report, loading it if absent or expired.
+     * <p>
+     * Values rejected by {@code cacheable} are still handed to the callers
+     * waiting on the load, but are not kept for later requests.
+     * </p>
+     *
+     * @param report report name, also used as the cache key
+     * @param loader query producing the report when it is not cached
+     * @param cacheable decides whether a loaded value may be kept for its TTL
+     * @param <T> report result type
+     * @return the cached or freshly loaded report
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String report, Supplier<T> loader, Predicate<? super T> cacheable) {
+        Entry current = entries.get(report);
+        if (current != null && !current.isExpired(System.nanoTime())) {
+            return (T) await(current);
+        }
+
+        Entry fresh = new Entry();
+        Entry winner = entries.compute(report, (key, existing) ->
+                existing == null || existing.isExpired(System.nanoTime()) ? fresh : existing);
+        if (winner != fresh) {
+            return (T) await(winner);
+        }
+
+        misses.increment();
+        try {
+            T value = loader.get();
+            if (cacheable.test(value)) {
+                fresh.complete(value, System.nanoTime() + ttlOf(report).toNanos());
+            } else {
+                entries.remove(report, fresh);
+                fresh.complete(value, System.nanoTime());
+            }
+            return value;
+        } catch (Throwable ex) {
+            // Errors too: waiters must not block on a load that will never complete.
+            entries.remove(report, fresh);
+            fresh.future.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Drops a cached report so the next request reloads it.
+     *
+     * @param report report name
+     */
+    public void invalidate(String report) {
+        entries.remove(report);
+    }
+
+    /**
+     * Drops a cached report together with every dealership-scoped variant of it.
+     * <p>
+     * The invalidation listeners are then told the report name, so state kept
+     * elsewhere for the report is dropped as well.
+     * </p>
+     *
+     * @param report report name
+     * @see ReportKeys#forDealership(String, int)
+     * @see #addInvalidationListener(Consumer)
+     */
+    public void invalidateReport(String report) {
+        entries.keySet().removeIf(key -> ReportKeys.reportOf(key).equals(report));
+        invalidationListeners.forEach(listener -> listener.accept(report));
+    }
+
+    /**
+     * Registers a callback run with the report name whenever {@link #invalidateReport(String)} is called.
+     *
+     * @param listener callback receiving the invalidated report name
+     */
+    public void addInvalidationListener(Consumer<String> listener) {
+        invalidationListeners.add(listener);
+    }
+
+    /**
+     * Periodically removes expired results.
+     * <p>
+     * Loads still in flight are kept, as are results still within their TTL.
+     * </p>
+     */
+    @Scheduled(fixedDelayString = "${dealership.cache.eviction-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    /**
+     * Replaces the cached values of a report and of its scoped and projected variants.
+     * <p>
+     * Lets a writer that knows exactly what it changed patch the cached
+     * results in one pass instead of dropping them. Each value is handed to
+     * {@code update} together with its key; the returned value replaces it
+     * and keeps the remaining TTL, while {@code null} drops the entry. Loads
+     * still in flight are dropped too, since they may have read the data
+     * before the change; their callers still receive the loaded value. The
+     * update must not modify the value it is given, which other requests may
+     * still be reading.
+     * </p>
+     *
+     * @param report report name
+     * @param update computes the new value of a cache key, or {@code null} to drop it
+     */
+    public void updateReport(String report, BiFunction<String, Object, Object> update) {
+        long now = System.nanoTime();
+        for (String key : entries.keySet()) {
+            if (!ReportKeys.reportOf(key).equals(report)) {
+                continue;
+            }
+            entries.computeIfPresent(key, (k, entry) -> {
+                if (!entry.future.isDone() || entry.future.isCompletedExceptionally() || entry.isExpired(now)) {
+                    return null;
+                }
+                Object updated = update.apply(k, entry.future.join());
+                if (updated == null) {
+                    return null;
+                }
+                Entry replacement = new Entry();
+                replacement.complete(updated, entry.expiresAtNanos);
+                return replacement;
+            });
+        }
+    }
+
+    /**
+     * Returns the number of requests answered from a cached result.
+     *
+     * @return hit count
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of requests that triggered a database load.
+     *
+     * @return miss count
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of requests that waited on another request's load.
+     *
+     * @return coalesced request count
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Returns the number of reports currently cached or loading.
+     *
+     * @return entry count
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private Object await(Entry entry) {
+        if (entry.future.isDone()) {
+            hits.increment();
+        } else {
+            coalesced.increment();
+        }
+        try {
+            return entry.future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+
+    private Duration ttlOf(String report) {
+        return ttls.getOrDefault(ReportKeys.reportOf(report), defaultTtl);
+    }
+
+    /**
+     * A cached or in-flight report result.
+     */
+    private static final class Entry {
+
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+        private volatile long expiresAtNanos;
+
+        private void complete(Object value, long expiresAtNanos) {
+            this.expiresAtNanos = expiresAtNanos;
+            future.complete(value);
+        }
+
+        private boolean isExpired(long nowNanos) {
+            return future.isDone() && nowNanos - expiresAtNanos >= 0;
+        }
+    }
+}
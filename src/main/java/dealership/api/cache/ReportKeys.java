@@ -0,0 +1,80 @@
+package dealership.api.cache;
+
+/**
+ * Names of the owner reports held in the {@link ReportCache}.
+ * <p>
+ * The names double as the suffix of the per-report TTL properties, for
+ * example {@code dealership.cache.ttl.sales-by-employee}. Reports narrowed
+ * to a single dealership are cached under a scoped key such as
+ * {@code stock-unsold:3}, which shares the TTL of its report. Reports
+ * narrowed to a field projection add the selected fields, as in
+ * {@code stock-unsold:3?plate,brand}.
+ * </p>
+ */
+public final class ReportKeys {
+
+    /** Unsold vehicle stock listing. */
+    public static final String STOCK_UNSOLD = "stock-unsold";
+
+    /** Sales totals grouped by employee. */
+    public static final String SALES_BY_EMPLOYEE = "sales-by-employee";
+
+    /** Repair revenue grouped by dealership. */
+    public static final String REPAIR_REVENUE_BY_DEALERSHIP = "repair-revenue-by-dealership";
+
+    /** Global owner dashboard summary. */
+    public static final String SUMMARY = "summary";
+
+    /** Dealership names by identifier, see {@link ReferenceDataCache}. */
+    public static final String DEALERSHIPS = "dealerships";
+
+    /** Role names by identifier, see {@link ReferenceDataCache}. */
+    public static final String ROLES = "roles";
+
+    /** Separator between a report name and its scope in a cache key. */
+    public static final char SCOPE_SEPARATOR = ':';
+
+    /** Separator between a report key and its field projection. */
+    public static final char FIELDS_SEPARATOR = '?';
+
+    private ReportKeys() {
+    }
+
+    /**
+     * Returns the cache key of a report narrowed to one dealership.
+     *
+     * @param report report name
+     * @param dealershipId dealership identifier
+     * @return the scoped cache key
+     */
+    public static String forDealership(String report, int dealershipId) {
+        return report + SCOPE_SEPARATOR + dealershipId;
+    }
+
+    /**
+     * Returns the cache key of a report narrowed to a field projection.
+     *
+     * @param key report name or scoped key
+     * @param fields selected fields in canonical order
+     * @return the projected cache key
+     */
+    public static String withFields(String key, String fields) {
+        return key + FIELDS_SEPARATOR + fields;
+    }
+
+    /**
+     * Returns the report name of a possibly scoped or projected cache key.
+     *
+     * @param key cache key
+     * @return the report name without its scope
+     */
+    public static String reportOf(String key) {
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c == SCOPE_SEPARATOR || c == FIELDS_SEPARATOR) {
+                return key.substring(0, i);
+            }
+        }
+        return key;
+    }
+}
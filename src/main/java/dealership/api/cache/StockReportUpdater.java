@@ -0,0 +1,148 @@
+package dealership.api.cache;
+
+import dealership.api.dao.VehicleDao;
+import dealership.api.json.ProjectedRows;
+import dealership.api.model.CreateSaleRequest;
+import dealership.api.model.VehicleStatusTransition;
+import dealership.api.model.VehicleStockRow;
+import dealership.api.resilience.ReportResult;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Brings the cached stock lists and owner summary up to date after vehicle status transitions and sales.
+ * <p>
+ * Instead of dropping the stock lists, every cached list is rewritten in a
+ * single pass over its rows: vehicles that became {@link VehicleDao#SOLD}
+ * are removed and the others get their new status. Setting a status is
+ * idempotent, so a list loaded after the write is patched harmlessly, and a
+ * stale list stays marked stale. Cached rows are shared with requests in
+ * progress, so changed rows are copied rather than modified.
+ * </p>
+ * <p>
+ * Vehicles returning to stock from {@code SOLD} are not in any cached list
+ * and their rows are not known here, so such a batch drops the stock lists
+ * instead. The change feed later sees the same rows change and drops the
+ * reports as usual, which is harmless.
+ * </p>
+ * <p>
+ * Counts and totals cannot be patched the same way: a summary or
+ * sales-by-employee report loaded after the write already includes it and
+ * would count it twice. Those reports are dropped whenever the change
+ * affects them, and the next request reloads them.
+ * </p>
+ */
+public class StockReportUpdater {
+
+    private final ReportCache reportCache;
+
+    /**
+     * Creates a new updater.
+     *
+     * @param reportCache cache holding the stock and summary reports
+     */
+    public StockReportUpdater(ReportCache reportCache) {
+        this.reportCache = reportCache;
+    }
+
+    /**
+     * Applies committed status transitions to the cached reports.
+     *
+     * @param applied transitions that were written to the database
+     */
+    public void statusesChanged(Collection<VehicleStatusTransition> applied) {
+        if (applied.isEmpty()) {
+            return;
+        }
+        Map<Integer, String> statuses = new HashMap<>(applied.size() * 2);
+        boolean soldChanged = false;
+        boolean restocked = false;
+        for (VehicleStatusTransition transition : applied) {
+            statuses.put(transition.getVehicleId(), transition.getToStatus());
+            boolean wasSold = VehicleDao.SOLD.equals(transition.getFromStatus());
+            boolean isSold = VehicleDao.SOLD.equals(transition.getToStatus());
+            if (wasSold != isSold) {
+                soldChanged = true;
+                restocked |= wasSold;
+            }
+        }
+
+        if (restocked) {
+            reportCache.invalidateReport(ReportKeys.STOCK_UNSOLD);
+        } else {
+            reportCache.updateReport(ReportKeys.STOCK_UNSOLD, (key, value) -> patchStock(value, statuses));
+        }
+        if (soldChanged) {
+            reportCache.invalidateReport(ReportKeys.SUMMARY);
+        }
+    }
+
+    /**
+     * Applies committed sales to the cached reports.
+     *
+     * @param recorded sales that were inserted, each of a vehicle that was not sold before
+     */
+    public void salesRecorded(Collection<CreateSaleRequest> recorded) {
+        if (recorded.isEmpty()) {
+            return;
+        }
+        Map<Integer, String> statuses = new HashMap<>(recorded.size() * 2);
+        for (CreateSaleRequest sale : recorded) {
+            statuses.put(sale.getVehicleId(), VehicleDao.SOLD);
+        }
+
+        reportCache.updateReport(ReportKeys.STOCK_UNSOLD, (key, value) -> patchStock(value, statuses));
+        reportCache.invalidateReport(ReportKeys.SUMMARY);
+        reportCache.invalidateReport(ReportKeys.SALES_BY_EMPLOYEE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object patchStock(Object value, Map<Integer, String> statuses) {
+        if (value instanceof ReportResult<?> result) {
+            Object patched = patchStock(result.getValue(), statuses);
+            if (patched == null) {
+                return null;
+            }
+            if (patched == result.getValue()) {
+                return result;
+            }
+            return result.isStale() ? ReportResult.stale(patched, result.getAgeMillis()) : ReportResult.fresh(patched);
+        }
+        if (value instanceof ProjectedRows<?> projected) {
+            ProjectedRows<VehicleStockRow> rows = (ProjectedRows<VehicleStockRow>) projected;
+            List<VehicleStockRow> patched = patchRows(rows.getRows(), statuses);
+            return patched == rows.getRows() ? rows : rows.withRows(patched);
+        }
+        if (value instanceof List<?> list) {
+            return patchRows((List<VehicleStockRow>) list, statuses);
+        }
+        return null;
+    }
+
+    private static List<VehicleStockRow> patchRows(List<VehicleStockRow> rows, Map<Integer, String> statuses) {
+        List<VehicleStockRow> patched = null;
+        for (int i = 0; i < rows.size(); i++) {
+            VehicleStockRow row = rows.get(i);
+            String status = statuses.get(row.getId());
+            if (status == null) {
+                if (patched != null) {
+                    patched.add(row);
+                }
+                continue;
+            }
+            if (patched == null) {
+                patched = new ArrayList<>(rows.subList(0, i));
+            }
+            if (!VehicleDao.SOLD.equals(status)) {
+                VehicleStockRow copy = new VehicleStockRow(row.getId(), row.getPlate(), row.getBrand(),
+                        row.getModel(), row.getYear(), row.getMileage(), row.getStatus() == null ? null : status);
+                patched.add(copy);
+            }
+        }
+        return patched == null ? rows : patched;
+    }
+}
@@ -0,0 +1,321 @@
+package dealership.api.changefeed;
+
+import dealership.api.model.ChangeFeedStatsRow;
+import dealership.api.shard.Shard;
+import dealership.api.shard.ShardRouter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Tails the {@code vehicle}, {@code sale} and {@code repair_order} tables of
+ * every shard and publishes the changed rows to in-process subscribers.
+ * <p>
+ * Each table of each shard is a separate stream with its own watermark, the
+ * {@code (updated_at, id)} of the last row published. A poll is a keyset
+ * range query on the {@code (updated_at, id)} index reading at most one page
+ * of rows after the watermark. Rows written less than the commit grace ago
+ * are left for a later poll, so that a transaction that took its timestamp
+ * earlier but commits later is not skipped. The grace is measured on the
+ * database clock, which sets {@code updated_at}, so a skewed application
+ * clock cannot move the bound past uncommitted rows. On startup the watermark is set
+ * to the current head of the table; history is not replayed.
+ * </p>
+ * <p>
+ * The poll interval adapts to the write rate of each stream: a full page is
+ * followed immediately by the next one, a poll that found changes halves the
+ * interval, and an empty poll doubles it, within the configured bounds. A
+ * failing stream backs off to the maximum interval.
+ * </p>
+ * <p>
+ * The lag of a stream is the time since the upper bound of its last poll that
+ * caught up: every change older than that has been delivered. It is reported
+ * on the application clock, as the start of that poll less the commit grace.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "dealership.change-feed.enabled", havingValue = "true")
+public class ChangeFeedPoller {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeedPoller.class);
+
+    private static final Timestamp EPOCH = new Timestamp(0);
+
+    private final List<Stream> streams = new ArrayList<>();
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final long minIntervalNanos;
+    private final long maxIntervalNanos;
+    private final long commitGraceMillis;
+    private final long commitGraceMicros;
+    private final int pageSize;
+    private final Thread pollThread;
+
+    private volatile boolean running = true;
+
+    /**
+     * Creates a new poller. Polling starts once the bean is initialized.
+     *
+     * @param shardRouter router giving access to every shard
+     * @param listeners listeners subscribed from the start
+     * @param minIntervalMillis shortest delay between two polls of a stream
+     * @param maxIntervalMillis longest delay between two polls of a stream
+     * @param commitGraceMillis age a row must reach before it is read
+     * @param pageSize maximum number of rows read per poll
+     */
+    public ChangeFeedPoller(ShardRouter shardRouter, ObjectProvider<ChangeListener> listeners,
+                            @Value("${dealership.change-feed.min-interval-ms:200}") long minIntervalMillis,
+                            @Value("${dealership.change-feed.max-interval-ms:5000}") long maxIntervalMillis,
+                            @Value("${dealership.change-feed.commit-grace-ms:1000}") long commitGraceMillis,
+                            @Value("${dealership.change-feed.page-size:500}") int pageSize) {
+        this.minIntervalNanos = TimeUnit.MILLISECONDS.toNanos(minIntervalMillis);
+        this.maxIntervalNanos = TimeUnit.MILLISECONDS.toNanos(maxIntervalMillis);
+        this.commitGraceMillis = commitGraceMillis;
+        this.commitGraceMicros = TimeUnit.MILLISECONDS.toMicros(commitGraceMillis);
+        this.pageSize = pageSize;
+        for (Shard shard : shardRouter.all()) {
+            for (ChangeTable table : ChangeTable.values()) {
+                streams.add(new Stream(shard, table, minIntervalNanos));
+            }
+        }
+        listeners.orderedStream().forEach(this.listeners::add);
+        this.pollThread = new Thread(this::pollLoop, "change-feed");
+        this.pollThread.setDaemon(true);
+    }
+
+    /**
+     * Starts the poller thread.
+     */
+    @PostConstruct
+    public void start() {
+        pollThread.start();
+    }
+
+    /**
+     * Stops the poller thread.
+     *
+     * @throws InterruptedException if interrupted while waiting for the poller thread
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(pollThread);
+        if (pollThread.isAlive()) {
+            pollThread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * Subscribes a listener to all future changes.
+     *
+     * @param listener listener to add
+     * @return action removing the listener again
+     */
+    public Runnable subscribe(ChangeListener listener) {
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+
+    /**
+     * Returns a snapshot of the state of every stream.
+     *
+     * @return one entry per shard and table
+     */
+    public List<ChangeFeedStatsRow> getStats() {
+        long now = System.currentTimeMillis();
+        List<ChangeFeedStatsRow> stats = new ArrayList<>(streams.size());
+        for (Stream stream : streams) {
+            stats.add(stream.stats(now));
+        }
+        return stats;
+    }
+
+    /**
+     * Polls every stream once, regardless of its schedule.
+     *
+     * @return number of changes published
+     */
+    int pollAll() {
+        int published = 0;
+        for (Stream stream : streams) {
+            published += poll(stream);
+        }
+        return published;
+    }
+
+    private void pollLoop() {
+        while (running) {
+            long nextDue = Long.MAX_VALUE;
+            for (Stream stream : streams) {
+                if (!running) {
+                    return;
+                }
+                if (System.nanoTime() - stream.dueAtNanos >= 0) {
+                    poll(stream);
+                }
+                nextDue = Math.min(nextDue, stream.dueAtNanos - System.nanoTime());
+            }
+            if (nextDue > 0) {
+                LockSupport.parkNanos(Math.min(nextDue, maxIntervalNanos));
+            }
+        }
+    }
+
+    private int poll(Stream stream) {
+        long upperBoundMillis = System.currentTimeMillis() - commitGraceMillis;
+        try {
+            if (stream.watermark == null) {
+                stream.initialize();
+                stream.caughtUp(upperBoundMillis, 0, minIntervalNanos, maxIntervalNanos, false);
+                return 0;
+            }
+
+            List<RowChange> changes = stream.readPage(commitGraceMicros, pageSize);
+            boolean fullPage = changes.size() >= pageSize;
+            if (!changes.isEmpty()) {
+                publish(Collections.unmodifiableList(changes));
+            }
+            stream.caughtUp(upperBoundMillis, changes.size(), minIntervalNanos, maxIntervalNanos, fullPage);
+            return changes.size();
+        } catch (RuntimeException ex) {
+            stream.failed(maxIntervalNanos);
+            if (stream.consecutiveFailures == 1) {
+                log.warn("Change feed poll of {} on shard {} failed: {}",
+                        stream.table.getTableName(), stream.shard.getName(), ex.getMessage());
+            } else {
+                log.debug("Change feed poll of {} on shard {} failed again",
+                        stream.table.getTableName(), stream.shard.getName(), ex);
+            }
+            return 0;
+        }
+    }
+
+    private void publish(List<RowChange> changes) {
+        for (ChangeListener listener : listeners) {
+            try {
+                listener.onChanges(changes);
+            } catch (RuntimeException ex) {
+                log.warn("Change listener {} failed: {}", listener, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Watermark, schedule and counters of one table on one shard.
+     * <p>
+     * Only the poller thread writes the fields; the volatile ones are read by
+     * {@link #getStats()}.
+     * </p>
+     */
+    private static final class Stream {
+
+        private final Shard shard;
+        private final ChangeTable table;
+
+        private Timestamp watermark;
+        private int watermarkId;
+        private int maxIdSeen;
+        private long intervalNanos;
+        private long dueAtNanos = System.nanoTime();
+        private int consecutiveFailures;
+
+        private volatile Instant watermarkInstant;
+        private volatile long caughtUpAtMillis = -1;
+        private volatile long intervalMillis;
+        private volatile long published;
+        private volatile long failures;
+
+        private Stream(Shard shard, ChangeTable table, long intervalNanos) {
+            this.shard = shard;
+            this.table = table;
+            this.intervalNanos = intervalNanos;
+            this.intervalMillis = TimeUnit.NANOSECONDS.toMillis(intervalNanos);
+        }
+
+        private void initialize() {
+            Map<String, Object> head = shard.getJdbc().queryForMap(table.getHeadSql());
+            Timestamp headUpdatedAt = (Timestamp) head.get("updated_at");
+            Number headId = (Number) head.get("max_id");
+            watermark = headUpdatedAt != null ? headUpdatedAt : EPOCH;
+            watermarkId = headId != null ? headId.intValue() : 0;
+            maxIdSeen = watermarkId;
+            watermarkInstant = watermark.toInstant();
+        }
+
+        private List<RowChange> readPage(long commitGraceMicros, int pageSize) {
+            List<RowChange> changes = shard.getJdbc().query(
+                    table.getPollSql(),
+                    ps -> {
+                        ps.setLong(1, -commitGraceMicros);
+                        ps.setTimestamp(2, watermark);
+                        ps.setTimestamp(3, watermark);
+                        ps.setInt(4, watermarkId);
+                        ps.setInt(5, pageSize);
+                    },
+                    (rs, rowNum) -> {
+                        int id = rs.getInt("id");
+                        int dealershipId = rs.getInt("dealership_id");
+                        Integer dealership = rs.wasNull() ? null : dealershipId;
+                        Timestamp updatedAt = rs.getTimestamp("updated_at");
+                        RowChange.Kind kind = id > maxIdSeen ? RowChange.Kind.INSERT : RowChange.Kind.UPDATE;
+                        return new RowChange(table, kind, shard.getName(), id, dealership, updatedAt.toInstant());
+                    });
+            if (!changes.isEmpty()) {
+                RowChange last = changes.get(changes.size() - 1);
+                watermark = Timestamp.from(last.getUpdatedAt());
+                watermarkId = last.getId();
+                watermarkInstant = last.getUpdatedAt();
+                for (RowChange change : changes) {
+                    maxIdSeen = Math.max(maxIdSeen, change.getId());
+                }
+                published += changes.size();
+            }
+            return changes;
+        }
+
+        private void caughtUp(long upperBoundMillis, int rows, long minNanos, long maxNanos, boolean fullPage) {
+            consecutiveFailures = 0;
+            if (fullPage) {
+                intervalNanos = minNanos;
+                dueAtNanos = System.nanoTime();
+            } else {
+                caughtUpAtMillis = upperBoundMillis;
+                intervalNanos = rows > 0
+                        ? Math.max(minNanos, intervalNanos / 2)
+                        : Math.min(maxNanos, intervalNanos * 2);
+                dueAtNanos = System.nanoTime() + intervalNanos;
+            }
+            intervalMillis = TimeUnit.NANOSECONDS.toMillis(intervalNanos);
+        }
+
+        private void failed(long maxNanos) {
+            consecutiveFailures++;
+            failures++;
+            intervalNanos = maxNanos;
+            intervalMillis = TimeUnit.NANOSECONDS.toMillis(intervalNanos);
+            dueAtNanos = System.nanoTime() + intervalNanos;
+        }
+
+        private ChangeFeedStatsRow stats(long nowMillis) {
+            long caughtUpAt = caughtUpAtMillis;
+            Instant watermarkAt = watermarkInstant;
+            return new ChangeFeedStatsRow(shard.getName(), table.getTableName(),
+                    watermarkAt == null ? null : watermarkAt.toString(),
+                    caughtUpAt < 0 ? -1 : nowMillis - caughtUpAt, intervalMillis, published, failures);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package dealership.api.changefeed;
+
+import java.util.List;
+
+/**
+ * Subscriber of the change feed.
+ * <p>
+ * Beans implementing this interface are subscribed automatically. Listeners
+ * are called on the poller thread, one call per poll that found changes, and
+ * should return quickly; exceptions are logged and do not stop the feed.
+ * </p>
+ */
+@FunctionalInterface
+public interface ChangeListener {
+
+    /**
+     * Receives the changes found by one poll of one table on one shard.
+     *
+     * @param changes changed rows in {@code (updated_at, id)} order, never empty
+     */
+    void onChanges(List<RowChange> changes);
+}
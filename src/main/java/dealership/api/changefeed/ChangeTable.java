@@ -0,0 +1,86 @@
+package dealership.api.changefeed;
+
+import dealership.api.cache.ReportKeys;
+
+/**
+ * Tables tailed by the change feed.
+ * <p>
+ * Each table has an {@code updated_at} column maintained by the database and
+ * an index on {@code (updated_at, id)}, both created by the
+ * {@code V3__change_feed_watermarks} migration, so that every poll is a short
+ * range scan. Sales and repair orders report the dealership of their vehicle.
+ * </p>
+ */
+public enum ChangeTable {
+
+    /** Vehicle stock, including status changes when a vehicle is sold. */
+    VEHICLE("vehicle", "v", ReportKeys.STOCK_UNSOLD,
+            "SELECT v.id, v.current_dealership_id AS dealership_id, v.updated_at FROM vehicle v "),
+
+    /** Sales, including the ones written directly by the DMS. */
+    SALE("sale", "s", ReportKeys.SALES_BY_EMPLOYEE,
+            "SELECT s.id, v.current_dealership_id AS dealership_id, s.updated_at FROM sale s "
+                    + "LEFT JOIN vehicle v ON v.id = s.vehicle_id "),
+
+    /** Repair orders, including the ones written directly by the DMS. */
+    REPAIR_ORDER("repair_order", "ro", ReportKeys.REPAIR_REVENUE_BY_DEALERSHIP,
+            "SELECT ro.id, v.current_dealership_id AS dealership_id, ro.updated_at FROM repair_order ro "
+                    + "LEFT JOIN vehicle v ON v.id = ro.vehicle_id ");
+
+    private final String tableName;
+    private final String report;
+    private final String pollSql;
+    private final String headSql;
+
+    ChangeTable(String tableName, String alias, String report, String select) {
+        this.tableName = tableName;
+        this.report = report;
+        this.pollSql = select
+                + "WHERE " + alias + ".updated_at <= TIMESTAMPADD(MICROSECOND, ?, CURRENT_TIMESTAMP(3)) "
+                + "AND (" + alias + ".updated_at > ? "
+                + "OR (" + alias + ".updated_at = ? AND " + alias + ".id > ?)) "
+                + "ORDER BY " + alias + ".updated_at, " + alias + ".id LIMIT ?";
+        this.headSql = "SELECT MAX(updated_at) AS updated_at, MAX(id) AS max_id FROM " + tableName;
+    }
+
+    /**
+     * Returns the table name.
+     *
+     * @return SQL table name
+     */
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * Returns the owner report built from this table, besides the summary.
+     *
+     * @return report name, as listed in {@link ReportKeys}
+     */
+    public String getReport() {
+        return report;
+    }
+
+    /**
+     * Returns the keyset query reading the next page of changes after a watermark.
+     * <p>
+     * Parameters: negated commit grace in microseconds, watermark timestamp (twice),
+     * watermark id, page size. The upper bound is taken from the database
+     * clock, the one that sets {@code updated_at}.
+     * </p>
+     *
+     * @return poll query
+     */
+    String getPollSql() {
+        return pollSql;
+    }
+
+    /**
+     * Returns the query reading the current head of the table, used as the starting watermark.
+     *
+     * @return head query
+     */
+    String getHeadSql() {
+        return headSql;
+    }
+}
@@ -0,0 +1,46 @@
+package dealership.api.changefeed;
+
+import dealership.api.cache.ReportCache;
+import dealership.api.cache.ReportKeys;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Drops cached owner reports as soon as the change feed sees their source tables change.
+ * <p>
+ * With the feed enabled, the report TTLs only bound the staleness left by
+ * changes the feed cannot see, such as deletes.
+ * </p>
+ * <p>
+ * Runs before every other listener, so listeners that reload a report see
+ * the new data rather than the cached result.
+ * </p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "dealership.change-feed.enabled", havingValue = "true")
+public class ReportCacheInvalidator implements ChangeListener {
+
+    private final ReportCache reportCache;
+
+    /**
+     * Creates a new invalidator.
+     *
+     * @param reportCache cache holding recent report results
+     */
+    public ReportCacheInvalidator(ReportCache reportCache) {
+        this.reportCache = reportCache;
+    }
+
+    @Override
+    public void onChanges(List<RowChange> changes) {
+        // A poll covers a single table. A vehicle may have moved between
+        // dealerships, so every dealership scope of the report is dropped.
+        reportCache.invalidateReport(changes.get(0).getTable().getReport());
+        reportCache.invalidateReport(ReportKeys.SUMMARY);
+    }
+}
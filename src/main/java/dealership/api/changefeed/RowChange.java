@@ -0,0 +1,109 @@
+package dealership.api.changefeed;
+
+import java.time.Instant;
+
+/**
+ * A row inserted or updated in one of the tailed tables.
+ * <p>
+ * Only the key of the row is carried; subscribers that need its contents
+ * read it themselves. Deleted rows are not reported.
+ * </p>
+ */
+public final class RowChange {
+
+    /**
+     * Kind of change, derived from the row id: ids above the highest id seen
+     * so far are new rows.
+     */
+    public enum Kind {
+        /** Row created since the previous poll. */
+        INSERT,
+        /** Existing row modified since the previous poll. */
+        UPDATE
+    }
+
+    private final ChangeTable table;
+    private final Kind kind;
+    private final String shard;
+    private final int id;
+    private final Integer dealershipId;
+    private final Instant updatedAt;
+
+    /**
+     * Creates a new row change.
+     *
+     * @param table table the row belongs to
+     * @param kind whether the row was inserted or updated
+     * @param shard name of the shard holding the row
+     * @param id row identifier
+     * @param dealershipId dealership the row belongs to, or {@code null} if unknown
+     * @param updatedAt value of the row's {@code updated_at} column
+     */
+    public RowChange(ChangeTable table, Kind kind, String shard, int id, Integer dealershipId, Instant updatedAt) {
+        this.table = table;
+        this.kind = kind;
+        this.shard = shard;
+        this.id = id;
+        this.dealershipId = dealershipId;
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * Returns the table the row belongs to.
+     *
+     * @return changed table
+     */
+    public ChangeTable getTable() {
+        return table;
+    }
+
+    /**
+     * Returns whether the row was inserted or updated.
+     *
+     * @return change kind
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the name of the shard holding the row.
+     *
+     * @return shard name
+     */
+    public String getShard() {
+        return shard;
+    }
+
+    /**
+     * Returns the row identifier.
+     *
+     * @return row ID
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the dealership the row belongs to.
+     *
+     * @return dealership ID, or {@code null} if unknown
+     */
+    public Integer getDealershipId() {
+        return dealershipId;
+    }
+
+    /**
+     * Returns the time the row was last written.
+     *
+     * @return row update timestamp
+     */
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return table + " " + kind + " #" + id + " on " + shard;
+    }
+}
@@ -0,0 +1,78 @@
+package dealership.api.config;
+
+import dealership.api.cache.ReferenceDataCache;
+import dealership.api.cache.ReportCache;
+import dealership.api.cache.StockReportUpdater;
+import dealership.api.dao.DealershipDao;
+import dealership.api.dao.RoleDao;
+import dealership.api.resilience.ResilientReportLoader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Spring configuration class defining the owner report cache and the reference data held in it.
+ * <p>
+ * Per-report TTLs are read from {@code dealership.cache.ttl.<report>}, where
+ * the report names are the ones listed in {@link dealership.api.cache.ReportKeys}.
+ * Reports without an explicit TTL use {@code dealership.cache.default-ttl}.
+ * </p>
+ */
+@Configuration
+public class CacheConfig {
+
+    /**
+     * Provides the shared report cache.
+     * <p>
+     * Invalidating a report also drops the last good result the resilience
+     * layer keeps for it, which the change made outdated.
+     * </p>
+     *
+     * @param environment environment used to bind the per-report TTLs
+     * @param defaultTtl TTL applied to reports without an explicit entry
+     * @param resilientReportLoader loader whose per-report state follows the invalidations
+     * @return the report cache
+     */
+    @Bean
+    public ReportCache reportCache(Environment environment,
+                                   @Value("${dealership.cache.default-ttl:30s}") Duration defaultTtl,
+                                   ResilientReportLoader resilientReportLoader) {
+        Map<String, Duration> ttls = Binder.get(environment)
+                .bind("dealership.cache.ttl", Bindable.mapOf(String.class, Duration.class))
+                .orElse(Map.of());
+        ReportCache reportCache = new ReportCache(ttls, defaultTtl);
+        reportCache.addInvalidationListener(resilientReportLoader::invalidateReport);
+        return reportCache;
+    }
+
+    /**
+     * Provides the dealership and role name dictionaries used by the user listings.
+     *
+     * @param reportCache cache holding the dictionaries
+     * @param dealershipDao DAO loading the dealership names
+     * @param roleDao DAO loading the role names
+     * @return the reference data cache
+     */
+    @Bean
+    public ReferenceDataCache referenceDataCache(ReportCache reportCache, DealershipDao dealershipDao,
+                                                 RoleDao roleDao) {
+        return new ReferenceDataCache(reportCache, dealershipDao, roleDao);
+    }
+
+    /**
+     * Provides the updater bringing the cached stock and summary up to date after status transitions and sales.
+     *
+     * @param reportCache cache holding the reports
+     * @return the stock report updater
+     */
+    @Bean
+    public StockReportUpdater stockReportUpdater(ReportCache reportCache) {
+        return new StockReportUpdater(reportCache);
+    }
+}
@@ -0,0 +1,35 @@
+package dealership.api.config;
+
+import dealership.api.cost.CostAccounting;
+import dealership.api.cost.DaoCostPostProcessor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring configuration class wiring the per-DAO-call cost measurement.
+ * <p>
+ * Requests are measured by {@link dealership.api.cost.CostAccountingFilter};
+ * this adds the repository interceptor measuring each DAO call.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "dealership.cost-accounting.enabled", havingValue = "true", matchIfMissing = true)
+public class CostAccountingConfig {
+
+    /**
+     * Provides the post-processor adding cost measurement to the repositories.
+     * <p>
+     * Static so that it is registered before the repositories are created; the
+     * accounting bean is only resolved on the first DAO call.
+     * </p>
+     *
+     * @param costAccounting accounting receiving the DAO call costs
+     * @return the post-processor
+     */
+    @Bean
+    public static DaoCostPostProcessor daoCostPostProcessor(ObjectProvider<CostAccounting> costAccounting) {
+        return new DaoCostPostProcessor(costAccounting);
+    }
+}
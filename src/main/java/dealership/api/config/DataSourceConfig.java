@@ -0,0 +1,158 @@
+package dealership.api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import dealership.api.datasource.ReadRoutingDataSource;
+import dealership.api.jfr.TracingDataSource;
+import dealership.api.datasource.ReplicaLagMonitor;
+import dealership.api.resilience.QueryTimeoutJdbcTemplate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Spring configuration class defining the primary and read data sources.
+ * <p>
+ * Writes and read-your-writes lookups use the primary MySQL pool configured
+ * through the standard {@code spring.datasource.*} properties. Read-only
+ * report and reference queries use a separate {@code readJdbcTemplate} that
+ * is routed to a read replica when {@code dealership.datasource.replica.url}
+ * is set, and to the primary otherwise.
+ * </p>
+ * <p>
+ * Both templates go through a {@link TracingDataSource}, which reports the
+ * SQL and pool wait of DAO calls to a running flight recording.
+ * </p>
+ */
+@Configuration
+public class DataSourceConfig {
+
+    /**
+     * Primary connection pool, built from {@code spring.datasource.*}.
+     *
+     * @param properties standard Spring Boot data source properties
+     * @return the primary data source
+     */
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Read replica connection pool, only created when a replica URL is configured.
+     * <p>
+     * Credentials default to the primary ones when not set explicitly.
+     * </p>
+     *
+     * @param properties standard Spring Boot data source properties, used for defaults
+     * @param url replica JDBC URL
+     * @param username replica user name
+     * @param password replica password
+     * @return the replica data source
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "dealership.datasource.replica", name = "url")
+    @ConfigurationProperties("dealership.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${dealership.datasource.replica.url}") String url,
+            @Value("${dealership.datasource.replica.username:}") String username,
+            @Value("${dealership.datasource.replica.password:}") String password
+    ) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username.isEmpty() ? properties.determineUsername() : username)
+                .password(password.isEmpty() ? properties.determinePassword() : password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * Monitor tracking replica lag, only created when a replica is configured.
+     *
+     * @param replica replica data source
+     * @param lagQuery query returning the replication status row
+     * @param lagColumn column holding the lag in seconds
+     * @param maxLagMillis maximum tolerated lag
+     * @param readYourWritesWindowMillis time after a local write during which reads stay on the primary
+     * @return the replica lag monitor
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "dealership.datasource.replica", name = "url")
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${dealership.datasource.replica.lag-query:SHOW REPLICA STATUS}") String lagQuery,
+            @Value("${dealership.datasource.replica.lag-column:Seconds_Behind_Source}") String lagColumn,
+            @Value("${dealership.datasource.replica.max-lag-ms:2000}") long maxLagMillis,
+            @Value("${dealership.datasource.replica.read-your-writes-ms:2000}") long readYourWritesWindowMillis
+    ) {
+        return new ReplicaLagMonitor(replica, lagQuery, lagColumn, maxLagMillis, readYourWritesWindowMillis);
+    }
+
+    /**
+     * Data source used for read-only queries.
+     * <p>
+     * Without a configured replica this is simply the primary pool.
+     * </p>
+     *
+     * @param primary primary data source
+     * @param replica optional replica data source
+     * @param monitor optional replica lag monitor
+     * @return the data source for read-only queries
+     */
+    @Bean
+    public DataSource readDataSource(
+            @Qualifier("dataSource") DataSource primary,
+            @Qualifier("replicaDataSource") ObjectProvider<DataSource> replica,
+            ObjectProvider<ReplicaLagMonitor> monitor
+    ) {
+        DataSource replicaDataSource = replica.getIfAvailable();
+        ReplicaLagMonitor lagMonitor = monitor.getIfAvailable();
+        if (replicaDataSource == null || lagMonitor == null) {
+            return primary;
+        }
+        return new ReadRoutingDataSource(primary, replicaDataSource, lagMonitor);
+    }
+
+    /**
+     * JDBC template bound to the primary data source, used for writes.
+     *
+     * @param primary primary data source
+     * @return the primary JDBC template
+     */
+    @Bean
+    @Primary
+    public JdbcTemplate jdbcTemplate(@Qualifier("dataSource") DataSource primary) {
+        return new QueryTimeoutJdbcTemplate(new TracingDataSource(primary));
+    }
+
+    /**
+     * JDBC template bound to the read data source, used for read-only queries.
+     *
+     * @param readDataSource data source routed between replica and primary
+     * @return the read JDBC template
+     */
+    @Bean
+    public JdbcTemplate readJdbcTemplate(@Qualifier("readDataSource") DataSource readDataSource) {
+        return new QueryTimeoutJdbcTemplate(new TracingDataSource(readDataSource));
+    }
+}
@@ -0,0 +1,64 @@
+package dealership.api.config;
+
+import dealership.api.jfr.DaoEventPostProcessor;
+import dealership.api.jfr.JfrJsonHttpMessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.http.converter.autoconfigure.ServerHttpMessageConvertersCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Spring configuration class wiring the custom flight recorder events.
+ * <p>
+ * HTTP requests are recorded by {@link dealership.api.jfr.JfrRequestFilter},
+ * DAO calls by the repository proxies of {@link DaoEventPostProcessor}
+ * together with {@link dealership.api.jfr.TracingDataSource}, password
+ * hashing by {@link dealership.api.jfr.JfrPasswordEncoder}, and JSON
+ * serialization by the message converter defined here, which replaces the
+ * one Spring Boot would otherwise register.
+ * </p>
+ * <p>
+ * The converter takes the place of Spring Boot's JSON converter in the
+ * server converter list rather than being registered as a converter bean:
+ * converter beans are put first, ahead of the {@code String} converter, so
+ * plain {@code String} bodies such as the live summary events would be
+ * written as JSON strings.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "dealership.jfr.enabled", havingValue = "true")
+public class JfrConfig {
+
+    /**
+     * Provides the post-processor adding DAO call events to the repositories.
+     * <p>
+     * Static so that it is registered before the repositories are created.
+     * </p>
+     *
+     * @return the post-processor
+     */
+    @Bean
+    public static DaoEventPostProcessor daoEventPostProcessor() {
+        return new DaoEventPostProcessor();
+    }
+
+    /**
+     * Swaps Spring Boot's JSON message converter for one recording serialization events.
+     * <p>
+     * The list is edited once it is complete, so the replacement keeps the
+     * position of the original converter whatever order the customizers run in.
+     * </p>
+     *
+     * @param jsonMapper application JSON mapper
+     * @return the converter customizer
+     */
+    @Bean
+    public ServerHttpMessageConvertersCustomizer jfrJsonHttpMessageConverterCustomizer(JsonMapper jsonMapper) {
+        return builder -> builder.configureMessageConvertersList(converters -> converters.replaceAll(converter ->
+                converter.getClass() == JacksonJsonHttpMessageConverter.class
+                        ? new JfrJsonHttpMessageConverter(jsonMapper)
+                        : converter));
+    }
+}
@@ -0,0 +1,67 @@
+package dealership.api.config;
+
+import dealership.api.json.ProjectedRows;
+import dealership.api.json.ProjectedRowsSerializer;
+import dealership.api.json.UserRowSerializer;
+import dealership.api.json.VehicleStockRowSerializer;
+import dealership.api.model.UserRow;
+import dealership.api.model.VehicleStockRow;
+import org.springframework.boot.http.converter.autoconfigure.ServerHttpMessageConvertersCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import tools.jackson.databind.JacksonModule;
+import tools.jackson.databind.module.SimpleModule;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+/**
+ * Spring configuration class registering hand-written JSON serializers.
+ * <p>
+ * The stock and user list endpoints can return tens of thousands of rows, so
+ * their row types are written by streaming serializers instead of Jackson's
+ * reflective bean serializer. Spring Boot adds every {@link JacksonModule}
+ * bean to the application's JSON mapper, which covers the HTTP message
+ * converters used by the controllers.
+ * </p>
+ * <p>
+ * The same module writes {@link ProjectedRows}, the lists returned when a
+ * request narrows the output with a {@code fields} parameter.
+ * </p>
+ * <p>
+ * The CBOR message converter Spring MVC registers by default builds its own
+ * mapper without these serializers, so {@code Accept: application/cbor}
+ * responses would fall back to bean serialization and write projected rows
+ * with every field. It is replaced, in its own place in the converter list,
+ * by one using Spring Boot's CBOR mapper, which does carry the module. A
+ * converter bean would be put first instead and answer requests that do not
+ * ask for CBOR.
+ * </p>
+ */
+@Configuration
+public class JsonConfig {
+
+    /**
+     * Provides the module holding the row serializers.
+     *
+     * @return the Jackson module
+     */
+    @Bean
+    public JacksonModule rowSerializersModule() {
+        SimpleModule module = new SimpleModule("dealership-row-serializers");
+        module.addSerializer(VehicleStockRow.class, new VehicleStockRowSerializer());
+        module.addSerializer(UserRow.class, new UserRowSerializer());
+        module.addSerializer(ProjectedRows.class, new ProjectedRowsSerializer());
+        return module;
+    }
+
+    /**
+     * Sets the CBOR message converter to one using the application CBOR mapper.
+     *
+     * @param cborMapper CBOR mapper configured by Spring Boot
+     * @return the converter customizer
+     */
+    @Bean
+    public ServerHttpMessageConvertersCustomizer cborHttpMessageConverterCustomizer(CBORMapper cborMapper) {
+        return builder -> builder.withCborConverter(new JacksonCborHttpMessageConverter(cborMapper));
+    }
+}
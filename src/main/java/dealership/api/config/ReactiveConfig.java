@@ -0,0 +1,83 @@
+package dealership.api.config;
+
+import dealership.api.dao.ReactiveReportDao;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spring configuration class defining the optional reactive report path.
+ * <p>
+ * Enabled with {@code dealership.reactive.enabled=true}. The default shard is
+ * read through {@code dealership.reactive.url}; every additional shard must
+ * declare its own {@code r2dbc-url} next to its JDBC one, otherwise startup
+ * fails rather than serving reports that silently miss dealerships.
+ * Credentials default to the {@code spring.datasource} ones.
+ * </p>
+ * <p>
+ * The connection pools are owned by the {@link ReactiveReportDao} and are not
+ * exposed as beans, so the JDBC auto-configuration is unaffected.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "dealership.reactive.enabled", havingValue = "true")
+public class ReactiveConfig {
+
+    /**
+     * Provides the reactive report DAO with one connection pool per shard.
+     *
+     * @param shardingProperties shard configuration, for the additional shards' R2DBC URLs
+     * @param dataSourceProperties standard data source properties, used for credential defaults
+     * @param url R2DBC URL of the default shard
+     * @param maxPoolSize maximum number of connections per shard
+     * @return the reactive report DAO
+     */
+    @Bean
+    public ReactiveReportDao reactiveReportDao(ShardingProperties shardingProperties,
+                                               DataSourceProperties dataSourceProperties,
+                                               @Value("${dealership.reactive.url}") String url,
+                                               @Value("${dealership.reactive.max-pool-size:20}") int maxPoolSize) {
+        List<ConnectionFactory> pools = new ArrayList<>();
+        pools.add(pool("default", url, "", "", dataSourceProperties, maxPoolSize));
+        for (Map.Entry<String, ShardingProperties.ShardSpec> entry : shardingProperties.getShards().entrySet()) {
+            ShardingProperties.ShardSpec spec = entry.getValue();
+            if (spec.getR2dbcUrl().isEmpty()) {
+                throw new IllegalStateException("Shard " + entry.getKey()
+                        + " has no r2dbc-url, required when dealership.reactive.enabled=true");
+            }
+            pools.add(pool(entry.getKey(), spec.getR2dbcUrl(), spec.getUsername(), spec.getPassword(),
+                    dataSourceProperties, maxPoolSize));
+        }
+        return new ReactiveReportDao(pools);
+    }
+
+    private static ConnectionPool pool(String name, String url, String username, String password,
+                                       DataSourceProperties defaults, int maxPoolSize) {
+        ConnectionFactoryOptions parsed = ConnectionFactoryOptions.parse(url);
+        ConnectionFactoryOptions.Builder options = parsed.mutate();
+        String user = username.isEmpty() ? defaults.determineUsername() : username;
+        if (!parsed.hasOption(ConnectionFactoryOptions.USER) && user != null) {
+            options.option(ConnectionFactoryOptions.USER, user);
+        }
+        String secret = password.isEmpty() ? defaults.determinePassword() : password;
+        if (!parsed.hasOption(ConnectionFactoryOptions.PASSWORD) && secret != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, secret);
+        }
+        ConnectionFactory connectionFactory = ConnectionFactories.get(options.build());
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .name("reactive-" + name)
+                .maxSize(maxPoolSize)
+                .build());
+    }
+}
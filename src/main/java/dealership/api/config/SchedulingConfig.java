@@ -0,0 +1,17 @@
+package dealership.api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Spring configuration class enabling scheduled background tasks.
+ * <p>
+ * Used by components that refresh state on a fixed interval, such as the
+ * read replica lag monitor. The pool is sized by
+ * {@code spring.task.scheduling.pool.size}.
+ * </p>
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,116 @@
+package dealership.api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import dealership.api.jfr.TracingDataSource;
+import dealership.api.resilience.QueryTimeoutJdbcTemplate;
+import dealership.api.shard.Shard;
+import dealership.api.shard.ShardRouter;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Spring configuration class defining the dealership shard router.
+ * <p>
+ * The default shard reuses the primary and read JDBC templates, including
+ * read replica routing. Each shard configured under
+ * {@code dealership.sharding.shards.<name>} gets its own connection pool;
+ * reads on those shards go to their primary.
+ * </p>
+ * <p>
+ * Spring Boot only migrates the primary database, so the schema migrations
+ * are applied to each additional shard here, with the same configuration,
+ * before its pool is handed to the router.
+ * </p>
+ */
+@Configuration
+public class ShardingConfig {
+
+    /**
+     * Binds the shard configuration.
+     *
+     * @return sharding properties
+     */
+    @Bean
+    @ConfigurationProperties("dealership.sharding")
+    public ShardingProperties shardingProperties() {
+        return new ShardingProperties();
+    }
+
+    /**
+     * Provides the shard router used by the DAOs.
+     * <p>
+     * The router owns the pools and scatter threads of the additional shards
+     * and releases them when the context closes.
+     * </p>
+     *
+     * @param properties sharding properties
+     * @param dataSourceProperties standard data source properties, used for driver and credential defaults
+     * @param jdbcTemplate JDBC template bound to the primary database
+     * @param readJdbcTemplate read JDBC template of the primary database
+     * @param flyway migrations applied to the primary database, if enabled
+     * @return the shard router
+     */
+    @Bean
+    public ShardRouter shardRouter(ShardingProperties properties,
+                                   DataSourceProperties dataSourceProperties,
+                                   JdbcTemplate jdbcTemplate,
+                                   @Qualifier("readJdbcTemplate") JdbcTemplate readJdbcTemplate,
+                                   ObjectProvider<Flyway> flyway) {
+        Shard defaultShard = new Shard("default", jdbcTemplate, readJdbcTemplate, Set.of());
+
+        List<Shard> extraShards = new ArrayList<>();
+        for (Map.Entry<String, ShardingProperties.ShardSpec> entry : properties.getShards().entrySet()) {
+            ShardingProperties.ShardSpec spec = entry.getValue();
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(dataSourceProperties.determineDriverClassName())
+                    .url(spec.getUrl())
+                    .username(spec.getUsername().isEmpty()
+                            ? dataSourceProperties.determineUsername() : spec.getUsername())
+                    .password(spec.getPassword().isEmpty()
+                            ? dataSourceProperties.determinePassword() : spec.getPassword())
+                    .build();
+            dataSource.setPoolName("shard-" + entry.getKey());
+            dataSource.setMaximumPoolSize(spec.getMaximumPoolSize());
+            flyway.ifAvailable(primary -> Flyway.configure()
+                    .configuration(primary.getConfiguration())
+                    .dataSource(dataSource)
+                    .load()
+                    .migrate());
+            JdbcTemplate shardJdbc = new QueryTimeoutJdbcTemplate(new TracingDataSource(dataSource));
+            extraShards.add(new Shard(entry.getKey(), shardJdbc, shardJdbc, new HashSet<>(spec.getDealershipIds())));
+        }
+
+        if (extraShards.isEmpty()) {
+            return new ShardRouter(defaultShard, List.of(), Runnable::run);
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                properties.getScatterThreads(), properties.getScatterThreads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(256),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "shard-scatter-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        return new ShardRouter(defaultShard, extraShards, executor);
+    }
+}
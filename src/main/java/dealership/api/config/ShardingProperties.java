@@ -0,0 +1,180 @@
+package dealership.api.config;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration of the dealership shards, bound from {@code dealership.sharding.*}.
+ * <p>
+ * Each entry under {@code dealership.sharding.shards.<name>} describes an
+ * additional MySQL instance and the dealerships it holds. Dealerships that
+ * are not listed stay on the default {@code spring.datasource} database.
+ * </p>
+ */
+public class ShardingProperties {
+
+    private Map<String, ShardSpec> shards = new LinkedHashMap<>();
+    private int scatterThreads = 8;
+
+    /**
+     * Returns the additional shards by name.
+     *
+     * @return shard specifications
+     */
+    public Map<String, ShardSpec> getShards() {
+        return shards;
+    }
+
+    /**
+     * Sets the additional shards by name.
+     *
+     * @param shards shard specifications
+     */
+    public void setShards(Map<String, ShardSpec> shards) {
+        this.shards = shards;
+    }
+
+    /**
+     * Returns the number of threads running scatter-gather queries.
+     *
+     * @return scatter thread count
+     */
+    public int getScatterThreads() {
+        return scatterThreads;
+    }
+
+    /**
+     * Sets the number of threads running scatter-gather queries.
+     *
+     * @param scatterThreads scatter thread count
+     */
+    public void setScatterThreads(int scatterThreads) {
+        this.scatterThreads = scatterThreads;
+    }
+
+    /**
+     * Connection settings and dealership assignment of one shard.
+     * <p>
+     * Credentials default to the {@code spring.datasource} ones when empty.
+     * </p>
+     */
+    public static class ShardSpec {
+
+        private String url;
+        private String r2dbcUrl = "";
+        private String username = "";
+        private String password = "";
+        private List<Integer> dealershipIds = new ArrayList<>();
+        private int maximumPoolSize = 10;
+
+        /**
+         * Returns the JDBC URL.
+         *
+         * @return JDBC URL
+         */
+        public String getUrl() {
+            return url;
+        }
+
+        /**
+         * Sets the JDBC URL.
+         *
+         * @param url JDBC URL
+         */
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        /**
+         * Returns the R2DBC URL used by the reactive report path.
+         *
+         * @return R2DBC URL, empty when not configured
+         */
+        public String getR2dbcUrl() {
+            return r2dbcUrl;
+        }
+
+        /**
+         * Sets the R2DBC URL used by the reactive report path.
+         *
+         * @param r2dbcUrl R2DBC URL
+         */
+        public void setR2dbcUrl(String r2dbcUrl) {
+            this.r2dbcUrl = r2dbcUrl;
+        }
+
+        /**
+         * Returns the user name.
+         *
+         * @return user name, empty to reuse the primary one
+         */
+        public String getUsername() {
+            return username;
+        }
+
+        /**
+         * Sets the user name.
+         *
+         * @param username user name
+         */
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        /**
+         * Returns the password.
+         *
+         * @return password, empty to reuse the primary one
+         */
+        public String getPassword() {
+            return password;
+        }
+
+        /**
+         * Sets the password.
+         *
+         * @param password password
+         */
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        /**
+         * Returns the dealerships held by this shard.
+         *
+         * @return dealership identifiers
+         */
+        public List<Integer> getDealershipIds() {
+            return dealershipIds;
+        }
+
+        /**
+         * Sets the dealerships held by this shard.
+         *
+         * @param dealershipIds dealership identifiers
+         */
+        public void setDealershipIds(List<Integer> dealershipIds) {
+            this.dealershipIds = dealershipIds;
+        }
+
+        /**
+         * Returns the maximum size of the shard's connection pool.
+         *
+         * @return maximum pool size
+         */
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        /**
+         * Sets the maximum size of the shard's connection pool.
+         *
+         * @param maximumPoolSize maximum pool size
+         */
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+    }
+}
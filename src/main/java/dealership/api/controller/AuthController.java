@@ -1,11 +1,18 @@
 package dealership.api.controller;
 
+import dealership.api.audit.LoginAuditWriter;
 import dealership.api.dao.AuthDao;
+import dealership.api.jfr.JfrPasswordEncoder;
 import dealership.api.model.LoginRequest;
 import dealership.api.model.LoginResponse;
+import dealership.api.ratelimit.LoginRateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
@@ -24,6 +31,8 @@ import java.util.Map;
  * <ul>
  *     <li>Validates username and password.</li>
  *     <li>Returns session information without issuing JWT tokens.</li>
+ *     <li>Throttles login attempts per client IP and per username.</li>
+ *     <li>Audits every checked attempt through a write-behind buffer.</li>
  * </ul>
  * </p>
  */
@@ -31,16 +40,25 @@ import java.util.Map;
 @RequestMapping("/api/auth")
 public class AuthController {
 
+    private static final Map<String, String> TOO_MANY_ATTEMPTS = Map.of("error", "Too many login attempts");
+
     private final AuthDao authDao;
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final LoginRateLimiter loginRateLimiter;
+    private final ObjectProvider<LoginAuditWriter> loginAuditWriter;
+    private final PasswordEncoder passwordEncoder = new JfrPasswordEncoder(new BCryptPasswordEncoder());
 
     /**
      * Creates a new {@code AuthController}.
      *
      * @param authDao Data access object used to retrieve authentication-related user data.
+     * @param loginRateLimiter Admission control applied before any lookup or hashing work.
+     * @param loginAuditWriter Write-behind audit of login attempts, absent when auditing is disabled.
      */
-    public AuthController(AuthDao authDao) {
+    public AuthController(AuthDao authDao, LoginRateLimiter loginRateLimiter,
+                          ObjectProvider<LoginAuditWriter> loginAuditWriter) {
         this.authDao = authDao;
+        this.loginRateLimiter = loginRateLimiter;
+        this.loginAuditWriter = loginAuditWriter;
     }
 
     /**
@@ -58,16 +76,36 @@ public class AuthController {
      * response is sent without exposing sensitive details.
      * </p>
      *
+     * <p>
+     * Before any database lookup or password hashing, the attempt must pass the
+     * per-IP and per-username token buckets of {@link LoginRateLimiter}.
+     * Rejected attempts are answered immediately with HTTP 429.
+     * </p>
+     *
+     * <p>
+     * Attempts that reach the credential check are handed to
+     * {@link LoginAuditWriter}, which stores them and the user's last-login
+     * time in the background; the response never waits for that write.
+     * </p>
+     *
      * @param req The login request containing username and password.
+     * @param request The underlying HTTP request, used to identify the client. Its
+     *                remote address is the client's own behind the load balancer,
+     *                see {@code server.forward-headers-strategy}.
      * @return A {@link ResponseEntity} containing either:
      *         <ul>
      *             <li>A {@link LoginResponse} with session data (HTTP 200).</li>
      *             <li>An error message with HTTP 400 if input is invalid.</li>
      *             <li>An error message with HTTP 401 if credentials are invalid.</li>
+     *             <li>An error message with HTTP 429 if too many attempts were made.</li>
      *         </ul>
      */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest req) {
+    public ResponseEntity<?> login(@RequestBody LoginRequest req, HttpServletRequest request) {
+
+        if (!loginRateLimiter.tryAcquireForIp(request.getRemoteAddr())) {
+            return tooManyAttempts(loginRateLimiter.ipRetryAfterSeconds());
+        }
 
         if (req.getUsername() == null || req.getUsername().trim().isEmpty()) {
             return ResponseEntity.badRequest().body(Map.of("error", "Username is required"));
@@ -78,8 +116,13 @@ public class AuthController {
 
         String username = req.getUsername().trim();
 
+        if (!loginRateLimiter.tryAcquireForUsername(username)) {
+            return tooManyAttempts(loginRateLimiter.usernameRetryAfterSeconds());
+        }
+
         var optUser = authDao.findLoginUserByUsername(username);
         if (optUser.isEmpty()) {
+            audit(null, null, username, false, request);
             // Keep it generic
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Invalid credentials"));
         }
@@ -87,6 +130,7 @@ public class AuthController {
         var user = optUser.get();
 
         if (!passwordEncoder.matches(req.getPassword(), user.getPasswordHash())) {
+            audit(user.getId(), user.getDealershipId(), username, false, request);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Invalid credentials"));
         }
 
@@ -98,8 +142,39 @@ public class AuthController {
                 user.getFullName()
         );
 
+        audit(user.getId(), user.getDealershipId(), username, true, request);
+
         return ResponseEntity.ok(resp);
     }
+
+    /**
+     * Hands a login attempt to the audit buffer, if auditing is enabled.
+     *
+     * @param userId matched user, or {@code null} if the username is unknown
+     * @param dealershipId dealership of the matched user, or {@code null}
+     * @param username submitted username
+     * @param success whether the credentials were accepted
+     * @param request the underlying HTTP request, used to identify the client
+     */
+    private void audit(Integer userId, Integer dealershipId, String username, boolean success,
+                       HttpServletRequest request) {
+        LoginAuditWriter writer = loginAuditWriter.getIfAvailable();
+        if (writer != null) {
+            writer.record(userId, dealershipId, username, success, request.getRemoteAddr());
+        }
+    }
+
+    /**
+     * Builds the response for a throttled login attempt.
+     *
+     * @param retryAfterSeconds suggested wait before the next attempt
+     * @return an HTTP 429 response with a {@code Retry-After} header
+     */
+    private ResponseEntity<Map<String, String>> tooManyAttempts(long retryAfterSeconds) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(TOO_MANY_ATTEMPTS);
+    }
     
     /**
      * Simple health-check endpoint.
@@ -129,7 +204,7 @@ public class AuthController {
      */
     @GetMapping("/hash-test")
     public String hashTest() {
-        return new BCryptPasswordEncoder().encode("owner123");
+        return passwordEncoder.encode("owner123");
     }
 
 }
@@ -0,0 +1,131 @@
+package dealership.api.controller;
+
+import dealership.api.jfr.JfrRecordingManager;
+import dealership.api.model.JfrRecordingRow;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * REST controller driving the on-demand flight recording.
+ * <p>
+ * A recording is started for a bounded time, can be stopped early, and its
+ * {@code .jfr} file downloaded for analysis in JDK Mission Control or with
+ * {@code jfr print --events 'dealership.*'}. Besides the JDK's own events the
+ * recording holds the application's HTTP request, DAO call, password hash and
+ * JSON serialization events.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/owner/jfr")
+@ConditionalOnProperty(name = "dealership.jfr.enabled", havingValue = "true")
+public class JfrRecordingController {
+
+    private final JfrRecordingManager recordingManager;
+
+    /**
+     * Creates a new controller instance.
+     *
+     * @param recordingManager manager of the on-demand recording
+     */
+    public JfrRecordingController(JfrRecordingManager recordingManager) {
+        this.recordingManager = recordingManager;
+    }
+
+    /**
+     * Returns the state of the current or last recording.
+     *
+     * @return recording state
+     */
+    @GetMapping
+    public JfrRecordingRow getStatus() {
+        return recordingManager.status();
+    }
+
+    /**
+     * Starts a recording.
+     *
+     * @param durationSeconds how long to record, capped at the configured maximum
+     * @return the state of the new recording
+     */
+    @PostMapping("/start")
+    public JfrRecordingRow start(@RequestParam(required = false) Long durationSeconds) {
+        return recordingManager.start(durationSeconds == null ? null : Duration.ofSeconds(durationSeconds));
+    }
+
+    /**
+     * Stops the running recording.
+     *
+     * @return the state of the stopped recording
+     */
+    @PostMapping("/stop")
+    public JfrRecordingRow stop() {
+        return recordingManager.stop();
+    }
+
+    /**
+     * Downloads the recording; a running recording is snapshotted and keeps running.
+     * <p>
+     * Each download streams its own snapshot file, deleted once it has been sent.
+     * </p>
+     *
+     * @return the {@code .jfr} file as an attachment
+     */
+    @GetMapping("/recording")
+    public ResponseEntity<StreamingResponseBody> download() {
+        Path file = recordingManager.snapshot();
+        long size;
+        try {
+            size = Files.size(file);
+        } catch (IOException ex) {
+            deleteSnapshot(file);
+            throw new UncheckedIOException(ex);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(size)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"")
+                .body(out -> {
+                    try {
+                        Files.copy(file, out);
+                    } finally {
+                        deleteSnapshot(file);
+                    }
+                });
+    }
+
+    private static void deleteSnapshot(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // best effort: a leftover snapshot only takes disk space
+        }
+    }
+
+    /**
+     * Maps a request that does not fit the recording state to HTTP 409.
+     *
+     * @param ex the rejected request
+     * @return error body with the reason
+     */
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<Map<String, String>> handleConflict(IllegalStateException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", ex.getMessage()));
+    }
+}
@@ -1,18 +1,49 @@
 package dealership.api.controller;
 
+import dealership.api.cache.ReportCache;
+import dealership.api.cache.ReportKeys;
+import dealership.api.changefeed.ChangeFeedPoller;
+import dealership.api.cost.CostAccounting;
 import dealership.api.dao.OwnerDao;
 import dealership.api.dao.RepairDao;
 import dealership.api.dao.SalesDao;
 import dealership.api.dao.VehicleDao;
+import dealership.api.export.CsvWriter;
+import dealership.api.json.ProjectedRows;
+import dealership.api.model.CacheStatsRow;
+import dealership.api.model.CanonicalStringStatsRow;
+import dealership.api.model.ChangeFeedStatsRow;
+import dealership.api.model.CostStatsRow;
 import dealership.api.model.OwnerSummaryRow;
 import dealership.api.model.RepairRevenueRow;
 import dealership.api.model.SalesByEmployeeRow;
 import dealership.api.model.VehicleStockRow;
+import dealership.api.projection.UnknownFieldException;
+import dealership.api.projection.VehicleStockField;
+import dealership.api.resilience.ReportResult;
+import dealership.api.resilience.ReportUnavailableException;
+import dealership.api.resilience.ResilientReportLoader;
+import dealership.api.strings.CanonicalStrings;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * REST controller exposing endpoints intended for the owner role.
@@ -22,15 +53,38 @@ import java.util.List;
  * The exposed endpoints are designed to support dashboard and reporting views
  * for the dealership owner.
  * </p>
+ * <p>
+ * Report results are served through the shared {@link ReportCache}, so a burst
+ * of dashboard requests results in a single query per report and TTL period.
+ * If the database is slow or down, the last good result is served instead,
+ * flagged with an {@code Age} header.
+ * </p>
+ * <p>
+ * Reports are rendered as JSON by default, or as CBOR when the client sends
+ * {@code Accept: application/cbor}; responses carry {@code Vary: Accept}
+ * so intermediaries cache each encoding separately.
+ * </p>
+ * <p>
+ * The sales and repair revenue reports can also be downloaded as CSV with
+ * {@code Accept: text/csv}; exports are streamed from the database and do
+ * not go through the cache.
+ * </p>
  */
 @RestController
 @RequestMapping("/api/owner")
 public class OwnerController {
 
+    private static final String STALE_HEADER = "X-Data-Stale";
+    private static final String CSV_CONTENT_TYPE = "text/csv";
+
     private final VehicleDao vehicleDao;
     private final SalesDao salesDao;
     private final RepairDao repairDao;
     private final OwnerDao ownerDao;
+    private final ReportCache reportCache;
+    private final ResilientReportLoader resilientReportLoader;
+    private final ObjectProvider<ChangeFeedPoller> changeFeedPoller;
+    private final ObjectProvider<CostAccounting> costAccounting;
 
     /**
      * Creates a new controller instance with all required data access objects.
@@ -44,12 +98,23 @@ public class OwnerController {
      * @param salesDao data access object used for sales-related queries
      * @param repairDao data access object used for repair-related queries
      * @param ownerDao data access object used for owner summary queries
+     * @param reportCache cache holding recent report results
+     * @param resilientReportLoader loader falling back to the last good report when the database struggles
+     * @param changeFeedPoller change feed keeping the report cache fresh, absent when disabled
+     * @param costAccounting per-endpoint allocation and CPU accounting, absent when disabled
      */
-    public OwnerController(VehicleDao vehicleDao, SalesDao salesDao, RepairDao repairDao, OwnerDao ownerDao) {
+    public OwnerController(VehicleDao vehicleDao, SalesDao salesDao, RepairDao repairDao, OwnerDao ownerDao,
+                           ReportCache reportCache, ResilientReportLoader resilientReportLoader,
+                           ObjectProvider<ChangeFeedPoller> changeFeedPoller,
+                           ObjectProvider<CostAccounting> costAccounting) {
         this.vehicleDao = vehicleDao;
         this.salesDao = salesDao;
         this.repairDao = repairDao;
         this.ownerDao = ownerDao;
+        this.reportCache = reportCache;
+        this.resilientReportLoader = resilientReportLoader;
+        this.changeFeedPoller = changeFeedPoller;
+        this.costAccounting = costAccounting;
     }
 
 
@@ -58,14 +123,39 @@ public class OwnerController {
      * <p>
      * This endpoint returns stock information for vehicles that are currently
      * available in the dealership inventory and have not yet been associated
-     * with a completed sale.
+     * with a completed sale. With {@code dealershipId} only that dealership's
+     * stock is returned, read from the shard holding it.
+     * </p>
+     * <p>
+     * With {@code fields}, a comma-separated list of row properties such as
+     * {@code plate,brand,model}, only those columns are selected and only
+     * those properties are written. Each projection is cached separately.
      * </p>
      *
+     * @param dealershipId optional dealership identifier to narrow the stock to
+     * @param fields optional comma-separated list of properties to return
      * @return a list of unsold vehicle stock rows
      */
     @GetMapping("/stock-unsold")
-    public List<VehicleStockRow> getUnsoldStock() {
-        return vehicleDao.findUnsoldStock();
+    public ResponseEntity<?> getUnsoldStock(
+            @RequestParam(required = false) Integer dealershipId,
+            @RequestParam(required = false) String fields
+    ) {
+        EnumSet<VehicleStockField> selected = VehicleStockField.parse(fields);
+        if (selected.size() < VehicleStockField.values().length) {
+            String key = dealershipId != null
+                    ? ReportKeys.forDealership(ReportKeys.STOCK_UNSOLD, dealershipId)
+                    : ReportKeys.STOCK_UNSOLD;
+            return report(ReportKeys.withFields(key, VehicleStockField.format(selected)),
+                    () -> ProjectedRows.ofVehicles(dealershipId != null
+                            ? vehicleDao.findUnsoldStock(dealershipId, selected)
+                            : vehicleDao.findUnsoldStock(selected), selected));
+        }
+        if (dealershipId != null) {
+            return report(ReportKeys.forDealership(ReportKeys.STOCK_UNSOLD, dealershipId),
+                    () -> vehicleDao.findUnsoldStock(dealershipId));
+        }
+        return report(ReportKeys.STOCK_UNSOLD, vehicleDao::findUnsoldStock);
     }
 
     /**
@@ -78,8 +168,8 @@ public class OwnerController {
      * @return a list of sales totals grouped by employee
      */
     @GetMapping("/sales/by-employee")
-    public List<SalesByEmployeeRow> getSalesByEmployee() {
-        return salesDao.findSalesByEmployee();
+    public ResponseEntity<List<SalesByEmployeeRow>> getSalesByEmployee() {
+        return report(ReportKeys.SALES_BY_EMPLOYEE, salesDao::findSalesByEmployee);
     }
 
     /**
@@ -92,8 +182,61 @@ public class OwnerController {
      * @return a list of repair revenue rows grouped by dealership
      */
     @GetMapping("/repairs/revenue-by-dealership")
-    public List<RepairRevenueRow> getRepairRevenueByDealership() {
-        return repairDao.findRepairRevenueByDealership();
+    public ResponseEntity<List<RepairRevenueRow>> getRepairRevenueByDealership() {
+        return report(ReportKeys.REPAIR_REVENUE_BY_DEALERSHIP, repairDao::findRepairRevenueByDealership);
+    }
+
+    /**
+     * Exports sales aggregated by employee as CSV.
+     * <p>
+     * Selected with {@code Accept: text/csv}. Rows are written to the
+     * response while the result set is read, bypassing the report cache, so
+     * memory use stays constant however large the export is. With several
+     * shards each employee's partial rows are merged first, so the export
+     * matches the JSON report. Columns match the JSON property names.
+     * </p>
+     *
+     * @param response HTTP response receiving the CSV body
+     * @throws IOException if writing the response fails
+     */
+    @GetMapping(value = "/sales/by-employee", produces = CSV_CONTENT_TYPE)
+    public void exportSalesByEmployee(HttpServletResponse response) throws IOException {
+        exportCsv(response, "sales-by-employee.csv", csv -> {
+            csv.header("sellerUserId", "employeeName", "salesCount", "salesTotal");
+            salesDao.streamSalesByEmployee(row -> {
+                try {
+                    csv.number(row.getSellerUserId())
+                            .text(row.getEmployeeName())
+                            .number(row.getSalesCount())
+                            .number(row.getSalesTotal())
+                            .endRow();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        });
+    }
+
+    /**
+     * Exports repair revenue aggregated by dealership as CSV.
+     * <p>
+     * Selected with {@code Accept: text/csv}. Rows are streamed from the
+     * result set to the response like {@link #exportSalesByEmployee}.
+     * </p>
+     *
+     * @param response HTTP response receiving the CSV body
+     * @throws IOException if writing the response fails
+     */
+    @GetMapping(value = "/repairs/revenue-by-dealership", produces = CSV_CONTENT_TYPE)
+    public void exportRepairRevenueByDealership(HttpServletResponse response) throws IOException {
+        exportCsv(response, "repair-revenue-by-dealership.csv", csv -> {
+            csv.header("dealershipId", "importeTotal", "numReparaciones");
+            repairDao.streamRepairRevenueByDealership(rs -> writeRow(() -> csv
+                    .number(rs.getInt("dealershipId"))
+                    .number(rs.getBigDecimal("importeTotal"))
+                    .number(rs.getInt("numReparaciones"))
+                    .endRow()));
+        });
     }
     
     /**
@@ -107,9 +250,192 @@ public class OwnerController {
      * @return an object containing aggregated owner summary data
      */
     @GetMapping("/summary")
-    public OwnerSummaryRow getSummary() {
-        return ownerDao.getSummary();
+    public ResponseEntity<OwnerSummaryRow> getSummary() {
+        return report(ReportKeys.SUMMARY, ownerDao::getSummary);
     }
 
-}
+    /**
+     * Rejects {@code fields} parameters naming unknown properties.
+     *
+     * @param ex exception naming the unknown field
+     * @return an HTTP 400 response with a JSON error message
+     */
+    @ExceptionHandler(UnknownFieldException.class)
+    public ResponseEntity<Map<String, String>> handleUnknownField(UnknownFieldException ex) {
+        return ResponseEntity.badRequest().body(Map.of("error", ex.getMessage()));
+    }
+
+    /**
+     * Handles reports that cannot be loaded and have no previous result to fall back on.
+     *
+     * @param ex exception describing the unavailable report
+     * @return an HTTP 503 response with a JSON error message
+     */
+    @ExceptionHandler(ReportUnavailableException.class)
+    public ResponseEntity<Map<String, String>> handleReportUnavailable(ReportUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of("error", "Report temporarily unavailable"));
+    }
 
+    /**
+     * Serves a report through the cache and the resilience layer.
+     * <p>
+     * When the database is slow or failing, the last good result is returned
+     * with an {@code Age} header (seconds since it was loaded) and an
+     * {@code X-Data-Stale} header, so clients can flag outdated figures.
+     * Stale results are never cached, so the next request tries the
+     * database again.
+     * </p>
+     *
+     * @param report report name
+     * @param query DAO query producing the report
+     * @param <T> report type
+     * @return the report wrapped in an HTTP 200 response, varying by {@code Accept}
+     */
+    private <T> ResponseEntity<T> report(String report, Supplier<T> query) {
+        ReportResult<T> result = reportCache.get(
+                report,
+                () -> resilientReportLoader.fetch(report, query),
+                ReportResult::isFresh
+        );
+        if (result.isFresh()) {
+            return ResponseEntity.ok()
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .body(result.getValue());
+        }
+        return ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT)
+                .header(HttpHeaders.AGE, Long.toString(TimeUnit.MILLISECONDS.toSeconds(result.getAgeMillis())))
+                .header(STALE_HEADER, "true")
+                .body(result.getValue());
+    }
+
+    /**
+     * Retrieves statistics of the owner report cache.
+     * <p>
+     * The counters show how many report requests were answered from cache,
+     * how many queried the database, and how many waited on a query already
+     * in flight for the same report.
+     * </p>
+     *
+     * @return cumulative report cache statistics
+     */
+    @GetMapping("/cache/stats")
+    public CacheStatsRow getCacheStats() {
+        return new CacheStatsRow(
+                reportCache.getHits(),
+                reportCache.getMisses(),
+                reportCache.getCoalesced(),
+                reportCache.size()
+        );
+    }
+
+    /**
+     * Retrieves the state of the change feed tailing the report source tables.
+     * <p>
+     * One entry is returned per table and shard, with its watermark, lag and
+     * current poll interval. The list is empty when the change feed is disabled.
+     * </p>
+     *
+     * @return change feed stream statistics
+     */
+    @GetMapping("/change-feed/stats")
+    public List<ChangeFeedStatsRow> getChangeFeedStats() {
+        ChangeFeedPoller poller = changeFeedPoller.getIfAvailable();
+        return poller == null ? List.of() : poller.getStats();
+    }
+
+    /**
+     * Ranks the endpoints by the heap allocation and CPU time of a request.
+     * <p>
+     * Each row also gives the mean and maximum latency, and the share of the
+     * cost spent in DAO calls on the request thread. The list is empty when
+     * cost accounting is disabled.
+     * </p>
+     *
+     * @param sort {@code bytes} (default), {@code cpu}, {@code latency} or {@code calls}
+     * @return endpoint costs, most expensive first
+     */
+    @GetMapping("/cost/endpoints")
+    public List<CostStatsRow> getEndpointCosts(@RequestParam(defaultValue = "bytes") String sort) {
+        CostAccounting accounting = costAccounting.getIfAvailable();
+        return accounting == null ? List.of() : accounting.getEndpointStats(sort);
+    }
+
+    /**
+     * Ranks the DAO methods by the heap allocation and CPU time of a call.
+     * <p>
+     * Calls are counted on whichever thread runs them, including report cache
+     * loads. The list is empty when cost accounting is disabled.
+     * </p>
+     *
+     * @param sort {@code bytes} (default), {@code cpu}, {@code latency} or {@code calls}
+     * @return DAO method costs, most expensive first
+     */
+    @GetMapping("/cost/dao")
+    public List<CostStatsRow> getDaoCosts(@RequestParam(defaultValue = "bytes") String sort) {
+        CostAccounting accounting = costAccounting.getIfAvailable();
+        return accounting == null ? List.of() : accounting.getDaoStats(sort);
+    }
+
+    /**
+     * Retrieves the statistics of the string pools shared by the row mappers.
+     * <p>
+     * One entry is returned per pool, with the estimated heap saved by
+     * handing out shared instances of brands, models, statuses, role and
+     * dealership names instead of one copy per row.
+     * </p>
+     *
+     * @return string canonicalization statistics
+     */
+    @GetMapping("/canonical-strings/stats")
+    public List<CanonicalStringStatsRow> getCanonicalStringStats() {
+        return CanonicalStrings.stats();
+    }
+
+
+    /**
+     * Streams a CSV attachment to the response.
+     *
+     * @param response HTTP response receiving the CSV body
+     * @param fileName file name suggested to the browser
+     * @param body writes the header and rows
+     * @throws IOException if writing the response fails
+     */
+    private void exportCsv(HttpServletResponse response, String fileName, CsvBody body) throws IOException {
+        response.setContentType(CSV_CONTENT_TYPE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+        CsvWriter csv = new CsvWriter(response.getWriter());
+        try {
+            body.write(csv);
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        csv.flush();
+    }
+
+    private static void writeRow(CsvRow row) throws SQLException {
+        try {
+            row.write();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Writes the content of a CSV export.
+     */
+    @FunctionalInterface
+    private interface CsvBody {
+        void write(CsvWriter csv) throws IOException;
+    }
+
+    /**
+     * Writes one CSV row from the current result set position.
+     */
+    @FunctionalInterface
+    private interface CsvRow {
+        void write() throws IOException, SQLException;
+    }
+}
@@ -0,0 +1,63 @@
+package dealership.api.controller;
+
+import dealership.api.live.SummaryBroadcaster;
+import dealership.api.live.TooManySubscribersException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST controller streaming live owner dashboard updates.
+ * <p>
+ * Dashboards subscribe once instead of polling the summary and report
+ * endpoints on a timer; see {@link SummaryBroadcaster} for the events sent.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/owner")
+@ConditionalOnProperty(name = "dealership.live.enabled", havingValue = "true", matchIfMissing = true)
+public class OwnerLiveController {
+
+    private static final String RETRY_AFTER_SECONDS = "5";
+
+    private final SummaryBroadcaster summaryBroadcaster;
+
+    /**
+     * Creates a new controller instance.
+     *
+     * @param summaryBroadcaster broadcaster fanning summary updates out to subscribers
+     */
+    public OwnerLiveController(SummaryBroadcaster summaryBroadcaster) {
+        this.summaryBroadcaster = summaryBroadcaster;
+    }
+
+    /**
+     * Opens a Server-Sent Events stream of owner summary updates.
+     *
+     * @return the event stream
+     */
+    @GetMapping(value = "/summary/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSummary() {
+        return summaryBroadcaster.subscribe();
+    }
+
+    /**
+     * Rejects new streams while the subscriber limit is reached.
+     *
+     * @param ex exception raised by the broadcaster
+     * @return an HTTP 503 response asking the client to retry later
+     */
+    @ExceptionHandler(TooManySubscribersException.class)
+    public ResponseEntity<Void> handleTooManySubscribers(TooManySubscribersException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .build();
+    }
+}
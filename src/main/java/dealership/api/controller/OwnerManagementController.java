@@ -1,18 +1,31 @@
 package dealership.api.controller;
 
+import dealership.api.cache.NameDictionary;
+import dealership.api.cache.ReferenceDataCache;
 import dealership.api.dao.DealershipDao;
 import dealership.api.dao.OwnerUserDao;
 import dealership.api.dao.RoleDao;
+import dealership.api.jfr.JfrPasswordEncoder;
+import dealership.api.json.ProjectedRows;
+import dealership.api.model.CompactUsersResponse;
 import dealership.api.model.CreateUserRequest;
 import dealership.api.model.IdNameRow;
 import dealership.api.model.UserRow;
+import dealership.api.projection.UnknownFieldException;
+import dealership.api.projection.UserField;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.ToIntFunction;
 
 /**
  * REST controller responsible for owner-level user and reference data management.
@@ -29,8 +42,9 @@ public class OwnerManagementController {
     private final RoleDao roleDao;
     private final DealershipDao dealershipDao;
     private final OwnerUserDao ownerUserDao;
+    private final ReferenceDataCache referenceData;
 
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final PasswordEncoder passwordEncoder = new JfrPasswordEncoder(new BCryptPasswordEncoder());
 
     /**
      * Creates a new controller instance with the required data access dependencies.
@@ -42,11 +56,14 @@ public class OwnerManagementController {
      * @param roleDao data access object for role queries
      * @param dealershipDao data access object for dealership queries
      * @param ownerUserDao data access object for owner-level user management
+     * @param referenceData cached dealership and role names used by the compact user listing
      */
-    public OwnerManagementController(RoleDao roleDao, DealershipDao dealershipDao, OwnerUserDao ownerUserDao) {
+    public OwnerManagementController(RoleDao roleDao, DealershipDao dealershipDao, OwnerUserDao ownerUserDao,
+                                     ReferenceDataCache referenceData) {
         this.roleDao = roleDao;
         this.dealershipDao = dealershipDao;
         this.ownerUserDao = ownerUserDao;
+        this.referenceData = referenceData;
     }
 
     /**
@@ -83,19 +100,81 @@ public class OwnerManagementController {
      * The result can be filtered by dealership, role, and active status by
      * providing the corresponding request parameters.
      * </p>
+     * <p>
+     * With {@code shape=compact} the response is a {@link CompactUsersResponse}:
+     * the dealership and role names are listed once, in dictionaries covering
+     * the users returned, and every user refers to them by identifier only.
+     * </p>
      *
      * @param dealershipId optional dealership identifier to filter users
      * @param roleId optional role identifier to filter users
      * @param active optional flag indicating whether users are active
-     * @return a list of users matching the provided filter criteria
+     * @param fields optional comma-separated list of properties to return; the
+     *               dealership and role names are resolved from cached dictionaries, never joined
+     * @param shape {@code full} (default) for a list of users, or {@code compact}
+     *              for a dictionary-encoded listing
+     * @return a list of users matching the provided filter criteria, as JSON
+     *         or as CBOR when requested with {@code Accept: application/cbor},
+     *         or HTTP 400 for an unknown shape
      */
     @GetMapping("/users")
-    public List<UserRow> getUsers(
+    public ResponseEntity<?> getUsers(
             @RequestParam(required = false) Integer dealershipId,
             @RequestParam(required = false) Integer roleId,
-            @RequestParam(required = false) Boolean active
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "full") String shape
     ) {
-        return ownerUserDao.findUsers(dealershipId, roleId, active);
+        EnumSet<UserField> selected = UserField.parse(fields);
+        if ("compact".equals(shape)) {
+            return ResponseEntity.ok()
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .body(compactUsers(dealershipId, roleId, active, selected));
+        }
+        if (!"full".equals(shape)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Unknown shape: " + shape));
+        }
+        if (selected.size() < UserField.values().length) {
+            List<UserRow> rows = ownerUserDao.findUsers(dealershipId, roleId, active, selected);
+            return ResponseEntity.ok()
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .body(ProjectedRows.ofUsers(rows, selected));
+        }
+        return ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(ownerUserDao.findUsers(dealershipId, roleId, active));
+    }
+
+    private CompactUsersResponse compactUsers(Integer dealershipId, Integer roleId, Boolean active,
+                                              EnumSet<UserField> selected) {
+        boolean dealershipNames = selected.remove(UserField.DEALERSHIP_NAME);
+        boolean roleNames = selected.remove(UserField.ROLE_NAME);
+        if (dealershipNames) {
+            selected.add(UserField.DEALERSHIP_ID);
+        }
+        if (roleNames) {
+            selected.add(UserField.ROLE_ID);
+        }
+        List<UserRow> rows = ownerUserDao.findUsers(dealershipId, roleId, active, selected);
+
+        NameDictionary dealershipDictionary =
+                dealershipNames ? referenceData.dealerships(idsOf(rows, UserRow::getDealershipId)) : null;
+        NameDictionary roleDictionary = roleNames ? referenceData.roles(idsOf(rows, UserRow::getRoleId)) : null;
+        // As in the full listing, users whose dealership or role is not found are left out.
+        rows.removeIf(row -> dealershipDictionary != null && !dealershipDictionary.contains(row.getDealershipId())
+                || roleDictionary != null && !roleDictionary.contains(row.getRoleId()));
+
+        List<IdNameRow> dealerships = dealershipDictionary == null
+                ? List.of() : dealershipDictionary.rowsOf(idsOf(rows, UserRow::getDealershipId));
+        List<IdNameRow> roles = roleDictionary == null
+                ? List.of() : roleDictionary.rowsOf(idsOf(rows, UserRow::getRoleId));
+        return new CompactUsersResponse(dealerships, roles, ProjectedRows.ofUsers(rows, selected));
+    }
+
+    private static Set<Integer> idsOf(List<UserRow> rows, ToIntFunction<UserRow> id) {
+        Set<Integer> ids = new HashSet<>();
+        rows.forEach(row -> ids.add(id.applyAsInt(row)));
+        return ids;
     }
 
     /**
@@ -168,4 +247,15 @@ public class OwnerManagementController {
                 "message", "User created successfully"
         ));
     }
+
+    /**
+     * Rejects {@code fields} parameters naming unknown properties.
+     *
+     * @param ex exception naming the unknown field
+     * @return an HTTP 400 response with a JSON error message
+     */
+    @ExceptionHandler(UnknownFieldException.class)
+    public ResponseEntity<Map<String, String>> handleUnknownField(UnknownFieldException ex) {
+        return ResponseEntity.badRequest().body(Map.of("error", ex.getMessage()));
+    }
 }
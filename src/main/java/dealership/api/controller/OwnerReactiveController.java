@@ -0,0 +1,146 @@
+package dealership.api.controller;
+
+import dealership.api.dao.ReactiveReportDao;
+import dealership.api.model.OwnerSummaryRow;
+import dealership.api.model.RepairRevenueRow;
+import dealership.api.model.SalesByEmployeeRow;
+import dealership.api.model.VehicleStockRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+
+/**
+ * REST controller serving the owner reports over the non-blocking read path.
+ * <p>
+ * Mirrors the report endpoints of {@link OwnerController} under
+ * {@code /api/owner/reactive}, reading through {@link ReactiveReportDao}.
+ * The servlet thread is released as soon as the query is started and the
+ * response is written as rows arrive.
+ * </p>
+ * <p>
+ * With {@code Accept: application/x-ndjson} list reports are streamed one JSON
+ * object per line. Rows are requested from the database a chunk at a time and
+ * the next chunk is only requested once the previous one has been written,
+ * so a slow client applies backpressure all the way down to the driver.
+ * Writing a chunk rather than a single row per write keeps the number of
+ * flushes, and of async dispatches, per response low. With
+ * {@code application/json} the rows are collected into a regular JSON array.
+ * These endpoints bypass the report cache and the resilience layer: every
+ * request reads the database.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/owner/reactive")
+@ConditionalOnProperty(name = "dealership.reactive.enabled", havingValue = "true")
+public class OwnerReactiveController {
+
+    private static final String NDJSON_UTF8 = MediaType.APPLICATION_NDJSON_VALUE + ";charset=UTF-8";
+
+    private final ReactiveReportDao reactiveReportDao;
+    private final JsonMapper jsonMapper;
+    private final int chunkRows;
+
+    /**
+     * Creates a new controller instance.
+     *
+     * @param reactiveReportDao non-blocking report DAO
+     * @param jsonMapper JSON mapper used by the HTTP message converters
+     * @param chunkRows number of rows written per NDJSON chunk
+     */
+    public OwnerReactiveController(ReactiveReportDao reactiveReportDao, JsonMapper jsonMapper,
+                                   @Value("${dealership.reactive.chunk-rows:256}") int chunkRows) {
+        this.reactiveReportDao = reactiveReportDao;
+        this.jsonMapper = jsonMapper;
+        this.chunkRows = chunkRows;
+    }
+
+    /**
+     * Returns the unsold vehicle stock, newest first.
+     *
+     * @return the unsold vehicle stock rows
+     */
+    @GetMapping(value = "/stock-unsold", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<VehicleStockRow> getUnsoldStock() {
+        return reactiveReportDao.streamUnsoldStock();
+    }
+
+    /**
+     * Streams the unsold vehicle stock as NDJSON, newest first.
+     *
+     * @return NDJSON chunks
+     */
+    @GetMapping(value = "/stock-unsold", produces = NDJSON_UTF8)
+    public Flux<String> streamUnsoldStock() {
+        return ndjson(reactiveReportDao.streamUnsoldStock());
+    }
+
+    /**
+     * Returns the sales aggregated by employee.
+     *
+     * @return the sales rows grouped by employee
+     */
+    @GetMapping(value = "/sales/by-employee", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<SalesByEmployeeRow> getSalesByEmployee() {
+        return reactiveReportDao.findSalesByEmployee();
+    }
+
+    /**
+     * Streams the sales aggregated by employee as NDJSON.
+     *
+     * @return NDJSON chunks
+     */
+    @GetMapping(value = "/sales/by-employee", produces = NDJSON_UTF8)
+    public Flux<String> streamSalesByEmployee() {
+        return ndjson(reactiveReportDao.findSalesByEmployee());
+    }
+
+    /**
+     * Returns the finished repair revenue per dealership.
+     *
+     * @return the repair revenue rows grouped by dealership
+     */
+    @GetMapping(value = "/repairs/revenue-by-dealership", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<RepairRevenueRow> getRepairRevenueByDealership() {
+        return reactiveReportDao.findRepairRevenueByDealership();
+    }
+
+    /**
+     * Streams the finished repair revenue per dealership as NDJSON.
+     *
+     * @return NDJSON chunks
+     */
+    @GetMapping(value = "/repairs/revenue-by-dealership", produces = NDJSON_UTF8)
+    public Flux<String> streamRepairRevenueByDealership() {
+        return ndjson(reactiveReportDao.findRepairRevenueByDealership());
+    }
+
+    /**
+     * Returns the owner summary.
+     *
+     * @return the owner-wide summary
+     */
+    @GetMapping(value = "/summary", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<OwnerSummaryRow> getSummary() {
+        return reactiveReportDao.getSummary();
+    }
+
+    private <T> Flux<String> ndjson(Flux<T> rows) {
+        return rows.buffer(chunkRows).map(this::toLines);
+    }
+
+    private String toLines(List<?> rows) {
+        StringBuilder lines = new StringBuilder(rows.size() * 128);
+        for (Object row : rows) {
+            lines.append(jsonMapper.writeValueAsString(row)).append('\n');
+        }
+        return lines.toString();
+    }
+}
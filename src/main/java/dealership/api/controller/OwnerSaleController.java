@@ -0,0 +1,143 @@
+package dealership.api.controller;
+
+import dealership.api.cache.ReportCache;
+import dealership.api.cache.ReportKeys;
+import dealership.api.cache.StockReportUpdater;
+import dealership.api.dao.InvalidSaleException;
+import dealership.api.dao.SalesDao;
+import dealership.api.model.CreateSaleRequest;
+import dealership.api.model.SaleBatchResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * REST controller recording vehicle sales.
+ * <p>
+ * Sales are posted in batches, typically the backlog a dealer management
+ * system collected over a day or a month. Each sale is written together
+ * with the status change marking its vehicle as sold.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/owner/sales")
+public class OwnerSaleController {
+
+    private final SalesDao salesDao;
+    private final ReportCache reportCache;
+    private final StockReportUpdater stockReportUpdater;
+    private final int batchSize;
+    private final int maxSales;
+
+    /**
+     * Creates a new controller instance.
+     *
+     * @param salesDao DAO writing the sales
+     * @param reportCache cache holding the stock, sales and summary reports
+     * @param stockReportUpdater updater patching the cached reports after the sales are recorded
+     * @param batchSize ids per lookup and statements per JDBC batch
+     * @param maxSales maximum number of sales accepted in one request
+     */
+    public OwnerSaleController(SalesDao salesDao, ReportCache reportCache, StockReportUpdater stockReportUpdater,
+                               @Value("${dealership.sales.batch-size:500}") int batchSize,
+                               @Value("${dealership.sales.max-sales:10000}") int maxSales) {
+        this.salesDao = salesDao;
+        this.reportCache = reportCache;
+        this.stockReportUpdater = stockReportUpdater;
+        this.batchSize = batchSize;
+        this.maxSales = maxSales;
+    }
+
+    /**
+     * Records a batch of sales.
+     * <p>
+     * Vehicles and sellers are validated with set-based lookups, then each
+     * shard's sales are inserted and their vehicles marked as sold in a single
+     * transaction of JDBC batches; see {@link SalesDao#recordSales(List, int)}.
+     * Vehicles sold in the meantime are reported as conflicts and get no sale.
+     * The cached stock lists are then patched in a single pass, and the
+     * sales-by-employee report and owner summary are dropped to be reloaded.
+     * </p>
+     *
+     * @param sales sales to record, at most one per vehicle
+     * @return an HTTP response containing either:
+     *         <ul>
+     *             <li>HTTP 200 with the recorded count and total and the vehicles already sold.</li>
+     *             <li>HTTP 400 with a validation error message; nothing is recorded.</li>
+     *         </ul>
+     */
+    @PostMapping
+    public ResponseEntity<?> recordSales(@RequestBody List<CreateSaleRequest> sales) {
+        if (sales == null || sales.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "At least one sale is required"));
+        }
+        if (sales.size() > maxSales) {
+            return ResponseEntity.badRequest().body(Map.of("error",
+                    "At most " + maxSales + " sales are accepted per request"));
+        }
+        Set<Integer> vehicleIds = new HashSet<>();
+        for (CreateSaleRequest sale : sales) {
+            if (sale == null || sale.getVehicleId() <= 0) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Vehicle is required"));
+            }
+            if (sale.getSellerUserId() <= 0) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Seller is required"));
+            }
+            if (!vehicleIds.add(sale.getVehicleId())) {
+                return ResponseEntity.badRequest().body(Map.of("error",
+                        "Vehicle " + sale.getVehicleId() + " is listed more than once"));
+            }
+            BigDecimal price = sale.getPrice();
+            if (price == null || price.signum() <= 0 || price.stripTrailingZeros().scale() > 2) {
+                return ResponseEntity.badRequest().body(Map.of("error",
+                        "Price of vehicle " + sale.getVehicleId() + " must be positive with at most 2 decimals"));
+            }
+        }
+
+        SaleBatchResult result;
+        try {
+            result = salesDao.recordSales(sales, batchSize);
+        } catch (InvalidSaleException ex) {
+            // Rejected before anything was written.
+            throw ex;
+        } catch (RuntimeException ex) {
+            // Shards committed before the failure keep their sales.
+            reportCache.invalidateReport(ReportKeys.STOCK_UNSOLD);
+            reportCache.invalidateReport(ReportKeys.SALES_BY_EMPLOYEE);
+            reportCache.invalidateReport(ReportKeys.SUMMARY);
+            throw ex;
+        }
+
+        Set<Integer> conflicts = new HashSet<>(result.getConflicts());
+        List<CreateSaleRequest> recorded = new ArrayList<>(result.getRecorded());
+        for (CreateSaleRequest sale : sales) {
+            if (!conflicts.contains(sale.getVehicleId())) {
+                recorded.add(sale);
+            }
+        }
+        stockReportUpdater.salesRecorded(recorded);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Rejects batches naming unknown vehicles or unknown or inactive sellers.
+     *
+     * @param ex exception describing the offending vehicles or sellers
+     * @return an HTTP 400 response with a JSON error message
+     */
+    @ExceptionHandler(InvalidSaleException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidSale(InvalidSaleException ex) {
+        return ResponseEntity.badRequest().body(Map.of("error", ex.getMessage()));
+    }
+}
@@ -0,0 +1,165 @@
+package dealership.api.controller;
+
+import dealership.api.cache.ReportCache;
+import dealership.api.cache.ReportKeys;
+import dealership.api.cache.StockReportUpdater;
+import dealership.api.dao.VehicleDao;
+import dealership.api.model.VehicleStatusTransition;
+import dealership.api.model.VehicleStatusTransitionResult;
+import dealership.api.strings.CanonicalStrings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * REST controller for owner-level vehicle writes.
+ * <p>
+ * Vehicles are otherwise only read through the stock reports; this
+ * controller moves them between statuses in bulk, for example to mark the
+ * lots of an auction day as {@code SOLD}.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/owner/vehicles")
+public class OwnerVehicleController {
+
+    private final VehicleDao vehicleDao;
+    private final ReportCache reportCache;
+    private final StockReportUpdater stockReportUpdater;
+    private final int batchSize;
+    private final int maxTransitions;
+    private final Map<String, String> statuses = new HashMap<>();
+
+    /**
+     * Creates a new controller instance.
+     *
+     * @param vehicleDao DAO writing the status changes
+     * @param reportCache cache holding the stock and summary reports
+     * @param stockReportUpdater updater patching the cached reports after a transition
+     * @param batchSize statements per JDBC batch and transaction
+     * @param maxTransitions maximum number of transitions accepted in one request
+     * @param statuses vehicle statuses a transition may name, matched case-insensitively
+     */
+    public OwnerVehicleController(VehicleDao vehicleDao, ReportCache reportCache,
+                                  StockReportUpdater stockReportUpdater,
+                                  @Value("${dealership.vehicle-status.batch-size:200}") int batchSize,
+                                  @Value("${dealership.vehicle-status.max-transitions:5000}") int maxTransitions,
+                                  @Value("${dealership.vehicle-status.statuses:AVAILABLE,RESERVED,IN_REPAIR,SOLD}")
+                                  List<String> statuses) {
+        this.vehicleDao = vehicleDao;
+        this.reportCache = reportCache;
+        this.stockReportUpdater = stockReportUpdater;
+        this.batchSize = batchSize;
+        this.maxTransitions = maxTransitions;
+        for (String status : statuses) {
+            String canonical = CanonicalStrings.VEHICLE_STATUS.canonicalize(status.trim());
+            this.statuses.put(canonical.toUpperCase(Locale.ROOT), canonical);
+        }
+    }
+
+    /**
+     * Moves vehicles between statuses in bulk.
+     * <p>
+     * Each transition names the status the vehicle is expected to be in and
+     * only applies while it still is, so vehicles changed concurrently are
+     * reported as conflicts rather than overwritten. The updates are sent as
+     * JDBC batches, one transaction per batch; see
+     * {@link VehicleDao#transitionStatuses(List, int)}. The cached stock
+     * lists are then patched in a single pass, and the owner summary is
+     * dropped when vehicles were sold or returned to stock.
+     * </p>
+     *
+     * <p>
+     * Statuses are matched case-insensitively against the configured
+     * {@code dealership.vehicle-status.statuses} and stored in their
+     * configured spelling; any other status is rejected.
+     * </p>
+     *
+     * @param transitions transitions to apply, at most one per vehicle
+     * @return an HTTP response containing either:
+     *         <ul>
+     *             <li>HTTP 200 with the applied count and the vehicles not found or in conflict.</li>
+     *             <li>HTTP 400 with a validation error message.</li>
+     *         </ul>
+     */
+    @PostMapping("/status-transitions")
+    public ResponseEntity<?> transitionStatuses(@RequestBody List<VehicleStatusTransition> transitions) {
+        if (transitions == null || transitions.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "At least one transition is required"));
+        }
+        if (transitions.size() > maxTransitions) {
+            return ResponseEntity.badRequest().body(Map.of("error",
+                    "At most " + maxTransitions + " transitions are accepted per request"));
+        }
+        Set<Integer> vehicleIds = new HashSet<>();
+        for (VehicleStatusTransition transition : transitions) {
+            if (transition == null || transition.getVehicleId() <= 0) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Vehicle is required"));
+            }
+            if (!vehicleIds.add(transition.getVehicleId())) {
+                return ResponseEntity.badRequest().body(Map.of("error",
+                        "Vehicle " + transition.getVehicleId() + " is listed more than once"));
+            }
+            if (isBlank(transition.getFromStatus()) || isBlank(transition.getToStatus())) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Both statuses are required"));
+            }
+            String from = knownStatus(transition.getFromStatus());
+            String to = knownStatus(transition.getToStatus());
+            if (from == null || to == null) {
+                String unknown = from == null ? transition.getFromStatus() : transition.getToStatus();
+                return ResponseEntity.badRequest().body(Map.of("error", "Unknown vehicle status: " + unknown.trim()));
+            }
+            if (from.equals(to)) {
+                return ResponseEntity.badRequest().body(Map.of("error",
+                        "Vehicle " + transition.getVehicleId() + " is already " + from));
+            }
+            transition.setFromStatus(from);
+            transition.setToStatus(to);
+        }
+
+        VehicleStatusTransitionResult result;
+        try {
+            result = vehicleDao.transitionStatuses(transitions, batchSize);
+        } catch (RuntimeException ex) {
+            // Some batches may have been committed before the failure.
+            reportCache.invalidateReport(ReportKeys.STOCK_UNSOLD);
+            reportCache.invalidateReport(ReportKeys.SUMMARY);
+            throw ex;
+        }
+
+        Set<Integer> skipped = new HashSet<>(result.getNotFound());
+        skipped.addAll(result.getConflicts());
+        List<VehicleStatusTransition> applied = new ArrayList<>(result.getApplied());
+        for (VehicleStatusTransition transition : transitions) {
+            if (!skipped.contains(transition.getVehicleId())) {
+                applied.add(transition);
+            }
+        }
+        stockReportUpdater.statusesChanged(applied);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Maps a client status to its configured spelling.
+     *
+     * @return the known status, or {@code null} if it is not configured
+     */
+    private String knownStatus(String status) {
+        return statuses.get(status.trim().toUpperCase(Locale.ROOT));
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
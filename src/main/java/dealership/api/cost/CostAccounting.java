@@ -0,0 +1,160 @@
+package dealership.api.cost;
+
+import dealership.api.model.CostStatsRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aggregates the heap allocation and CPU time of requests per endpoint, and of
+ * DAO calls per DAO method.
+ * <p>
+ * {@link CostAccountingFilter} measures each request on its servlet thread
+ * and the repository interceptor of {@link DaoCostPostProcessor} each DAO
+ * call. A DAO call made on the request thread is also added to that
+ * request's DAO share, so an endpoint's cost splits into the part spent in
+ * data access and the rest (serialization, hashing, framework). DAO calls
+ * made on other threads, such as report cache loads or shard scatter
+ * queries, only count towards their DAO method.
+ * </p>
+ * <p>
+ * Endpoints are keyed by method and mapping pattern. At most
+ * {@code dealership.cost-accounting.max-endpoints} keys are kept; further
+ * ones are aggregated under {@value #OTHER}.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "dealership.cost-accounting.enabled", havingValue = "true", matchIfMissing = true)
+public class CostAccounting {
+
+    /** Key aggregating endpoints beyond the configured maximum. */
+    public static final String OTHER = "other";
+
+    private static final ThreadLocal<RequestScope> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, CostStats> endpoints = new ConcurrentHashMap<>();
+    private final Map<String, CostStats> daoMethods = new ConcurrentHashMap<>();
+    private final int maxEndpoints;
+
+    /**
+     * Creates a new accounting instance.
+     *
+     * @param maxEndpoints number of distinct endpoint keys kept
+     */
+    public CostAccounting(@Value("${dealership.cost-accounting.max-endpoints:500}") int maxEndpoints) {
+        this.maxEndpoints = maxEndpoints;
+    }
+
+    /**
+     * Starts measuring a request on the current thread.
+     *
+     * @return the scope to pass to {@link #endRequest}
+     */
+    public RequestScope beginRequest() {
+        RequestScope scope = new RequestScope();
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Stops measuring a request and adds its cost to its endpoint.
+     *
+     * @param scope scope returned by {@link #beginRequest()}
+     * @param endpoint endpoint key, e.g. {@code GET /api/owner/stock-unsold}
+     */
+    public void endRequest(RequestScope scope, String endpoint) {
+        long cpu = ThreadCost.cpuNanos() - scope.startCpuNanos;
+        long allocated = ThreadCost.allocatedBytes() - scope.startAllocatedBytes;
+        long latency = System.nanoTime() - scope.startNanos;
+        CURRENT.remove();
+
+        CostStats stats = endpoints.get(endpoint);
+        if (stats == null) {
+            stats = endpoints.size() < maxEndpoints
+                    ? endpoints.computeIfAbsent(endpoint, key -> new CostStats())
+                    : endpoints.computeIfAbsent(OTHER, key -> new CostStats());
+        }
+        stats.record(latency, allocated, cpu);
+        stats.recordDao(scope.daoCalls, scope.daoAllocatedBytes, scope.daoCpuNanos);
+    }
+
+    /**
+     * Adds the cost of a DAO call to its DAO method and to the request running on this thread.
+     *
+     * @param daoMethod DAO method key, e.g. {@code VehicleDao.findUnsoldStock}
+     * @param latency wall-clock time of the call in nanoseconds
+     * @param allocated bytes allocated by the call
+     * @param cpu CPU time of the call in nanoseconds
+     */
+    public void recordDaoCall(String daoMethod, long latency, long allocated, long cpu) {
+        daoMethods.computeIfAbsent(daoMethod, key -> new CostStats()).record(latency, allocated, cpu);
+        RequestScope scope = CURRENT.get();
+        if (scope != null) {
+            scope.daoCalls++;
+            scope.daoAllocatedBytes += allocated;
+            scope.daoCpuNanos += cpu;
+        }
+    }
+
+    /**
+     * Returns the cost of every endpoint, most expensive first.
+     *
+     * @param sort {@code cpu}, {@code latency} or {@code calls}; anything else sorts by bytes
+     * @return one row per endpoint
+     */
+    public List<CostStatsRow> getEndpointStats(String sort) {
+        return rows(endpoints, sort);
+    }
+
+    /**
+     * Returns the cost of every DAO method, most expensive first.
+     *
+     * @param sort {@code cpu}, {@code latency} or {@code calls}; anything else sorts by bytes
+     * @return one row per DAO method
+     */
+    public List<CostStatsRow> getDaoStats(String sort) {
+        return rows(daoMethods, sort);
+    }
+
+    private static List<CostStatsRow> rows(Map<String, CostStats> stats, String sort) {
+        List<CostStatsRow> rows = new ArrayList<>(stats.size());
+        stats.forEach((name, entry) -> rows.add(entry.toRow(name)));
+        rows.sort(comparator(sort).reversed());
+        return rows;
+    }
+
+    private static Comparator<CostStatsRow> comparator(String sort) {
+        switch (sort == null ? "bytes" : sort) {
+            case "cpu":
+                return Comparator.comparingLong(CostStatsRow::getCpuMicrosPerCall);
+            case "latency":
+                return Comparator.comparingLong(CostStatsRow::getAvgLatencyMicros);
+            case "calls":
+                return Comparator.comparingLong(CostStatsRow::getCalls);
+            default:
+                return Comparator.comparingLong(CostStatsRow::getAllocatedBytesPerCall);
+        }
+    }
+
+    /**
+     * Readings taken at the start of a request, plus the DAO calls made on its thread so far.
+     */
+    public static final class RequestScope {
+
+        private final long startNanos = System.nanoTime();
+        private final long startAllocatedBytes = ThreadCost.allocatedBytes();
+        private final long startCpuNanos = ThreadCost.cpuNanos();
+        private int daoCalls;
+        private long daoAllocatedBytes;
+        private long daoCpuNanos;
+
+        private RequestScope() {
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package dealership.api.cost;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Servlet filter measuring the allocation and CPU time of each request.
+ * <p>
+ * The readings are taken around the rest of the filter chain on the servlet
+ * thread, which covers handler work, serialization and writing the response.
+ * For asynchronous requests (server-sent events, the reactive reports) only
+ * the part run on the initial servlet thread is counted.
+ * </p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+@ConditionalOnProperty(name = "dealership.cost-accounting.enabled", havingValue = "true", matchIfMissing = true)
+public class CostAccountingFilter implements Filter {
+
+    private final CostAccounting costAccounting;
+
+    /**
+     * Creates a new filter.
+     *
+     * @param costAccounting accounting receiving the request costs
+     */
+    public CostAccountingFilter(CostAccounting costAccounting) {
+        this.costAccounting = costAccounting;
+    }
+
+    /**
+     * Serves the request and records its cost under its endpoint.
+     *
+     * @param request incoming request
+     * @param response outgoing response
+     * @param chain remaining filter chain
+     * @throws IOException if a downstream component fails to write
+     * @throws ServletException if a downstream filter fails
+     */
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        CostAccounting.RequestScope scope = costAccounting.beginRequest();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            HttpServletRequest httpRequest = (HttpServletRequest) request;
+            Object pattern = httpRequest.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            costAccounting.endRequest(scope, httpRequest.getMethod() + " "
+                    + (pattern instanceof String endpoint ? endpoint : "unmapped"));
+        }
+    }
+}
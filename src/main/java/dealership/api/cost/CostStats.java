@@ -0,0 +1,57 @@
+package dealership.api.cost;
+
+import dealership.api.model.CostStatsRow;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cumulative latency, allocation and CPU counters of one endpoint or DAO method.
+ * <p>
+ * Every counter is a {@link LongAdder}, so concurrent requests to the same
+ * endpoint update it without contending on a lock. The share of the cost
+ * spent inside DAO calls is kept separately for endpoints.
+ * </p>
+ */
+final class CostStats {
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LongAdder cpuNanos = new LongAdder();
+    private final LongAdder daoCalls = new LongAdder();
+    private final LongAdder daoAllocatedBytes = new LongAdder();
+    private final LongAdder daoCpuNanos = new LongAdder();
+
+    void record(long latency, long allocated, long cpu) {
+        calls.increment();
+        latencyNanos.add(latency);
+        maxLatencyNanos.accumulate(latency);
+        allocatedBytes.add(allocated);
+        cpuNanos.add(cpu);
+    }
+
+    void recordDao(int count, long allocated, long cpu) {
+        daoCalls.add(count);
+        daoAllocatedBytes.add(allocated);
+        daoCpuNanos.add(cpu);
+    }
+
+    CostStatsRow toRow(String name) {
+        long count = calls.sum();
+        long divisor = Math.max(1, count);
+        return new CostStatsRow(
+                name,
+                count,
+                latencyNanos.sum() / divisor / 1_000,
+                maxLatencyNanos.get() / 1_000,
+                allocatedBytes.sum() / divisor,
+                cpuNanos.sum() / divisor / 1_000,
+                allocatedBytes.sum(),
+                cpuNanos.sum() / 1_000_000,
+                (double) daoCalls.sum() / divisor,
+                daoAllocatedBytes.sum() / divisor,
+                daoCpuNanos.sum() / divisor / 1_000);
+    }
+}
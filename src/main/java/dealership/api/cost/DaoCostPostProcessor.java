@@ -0,0 +1,104 @@
+package dealership.api.cost;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.reactivestreams.Publisher;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.stereotype.Repository;
+
+import java.lang.reflect.Modifier;
+
+/**
+ * Wraps every {@link Repository} bean so that the allocation and CPU time of
+ * its public methods are added to {@link CostAccounting}.
+ * <p>
+ * Repositories already proxied get the interceptor added to their existing
+ * proxy. Methods returning a reactive publisher only assemble their query
+ * and are passed through unmeasured.
+ * </p>
+ */
+public class DaoCostPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<CostAccounting> costAccounting;
+
+    /**
+     * Creates a new post-processor.
+     *
+     * @param costAccounting accounting receiving the DAO call costs, resolved on first use
+     */
+    public DaoCostPostProcessor(ObjectProvider<CostAccounting> costAccounting) {
+        this.costAccounting = costAccounting;
+    }
+
+    /**
+     * Proxies repository beans; every other bean is returned unchanged.
+     *
+     * @param bean initialized bean
+     * @param beanName name of the bean
+     * @return the proxied repository, or the bean itself
+     */
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Class<?> type = AopUtils.getTargetClass(bean);
+        if (AnnotationUtils.findAnnotation(type, Repository.class) == null || Modifier.isFinal(type.getModifiers())) {
+            return bean;
+        }
+        DaoCostInterceptor interceptor = new DaoCostInterceptor(type.getSimpleName(), costAccounting);
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice(interceptor);
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(interceptor);
+        return proxyFactory.getProxy(type.getClassLoader());
+    }
+
+    /**
+     * Interceptor measuring one DAO call.
+     */
+    static final class DaoCostInterceptor implements MethodInterceptor {
+
+        private final String dao;
+        private final ObjectProvider<CostAccounting> costAccountingProvider;
+        private volatile CostAccounting costAccounting;
+
+        DaoCostInterceptor(String dao, ObjectProvider<CostAccounting> costAccountingProvider) {
+            this.dao = dao;
+            this.costAccountingProvider = costAccountingProvider;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            if (!Modifier.isPublic(invocation.getMethod().getModifiers())
+                    || Publisher.class.isAssignableFrom(invocation.getMethod().getReturnType())) {
+                return invocation.proceed();
+            }
+            long start = System.nanoTime();
+            long startAllocated = ThreadCost.allocatedBytes();
+            long startCpu = ThreadCost.cpuNanos();
+            try {
+                return invocation.proceed();
+            } finally {
+                long cpu = ThreadCost.cpuNanos() - startCpu;
+                long allocated = ThreadCost.allocatedBytes() - startAllocated;
+                accounting().recordDaoCall(dao + "." + invocation.getMethod().getName(),
+                        System.nanoTime() - start, allocated, cpu);
+            }
+        }
+
+        private CostAccounting accounting() {
+            CostAccounting accounting = costAccounting;
+            if (accounting == null) {
+                accounting = costAccountingProvider.getObject();
+                costAccounting = accounting;
+            }
+            return accounting;
+        }
+    }
+}
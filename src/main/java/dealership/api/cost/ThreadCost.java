@@ -0,0 +1,55 @@
+package dealership.api.cost;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Reads the heap allocation and CPU time of the current thread.
+ * <p>
+ * Both counters are cumulative per thread, so the cost of a unit of work is
+ * the difference between a reading taken before and one taken after it, on
+ * the same thread. They come from the HotSpot extension of
+ * {@link java.lang.management.ThreadMXBean}; on a JVM without it, or where a
+ * counter is not supported, the reading is always zero.
+ * </p>
+ */
+public final class ThreadCost {
+
+    private static final com.sun.management.ThreadMXBean THREADS = threads();
+    private static final boolean ALLOCATION = THREADS != null && THREADS.isThreadAllocatedMemoryEnabled();
+    private static final boolean CPU = THREADS != null && THREADS.isCurrentThreadCpuTimeSupported()
+            && THREADS.isThreadCpuTimeEnabled();
+
+    private ThreadCost() {
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads)) {
+            return null;
+        }
+        if (threads.isThreadAllocatedMemorySupported() && !threads.isThreadAllocatedMemoryEnabled()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+        if (threads.isCurrentThreadCpuTimeSupported() && !threads.isThreadCpuTimeEnabled()) {
+            threads.setThreadCpuTimeEnabled(true);
+        }
+        return threads;
+    }
+
+    /**
+     * Returns the bytes allocated on the heap by the current thread so far.
+     *
+     * @return allocated bytes, or zero when not supported
+     */
+    public static long allocatedBytes() {
+        return ALLOCATION ? THREADS.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    /**
+     * Returns the CPU time used by the current thread so far.
+     *
+     * @return CPU time in nanoseconds, or zero when not supported
+     */
+    public static long cpuNanos() {
+        return CPU ? THREADS.getCurrentThreadCpuTime() : 0;
+    }
+}
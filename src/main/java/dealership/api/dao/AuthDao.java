@@ -1,6 +1,7 @@
 package dealership.api.dao;
 
-import org.springframework.jdbc.core.JdbcTemplate;
+import dealership.api.shard.ShardRouter;
+import dealership.api.strings.CanonicalStrings;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -18,15 +19,21 @@ import java.util.Optional;
 @Repository
 public class AuthDao {
 
-    private final JdbcTemplate jdbc;
+    private final ShardRouter shardRouter;
 
     /**
-     * Creates a new {@code AuthDao} with the provided {@link JdbcTemplate}.
+     * Creates a new {@code AuthDao} with the provided {@link ShardRouter}.
+     * <p>
+     * Login lookups always run on the primary databases so that a freshly
+     * created user can log in without waiting for replication. The username
+     * alone does not tell which shard holds the user, so every shard is
+     * asked in parallel.
+     * </p>
      *
-     * @param jdbc the JDBC template used to execute SQL queries
+     * @param shardRouter router giving access to every dealership shard
      */
-    public AuthDao(JdbcTemplate jdbc) {
-        this.jdbc = jdbc;
+    public AuthDao(ShardRouter shardRouter) {
+        this.shardRouter = shardRouter;
     }
 
     /**
@@ -50,20 +57,25 @@ public class AuthDao {
                 "JOIN role r ON r.id = u.role_id " +
                 "WHERE u.username = ? AND u.is_active = 1";
 
-        List<LoginUserRow> rows = jdbc.query(
+        List<List<LoginUserRow>> partials = shardRouter.scatter(shard -> shard.getJdbc().query(
                 sql,
                 ps -> ps.setString(1, username),
                 (rs, rowNum) -> new LoginUserRow(
                         rs.getInt("id"),
                         rs.getInt("dealership_id"),
-                        rs.getString("role_name"),
+                        CanonicalStrings.ROLE_NAME.canonicalize(rs.getString("role_name")),
                         rs.getString("username"),
                         rs.getString("full_name"),
                         rs.getString("password_hash")
                 )
-        );
+        ));
 
-        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+        for (List<LoginUserRow> rows : partials) {
+            if (!rows.isEmpty()) {
+                return Optional.of(rows.get(0));
+            }
+        }
+        return Optional.empty();
     }
 
     /**
@@ -1,6 +1,8 @@
 package dealership.api.dao;
 
 import dealership.api.model.IdNameRow;
+import dealership.api.strings.CanonicalStrings;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
@@ -26,9 +28,9 @@ public class DealershipDao {
      * underlying database.
      * </p>
      *
-     * @param jdbc JDBC template used for database access
+     * @param jdbc read-only JDBC template, routed to the read replica when one is configured
      */
-    public DealershipDao(JdbcTemplate jdbc) {
+    public DealershipDao(@Qualifier("readJdbcTemplate") JdbcTemplate jdbc) {
         this.jdbc = jdbc;
     }
 
@@ -36,7 +38,8 @@ public class DealershipDao {
      * Retrieves all dealerships ordered by identifier.
      * <p>
      * Each returned row contains the dealership identifier and name,
-     * mapped to a simple data transfer object.
+     * mapped to a simple data transfer object. Names are canonicalized, so
+     * user rows resolved from successive loads share their instances.
      * </p>
      *
      * @return a list of dealership identifier and name rows
@@ -45,7 +48,7 @@ public class DealershipDao {
         String sql = "SELECT d.id, d.name FROM dealership d ORDER BY d.id";
         return jdbc.query(sql, (rs, rowNum) -> new IdNameRow(
                 rs.getInt("id"),
-                rs.getString("name")
+                CanonicalStrings.DEALERSHIP_NAME.canonicalize(rs.getString("name"))
         ));
     }
 }
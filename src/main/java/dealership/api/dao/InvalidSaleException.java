@@ -0,0 +1,19 @@
+package dealership.api.dao;
+
+/**
+ * Thrown when a sale batch names vehicles or sellers that cannot take part in a sale.
+ * <p>
+ * Nothing of the batch has been written when it is thrown.
+ * </p>
+ */
+public class InvalidSaleException extends IllegalArgumentException {
+
+    /**
+     * Creates a new exception.
+     *
+     * @param message description of the offending vehicles or sellers
+     */
+    public InvalidSaleException(String message) {
+        super(message);
+    }
+}
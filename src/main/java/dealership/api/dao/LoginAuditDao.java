@@ -0,0 +1,101 @@
+package dealership.api.dao;
+
+import dealership.api.audit.LoginAuditEvent;
+import dealership.api.shard.Shard;
+import dealership.api.shard.ShardRouter;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DAO writing login audit rows and last-login times in JDBC batches.
+ * <p>
+ * The {@code login_audit} table and the {@code user.last_login_at} column are
+ * created on every shard by the {@code V2__login_audit} migration.
+ * </p>
+ * <p>
+ * Rows are grouped per shard and each group is sent as one batch. With
+ * {@code rewriteBatchedStatements=true} on the MySQL URL, Connector/J turns
+ * each insert batch into a single multi-row statement.
+ * </p>
+ */
+@Repository
+public class LoginAuditDao {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO login_audit (user_id, username, success, ip, occurred_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_LAST_LOGIN_SQL =
+            "UPDATE `user` SET last_login_at = ? WHERE id = ? AND (last_login_at IS NULL OR last_login_at < ?)";
+
+    private final ShardRouter shardRouter;
+
+    /**
+     * Creates a new {@code LoginAuditDao} with the provided {@link ShardRouter}.
+     *
+     * @param shardRouter router resolving the shard of each user's dealership
+     */
+    public LoginAuditDao(ShardRouter shardRouter) {
+        this.shardRouter = shardRouter;
+    }
+
+    /**
+     * Inserts one audit row per login attempt.
+     *
+     * @param events login attempts to store
+     */
+    public void insertAttempts(Collection<LoginAuditEvent> events) {
+        for (Map.Entry<Shard, List<LoginAuditEvent>> group : byShard(events).entrySet()) {
+            List<Object[]> args = new ArrayList<>(group.getValue().size());
+            for (LoginAuditEvent event : group.getValue()) {
+                args.add(new Object[]{
+                        event.getUserId(),
+                        event.getUsername(),
+                        event.isSuccess() ? 1 : 0,
+                        event.getIp(),
+                        Timestamp.from(event.getOccurredAt())
+                });
+            }
+            group.getKey().getJdbc().batchUpdate(INSERT_SQL, args,
+                    new int[]{Types.INTEGER, Types.VARCHAR, Types.TINYINT, Types.VARCHAR, Types.TIMESTAMP});
+        }
+    }
+
+    /**
+     * Moves the last-login time of each user forward to the time of the given login.
+     * <p>
+     * A user's stored time is never moved backwards, so out-of-order or
+     * replayed batches are harmless.
+     * </p>
+     *
+     * @param logins the latest successful login of each user, one per user
+     */
+    public void updateLastLogins(Collection<LoginAuditEvent> logins) {
+        for (Map.Entry<Shard, List<LoginAuditEvent>> group : byShard(logins).entrySet()) {
+            List<Object[]> args = new ArrayList<>(group.getValue().size());
+            for (LoginAuditEvent login : group.getValue()) {
+                Timestamp at = Timestamp.from(login.getOccurredAt());
+                args.add(new Object[]{at, login.getUserId(), at});
+            }
+            group.getKey().getJdbc().batchUpdate(UPDATE_LAST_LOGIN_SQL, args,
+                    new int[]{Types.TIMESTAMP, Types.INTEGER, Types.TIMESTAMP});
+        }
+    }
+
+    private Map<Shard, List<LoginAuditEvent>> byShard(Collection<LoginAuditEvent> events) {
+        Map<Shard, List<LoginAuditEvent>> groups = new LinkedHashMap<>();
+        for (LoginAuditEvent event : events) {
+            Shard shard = event.getDealershipId() == null
+                    ? shardRouter.defaultShard()
+                    : shardRouter.shardFor(event.getDealershipId());
+            groups.computeIfAbsent(shard, key -> new ArrayList<>()).add(event);
+        }
+        return groups;
+    }
+}
@@ -1,10 +1,12 @@
 package dealership.api.dao;
 
 import dealership.api.model.OwnerSummaryRow;
+import dealership.api.shard.ShardRouter;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 /**
  * Data access object responsible for retrieving aggregated owner-level metrics.
@@ -13,23 +15,35 @@ import java.math.BigDecimal;
  * stock, intended to support high-level dashboards and reporting views for
  * the dealership owner.
  * </p>
+ * <p>
+ * Figures are computed on every dealership shard in parallel and the
+ * per-shard counts and totals are added up.
+ * </p>
  */
 @Repository
 public class OwnerDao {
 
-    private final JdbcTemplate jdbc;
+    static final String SALES_COUNT_SQL = "SELECT COUNT(*) FROM sale";
+    static final String SALES_TOTAL_SQL = "SELECT COALESCE(SUM(price), 0) FROM sale";
+    static final String REPAIRS_COUNT_SQL =
+            "SELECT COUNT(*) FROM repair_order WHERE status='FINISHED' AND estimated_budget IS NOT NULL";
+    static final String REPAIRS_TOTAL_SQL =
+            "SELECT COALESCE(SUM(estimated_budget), 0) FROM repair_order WHERE status='FINISHED' AND estimated_budget IS NOT NULL";
+    static final String UNSOLD_STOCK_COUNT_SQL = "SELECT COUNT(*) FROM vehicle WHERE status <> 'SOLD'";
+
+    private final ShardRouter shardRouter;
 
     /**
-     * Creates a new DAO instance using the provided {@link JdbcTemplate}.
+     * Creates a new DAO instance using the provided {@link ShardRouter}.
      * <p>
-     * The JDBC template is used to execute SQL queries that retrieve aggregated
-     * data from the database.
+     * Queries run on the read template of each shard, which for the default
+     * shard is routed to the read replica when one is configured.
      * </p>
      *
-     * @param jdbc JDBC template used for database access
+     * @param shardRouter router giving access to every dealership shard
      */
-    public OwnerDao(JdbcTemplate jdbc) {
-        this.jdbc = jdbc;
+    public OwnerDao(ShardRouter shardRouter) {
+        this.shardRouter = shardRouter;
     }
 
     /**
@@ -43,23 +57,45 @@ public class OwnerDao {
      * @return an object containing aggregated owner summary data
      */
     public OwnerSummaryRow getSummary() {
+        return merge(shardRouter.scatter(shard -> summaryOf(shard.getReadJdbc())));
+    }
 
-        Integer salesCount = jdbc.queryForObject("SELECT COUNT(*) FROM sale", Integer.class);
-        BigDecimal salesTotal = jdbc.queryForObject("SELECT COALESCE(SUM(price), 0) FROM sale", BigDecimal.class);
+    /**
+     * Adds up the per-shard summaries.
+     *
+     * @param partials summary of each shard
+     * @return the owner-wide summary
+     */
+    static OwnerSummaryRow merge(List<OwnerSummaryRow> partials) {
+        if (partials.size() == 1) {
+            return partials.get(0);
+        }
 
-        Integer repairsCount = jdbc.queryForObject(
-                "SELECT COUNT(*) FROM repair_order WHERE status='FINISHED' AND estimated_budget IS NOT NULL",
-                Integer.class
-        );
-        BigDecimal repairsTotal = jdbc.queryForObject(
-                "SELECT COALESCE(SUM(estimated_budget), 0) FROM repair_order WHERE status='FINISHED' AND estimated_budget IS NOT NULL",
-                BigDecimal.class
-        );
+        OwnerSummaryRow total = new OwnerSummaryRow(0, BigDecimal.ZERO, 0, BigDecimal.ZERO, 0);
+        for (OwnerSummaryRow partial : partials) {
+            total.setSalesCount(total.getSalesCount() + partial.getSalesCount());
+            total.setSalesTotal(total.getSalesTotal().add(partial.getSalesTotal()));
+            total.setRepairsCount(total.getRepairsCount() + partial.getRepairsCount());
+            total.setRepairsTotal(total.getRepairsTotal().add(partial.getRepairsTotal()));
+            total.setUnsoldStockCount(total.getUnsoldStockCount() + partial.getUnsoldStockCount());
+        }
+        return total;
+    }
 
-        Integer unsoldStockCount = jdbc.queryForObject(
-                "SELECT COUNT(*) FROM vehicle WHERE status <> 'SOLD'",
-                Integer.class
-        );
+    /**
+     * Computes the summary figures of a single shard.
+     *
+     * @param jdbc read template of the shard
+     * @return the shard's partial summary
+     */
+    private static OwnerSummaryRow summaryOf(JdbcTemplate jdbc) {
+        Integer salesCount = jdbc.queryForObject(SALES_COUNT_SQL, Integer.class);
+        BigDecimal salesTotal = jdbc.queryForObject(SALES_TOTAL_SQL, BigDecimal.class);
+
+        Integer repairsCount = jdbc.queryForObject(REPAIRS_COUNT_SQL, Integer.class);
+        BigDecimal repairsTotal = jdbc.queryForObject(REPAIRS_TOTAL_SQL, BigDecimal.class);
+
+        Integer unsoldStockCount = jdbc.queryForObject(UNSOLD_STOCK_COUNT_SQL, Integer.class);
 
         return new OwnerSummaryRow(
                 salesCount != null ? salesCount : 0,
@@ -1,8 +1,15 @@
 package dealership.api.dao;
 
+import dealership.api.cache.NameDictionary;
+import dealership.api.cache.ReferenceDataCache;
+import dealership.api.datasource.ReplicaLagMonitor;
 import dealership.api.model.CreateUserRequest;
 import dealership.api.model.UserRow;
-import org.springframework.jdbc.core.JdbcTemplate;
+import dealership.api.projection.UserField;
+import dealership.api.shard.Shard;
+import dealership.api.shard.ShardRouter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
@@ -10,8 +17,12 @@ import org.springframework.stereotype.Repository;
 import java.sql.PreparedStatement;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Data access object responsible for owner-level user management operations.
@@ -20,30 +31,45 @@ import java.util.Objects;
  * with optional filters, and create new user records. It is typically used by
  * owner-facing management endpoints.
  * </p>
+ * <p>
+ * Users live on the shard of their dealership. Listings filtered by
+ * dealership and inserts go to that shard only; unfiltered listings and
+ * username lookups are run on every shard.
+ * </p>
  */
 @Repository
 public class OwnerUserDao {
 
-    private final JdbcTemplate jdbc;
+    private final ShardRouter shardRouter;
+    private final ReferenceDataCache referenceData;
+    private final ObjectProvider<ReplicaLagMonitor> replicaLagMonitor;
 
     /**
-     * Creates a new DAO instance using the provided {@link JdbcTemplate}.
+     * Creates a new DAO instance using the provided {@link ShardRouter}.
      * <p>
-     * The JDBC template is used to execute SQL queries and updates against the
-     * underlying database.
+     * Updates and lookups that must see the latest writes, such as the username
+     * uniqueness check, use each shard's primary template. Plain listings use
+     * the read template, which may be served by a read replica.
      * </p>
      *
-     * @param jdbc JDBC template used for database access
+     * @param shardRouter router giving access to every dealership shard
+     * @param referenceData cached dealership and role names, used instead of joining their tables
+     * @param replicaLagMonitor optional monitor notified of writes to keep read-your-writes consistency
      */
-    public OwnerUserDao(JdbcTemplate jdbc) {
-        this.jdbc = jdbc;
+    public OwnerUserDao(ShardRouter shardRouter, ReferenceDataCache referenceData,
+                        ObjectProvider<ReplicaLagMonitor> replicaLagMonitor) {
+        this.shardRouter = shardRouter;
+        this.referenceData = referenceData;
+        this.replicaLagMonitor = replicaLagMonitor;
     }
 
     /**
      * Checks whether a given username already exists in the database.
      * <p>
      * This method performs a simple count query on the user table using the
-     * provided username as a parameter.
+     * provided username as a parameter. It always runs on the primaries so that
+     * a user created moments ago is never reported as missing. Usernames are
+     * unique across all shards, so every shard is checked.
      * </p>
      *
      * @param username username to check
@@ -51,8 +77,10 @@ public class OwnerUserDao {
      */
     public boolean existsUsername(String username) {
         String sql = "SELECT COUNT(*) FROM `user` u WHERE u.username = ?";
-        Integer count = jdbc.queryForObject(sql, Integer.class, username);
-        return count != null && count > 0;
+        return shardRouter.scatter(shard -> {
+            Integer count = shard.getJdbc().queryForObject(sql, Integer.class, username);
+            return count != null && count > 0;
+        }).contains(Boolean.TRUE);
     }
 
     /**
@@ -60,7 +88,8 @@ public class OwnerUserDao {
      * <p>
      * Filters can be applied by dealership, role, and active status. When a filter
      * parameter is {@code null}, it is not included in the query. The result is
-     * ordered by user identifier.
+     * ordered by user identifier. A dealership filter limits the query to the
+     * shard holding that dealership.
      * </p>
      *
      * @param dealershipId optional dealership identifier filter
@@ -69,17 +98,50 @@ public class OwnerUserDao {
      * @return a list of users matching the provided filters
      */
     public List<UserRow> findUsers(Integer dealershipId, Integer roleId, Boolean active) {
+        return findUsers(dealershipId, roleId, active, EnumSet.allOf(UserField.class));
+    }
+
+    /**
+     * Retrieves a list of users with only the selected fields populated.
+     * <p>
+     * Only the selected columns are read. The {@code dealership} and
+     * {@code role} tables are never joined: when their names are selected,
+     * the identifiers are read instead and the names are resolved from the
+     * {@link ReferenceDataCache}. As with the joins, users whose dealership or
+     * role is not found are left out when its name is selected. The user id is
+     * always read, since results from several shards are merged by it.
+     * </p>
+     *
+     * @param dealershipId optional dealership identifier filter
+     * @param roleId optional role identifier filter
+     * @param active optional active status filter
+     * @param fields fields to read
+     * @return a list of users matching the provided filters
+     */
+    public List<UserRow> findUsers(Integer dealershipId, Integer roleId, Boolean active, EnumSet<UserField> fields) {
+
+        boolean dealershipNames = fields.contains(UserField.DEALERSHIP_NAME);
+        boolean roleNames = fields.contains(UserField.ROLE_NAME);
+        EnumSet<UserField> columns = EnumSet.copyOf(fields);
+        if (dealershipNames) {
+            columns.remove(UserField.DEALERSHIP_NAME);
+            columns.add(UserField.DEALERSHIP_ID);
+        }
+        if (roleNames) {
+            columns.remove(UserField.ROLE_NAME);
+            columns.add(UserField.ROLE_ID);
+        }
 
         StringBuilder sql = new StringBuilder();
         List<Object> params = new ArrayList<>();
 
-        sql.append("SELECT u.id, u.dealership_id, d.name AS dealership_name, ");
-        sql.append("       u.role_id, r.name AS role_name, ");
-        sql.append("       u.username, u.full_name, u.is_active ");
-        sql.append("FROM `user` u ");
-        sql.append("JOIN dealership d ON d.id = u.dealership_id ");
-        sql.append("JOIN role r ON r.id = u.role_id ");
-        sql.append("WHERE 1=1 ");
+        sql.append("SELECT u.id");
+        for (UserField field : columns) {
+            if (field != UserField.ID) {
+                sql.append(", ").append(column(field));
+            }
+        }
+        sql.append(" FROM `user` u WHERE 1=1 ");
 
         if (dealershipId != null) {
             sql.append("AND u.dealership_id = ? ");
@@ -95,32 +157,109 @@ public class OwnerUserDao {
         }
 
         sql.append("ORDER BY u.id");
+        String query = sql.toString();
+        RowMapper<UserRow> mapper = userRowMapper(columns);
+
+        List<UserRow> rows;
+        if (dealershipId != null) {
+            rows = findUsers(shardRouter.shardFor(dealershipId), query, params, mapper);
+        } else {
+            List<List<UserRow>> partials = shardRouter.scatter(shard -> findUsers(shard, query, params, mapper));
+            if (partials.size() == 1) {
+                rows = partials.get(0);
+            } else {
+                rows = new ArrayList<>();
+                partials.forEach(rows::addAll);
+                rows.sort(Comparator.comparingInt(UserRow::getId));
+            }
+        }
+        if (dealershipNames) {
+            resolveDealershipNames(rows);
+        }
+        if (roleNames) {
+            resolveRoleNames(rows);
+        }
+        return rows;
+    }
+
+    private void resolveDealershipNames(List<UserRow> rows) {
+        Set<Integer> ids = new HashSet<>();
+        for (UserRow row : rows) {
+            ids.add(row.getDealershipId());
+        }
+        NameDictionary dealerships = referenceData.dealerships(ids);
+        rows.removeIf(row -> !dealerships.contains(row.getDealershipId()));
+        for (UserRow row : rows) {
+            row.setDealershipName(dealerships.nameOf(row.getDealershipId()));
+        }
+    }
 
-        return jdbc.query(
-                sql.toString(),
+    private void resolveRoleNames(List<UserRow> rows) {
+        Set<Integer> ids = new HashSet<>();
+        for (UserRow row : rows) {
+            ids.add(row.getRoleId());
+        }
+        NameDictionary roles = referenceData.roles(ids);
+        rows.removeIf(row -> !roles.contains(row.getRoleId()));
+        for (UserRow row : rows) {
+            row.setRoleName(roles.nameOf(row.getRoleId()));
+        }
+    }
+
+    private static List<UserRow> findUsers(Shard shard, String sql, List<Object> params,
+                                           RowMapper<UserRow> mapper) {
+        return shard.getReadJdbc().query(
+                sql,
                 ps -> {
                     for (int i = 0; i < params.size(); i++) {
                         ps.setObject(i + 1, params.get(i));
                     }
                 },
-                (rs, rowNum) -> new UserRow(
-                        rs.getInt("id"),
-                        rs.getInt("dealership_id"),
-                        rs.getString("dealership_name"),
-                        rs.getInt("role_id"),
-                        rs.getString("role_name"),
-                        rs.getString("username"),
-                        rs.getString("full_name"),
-                        rs.getInt("is_active") == 1
-                )
+                mapper
         );
     }
 
+    private static String column(UserField field) {
+        return switch (field) {
+            case ID -> "u.id";
+            case DEALERSHIP_ID -> "u.dealership_id";
+            case ROLE_ID -> "u.role_id";
+            case USERNAME -> "u.username";
+            case FULL_NAME -> "u.full_name";
+            case ACTIVE -> "u.is_active";
+            case DEALERSHIP_NAME, ROLE_NAME -> throw new IllegalArgumentException(field + " is not a user column");
+        };
+    }
+
+    private static RowMapper<UserRow> userRowMapper(EnumSet<UserField> fields) {
+        return (rs, rowNum) -> {
+            UserRow row = new UserRow();
+            row.setId(rs.getInt(1));
+            int column = 2;
+            for (UserField field : fields) {
+                switch (field) {
+                    case ID, DEALERSHIP_NAME, ROLE_NAME -> {
+                        // id is always read as the first column, names are resolved afterwards
+                    }
+                    case DEALERSHIP_ID -> row.setDealershipId(rs.getInt(column++));
+                    case ROLE_ID -> row.setRoleId(rs.getInt(column++));
+                    case USERNAME -> row.setUsername(rs.getString(column++));
+                    case FULL_NAME -> row.setFullName(rs.getString(column++));
+                    case ACTIVE -> row.setActive(rs.getInt(column++) == 1);
+                }
+            }
+            return row;
+        };
+    }
+
     /**
      * Inserts a new user record into the database and returns the generated identifier.
      * <p>
-     * This method persists the provided user data along with the supplied password hash.
+     * This method persists the provided user data along with the supplied password hash
+     * on the shard of the user's dealership.
      * It uses a {@link KeyHolder} to obtain the auto-generated primary key.
+     * Afterwards, reads are pinned to the primary for a short window so the new
+     * user is visible to the caller immediately.
      * </p>
      *
      * @param req request object containing the user fields to insert
@@ -135,7 +274,8 @@ public class OwnerUserDao {
 
         KeyHolder keyHolder = new GeneratedKeyHolder();
 
-        jdbc.update(con -> {
+        Shard shard = shardRouter.shardFor(req.getDealershipId());
+        shard.getJdbc().update(con -> {
             PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
             ps.setInt(1, req.getDealershipId());
             ps.setInt(2, req.getRoleId());
@@ -146,6 +286,10 @@ public class OwnerUserDao {
             return ps;
         }, keyHolder);
 
+        if (shard == shardRouter.defaultShard()) {
+            replicaLagMonitor.ifAvailable(ReplicaLagMonitor::markPrimaryWrite);
+        }
+
         return Objects.requireNonNull(keyHolder.getKey()).intValue();
     }
 }
@@ -0,0 +1,191 @@
+package dealership.api.dao;
+
+import dealership.api.model.OwnerSummaryRow;
+import dealership.api.model.RepairRevenueRow;
+import dealership.api.model.SalesByEmployeeRow;
+import dealership.api.model.VehicleStockRow;
+import dealership.api.strings.CanonicalStrings;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Readable;
+import jakarta.annotation.PreDestroy;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Non-blocking counterpart of the owner report DAOs, reading over R2DBC.
+ * <p>
+ * Runs the same SQL as {@link VehicleDao}, {@link SalesDao}, {@link RepairDao}
+ * and {@link OwnerDao}, one connection factory per dealership shard. Nothing
+ * holds a thread while the database works: rows are emitted as the driver
+ * decodes them and only as fast as the subscriber requests them, so a slow
+ * HTTP client slows down the read instead of piling rows up in memory.
+ * </p>
+ * <p>
+ * The unsold stock keeps that end-to-end backpressure across shards by
+ * merging the per-shard streams in id order. Aggregated reports are small and
+ * their per-shard rows must be added up before the final ordering, so with
+ * several shards they are collected and merged exactly as the blocking DAOs
+ * do.
+ * </p>
+ */
+public class ReactiveReportDao {
+
+    private static final Comparator<VehicleStockRow> BY_ID_DESC =
+            Comparator.comparingInt(VehicleStockRow::getId).reversed();
+
+    private final List<ConnectionFactory> connectionFactories;
+    private final List<DatabaseClient> clients;
+
+    /**
+     * Creates a new DAO reading from the given shards.
+     *
+     * @param connectionFactories one connection factory per shard, the default shard first;
+     *                            the DAO disposes them when the context closes
+     */
+    public ReactiveReportDao(List<ConnectionFactory> connectionFactories) {
+        this.connectionFactories = List.copyOf(connectionFactories);
+        List<DatabaseClient> clients = new ArrayList<>(connectionFactories.size());
+        for (ConnectionFactory connectionFactory : connectionFactories) {
+            clients.add(DatabaseClient.create(connectionFactory));
+        }
+        this.clients = List.copyOf(clients);
+    }
+
+    /**
+     * Streams the vehicles that are not marked as sold, newest first.
+     *
+     * @return the unsold vehicle stock rows
+     */
+    @SuppressWarnings("unchecked")
+    public Flux<VehicleStockRow> streamUnsoldStock() {
+        List<Flux<VehicleStockRow>> shards = new ArrayList<>(clients.size());
+        for (DatabaseClient client : clients) {
+            shards.add(client.sql(VehicleDao.UNSOLD_STOCK_SQL + "ORDER BY v.id DESC")
+                    .map(row -> new VehicleStockRow(
+                            intOf(row, "id"),
+                            row.get("plate", String.class),
+                            CanonicalStrings.VEHICLE_BRAND.canonicalize(row.get("brand", String.class)),
+                            CanonicalStrings.VEHICLE_MODEL.canonicalize(row.get("model", String.class)),
+                            intOf(row, "year"),
+                            intOf(row, "mileage"),
+                            CanonicalStrings.VEHICLE_STATUS.canonicalize(row.get("status", String.class))))
+                    .all());
+        }
+        if (shards.size() == 1) {
+            return shards.get(0);
+        }
+        return Flux.mergeComparing(BY_ID_DESC, shards.toArray(Flux[]::new));
+    }
+
+    /**
+     * Retrieves the sales aggregated by employee, ordered by total in descending order.
+     *
+     * @return the sales rows grouped by employee
+     */
+    public Flux<SalesByEmployeeRow> findSalesByEmployee() {
+        return scatter(client -> client.sql(SalesDao.SALES_BY_EMPLOYEE_SQL)
+                        .map(row -> new SalesByEmployeeRow(
+                                intOf(row, "sellerUserId"),
+                                row.get("empleado", String.class),
+                                intOf(row, "numVentas"),
+                                row.get("importeTotal", BigDecimal.class)))
+                        .all(),
+                SalesDao::merge);
+    }
+
+    /**
+     * Retrieves the finished repair revenue per dealership, ordered by total in descending order.
+     *
+     * @return the repair revenue rows grouped by dealership
+     */
+    public Flux<RepairRevenueRow> findRepairRevenueByDealership() {
+        return scatter(client -> client.sql(RepairDao.REPAIR_REVENUE_BY_DEALERSHIP_SQL)
+                        .map(row -> new RepairRevenueRow(
+                                intOf(row, "dealershipId"),
+                                row.get("importeTotal", BigDecimal.class),
+                                intOf(row, "numReparaciones")))
+                        .all(),
+                RepairDao::merge);
+    }
+
+    /**
+     * Computes the owner summary, running the figures of every shard concurrently.
+     *
+     * @return the owner-wide summary
+     */
+    public Mono<OwnerSummaryRow> getSummary() {
+        return Flux.merge(clients.stream().map(ReactiveReportDao::summaryOf).toList())
+                .collectList()
+                .map(OwnerDao::merge);
+    }
+
+    /**
+     * Disposes the connection pools when the context closes.
+     */
+    @PreDestroy
+    public void close() {
+        for (ConnectionFactory connectionFactory : connectionFactories) {
+            if (connectionFactory instanceof Disposable disposable) {
+                disposable.dispose();
+            }
+        }
+    }
+
+    private <T> Flux<T> scatter(Function<DatabaseClient, Flux<T>> query, Function<List<List<T>>, List<T>> merge) {
+        if (clients.size() == 1) {
+            return query.apply(clients.get(0));
+        }
+        return Flux.fromIterable(clients)
+                .flatMapSequential(client -> query.apply(client).collectList())
+                .collectList()
+                .flatMapIterable(merge);
+    }
+
+    private static Mono<OwnerSummaryRow> summaryOf(DatabaseClient client) {
+        return Mono.zip(
+                scalar(client, OwnerDao.SALES_COUNT_SQL, ReactiveReportDao::intOf),
+                scalar(client, OwnerDao.SALES_TOTAL_SQL, ReactiveReportDao::decimalOf),
+                scalar(client, OwnerDao.REPAIRS_COUNT_SQL, ReactiveReportDao::intOf),
+                scalar(client, OwnerDao.REPAIRS_TOTAL_SQL, ReactiveReportDao::decimalOf),
+                scalar(client, OwnerDao.UNSOLD_STOCK_COUNT_SQL, ReactiveReportDao::intOf)
+        ).map(figures -> new OwnerSummaryRow(
+                figures.getT1(), figures.getT2(), figures.getT3(), figures.getT4(), figures.getT5()));
+    }
+
+    private static <T> Mono<T> scalar(DatabaseClient client, String sql, ColumnReader<T> reader) {
+        return client.sql(sql).map(row -> reader.read(row, 0)).one();
+    }
+
+    private static int intOf(Readable row, String column) {
+        Number value = row.get(column, Number.class);
+        return value != null ? value.intValue() : 0;
+    }
+
+    private static int intOf(Readable row, int column) {
+        Number value = row.get(column, Number.class);
+        return value != null ? value.intValue() : 0;
+    }
+
+    private static BigDecimal decimalOf(Readable row, int column) {
+        BigDecimal value = row.get(column, BigDecimal.class);
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    /**
+     * Reads one column of a result row.
+     *
+     * @param <T> column value type
+     */
+    @FunctionalInterface
+    private interface ColumnReader<T> {
+        T read(Readable row, int column);
+    }
+}
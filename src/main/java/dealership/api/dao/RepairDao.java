@@ -1,10 +1,17 @@
 package dealership.api.dao;
 
 import dealership.api.model.RepairRevenueRow;
-import org.springframework.jdbc.core.JdbcTemplate;
+import dealership.api.shard.Shard;
+import dealership.api.shard.ShardRouter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Data access object responsible for repair revenue aggregation queries.
@@ -12,22 +19,42 @@ import java.util.List;
  * This DAO provides read access to aggregated financial data related to
  * completed repair orders, grouped by dealership.
  * </p>
+ * <p>
+ * The aggregation runs on every dealership shard in parallel and the
+ * partial rows are merged by dealership before the final ordering.
+ * </p>
  */
 @Repository
 public class RepairDao {
 
-    private final JdbcTemplate jdbc;
+    static final String REPAIR_REVENUE_BY_DEALERSHIP_SQL =
+            "SELECT v.current_dealership_id AS dealershipId, " +
+            "       COUNT(*) AS numReparaciones, " +
+            "       SUM(r.estimated_budget) AS importeTotal " +
+            "FROM repair_order r " +
+            "JOIN vehicle v ON v.id = r.vehicle_id " +
+            "WHERE r.status = 'FINISHED' " +
+            "  AND r.estimated_budget IS NOT NULL " +
+            "GROUP BY v.current_dealership_id " +
+            "ORDER BY importeTotal DESC";
+
+    private final ShardRouter shardRouter;
+    private final int exportFetchSize;
 
     /**
-     * Creates a new DAO instance using the provided {@link JdbcTemplate}.
+     * Creates a new DAO instance using the provided {@link ShardRouter}.
      * <p>
-     * The JDBC template is used to execute SQL queries against the database.
+     * Queries run on the read template of each shard, which for the default
+     * shard is routed to the read replica when one is configured.
      * </p>
      *
-     * @param jdbc JDBC template used for database access
+     * @param shardRouter router giving access to every dealership shard
+     * @param exportFetchSize JDBC fetch size used when streaming rows for exports
      */
-    public RepairDao(JdbcTemplate jdbc) {
-        this.jdbc = jdbc;
+    public RepairDao(ShardRouter shardRouter,
+                     @Value("${dealership.export.fetch-size:-2147483648}") int exportFetchSize) {
+        this.shardRouter = shardRouter;
+        this.exportFetchSize = exportFetchSize;
     }
 
     /**
@@ -41,19 +68,55 @@ public class RepairDao {
      * @return a list of repair revenue rows grouped by dealership
      */
     public List<RepairRevenueRow> findRepairRevenueByDealership() {
+        return merge(shardRouter.scatter(RepairDao::repairRevenueOf));
+    }
+
+    /**
+     * Merges the per-shard results, adding up the rows of the same dealership.
+     *
+     * @param partials results of each shard, each ordered by total
+     * @return the merged rows ordered by total in descending order
+     */
+    static List<RepairRevenueRow> merge(List<List<RepairRevenueRow>> partials) {
+        if (partials.size() == 1) {
+            return partials.get(0);
+        }
+
+        Map<Integer, RepairRevenueRow> merged = new LinkedHashMap<>();
+        for (List<RepairRevenueRow> partial : partials) {
+            for (RepairRevenueRow row : partial) {
+                merged.merge(row.getDealershipId(), row, (total, more) -> {
+                    total.setNumReparaciones(total.getNumReparaciones() + more.getNumReparaciones());
+                    total.setImporteTotal(total.getImporteTotal().add(more.getImporteTotal()));
+                    return total;
+                });
+            }
+        }
+        List<RepairRevenueRow> rows = new ArrayList<>(merged.values());
+        rows.sort(Comparator.comparing(RepairRevenueRow::getImporteTotal).reversed());
+        return rows;
+    }
+
+    /**
+     * Streams the same rows as {@link #findRepairRevenueByDealership()} to a callback.
+     * <p>
+     * Rows are handed over one at a time while the result set is read, so
+     * nothing is collected in memory; used by the CSV export. Shards are
+     * streamed one after the other, so with several shards the rows are
+     * ordered by total within each shard only.
+     * </p>
+     *
+     * @param handler callback invoked for each row of the result set
+     */
+    public void streamRepairRevenueByDealership(RowCallbackHandler handler) {
+        for (Shard shard : shardRouter.all()) {
+            shard.getReadJdbc().query(
+                    StreamingQuery.of(REPAIR_REVENUE_BY_DEALERSHIP_SQL, exportFetchSize), handler);
+        }
+    }
 
-        String sql =
-                "SELECT v.current_dealership_id AS dealershipId, " +
-                "       COUNT(*) AS numReparaciones, " +
-                "       SUM(r.estimated_budget) AS importeTotal " +
-                "FROM repair_order r " +
-                "JOIN vehicle v ON v.id = r.vehicle_id " +
-                "WHERE r.status = 'FINISHED' " +
-                "  AND r.estimated_budget IS NOT NULL " +
-                "GROUP BY v.current_dealership_id " +
-                "ORDER BY importeTotal DESC";
-
-        return jdbc.query(sql, (rs, rowNum) -> new RepairRevenueRow(
+    private static List<RepairRevenueRow> repairRevenueOf(Shard shard) {
+        return shard.getReadJdbc().query(REPAIR_REVENUE_BY_DEALERSHIP_SQL, (rs, rowNum) -> new RepairRevenueRow(
                 rs.getInt("dealershipId"),
                 rs.getBigDecimal("importeTotal"),
                 rs.getInt("numReparaciones")
@@ -1,6 +1,8 @@
 package dealership.api.dao;
 
 import dealership.api.model.IdNameRow;
+import dealership.api.strings.CanonicalStrings;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
@@ -26,9 +28,9 @@ public class RoleDao {
      * underlying database.
      * </p>
      *
-     * @param jdbc JDBC template used for database access
+     * @param jdbc read-only JDBC template, routed to the read replica when one is configured
      */
-    public RoleDao(JdbcTemplate jdbc) {
+    public RoleDao(@Qualifier("readJdbcTemplate") JdbcTemplate jdbc) {
         this.jdbc = jdbc;
     }
 
@@ -36,7 +38,8 @@ public class RoleDao {
      * Retrieves all roles ordered by identifier.
      * <p>
      * Each returned row contains the role identifier and name, mapped
-     * to a simple data transfer object.
+     * to a simple data transfer object. Names are canonicalized, so rows
+     * of successive loads share their instances with the login lookups.
      * </p>
      *
      * @return a list of role identifier and name rows
@@ -45,7 +48,7 @@ public class RoleDao {
         String sql = "SELECT r.id, r.name FROM role r ORDER BY r.id";
         return jdbc.query(sql, (rs, rowNum) -> new IdNameRow(
                 rs.getInt("id"),
-                rs.getString("name")
+                CanonicalStrings.ROLE_NAME.canonicalize(rs.getString("name"))
         ));
     }
 }
@@ -1,10 +1,34 @@
 package dealership.api.dao;
 
+import dealership.api.datasource.ReplicaLagMonitor;
+import dealership.api.model.CreateSaleRequest;
+import dealership.api.model.SaleBatchResult;
 import dealership.api.model.SalesByEmployeeRow;
-import org.springframework.jdbc.core.JdbcTemplate;
+import dealership.api.shard.Shard;
+import dealership.api.shard.ShardRouter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * Data access object responsible for sales aggregation queries.
@@ -13,23 +37,64 @@ import java.util.List;
  * The retrieved information is typically used for reporting and performance
  * analysis at management or owner level.
  * </p>
+ * <p>
+ * The aggregation runs on every dealership shard in parallel; partial rows
+ * of the same employee are added up before the final ordering.
+ * </p>
+ * <p>
+ * Sales are recorded in batches on the shard of the sold vehicle, together
+ * with the status change that marks the vehicle as sold.
+ * </p>
  */
 @Repository
 public class SalesDao {
 
-    private final JdbcTemplate jdbc;
+    static final String SALES_BY_EMPLOYEE_SQL =
+            "SELECT s.seller_user_id AS sellerUserId, " +
+            "       u.full_name AS empleado, " +
+            "       COUNT(*) AS numVentas, " +
+            "       SUM(s.price) AS importeTotal " +
+            "FROM sale s " +
+            "JOIN `user` u ON u.id = s.seller_user_id " +
+            "GROUP BY s.seller_user_id, u.full_name " +
+            "ORDER BY importeTotal DESC";
+
+    private static final RowMapper<SalesByEmployeeRow> SALES_BY_EMPLOYEE_ROW_MAPPER =
+            (rs, rowNum) -> new SalesByEmployeeRow(
+                    rs.getInt("sellerUserId"),
+                    rs.getString("empleado"),
+                    rs.getInt("numVentas"),
+                    rs.getBigDecimal("importeTotal")
+            );
+
+    private static final String MARK_SOLD_SQL =
+            "UPDATE vehicle SET status = 'SOLD' WHERE id = ? AND status <> 'SOLD'";
+
+    private static final String INSERT_SALE_SQL =
+            "INSERT INTO sale (vehicle_id, seller_user_id, price) VALUES (?, ?, ?)";
+
+    private final ShardRouter shardRouter;
+    private final int exportFetchSize;
+    private final ObjectProvider<ReplicaLagMonitor> replicaLagMonitor;
+    private final Map<Shard, TransactionTemplate> transactions = new ConcurrentHashMap<>();
 
     /**
-     * Creates a new DAO instance using the provided {@link JdbcTemplate}.
+     * Creates a new DAO instance using the provided {@link ShardRouter}.
      * <p>
-     * The JDBC template is used to execute SQL queries against the
-     * underlying database.
+     * Queries run on the read template of each shard, which for the default
+     * shard is routed to the read replica when one is configured.
      * </p>
      *
-     * @param jdbc JDBC template used for database access
+     * @param shardRouter router giving access to every dealership shard
+     * @param exportFetchSize JDBC fetch size used when streaming rows for exports
+     * @param replicaLagMonitor optional monitor notified of writes to keep read-your-writes consistency
      */
-    public SalesDao(JdbcTemplate jdbc) {
-        this.jdbc = jdbc;
+    public SalesDao(ShardRouter shardRouter,
+                    @Value("${dealership.export.fetch-size:-2147483648}") int exportFetchSize,
+                    ObjectProvider<ReplicaLagMonitor> replicaLagMonitor) {
+        this.shardRouter = shardRouter;
+        this.exportFetchSize = exportFetchSize;
+        this.replicaLagMonitor = replicaLagMonitor;
     }
 
     /**
@@ -42,21 +107,243 @@ public class SalesDao {
      * @return a list of sales aggregation rows grouped by employee
      */
     public List<SalesByEmployeeRow> findSalesByEmployee() {
-        String sql =
-                "SELECT s.seller_user_id AS sellerUserId, " +
-                "       u.full_name AS empleado, " +
-                "       COUNT(*) AS numVentas, " +
-                "       SUM(s.price) AS importeTotal " +
-                "FROM sale s " +
-                "JOIN `user` u ON u.id = s.seller_user_id " +
-                "GROUP BY s.seller_user_id, u.full_name " +
-                "ORDER BY importeTotal DESC";
-
-        return jdbc.query(sql, (rs, rowNum) -> new SalesByEmployeeRow(
-                rs.getInt("sellerUserId"),
-                rs.getString("empleado"),
-                rs.getInt("numVentas"),
-                rs.getBigDecimal("importeTotal")
-        ));
+        return merge(shardRouter.scatter(SalesDao::salesByEmployeeOf));
+    }
+
+    /**
+     * Merges the per-shard results, adding up the rows of the same employee.
+     *
+     * @param partials results of each shard, each ordered by total
+     * @return the merged rows ordered by total in descending order
+     */
+    static List<SalesByEmployeeRow> merge(List<List<SalesByEmployeeRow>> partials) {
+        if (partials.size() == 1) {
+            return partials.get(0);
+        }
+
+        Map<Integer, SalesByEmployeeRow> merged = new LinkedHashMap<>();
+        for (List<SalesByEmployeeRow> partial : partials) {
+            for (SalesByEmployeeRow row : partial) {
+                merged.merge(row.getSellerUserId(), row, (total, more) -> {
+                    total.setSalesCount(total.getSalesCount() + more.getSalesCount());
+                    total.setSalesTotal(total.getSalesTotal().add(more.getSalesTotal()));
+                    return total;
+                });
+            }
+        }
+        List<SalesByEmployeeRow> rows = new ArrayList<>(merged.values());
+        rows.sort(Comparator.comparing(SalesByEmployeeRow::getSalesTotal).reversed());
+        return rows;
+    }
+
+    /**
+     * Hands the same rows as {@link #findSalesByEmployee()} to a callback.
+     * <p>
+     * With a single database, rows are handed over one at a time while the
+     * result set is read, so nothing is collected in memory; used by the CSV
+     * export. With several shards the same employee can have a partial row
+     * on more than one shard, so the rows are merged and ordered as for
+     * {@link #findSalesByEmployee()} first, which holds one row per employee
+     * in memory.
+     * </p>
+     *
+     * @param handler callback invoked for each employee's row
+     */
+    public void streamSalesByEmployee(Consumer<SalesByEmployeeRow> handler) {
+        if (shardRouter.all().size() > 1) {
+            findSalesByEmployee().forEach(handler);
+            return;
+        }
+        shardRouter.defaultShard().getReadJdbc().query(StreamingQuery.of(SALES_BY_EMPLOYEE_SQL, exportFetchSize),
+                (RowCallbackHandler) rs -> handler.accept(SALES_BY_EMPLOYEE_ROW_MAPPER.mapRow(rs, 0)));
+    }
+
+    /**
+     * Records sales and marks their vehicles as sold, one transaction per shard.
+     * <p>
+     * Vehicles and sellers are looked up with one {@code IN} query per chunk
+     * of {@code chunkSize} ids on every shard's primary. The batch is rejected
+     * as a whole, before anything is written, if a vehicle does not exist, a
+     * seller does not exist or is inactive, or a seller lives on another shard
+     * than the vehicle, where the sale would be missing from the
+     * sales-by-employee report.
+     * </p>
+     * <p>
+     * Each shard's sales are then written in a single transaction as JDBC
+     * batches of at most {@code chunkSize} statements: first
+     * {@code UPDATE vehicle SET status = 'SOLD'} guarded against vehicles sold
+     * in the meantime, then one {@code INSERT INTO sale} for every vehicle that
+     * update changed. Vehicles already sold are reported as conflicts and get
+     * no sale row. Like {@link VehicleDao#transitionStatuses(List, int)} this
+     * relies on one update count per {@code UPDATE} statement. A failing shard
+     * rolls back all of its sales; shards committed before it keep theirs.
+     * Once the default shard's transaction commits, this instance's reads stay
+     * on the primary for the read-your-writes window.
+     * </p>
+     *
+     * @param sales sales to record, at most one per vehicle
+     * @param chunkSize maximum number of ids per lookup and statements per batch
+     * @return the recorded count and total, and the vehicles that were already sold
+     * @throws InvalidSaleException if a vehicle or seller cannot take part in the sale
+     */
+    public SaleBatchResult recordSales(List<CreateSaleRequest> sales, int chunkSize) {
+        Set<Integer> vehicleIds = new HashSet<>();
+        Set<Integer> sellerIds = new HashSet<>();
+        for (CreateSaleRequest sale : sales) {
+            vehicleIds.add(sale.getVehicleId());
+            sellerIds.add(sale.getSellerUserId());
+        }
+        List<SaleParties> parties = shardRouter.scatter(shard -> new SaleParties(
+                vehicleStatuses(shard, vehicleIds, chunkSize), activeSellers(shard, sellerIds, chunkSize)));
+
+        List<Shard> shards = shardRouter.all();
+        Map<Shard, List<CreateSaleRequest>> byShard = new LinkedHashMap<>();
+        Set<Integer> unknownVehicles = new TreeSet<>();
+        Set<Integer> unknownSellers = new TreeSet<>();
+        List<Integer> conflicts = new ArrayList<>();
+        for (CreateSaleRequest sale : sales) {
+            int vehicleShard = -1;
+            int sellerShard = -1;
+            for (int s = 0; s < shards.size(); s++) {
+                if (parties.get(s).vehicles.containsKey(sale.getVehicleId())) {
+                    vehicleShard = s;
+                }
+                if (parties.get(s).sellers.contains(sale.getSellerUserId())) {
+                    sellerShard = s;
+                }
+            }
+            if (vehicleShard < 0) {
+                unknownVehicles.add(sale.getVehicleId());
+            }
+            if (sellerShard < 0) {
+                unknownSellers.add(sale.getSellerUserId());
+            }
+            if (vehicleShard < 0 || sellerShard < 0) {
+                continue;
+            }
+            if (vehicleShard != sellerShard) {
+                throw new InvalidSaleException("Seller " + sale.getSellerUserId()
+                        + " does not belong to the shard of vehicle " + sale.getVehicleId());
+            }
+            if (VehicleDao.SOLD.equals(parties.get(vehicleShard).vehicles.get(sale.getVehicleId()))) {
+                conflicts.add(sale.getVehicleId());
+            } else {
+                byShard.computeIfAbsent(shards.get(vehicleShard), key -> new ArrayList<>()).add(sale);
+            }
+        }
+        if (!unknownVehicles.isEmpty()) {
+            throw new InvalidSaleException("Unknown vehicles: " + unknownVehicles);
+        }
+        if (!unknownSellers.isEmpty()) {
+            throw new InvalidSaleException("Unknown or inactive sellers: " + unknownSellers);
+        }
+
+        int recorded = 0;
+        BigDecimal recordedTotal = BigDecimal.ZERO;
+        for (Map.Entry<Shard, List<CreateSaleRequest>> entry : byShard.entrySet()) {
+            List<CreateSaleRequest> owned = entry.getValue();
+            // Concurrent batches lock their vehicle rows in the same order.
+            owned.sort(Comparator.comparingInt(CreateSaleRequest::getVehicleId));
+            List<CreateSaleRequest> inserted = recordSales(entry.getKey(), owned, chunkSize);
+            for (CreateSaleRequest sale : inserted) {
+                recordedTotal = recordedTotal.add(sale.getPrice());
+            }
+            recorded += inserted.size();
+            if (inserted.size() < owned.size()) {
+                Set<CreateSaleRequest> missed = new HashSet<>(owned);
+                inserted.forEach(missed::remove);
+                missed.forEach(sale -> conflicts.add(sale.getVehicleId()));
+            }
+        }
+        Collections.sort(conflicts);
+        return new SaleBatchResult(sales.size(), recorded, recordedTotal, conflicts);
+    }
+
+    private List<CreateSaleRequest> recordSales(Shard shard, List<CreateSaleRequest> sales, int chunkSize) {
+        TransactionTemplate transaction = transactions.computeIfAbsent(shard, key ->
+                new TransactionTemplate(new DataSourceTransactionManager(key.getJdbc().getDataSource())));
+        List<CreateSaleRequest> recorded = transaction.execute(status -> {
+            List<CreateSaleRequest> sold = new ArrayList<>(sales.size());
+            for (int from = 0; from < sales.size(); from += chunkSize) {
+                List<CreateSaleRequest> chunk = sales.subList(from, Math.min(from + chunkSize, sales.size()));
+                List<Object[]> args = new ArrayList<>(chunk.size());
+                for (CreateSaleRequest sale : chunk) {
+                    args.add(new Object[]{sale.getVehicleId()});
+                }
+                int[] counts = shard.getJdbc().batchUpdate(MARK_SOLD_SQL, args, new int[]{Types.INTEGER});
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] > 0) {
+                        sold.add(chunk.get(i));
+                    }
+                }
+            }
+            for (int from = 0; from < sold.size(); from += chunkSize) {
+                List<CreateSaleRequest> chunk = sold.subList(from, Math.min(from + chunkSize, sold.size()));
+                List<Object[]> args = new ArrayList<>(chunk.size());
+                for (CreateSaleRequest sale : chunk) {
+                    args.add(new Object[]{sale.getVehicleId(), sale.getSellerUserId(), sale.getPrice()});
+                }
+                shard.getJdbc().batchUpdate(INSERT_SALE_SQL, args,
+                        new int[]{Types.INTEGER, Types.INTEGER, Types.DECIMAL});
+            }
+            return sold;
+        });
+        if (shard == shardRouter.defaultShard()) {
+            replicaLagMonitor.ifAvailable(ReplicaLagMonitor::markPrimaryWrite);
+        }
+        return recorded;
+    }
+
+    private static Map<Integer, String> vehicleStatuses(Shard shard, Collection<Integer> ids, int chunkSize) {
+        Map<Integer, String> statuses = new HashMap<>();
+        for (List<Integer> chunk : chunks(ids, chunkSize)) {
+            shard.getJdbc().query("SELECT v.id, v.status FROM vehicle v WHERE v.id IN (" + placeholders(chunk) + ")",
+                    rs -> {
+                        statuses.put(rs.getInt(1), rs.getString(2));
+                    }, chunk.toArray());
+        }
+        return statuses;
+    }
+
+    private static Set<Integer> activeSellers(Shard shard, Collection<Integer> ids, int chunkSize) {
+        Set<Integer> active = new HashSet<>();
+        for (List<Integer> chunk : chunks(ids, chunkSize)) {
+            shard.getJdbc().query("SELECT u.id FROM `user` u WHERE u.is_active = 1 AND u.id IN ("
+                    + placeholders(chunk) + ")", rs -> {
+                        active.add(rs.getInt(1));
+                    }, chunk.toArray());
+        }
+        return active;
+    }
+
+    private static List<List<Integer>> chunks(Collection<Integer> ids, int chunkSize) {
+        List<Integer> all = new ArrayList<>(ids);
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += chunkSize) {
+            chunks.add(all.subList(from, Math.min(from + chunkSize, all.size())));
+        }
+        return chunks;
+    }
+
+    private static String placeholders(List<Integer> ids) {
+        return String.join(", ", Collections.nCopies(ids.size(), "?"));
+    }
+
+    /**
+     * Vehicles and active sellers of one shard among those named in a sale batch.
+     */
+    private static final class SaleParties {
+
+        private final Map<Integer, String> vehicles;
+        private final Set<Integer> sellers;
+
+        private SaleParties(Map<Integer, String> vehicles, Set<Integer> sellers) {
+            this.vehicles = vehicles;
+            this.sellers = sellers;
+        }
+    }
+
+    private static List<SalesByEmployeeRow> salesByEmployeeOf(Shard shard) {
+        return shard.getReadJdbc().query(SALES_BY_EMPLOYEE_SQL, SALES_BY_EMPLOYEE_ROW_MAPPER);
     }
 }
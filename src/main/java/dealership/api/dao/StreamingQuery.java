@@ -0,0 +1,36 @@
+package dealership.api.dao;
+
+import org.springframework.jdbc.core.PreparedStatementCreator;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+/**
+ * Builds statements for queries whose rows are streamed instead of collected.
+ * <p>
+ * Statements are forward-only and read-only with an explicit fetch size. With
+ * MySQL Connector/J a fetch size of {@link Integer#MIN_VALUE} makes the driver
+ * stream rows one by one instead of buffering the whole result set in memory.
+ * </p>
+ */
+final class StreamingQuery {
+
+    private StreamingQuery() {
+    }
+
+    /**
+     * Creates a statement factory for the given query.
+     *
+     * @param sql query to run
+     * @param fetchSize JDBC fetch size hint
+     * @return the statement factory
+     */
+    static PreparedStatementCreator of(String sql, int fetchSize) {
+        return connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        };
+    }
+}
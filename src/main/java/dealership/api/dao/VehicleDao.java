@@ -1,10 +1,30 @@
 package dealership.api.dao;
 
+import dealership.api.datasource.ReplicaLagMonitor;
+import dealership.api.model.VehicleStatusTransition;
+import dealership.api.model.VehicleStatusTransitionResult;
 import dealership.api.model.VehicleStockRow;
-import org.springframework.jdbc.core.JdbcTemplate;
+import dealership.api.projection.VehicleStockField;
+import dealership.api.shard.Shard;
+import dealership.api.shard.ShardRouter;
+import dealership.api.strings.CanonicalStrings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Data access object responsible for vehicle stock queries.
@@ -12,23 +32,66 @@ import java.util.List;
  * This DAO provides read access to vehicle inventory data, focusing on
  * vehicles that are currently not sold and therefore available as stock.
  * </p>
+ * <p>
+ * Stock of a single dealership is read from that dealership's shard; the
+ * owner-wide stock list is gathered from all shards.
+ * </p>
+ * <p>
+ * Both listings accept a field projection: only the selected columns are
+ * read, and the remaining fields of the returned rows are left unset.
+ * </p>
+ * <p>
+ * Brands, models and statuses come from small vocabularies and the stock
+ * lists are kept in the report cache, so they are mapped to shared
+ * instances through {@link CanonicalStrings}.
+ * </p>
+ * <p>
+ * Status transitions are the only vehicle writes. They run on the primary
+ * of the shard holding each vehicle.
+ * </p>
  */
 @Repository
 public class VehicleDao {
 
-    private final JdbcTemplate jdbc;
+    /** Status of a sold vehicle; every other status counts as stock. */
+    public static final String SOLD = "SOLD";
+
+    private static final String UNSOLD_STOCK_FROM =
+            "FROM vehicle v " +
+            "WHERE v.status <> 'SOLD' ";
+
+    static final String UNSOLD_STOCK_SQL =
+            "SELECT v.id, v.plate, v.brand, v.model, v.year, v.mileage, v.status " + UNSOLD_STOCK_FROM;
+
+    private static final RowMapper<VehicleStockRow> STOCK_ROW_MAPPER = (rs, rowNum) -> new VehicleStockRow(
+            rs.getInt("id"),
+            rs.getString("plate"),
+            CanonicalStrings.VEHICLE_BRAND.canonicalize(rs.getString("brand")),
+            CanonicalStrings.VEHICLE_MODEL.canonicalize(rs.getString("model")),
+            rs.getInt("year"),
+            rs.getInt("mileage"),
+            CanonicalStrings.VEHICLE_STATUS.canonicalize(rs.getString("status"))
+    );
+
+    private static final String UPDATE_STATUS_SQL = "UPDATE vehicle SET status = ? WHERE id = ? AND status = ?";
+
+    private final ShardRouter shardRouter;
+    private final ObjectProvider<ReplicaLagMonitor> replicaLagMonitor;
+    private final Map<Shard, TransactionTemplate> transactions = new ConcurrentHashMap<>();
 
     /**
-     * Creates a new DAO instance using the provided {@link JdbcTemplate}.
+     * Creates a new DAO instance using the provided {@link ShardRouter}.
      * <p>
-     * The JDBC template is used to execute SQL queries against the
-     * underlying database.
+     * Queries run on the read template of each shard, which for the default
+     * shard is routed to the read replica when one is configured.
      * </p>
      *
-     * @param jdbc JDBC template used for database access
+     * @param shardRouter router giving access to every dealership shard
+     * @param replicaLagMonitor optional monitor notified of writes to keep read-your-writes consistency
      */
-    public VehicleDao(JdbcTemplate jdbc) {
-        this.jdbc = jdbc;
+    public VehicleDao(ShardRouter shardRouter, ObjectProvider<ReplicaLagMonitor> replicaLagMonitor) {
+        this.shardRouter = shardRouter;
+        this.replicaLagMonitor = replicaLagMonitor;
     }
 
     /**
@@ -43,21 +106,203 @@ public class VehicleDao {
      * @return a list of unsold vehicle stock rows
      */
     public List<VehicleStockRow> findUnsoldStock() {
-        String sql =
-                "SELECT v.id, v.plate, v.brand, v.model, v.year, v.mileage, v.status " +
-                "FROM vehicle v " +
-                "WHERE v.status <> 'SOLD' " +
+        return gather(UNSOLD_STOCK_SQL + "ORDER BY v.id DESC", STOCK_ROW_MAPPER);
+    }
+
+    /**
+     * Retrieves the unsold stock with only the selected fields populated.
+     * <p>
+     * The vehicle id is always read, since the owner-wide list is merged by it.
+     * </p>
+     *
+     * @param fields fields to read
+     * @return a list of unsold vehicle stock rows
+     */
+    public List<VehicleStockRow> findUnsoldStock(EnumSet<VehicleStockField> fields) {
+        if (fields.size() == VehicleStockField.values().length) {
+            return findUnsoldStock();
+        }
+        return gather(selectList(fields) + UNSOLD_STOCK_FROM + "ORDER BY v.id DESC", projectedMapper(fields));
+    }
+
+    /**
+     * Retrieves the unsold stock of a single dealership.
+     * <p>
+     * Only the shard holding the dealership is queried.
+     * </p>
+     *
+     * @param dealershipId dealership identifier
+     * @return a list of the dealership's unsold vehicle stock rows, newest first
+     */
+    public List<VehicleStockRow> findUnsoldStock(int dealershipId) {
+        return findUnsoldStock(dealershipId, UNSOLD_STOCK_SQL, STOCK_ROW_MAPPER);
+    }
+
+    /**
+     * Retrieves the unsold stock of a single dealership with only the selected fields populated.
+     *
+     * @param dealershipId dealership identifier
+     * @param fields fields to read
+     * @return a list of the dealership's unsold vehicle stock rows, newest first
+     */
+    public List<VehicleStockRow> findUnsoldStock(int dealershipId, EnumSet<VehicleStockField> fields) {
+        if (fields.size() == VehicleStockField.values().length) {
+            return findUnsoldStock(dealershipId);
+        }
+        return findUnsoldStock(dealershipId, selectList(fields) + UNSOLD_STOCK_FROM, projectedMapper(fields));
+    }
+
+    /**
+     * Applies status transitions as JDBC batches, in one transaction per chunk.
+     * <p>
+     * The shard of each vehicle is found with one {@code IN} lookup per chunk
+     * and shard. Each shard's transitions are then sent in chunks of
+     * {@code chunkSize} as a batch of {@code UPDATE ... WHERE id = ? AND status = ?}
+     * statements, each chunk committed on its own, so a large request never
+     * holds its row locks for long. A statement matching no row means the
+     * vehicle left its expected status in the meantime and is reported as a
+     * conflict. This relies on the driver returning one update count per
+     * statement, which MySQL Connector/J does for {@code UPDATE} batches.
+     * </p>
+     * <p>
+     * A failing chunk is rolled back and its exception is rethrown. The chunks
+     * committed before it stay applied. Every chunk committed on the default
+     * shard keeps this instance's reads on the primary for the read-your-writes
+     * window.
+     * </p>
+     *
+     * @param transitions transitions to apply, at most one per vehicle
+     * @param chunkSize maximum number of statements per batch and transaction
+     * @return the applied count and the vehicles that were not found or conflicted
+     */
+    public VehicleStatusTransitionResult transitionStatuses(List<VehicleStatusTransition> transitions, int chunkSize) {
+        Map<Integer, VehicleStatusTransition> byId = new LinkedHashMap<>();
+        for (VehicleStatusTransition transition : transitions) {
+            byId.put(transition.getVehicleId(), transition);
+        }
+        List<Set<Integer>> found = shardRouter.scatter(shard -> existingIds(shard, byId.keySet(), chunkSize));
+
+        List<Integer> notFound = new ArrayList<>(byId.keySet());
+        for (Set<Integer> ids : found) {
+            notFound.removeAll(ids);
+        }
+        List<Integer> conflicts = new ArrayList<>();
+        int applied = 0;
+        List<Shard> shards = shardRouter.all();
+        for (int s = 0; s < shards.size(); s++) {
+            List<VehicleStatusTransition> owned = new ArrayList<>(found.get(s).size());
+            for (Integer id : found.get(s)) {
+                owned.add(byId.get(id));
+            }
+            // Concurrent bulk transitions lock their rows in the same order.
+            owned.sort(Comparator.comparingInt(VehicleStatusTransition::getVehicleId));
+            for (int from = 0; from < owned.size(); from += chunkSize) {
+                List<VehicleStatusTransition> chunk = owned.subList(from, Math.min(from + chunkSize, owned.size()));
+                int[] counts = updateStatuses(shards.get(s), chunk);
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] > 0) {
+                        applied++;
+                    } else {
+                        conflicts.add(chunk.get(i).getVehicleId());
+                    }
+                }
+            }
+        }
+        Collections.sort(notFound);
+        Collections.sort(conflicts);
+        return new VehicleStatusTransitionResult(byId.size(), applied, notFound, conflicts);
+    }
+
+    private static Set<Integer> existingIds(Shard shard, Set<Integer> ids, int chunkSize) {
+        List<Integer> all = new ArrayList<>(ids);
+        Set<Integer> existing = new HashSet<>();
+        for (int from = 0; from < all.size(); from += chunkSize) {
+            List<Integer> chunk = all.subList(from, Math.min(from + chunkSize, all.size()));
+            String sql = "SELECT v.id FROM vehicle v WHERE v.id IN ("
+                    + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+            shard.getJdbc().query(sql, rs -> {
+                existing.add(rs.getInt(1));
+            }, chunk.toArray());
+        }
+        return existing;
+    }
+
+    private int[] updateStatuses(Shard shard, List<VehicleStatusTransition> chunk) {
+        List<Object[]> args = new ArrayList<>(chunk.size());
+        for (VehicleStatusTransition transition : chunk) {
+            args.add(new Object[]{transition.getToStatus(), transition.getVehicleId(), transition.getFromStatus()});
+        }
+        TransactionTemplate transaction = transactions.computeIfAbsent(shard, key ->
+                new TransactionTemplate(new DataSourceTransactionManager(key.getJdbc().getDataSource())));
+        int[] counts = transaction.execute(status -> shard.getJdbc().batchUpdate(UPDATE_STATUS_SQL, args,
+                new int[]{Types.VARCHAR, Types.INTEGER, Types.VARCHAR}));
+        if (shard == shardRouter.defaultShard()) {
+            replicaLagMonitor.ifAvailable(ReplicaLagMonitor::markPrimaryWrite);
+        }
+        return counts;
+    }
+
+    private List<VehicleStockRow> findUnsoldStock(int dealershipId, String select,
+                                                  RowMapper<VehicleStockRow> mapper) {
+        String sql = select +
+                "AND v.current_dealership_id = ? " +
                 "ORDER BY v.id DESC";
+        return shardRouter.shardFor(dealershipId).getReadJdbc().query(sql, mapper, dealershipId);
+    }
+
+    private List<VehicleStockRow> gather(String sql, RowMapper<VehicleStockRow> mapper) {
+        List<List<VehicleStockRow>> partials = shardRouter.scatter(shard -> shard.getReadJdbc().query(sql, mapper));
+        if (partials.size() == 1) {
+            return partials.get(0);
+        }
+
+        List<VehicleStockRow> rows = new ArrayList<>();
+        partials.forEach(rows::addAll);
+        rows.sort(Comparator.comparingInt(VehicleStockRow::getId).reversed());
+        return rows;
+    }
 
-        return jdbc.query(sql, (rs, rowNum) -> new VehicleStockRow(
-                rs.getInt("id"),
-                rs.getString("plate"),
-                rs.getString("brand"),
-                rs.getString("model"),
-                rs.getInt("year"),
-                rs.getInt("mileage"),
-                rs.getString("status")
-        ));
+    private static String selectList(EnumSet<VehicleStockField> fields) {
+        StringBuilder sql = new StringBuilder("SELECT v.id");
+        for (VehicleStockField field : fields) {
+            if (field != VehicleStockField.ID) {
+                sql.append(", v.").append(column(field));
+            }
+        }
+        return sql.append(' ').toString();
     }
 
+    private static String column(VehicleStockField field) {
+        return switch (field) {
+            case ID -> "id";
+            case PLATE -> "plate";
+            case BRAND -> "brand";
+            case MODEL -> "model";
+            case YEAR -> "year";
+            case MILEAGE -> "mileage";
+            case STATUS -> "status";
+        };
+    }
+
+    private static RowMapper<VehicleStockRow> projectedMapper(EnumSet<VehicleStockField> fields) {
+        return (rs, rowNum) -> {
+            VehicleStockRow row = new VehicleStockRow();
+            row.setId(rs.getInt(1));
+            int column = 2;
+            for (VehicleStockField field : fields) {
+                switch (field) {
+                    case ID -> {
+                        // always read as the first column
+                    }
+                    case PLATE -> row.setPlate(rs.getString(column++));
+                    case BRAND -> row.setBrand(CanonicalStrings.VEHICLE_BRAND.canonicalize(rs.getString(column++)));
+                    case MODEL -> row.setModel(CanonicalStrings.VEHICLE_MODEL.canonicalize(rs.getString(column++)));
+                    case YEAR -> row.setYear(rs.getInt(column++));
+                    case MILEAGE -> row.setMileage(rs.getInt(column++));
+                    case STATUS -> row.setStatus(CanonicalStrings.VEHICLE_STATUS.canonicalize(rs.getString(column++)));
+                }
+            }
+            return row;
+        };
+    }
 }
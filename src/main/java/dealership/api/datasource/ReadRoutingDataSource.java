@@ -0,0 +1,75 @@
+package dealership.api.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Data source used by read-only queries.
+ * <p>
+ * Each connection request is routed to the read replica when the
+ * {@link ReplicaLagMonitor} allows it and to the primary otherwise. If the
+ * replica cannot hand out a connection, it is marked unavailable and the
+ * request is served by the primary instead of failing.
+ * </p>
+ */
+public class ReadRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * Lookup keys of the routed data sources.
+     */
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final DataSource primary;
+    private final ReplicaLagMonitor monitor;
+
+    /**
+     * Creates a new routing data source.
+     *
+     * @param primary primary data source, used for fallback
+     * @param replica read replica data source
+     * @param monitor monitor deciding whether the replica may be used
+     */
+    public ReadRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor monitor) {
+        this.primary = primary;
+        this.monitor = monitor;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    /**
+     * Returns the route for the current connection request.
+     *
+     * @return the replica route if it is usable, otherwise the primary route
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return monitor.shouldReadFromReplica() ? Route.REPLICA : Route.PRIMARY;
+    }
+
+    /**
+     * Obtains a connection, falling back to the primary if the replica fails.
+     *
+     * @return a connection to the replica or to the primary
+     * @throws SQLException if the primary cannot provide a connection either
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (determineCurrentLookupKey() != Route.REPLICA) {
+            return primary.getConnection();
+        }
+        try {
+            return determineTargetDataSource().getConnection();
+        } catch (SQLException ex) {
+            monitor.markUnavailable(ex.getMessage());
+            return primary.getConnection();
+        }
+    }
+}
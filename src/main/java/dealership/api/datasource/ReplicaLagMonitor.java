@@ -0,0 +1,156 @@
+package dealership.api.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Tracks whether the read replica is fit to serve queries.
+ * <p>
+ * The monitor periodically asks the replica how far it is behind the primary
+ * and remembers the last time this instance wrote to the primary. Reads are
+ * only sent to the replica when it is reachable, its lag is within the
+ * configured bound, and no local write happened inside the read-your-writes
+ * window. In every other case reads fall back to the primary.
+ * </p>
+ * <p>
+ * The read-your-writes window is instance-wide: the API has no session
+ * concept, so after any write every read on this instance briefly goes to the
+ * primary.
+ * </p>
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate replicaJdbc;
+    private final String lagQuery;
+    private final String lagColumn;
+    private final long maxLagMillis;
+    private final long readYourWritesWindowNanos;
+
+    private volatile boolean replicaUsable;
+    private volatile long lastLagMillis = -1;
+    private volatile long lastPrimaryWriteNanos;
+    private volatile boolean writeSeen;
+
+    /**
+     * Creates a new monitor for the given replica.
+     * <p>
+     * The replica starts as unusable until the first successful probe, so an
+     * instance never reads from a replica whose state is unknown.
+     * </p>
+     *
+     * @param replica replica data source to probe
+     * @param lagQuery query returning the replication status row
+     * @param lagColumn column of that row holding the lag in seconds
+     * @param maxLagMillis maximum tolerated lag before reads fall back to the primary
+     * @param readYourWritesWindowMillis time after a local write during which reads stay on the primary
+     */
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, String lagColumn,
+                             long maxLagMillis, long readYourWritesWindowMillis) {
+        this.replicaJdbc = new JdbcTemplate(replica);
+        this.lagQuery = lagQuery;
+        this.lagColumn = lagColumn;
+        this.maxLagMillis = maxLagMillis;
+        this.readYourWritesWindowNanos = readYourWritesWindowMillis * 1_000_000L;
+    }
+
+    /**
+     * Probes the replica and updates its usability.
+     * <p>
+     * A missing status row or a {@code NULL} lag (replication stopped) is
+     * treated the same way as an unreachable replica.
+     * </p>
+     */
+    @Scheduled(fixedDelayString = "${dealership.datasource.replica.lag-check-interval-ms:1000}")
+    public void probe() {
+        try {
+            Number lagSeconds = replicaJdbc.query(lagQuery, rs -> {
+                if (!rs.next()) {
+                    return null;
+                }
+                Object value = rs.getObject(lagColumn);
+                return value instanceof Number n ? n : null;
+            });
+            if (lagSeconds == null) {
+                markUnavailable("replication is not running");
+                return;
+            }
+            recordLag(lagSeconds.longValue() * 1000L);
+        } catch (RuntimeException ex) {
+            markUnavailable(ex.getMessage());
+        }
+    }
+
+    /**
+     * Records an observed replication lag.
+     *
+     * @param lagMillis lag of the replica behind the primary, in milliseconds
+     */
+    public void recordLag(long lagMillis) {
+        boolean usable = lagMillis <= maxLagMillis;
+        if (usable != replicaUsable) {
+            log.info("Read replica {} (lag {} ms)", usable ? "in use" : "bypassed", lagMillis);
+        }
+        this.lastLagMillis = lagMillis;
+        this.replicaUsable = usable;
+    }
+
+    /**
+     * Marks the replica as unusable until the next successful probe.
+     *
+     * @param reason short description used for logging
+     */
+    public void markUnavailable(String reason) {
+        if (replicaUsable) {
+            log.warn("Read replica bypassed: {}", reason);
+        }
+        this.lastLagMillis = -1;
+        this.replicaUsable = false;
+    }
+
+    /**
+     * Records that this instance has just written to the primary.
+     * <p>
+     * Subsequent reads stay on the primary for the read-your-writes window.
+     * </p>
+     */
+    public void markPrimaryWrite() {
+        this.lastPrimaryWriteNanos = System.nanoTime();
+        this.writeSeen = true;
+    }
+
+    /**
+     * Indicates whether the next read may be served by the replica.
+     *
+     * @return {@code true} if the replica is usable and no recent local write requires the primary
+     */
+    public boolean shouldReadFromReplica() {
+        if (!replicaUsable) {
+            return false;
+        }
+        return !writeSeen || System.nanoTime() - lastPrimaryWriteNanos > readYourWritesWindowNanos;
+    }
+
+    /**
+     * Returns the lag observed by the last successful probe.
+     *
+     * @return lag in milliseconds, or {@code -1} if the replica is unavailable
+     */
+    public long getLastLagMillis() {
+        return lastLagMillis;
+    }
+
+    /**
+     * Indicates whether the replica passed its last probe.
+     *
+     * @return {@code true} if the replica is reachable and within the lag bound
+     */
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+}
@@ -0,0 +1,228 @@
+package dealership.api.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+
+/**
+ * Minimal RFC 4180 CSV writer backed by a single reusable character buffer.
+ * <p>
+ * Fields are appended to the buffer, which is handed to the underlying
+ * writer whenever it fills up, so memory use is bounded by the buffer size
+ * no matter how many rows are written. Integers are formatted straight into
+ * the buffer without creating intermediate strings.
+ * </p>
+ * <p>
+ * Text fields are quoted when they contain a separator, quote or line
+ * break. Text starting with {@code =}, {@code +}, {@code -}, {@code @}, tab
+ * or carriage return is prefixed with a single quote, so spreadsheet
+ * applications do not evaluate user-entered names as formulas.
+ * </p>
+ */
+public class CsvWriter {
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final Writer out;
+    private final char[] buffer;
+    private int position;
+    private boolean rowStarted;
+
+    /**
+     * Creates a new writer with the default buffer size.
+     *
+     * @param out destination of the CSV text
+     */
+    public CsvWriter(Writer out) {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a new writer.
+     *
+     * @param out destination of the CSV text
+     * @param bufferSize number of characters buffered before writing through
+     */
+    public CsvWriter(Writer out, int bufferSize) {
+        if (bufferSize < 16) {
+            throw new IllegalArgumentException("bufferSize must be at least 16");
+        }
+        this.out = out;
+        this.buffer = new char[bufferSize];
+    }
+
+    /**
+     * Writes a row of column names.
+     *
+     * @param columns column names
+     * @return this writer
+     * @throws IOException if writing fails
+     */
+    public CsvWriter header(String... columns) throws IOException {
+        for (String column : columns) {
+            text(column);
+        }
+        return endRow();
+    }
+
+    /**
+     * Appends a text field.
+     *
+     * @param value field value; {@code null} is written as an empty field
+     * @return this writer
+     * @throws IOException if writing fails
+     */
+    public CsvWriter text(String value) throws IOException {
+        separator();
+        if (value == null || value.isEmpty()) {
+            return this;
+        }
+        boolean formula = isFormulaStart(value.charAt(0));
+        if (!formula && !needsQuoting(value)) {
+            append(value);
+            return this;
+        }
+        append('"');
+        if (formula) {
+            append('\'');
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                append('"');
+            }
+            append(c);
+        }
+        append('"');
+        return this;
+    }
+
+    /**
+     * Appends an integer field.
+     *
+     * @param value field value
+     * @return this writer
+     * @throws IOException if writing fails
+     */
+    public CsvWriter number(int value) throws IOException {
+        separator();
+        ensureCapacity(11);
+        if (value == Integer.MIN_VALUE) {
+            append("-2147483648");
+            return this;
+        }
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int digits = digits(value);
+        int end = position + digits;
+        for (int i = end - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        position = end;
+        return this;
+    }
+
+    /**
+     * Appends a decimal field in plain notation.
+     *
+     * @param value field value; {@code null} is written as an empty field
+     * @return this writer
+     * @throws IOException if writing fails
+     */
+    public CsvWriter number(BigDecimal value) throws IOException {
+        separator();
+        if (value != null) {
+            append(value.toPlainString());
+        }
+        return this;
+    }
+
+    /**
+     * Terminates the current row.
+     *
+     * @return this writer
+     * @throws IOException if writing fails
+     */
+    public CsvWriter endRow() throws IOException {
+        append('\r');
+        append('\n');
+        rowStarted = false;
+        return this;
+    }
+
+    /**
+     * Writes the buffered characters through and flushes the underlying writer.
+     *
+     * @throws IOException if writing fails
+     */
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    private void separator() throws IOException {
+        if (rowStarted) {
+            append(',');
+        }
+        rowStarted = true;
+    }
+
+    private void append(char c) throws IOException {
+        if (position == buffer.length) {
+            drain();
+        }
+        buffer[position++] = c;
+    }
+
+    private void append(String value) throws IOException {
+        int offset = 0;
+        while (offset < value.length()) {
+            if (position == buffer.length) {
+                drain();
+            }
+            int count = Math.min(value.length() - offset, buffer.length - position);
+            value.getChars(offset, offset + count, buffer, position);
+            position += count;
+            offset += count;
+        }
+    }
+
+    private void ensureCapacity(int chars) throws IOException {
+        if (buffer.length - position < chars) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private static boolean needsQuoting(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isFormulaStart(char c) {
+        return c == '=' || c == '+' || c == '-' || c == '@' || c == '\t' || c == '\r';
+    }
+
+    private static int digits(int value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+}
@@ -0,0 +1,179 @@
+package dealership.api.health;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import dealership.api.model.DbHealthRow;
+import dealership.api.model.PoolHealthRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Probes the primary database on a fixed interval and keeps the latest result.
+ * <p>
+ * The deep health endpoint only reads the cached snapshot, so however often
+ * load balancers and orchestrators poll it, MySQL sees exactly one
+ * {@code SELECT 1} per interval from this instance. Each probe records the
+ * round-trip latency (including the pool checkout) and the saturation of
+ * every connection pool.
+ * </p>
+ * <p>
+ * Probes run on a thread of their own rather than on the shared scheduler,
+ * so a slow pool checkout or a hung connection delays neither the other
+ * scheduled tasks nor is delayed by them. The probe query carries a query
+ * timeout, and a snapshot older than three intervals is reported as down,
+ * which covers a prober stuck on a hung connection.
+ * </p>
+ */
+@Component
+public class DbHealthProber {
+
+    private static final Logger log = LoggerFactory.getLogger(DbHealthProber.class);
+
+    private static final String PROBE_QUERY = "SELECT 1";
+
+    private final HikariDataSource primary;
+    private final ObjectProvider<HikariDataSource> pools;
+    private final long intervalMillis;
+    private final int timeoutSeconds;
+    private final Thread probeThread;
+
+    private volatile boolean running = true;
+    private volatile Probe lastProbe;
+
+    /**
+     * Creates a new prober.
+     *
+     * @param primary primary data source to probe
+     * @param pools all connection pools whose saturation is reported
+     * @param intervalMillis time between probes
+     * @param timeoutSeconds query timeout of a single probe
+     */
+    public DbHealthProber(@Qualifier("dataSource") HikariDataSource primary,
+                          ObjectProvider<HikariDataSource> pools,
+                          @Value("${dealership.health.db-probe-interval-ms:5000}") long intervalMillis,
+                          @Value("${dealership.health.db-probe-timeout-seconds:2}") int timeoutSeconds) {
+        this.primary = primary;
+        this.pools = pools;
+        this.intervalMillis = intervalMillis;
+        this.timeoutSeconds = timeoutSeconds;
+        this.probeThread = new Thread(this::probeLoop, "db-health-probe");
+        this.probeThread.setDaemon(true);
+    }
+
+    /**
+     * Starts the prober thread.
+     */
+    @PostConstruct
+    public void start() {
+        probeThread.start();
+    }
+
+    /**
+     * Stops the prober thread.
+     *
+     * @throws InterruptedException if interrupted while waiting for the prober thread
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(probeThread);
+        if (probeThread.isAlive()) {
+            probeThread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    private void probeLoop() {
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        while (running) {
+            probe();
+            long next = System.nanoTime() + intervalNanos;
+            long wait;
+            while (running && (wait = next - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+    }
+
+    /**
+     * Runs one probe and replaces the cached snapshot.
+     */
+    public void probe() {
+        long start = System.nanoTime();
+        String error = null;
+        try (Connection connection = primary.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(timeoutSeconds);
+            statement.execute(PROBE_QUERY);
+        } catch (SQLException | RuntimeException ex) {
+            error = ex.getMessage();
+            log.warn("Database health probe failed: {}", error);
+        }
+        long latencyMicros = (System.nanoTime() - start) / 1_000L;
+        lastProbe = new Probe(error == null, latencyMicros, System.currentTimeMillis(), error);
+    }
+
+    /**
+     * Returns the latest probe result together with current pool figures.
+     *
+     * @return database health snapshot
+     */
+    public DbHealthRow snapshot() {
+        Probe probe = lastProbe;
+        List<PoolHealthRow> poolRows = new ArrayList<>();
+        pools.orderedStream().forEach(pool -> poolRows.add(poolHealth(pool)));
+
+        if (probe == null) {
+            return new DbHealthRow("UNKNOWN", -1, 0, -1, "no probe has completed yet", poolRows);
+        }
+        long ageMillis = System.currentTimeMillis() - probe.checkedAtMillis;
+        boolean fresh = ageMillis <= 3 * intervalMillis;
+        String status = probe.up && fresh ? "UP" : "DOWN";
+        String error = fresh ? probe.error : "last probe is " + ageMillis + " ms old";
+        return new DbHealthRow(status, probe.latencyMicros, probe.checkedAtMillis, ageMillis, error, poolRows);
+    }
+
+    private static PoolHealthRow poolHealth(HikariDataSource pool) {
+        HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+        int max = pool.getMaximumPoolSize();
+        if (mxBean == null) {
+            return new PoolHealthRow(pool.getPoolName(), 0, 0, 0, 0, max);
+        }
+        return new PoolHealthRow(pool.getPoolName(),
+                mxBean.getActiveConnections(),
+                mxBean.getIdleConnections(),
+                mxBean.getTotalConnections(),
+                mxBean.getThreadsAwaitingConnection(),
+                max);
+    }
+
+    /**
+     * Outcome of a single probe.
+     */
+    private static final class Probe {
+        private final boolean up;
+        private final long latencyMicros;
+        private final long checkedAtMillis;
+        private final String error;
+
+        private Probe(boolean up, long latencyMicros, long checkedAtMillis, String error) {
+            this.up = up;
+            this.latencyMicros = latencyMicros;
+            this.checkedAtMillis = checkedAtMillis;
+            this.error = error;
+        }
+    }
+}
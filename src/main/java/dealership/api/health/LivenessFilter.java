@@ -0,0 +1,65 @@
+package dealership.api.health;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Servlet filter answering the liveness probe before the request reaches Spring MVC.
+ * <p>
+ * Orchestrators call {@code /api/health} every few seconds on every instance.
+ * Routing those calls through the {@code DispatcherServlet} (handler lookup,
+ * argument resolution, message conversion) costs far more than the constant
+ * answer is worth, so this filter writes a preallocated {@code ok} body
+ * directly to the response and skips the rest of the chain.
+ * </p>
+ * <p>
+ * {@link dealership.api.HealthController#health()} still serves the same
+ * answer when the filter is disabled with
+ * {@code dealership.health.fast-path.enabled=false}.
+ * </p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "dealership.health.fast-path.enabled", havingValue = "true", matchIfMissing = true)
+public class LivenessFilter implements Filter {
+
+    private static final String LIVENESS_PATH = "/api/health";
+    private static final byte[] OK = "ok".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Answers {@code GET /api/health} directly and passes every other request on.
+     *
+     * @param request incoming request
+     * @param response outgoing response
+     * @param chain remaining filter chain
+     * @throws IOException if writing the response fails
+     * @throws ServletException if a downstream filter fails
+     */
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        if (!"GET".equals(httpRequest.getMethod()) || !LIVENESS_PATH.equals(httpRequest.getRequestURI())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        httpResponse.setStatus(HttpServletResponse.SC_OK);
+        httpResponse.setContentType("text/plain");
+        httpResponse.setContentLength(OK.length);
+        httpResponse.getOutputStream().write(OK);
+    }
+}
@@ -0,0 +1,44 @@
+package dealership.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event spanning one public DAO method call.
+ * <p>
+ * Carries the normalized SQL the call ran, the time spent waiting for pooled
+ * connections, and the number of rows it returned or changed.
+ * </p>
+ */
+@Name("dealership.DaoCall")
+@Label("DAO Call")
+@Category({"Dealership", "Database"})
+@Description("Public DAO method call with the SQL it ran")
+public class DaoCallEvent extends Event {
+
+    @Label("DAO")
+    String dao;
+
+    @Label("Method")
+    String method;
+
+    @Label("SQL Fingerprint")
+    @Description("Distinct statements run by the call, with literals replaced by ?")
+    String sql;
+
+    @Label("Statements")
+    int statements;
+
+    @Label("Connection Wait")
+    @Description("Time spent obtaining connections from the pool")
+    @Timespan(Timespan.NANOSECONDS)
+    long connectionWait;
+
+    @Label("Rows")
+    @Description("Rows returned or changed, -1 when the result is not a row count or list")
+    long rows;
+}
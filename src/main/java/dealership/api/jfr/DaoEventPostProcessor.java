@@ -0,0 +1,119 @@
+package dealership.api.jfr;
+
+import dealership.api.json.ProjectedRows;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.reactivestreams.Publisher;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.stereotype.Repository;
+
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+
+/**
+ * Wraps every {@link Repository} bean so that its public methods emit a
+ * {@link DaoCallEvent}.
+ * <p>
+ * Repositories already proxied, e.g. for exception translation, get the
+ * interceptor added to their existing proxy.
+ * </p>
+ * <p>
+ * While the event is disabled, which is whenever no recording asks for it,
+ * the interceptor only checks that flag and calls the DAO. While it is
+ * enabled, a {@link SqlCapture} is open around the call for
+ * {@link TracingDataSource} to fill in. Methods returning a reactive
+ * publisher only assemble their query, so they are passed through untimed.
+ * </p>
+ */
+public class DaoEventPostProcessor implements BeanPostProcessor {
+
+    /**
+     * Proxies repository beans; every other bean is returned unchanged.
+     *
+     * @param bean initialized bean
+     * @param beanName name of the bean
+     * @return the proxied repository, or the bean itself
+     */
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Class<?> type = AopUtils.getTargetClass(bean);
+        if (AnnotationUtils.findAnnotation(type, Repository.class) == null || Modifier.isFinal(type.getModifiers())) {
+            return bean;
+        }
+        DaoCallInterceptor interceptor = new DaoCallInterceptor(type.getSimpleName());
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice(0, interceptor);
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(interceptor);
+        return proxyFactory.getProxy(type.getClassLoader());
+    }
+
+    /**
+     * Interceptor recording one event per DAO call.
+     */
+    static final class DaoCallInterceptor implements MethodInterceptor {
+
+        private final String dao;
+
+        DaoCallInterceptor(String dao) {
+            this.dao = dao;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            DaoCallEvent event = new DaoCallEvent();
+            if (!event.isEnabled() || !Modifier.isPublic(invocation.getMethod().getModifiers())
+                    || Publisher.class.isAssignableFrom(invocation.getMethod().getReturnType())) {
+                return invocation.proceed();
+            }
+
+            SqlCapture capture = SqlCapture.open();
+            event.begin();
+            long rows = -1;
+            try {
+                Object result = invocation.proceed();
+                rows = rows(result);
+                return result;
+            } finally {
+                event.end();
+                capture.close();
+                if (event.shouldCommit()) {
+                    event.dao = dao;
+                    event.method = invocation.getMethod().getName();
+                    event.sql = capture.getSql();
+                    event.statements = capture.getStatements();
+                    event.connectionWait = capture.getConnectionWaitNanos();
+                    event.rows = rows;
+                    event.commit();
+                }
+            }
+        }
+
+        private static long rows(Object result) {
+            if (result instanceof Collection<?> collection) {
+                return collection.size();
+            }
+            if (result instanceof ProjectedRows<?> projected) {
+                return projected.getRows().size();
+            }
+            if (result instanceof Integer || result instanceof Long) {
+                return ((Number) result).longValue();
+            }
+            if (result instanceof int[] counts) {
+                long total = 0;
+                for (int count : counts) {
+                    total += Math.max(count, 0);
+                }
+                return total;
+            }
+            return -1;
+        }
+    }
+}
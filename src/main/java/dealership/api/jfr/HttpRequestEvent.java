@@ -0,0 +1,28 @@
+package dealership.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event spanning one HTTP request, from the servlet filter
+ * chain to the completed response.
+ */
+@Name("dealership.HttpRequest")
+@Label("HTTP Request")
+@Category({"Dealership", "HTTP"})
+@Description("HTTP request served by the dealership API")
+public class HttpRequestEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Endpoint")
+    @Description("Handler mapping pattern, or the request URI when no handler matched")
+    String endpoint;
+
+    @Label("Status")
+    int status;
+}
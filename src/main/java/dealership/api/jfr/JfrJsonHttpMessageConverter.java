@@ -0,0 +1,51 @@
+package dealership.api.jfr;
+
+import dealership.api.json.ProjectedRows;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * JSON message converter recording a {@link SerializationEvent} around each
+ * response body it writes.
+ * <p>
+ * Apart from the event it behaves exactly like the converter Spring Boot
+ * would otherwise register, using the application's JSON mapper.
+ * </p>
+ */
+public class JfrJsonHttpMessageConverter extends JacksonJsonHttpMessageConverter {
+
+    /**
+     * Creates a new converter.
+     *
+     * @param jsonMapper application JSON mapper
+     */
+    public JfrJsonHttpMessageConverter(JsonMapper jsonMapper) {
+        super(jsonMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, ResolvableType resolvableType, HttpOutputMessage outputMessage,
+                                 Map<String, Object> hints) throws IOException, HttpMessageNotWritableException {
+        SerializationEvent event = new SerializationEvent();
+        event.begin();
+        try {
+            super.writeInternal(object, resolvableType, outputMessage, hints);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.type = object.getClass().getSimpleName();
+                event.elements = object instanceof Collection<?> collection ? collection.size()
+                        : object instanceof ProjectedRows<?> projected ? projected.getRows().size()
+                        : 1;
+                event.commit();
+            }
+        }
+    }
+}
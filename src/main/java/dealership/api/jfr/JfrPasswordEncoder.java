@@ -0,0 +1,57 @@
+package dealership.api.jfr;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Password encoder recording a {@link PasswordHashEvent} around each hash and
+ * verification of the encoder it wraps.
+ * <p>
+ * BCrypt is deliberately slow, so on the login path this is usually the
+ * single largest span inside a request.
+ * </p>
+ */
+public class JfrPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+
+    /**
+     * Creates a new encoder.
+     *
+     * @param delegate encoder doing the actual work
+     */
+    public JfrPasswordEncoder(PasswordEncoder delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        String hash = delegate.encode(rawPassword);
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = "encode";
+            event.commit();
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        boolean matched = delegate.matches(rawPassword, encodedPassword);
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = "matches";
+            event.matched = matched;
+            event.commit();
+        }
+        return matched;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
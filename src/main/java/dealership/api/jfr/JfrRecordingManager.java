@@ -0,0 +1,236 @@
+package dealership.api.jfr;
+
+import dealership.api.model.JfrRecordingRow;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Starts, stops and snapshots the single on-demand flight recording.
+ * <p>
+ * Only one recording runs at a time. Each one is bounded: it stops by itself
+ * after the requested duration, capped at {@code dealership.jfr.max-duration},
+ * and keeps at most {@code dealership.jfr.max-size} bytes, discarding the
+ * oldest data first. The recording file lives in {@code dealership.jfr.directory}
+ * and is replaced by the next recording.
+ * </p>
+ * <p>
+ * The recording uses the JDK's {@code dealership.jfr.settings} configuration
+ * ({@code default} keeps the overhead around one percent) plus every
+ * {@code dealership.*} event. Outside a recording those events are disabled
+ * and cost a flag check at each instrumentation point. The JDK events holding
+ * the process environment, the system properties and the JVM arguments are
+ * always left out, since they carry credentials such as the datasource
+ * password and the recording can be downloaded over HTTP.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "dealership.jfr.enabled", havingValue = "true")
+public class JfrRecordingManager {
+
+    private static final String RECORDING_NAME = "dealership-on-demand";
+
+    private static final List<String> SENSITIVE_EVENTS = List.of(
+            "jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty", "jdk.JVMInformation");
+
+    private final Path directory;
+    private final String settings;
+    private final Duration maxDuration;
+    private final long maxSize;
+
+    private Recording recording;
+    private Path recordingFile;
+    private Instant startedAt;
+    private Duration duration = Duration.ZERO;
+
+    /**
+     * Creates a new manager.
+     *
+     * @param directory directory the recording files are written to
+     * @param settings name of the JDK recording configuration
+     * @param maxDuration longest duration a recording may be started for
+     * @param maxSize bytes of recorded data kept before the oldest is discarded
+     */
+    public JfrRecordingManager(@Value("${dealership.jfr.directory:logs/jfr}") String directory,
+                               @Value("${dealership.jfr.settings:default}") String settings,
+                               @Value("${dealership.jfr.max-duration:10m}") Duration maxDuration,
+                               @Value("${dealership.jfr.max-size:104857600}") long maxSize) {
+        this.directory = Path.of(directory);
+        this.settings = settings;
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Starts a recording, replacing the file of the previous one.
+     *
+     * @param requested how long to record; {@code null} or longer than the maximum records for the maximum
+     * @return the state of the new recording
+     * @throws IllegalStateException if a recording is already running
+     */
+    public synchronized JfrRecordingRow start(Duration requested) {
+        if (isRunning()) {
+            throw new IllegalStateException("A recording is already running");
+        }
+        closeRecording();
+
+        Duration limit = requested == null || requested.isNegative() || requested.isZero()
+                || requested.compareTo(maxDuration) > 0 ? maxDuration : requested;
+        try {
+            Files.createDirectories(directory);
+            Recording next = new Recording(Configuration.getConfiguration(settings));
+            next.setName(RECORDING_NAME);
+            next.enable("dealership.*");
+            SENSITIVE_EVENTS.forEach(next::disable);
+            next.setToDisk(true);
+            next.setMaxSize(maxSize);
+            next.setDuration(limit);
+            Path file = directory.resolve("dealership-" + Instant.now().toEpochMilli() + ".jfr");
+            next.setDestination(file);
+            next.start();
+            recording = next;
+            recordingFile = file;
+            startedAt = Instant.now();
+            duration = limit;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } catch (ParseException ex) {
+            throw new IllegalStateException("Unreadable JFR settings: " + settings, ex);
+        }
+        return status();
+    }
+
+    /**
+     * Stops the running recording and writes its file.
+     *
+     * @return the state of the stopped recording
+     * @throws IllegalStateException if no recording is running
+     */
+    public synchronized JfrRecordingRow stop() {
+        if (!isRunning()) {
+            throw new IllegalStateException("No recording is running");
+        }
+        recording.stop();
+        return status();
+    }
+
+    /**
+     * Returns a new file with the data recorded so far.
+     * <p>
+     * A running recording is dumped to the snapshot and keeps running; a
+     * stopped one is linked, or copied where links are not supported, so a
+     * recording started meanwhile cannot delete it. Every call gets its own
+     * file, which the caller owns and must delete once it has been read.
+     * </p>
+     *
+     * @return the snapshot file
+     * @throws IllegalStateException if there is no recording to download
+     */
+    public synchronized Path snapshot() {
+        if (recording == null) {
+            throw new IllegalStateException("No recording has been started");
+        }
+        if (!isRunning() && !Files.exists(recordingFile)) {
+            throw new IllegalStateException("The recording file is no longer available");
+        }
+        Path snapshot = null;
+        try {
+            snapshot = Files.createTempFile(directory, RECORDING_NAME + "-", ".jfr");
+            if (isRunning()) {
+                recording.dump(snapshot);
+            } else {
+                copyRecordingFile(snapshot);
+            }
+            return snapshot;
+        } catch (IOException ex) {
+            deleteQuietly(snapshot);
+            throw new UncheckedIOException(ex);
+        } catch (RuntimeException ex) {
+            deleteQuietly(snapshot);
+            throw ex;
+        }
+    }
+
+    /**
+     * Returns the state of the current or last recording.
+     *
+     * @return recording state
+     */
+    public synchronized JfrRecordingRow status() {
+        if (recording == null) {
+            return new JfrRecordingRow("NONE", null, maxDuration.toSeconds(), maxSize, 0);
+        }
+        long size = recording.getState() == RecordingState.RUNNING ? recording.getSize() : fileSize();
+        return new JfrRecordingRow(recording.getState().name(), startedAt.toString(), duration.toSeconds(),
+                maxSize, size);
+    }
+
+    private long fileSize() {
+        try {
+            return Files.exists(recordingFile) ? Files.size(recordingFile) : 0;
+        } catch (IOException ex) {
+            return 0;
+        }
+    }
+
+    private void copyRecordingFile(Path snapshot) throws IOException {
+        Files.delete(snapshot);
+        try {
+            Files.createLink(snapshot, recordingFile);
+        } catch (IOException | UnsupportedOperationException ex) {
+            Files.copy(recordingFile, snapshot, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // best effort: a leftover snapshot only takes disk space
+        }
+    }
+
+    private boolean isRunning() {
+        return recording != null && (recording.getState() == RecordingState.RUNNING
+                || recording.getState() == RecordingState.DELAYED);
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            try {
+                Files.deleteIfExists(recordingFile);
+            } catch (IOException ignored) {
+                // best effort: the next recording uses a new file name
+            }
+            recording = null;
+        }
+    }
+
+    /**
+     * Closes the recording on shutdown, keeping its file.
+     */
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
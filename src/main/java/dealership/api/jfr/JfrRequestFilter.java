@@ -0,0 +1,93 @@
+package dealership.api.jfr;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Servlet filter recording one {@link HttpRequestEvent} per request.
+ * <p>
+ * The event spans the rest of the filter chain, so the DAO, password and
+ * serialization events of the request nest inside it on the same thread.
+ * Asynchronous requests are committed when they complete. When no recording
+ * enables the event the filter only checks that flag.
+ * </p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@ConditionalOnProperty(name = "dealership.jfr.enabled", havingValue = "true")
+public class JfrRequestFilter implements Filter {
+
+    /**
+     * Serves the request inside an HTTP request event.
+     *
+     * @param request incoming request
+     * @param response outgoing response
+     * @param chain remaining filter chain
+     * @throws IOException if a downstream component fails to write
+     * @throws ServletException if a downstream filter fails
+     */
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpRequestEvent event = new HttpRequestEvent();
+        if (!event.isEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        event.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (httpRequest.isAsyncStarted()) {
+                httpRequest.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent asyncEvent) {
+                        commit(event, httpRequest, httpResponse);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent asyncEvent) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent asyncEvent) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent asyncEvent) {
+                    }
+                });
+            } else {
+                commit(event, httpRequest, httpResponse);
+            }
+        }
+    }
+
+    private static void commit(HttpRequestEvent event, HttpServletRequest request, HttpServletResponse response) {
+        event.end();
+        if (event.shouldCommit()) {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            event.method = request.getMethod();
+            event.endpoint = pattern instanceof String endpoint ? endpoint : request.getRequestURI();
+            event.status = response.getStatus();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package dealership.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event spanning one password hash or verification.
+ */
+@Name("dealership.PasswordHash")
+@Label("Password Hash")
+@Category({"Dealership", "Security"})
+public class PasswordHashEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Matched")
+    boolean matched;
+}
@@ -0,0 +1,21 @@
+package dealership.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event spanning the JSON serialization of one response body.
+ */
+@Name("dealership.Serialization")
+@Label("JSON Serialization")
+@Category({"Dealership", "HTTP"})
+public class SerializationEvent extends Event {
+
+    @Label("Type")
+    String type;
+
+    @Label("Elements")
+    int elements;
+}
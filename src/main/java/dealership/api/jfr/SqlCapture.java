@@ -0,0 +1,80 @@
+package dealership.api.jfr;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Statements and connection waits collected for the DAO call in progress on
+ * the current thread.
+ * <p>
+ * A capture is only open while a {@link DaoCallEvent} is being recorded, so
+ * {@link TracingDataSource} does nothing beyond a thread-local read when no
+ * recording is running. Queries a DAO hands to other threads, such as the
+ * scatter pool of a sharded setup, are not captured.
+ * </p>
+ */
+final class SqlCapture {
+
+    private static final ThreadLocal<SqlCapture> CURRENT = new ThreadLocal<>();
+
+    private final SqlCapture previous;
+    private final Set<String> fingerprints = new LinkedHashSet<>();
+    private int statements;
+    private long connectionWaitNanos;
+
+    private SqlCapture(SqlCapture previous) {
+        this.previous = previous;
+    }
+
+    /**
+     * Opens a capture on the current thread, nested inside any open one.
+     *
+     * @return the new capture
+     */
+    static SqlCapture open() {
+        SqlCapture capture = new SqlCapture(CURRENT.get());
+        CURRENT.set(capture);
+        return capture;
+    }
+
+    /**
+     * Returns the capture open on the current thread.
+     *
+     * @return the innermost open capture, or {@code null}
+     */
+    static SqlCapture current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Closes this capture and reopens the one it was nested in.
+     */
+    void close() {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    void statement(String sql) {
+        statements++;
+        fingerprints.add(SqlFingerprint.of(sql));
+    }
+
+    void connectionWait(long nanos) {
+        connectionWaitNanos += nanos;
+    }
+
+    int getStatements() {
+        return statements;
+    }
+
+    long getConnectionWaitNanos() {
+        return connectionWaitNanos;
+    }
+
+    String getSql() {
+        return String.join("; ", fingerprints);
+    }
+}
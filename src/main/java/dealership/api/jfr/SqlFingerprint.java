@@ -0,0 +1,58 @@
+package dealership.api.jfr;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Reduces SQL text to a fingerprint shared by every execution of the same statement.
+ * <p>
+ * String and numeric literals become {@code ?}, runs of whitespace become a
+ * single space, and {@code IN} lists of any length collapse to
+ * {@code IN (?)}. Fingerprints are capped at {@value #MAX_LENGTH} characters.
+ * </p>
+ * <p>
+ * The DAOs build their SQL from a small set of constants, so fingerprints
+ * are cached by SQL text, up to {@value #MAX_CACHED} distinct statements.
+ * </p>
+ */
+public final class SqlFingerprint {
+
+    static final int MAX_LENGTH = 1000;
+    static final int MAX_CACHED = 1024;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bIN\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Map<String, String> CACHE = new ConcurrentHashMap<>();
+
+    private SqlFingerprint() {
+    }
+
+    /**
+     * Computes the fingerprint of a statement.
+     *
+     * @param sql SQL text
+     * @return the normalized text
+     */
+    public static String of(String sql) {
+        String cached = CACHE.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        String fingerprint = normalize(sql);
+        if (CACHE.size() < MAX_CACHED) {
+            CACHE.put(sql, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    private static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("IN (?)");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        return normalized.length() <= MAX_LENGTH ? normalized : normalized.substring(0, MAX_LENGTH);
+    }
+}
@@ -0,0 +1,103 @@
+package dealership.api.jfr;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Data source feeding the SQL and pool wait of each call to the {@link DaoCallEvent}
+ * being recorded.
+ * <p>
+ * Outside a recorded DAO call connections are handed out unwrapped. Inside
+ * one, the time spent in {@code getConnection} is added to the event's
+ * connection wait, and every statement prepared or executed on the
+ * connection is added to its SQL fingerprint.
+ * </p>
+ */
+public class TracingDataSource extends DelegatingDataSource {
+
+    /**
+     * Creates a new data source.
+     *
+     * @param target data source handing out the connections
+     */
+    public TracingDataSource(DataSource target) {
+        super(target);
+    }
+
+    /**
+     * Returns the target data source unwrapped from a tracing one.
+     *
+     * @param dataSource data source, possibly a {@link TracingDataSource}
+     * @return the data source doing the actual work
+     */
+    public static DataSource unwrap(DataSource dataSource) {
+        return dataSource instanceof TracingDataSource tracing ? tracing.obtainTargetDataSource() : dataSource;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        SqlCapture capture = SqlCapture.current();
+        if (capture == null) {
+            return super.getConnection();
+        }
+        long start = System.nanoTime();
+        Connection connection = super.getConnection();
+        capture.connectionWait(System.nanoTime() - start);
+        return trace(connection, capture);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        SqlCapture capture = SqlCapture.current();
+        if (capture == null) {
+            return super.getConnection(username, password);
+        }
+        long start = System.nanoTime();
+        Connection connection = super.getConnection(username, password);
+        capture.connectionWait(System.nanoTime() - start);
+        return trace(connection, capture);
+    }
+
+    private static Connection trace(Connection connection, SqlCapture capture) {
+        return (Connection) Proxy.newProxyInstance(TracingDataSource.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    String name = method.getName();
+                    if ((name.equals("prepareStatement") || name.equals("prepareCall"))
+                            && args != null && args[0] instanceof String sql) {
+                        capture.statement(sql);
+                    }
+                    Object result = invoke(connection, method, args);
+                    if (name.equals("createStatement")) {
+                        return traceStatement((Statement) result, capture);
+                    }
+                    return result;
+                });
+    }
+
+    private static Statement traceStatement(Statement statement, SqlCapture capture) {
+        return (Statement) Proxy.newProxyInstance(TracingDataSource.class.getClassLoader(),
+                new Class<?>[] {Statement.class}, (proxy, method, args) -> {
+                    if (method.getName().startsWith("execute") || method.getName().equals("addBatch")) {
+                        if (args != null && args.length > 0 && args[0] instanceof String sql) {
+                            capture.statement(sql);
+                        }
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package dealership.api.json;
+
+import dealership.api.model.UserRow;
+import dealership.api.model.VehicleStockRow;
+import dealership.api.projection.UserField;
+import dealership.api.projection.VehicleStockField;
+import tools.jackson.core.JsonGenerator;
+
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * A list of rows serialized with only the fields selected by a {@code fields} parameter.
+ * <p>
+ * Written as a JSON array by {@link ProjectedRowsSerializer}. Rows loaded
+ * with a projection only have the selected fields populated, so they must
+ * not be serialized any other way.
+ * </p>
+ *
+ * @param <T> row type
+ */
+public final class ProjectedRows<T> {
+
+    private final List<T> rows;
+    private final RowWriter<T> writer;
+
+    private ProjectedRows(List<T> rows, RowWriter<T> writer) {
+        this.rows = rows;
+        this.writer = writer;
+    }
+
+    /**
+     * Wraps vehicle stock rows.
+     *
+     * @param rows rows to write
+     * @param fields fields to include
+     * @return the projected list
+     */
+    public static ProjectedRows<VehicleStockRow> ofVehicles(List<VehicleStockRow> rows,
+                                                             EnumSet<VehicleStockField> fields) {
+        return new ProjectedRows<>(rows, (row, gen) -> VehicleStockRowSerializer.serialize(row, fields, gen));
+    }
+
+    /**
+     * Wraps user rows.
+     *
+     * @param rows rows to write
+     * @param fields fields to include
+     * @return the projected list
+     */
+    public static ProjectedRows<UserRow> ofUsers(List<UserRow> rows, EnumSet<UserField> fields) {
+        return new ProjectedRows<>(rows, (row, gen) -> UserRowSerializer.serialize(row, fields, gen));
+    }
+
+    /**
+     * Returns the wrapped rows.
+     *
+     * @return rows
+     */
+    public List<T> getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns a list holding other rows of the same type, written with the same fields.
+     *
+     * @param rows rows to write, loaded with the same projection
+     * @return the projected list
+     */
+    public ProjectedRows<T> withRows(List<T> rows) {
+        return new ProjectedRows<>(rows, writer);
+    }
+
+    void write(T row, JsonGenerator gen) {
+        writer.write(row, gen);
+    }
+
+    /**
+     * Writes one row as a JSON object.
+     *
+     * @param <T> row type
+     */
+    @FunctionalInterface
+    private interface RowWriter<T> {
+        void write(T row, JsonGenerator gen);
+    }
+}
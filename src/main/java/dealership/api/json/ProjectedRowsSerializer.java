@@ -0,0 +1,41 @@
+package dealership.api.json;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Streaming serializer for {@link ProjectedRows}.
+ * <p>
+ * Writes the rows as a JSON array of objects holding only the selected
+ * fields, in the same property order as the full row serializers.
+ * </p>
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class ProjectedRowsSerializer extends StdSerializer<ProjectedRows> {
+
+    /**
+     * Creates a new serializer.
+     */
+    public ProjectedRowsSerializer() {
+        super(ProjectedRows.class);
+    }
+
+    /**
+     * Writes the projected rows as a JSON array.
+     *
+     * @param value rows to write
+     * @param gen generator receiving the output
+     * @param ctxt serialization context
+     * @throws JacksonException if writing fails
+     */
+    @Override
+    public void serialize(ProjectedRows value, JsonGenerator gen, SerializationContext ctxt) throws JacksonException {
+        gen.writeStartArray(value, value.getRows().size());
+        for (Object row : value.getRows()) {
+            value.write(row, gen);
+        }
+        gen.writeEndArray();
+    }
+}
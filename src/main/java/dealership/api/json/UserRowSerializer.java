@@ -0,0 +1,119 @@
+package dealership.api.json;
+
+import dealership.api.model.UserRow;
+import dealership.api.projection.UserField;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ser.std.StdSerializer;
+
+import java.util.EnumSet;
+
+/**
+ * Streaming serializer for {@link UserRow}.
+ * <p>
+ * Writes the fields directly with pre-encoded property names and primitive
+ * writes, bypassing bean introspection and getter reflection. The output is
+ * identical to the default bean serialization: same property order, and
+ * {@code null} strings written as JSON {@code null}.
+ * </p>
+ */
+public class UserRowSerializer extends StdSerializer<UserRow> {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString DEALERSHIP_ID = new SerializedString("dealershipId");
+    private static final SerializableString DEALERSHIP_NAME = new SerializedString("dealershipName");
+    private static final SerializableString ROLE_ID = new SerializedString("roleId");
+    private static final SerializableString ROLE_NAME = new SerializedString("roleName");
+    private static final SerializableString USERNAME = new SerializedString("username");
+    private static final SerializableString FULL_NAME = new SerializedString("fullName");
+    private static final SerializableString ACTIVE = new SerializedString("active");
+
+    /**
+     * Creates a new serializer.
+     */
+    public UserRowSerializer() {
+        super(UserRow.class);
+    }
+
+    /**
+     * Writes a user row as a JSON object.
+     *
+     * @param row row to write
+     * @param gen generator receiving the output
+     * @param ctxt serialization context
+     * @throws JacksonException if writing fails
+     */
+    @Override
+    public void serialize(UserRow row, JsonGenerator gen, SerializationContext ctxt) throws JacksonException {
+        gen.writeStartObject(row);
+        gen.writeName(ID);
+        gen.writeNumber(row.getId());
+        gen.writeName(DEALERSHIP_ID);
+        gen.writeNumber(row.getDealershipId());
+        gen.writeName(DEALERSHIP_NAME);
+        gen.writeString(row.getDealershipName());
+        gen.writeName(ROLE_ID);
+        gen.writeNumber(row.getRoleId());
+        gen.writeName(ROLE_NAME);
+        gen.writeString(row.getRoleName());
+        gen.writeName(USERNAME);
+        gen.writeString(row.getUsername());
+        gen.writeName(FULL_NAME);
+        gen.writeString(row.getFullName());
+        gen.writeName(ACTIVE);
+        gen.writeBoolean(row.isActive());
+        gen.writeEndObject();
+    }
+
+    /**
+     * Writes a user row as a JSON object holding only the selected fields.
+     *
+     * @param row row to write
+     * @param fields fields to include, written in declaration order
+     * @param gen generator receiving the output
+     * @throws JacksonException if writing fails
+     */
+    static void serialize(UserRow row, EnumSet<UserField> fields, JsonGenerator gen) throws JacksonException {
+        gen.writeStartObject(row);
+        for (UserField field : fields) {
+            switch (field) {
+                case ID -> {
+                    gen.writeName(ID);
+                    gen.writeNumber(row.getId());
+                }
+                case DEALERSHIP_ID -> {
+                    gen.writeName(DEALERSHIP_ID);
+                    gen.writeNumber(row.getDealershipId());
+                }
+                case DEALERSHIP_NAME -> {
+                    gen.writeName(DEALERSHIP_NAME);
+                    gen.writeString(row.getDealershipName());
+                }
+                case ROLE_ID -> {
+                    gen.writeName(ROLE_ID);
+                    gen.writeNumber(row.getRoleId());
+                }
+                case ROLE_NAME -> {
+                    gen.writeName(ROLE_NAME);
+                    gen.writeString(row.getRoleName());
+                }
+                case USERNAME -> {
+                    gen.writeName(USERNAME);
+                    gen.writeString(row.getUsername());
+                }
+                case FULL_NAME -> {
+                    gen.writeName(FULL_NAME);
+                    gen.writeString(row.getFullName());
+                }
+                case ACTIVE -> {
+                    gen.writeName(ACTIVE);
+                    gen.writeBoolean(row.isActive());
+                }
+            }
+        }
+        gen.writeEndObject();
+    }
+}
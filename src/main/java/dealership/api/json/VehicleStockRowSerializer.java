@@ -0,0 +1,113 @@
+package dealership.api.json;
+
+import dealership.api.model.VehicleStockRow;
+import dealership.api.projection.VehicleStockField;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ser.std.StdSerializer;
+
+import java.util.EnumSet;
+
+/**
+ * Streaming serializer for {@link VehicleStockRow}.
+ * <p>
+ * Writes the fields directly with pre-encoded property names and primitive
+ * number writes, bypassing bean introspection and getter reflection. The
+ * output is identical to the default bean serialization: same property
+ * order, and {@code null} strings written as JSON {@code null}.
+ * </p>
+ */
+public class VehicleStockRowSerializer extends StdSerializer<VehicleStockRow> {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString PLATE = new SerializedString("plate");
+    private static final SerializableString BRAND = new SerializedString("brand");
+    private static final SerializableString MODEL = new SerializedString("model");
+    private static final SerializableString YEAR = new SerializedString("year");
+    private static final SerializableString MILEAGE = new SerializedString("mileage");
+    private static final SerializableString STATUS = new SerializedString("status");
+
+    /**
+     * Creates a new serializer.
+     */
+    public VehicleStockRowSerializer() {
+        super(VehicleStockRow.class);
+    }
+
+    /**
+     * Writes a vehicle row as a JSON object.
+     *
+     * @param row row to write
+     * @param gen generator receiving the output
+     * @param ctxt serialization context
+     * @throws JacksonException if writing fails
+     */
+    @Override
+    public void serialize(VehicleStockRow row, JsonGenerator gen, SerializationContext ctxt) throws JacksonException {
+        gen.writeStartObject(row);
+        gen.writeName(ID);
+        gen.writeNumber(row.getId());
+        gen.writeName(PLATE);
+        gen.writeString(row.getPlate());
+        gen.writeName(BRAND);
+        gen.writeString(row.getBrand());
+        gen.writeName(MODEL);
+        gen.writeString(row.getModel());
+        gen.writeName(YEAR);
+        gen.writeNumber(row.getYear());
+        gen.writeName(MILEAGE);
+        gen.writeNumber(row.getMileage());
+        gen.writeName(STATUS);
+        gen.writeString(row.getStatus());
+        gen.writeEndObject();
+    }
+
+    /**
+     * Writes a vehicle row as a JSON object holding only the selected fields.
+     *
+     * @param row row to write
+     * @param fields fields to include, written in declaration order
+     * @param gen generator receiving the output
+     * @throws JacksonException if writing fails
+     */
+    static void serialize(VehicleStockRow row, EnumSet<VehicleStockField> fields, JsonGenerator gen)
+            throws JacksonException {
+        gen.writeStartObject(row);
+        for (VehicleStockField field : fields) {
+            switch (field) {
+                case ID -> {
+                    gen.writeName(ID);
+                    gen.writeNumber(row.getId());
+                }
+                case PLATE -> {
+                    gen.writeName(PLATE);
+                    gen.writeString(row.getPlate());
+                }
+                case BRAND -> {
+                    gen.writeName(BRAND);
+                    gen.writeString(row.getBrand());
+                }
+                case MODEL -> {
+                    gen.writeName(MODEL);
+                    gen.writeString(row.getModel());
+                }
+                case YEAR -> {
+                    gen.writeName(YEAR);
+                    gen.writeNumber(row.getYear());
+                }
+                case MILEAGE -> {
+                    gen.writeName(MILEAGE);
+                    gen.writeNumber(row.getMileage());
+                }
+                case STATUS -> {
+                    gen.writeName(STATUS);
+                    gen.writeString(row.getStatus());
+                }
+            }
+        }
+        gen.writeEndObject();
+    }
+}
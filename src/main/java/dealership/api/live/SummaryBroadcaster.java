@@ -0,0 +1,505 @@
+package dealership.api.live;
+
+import dealership.api.cache.ReportCache;
+import dealership.api.cache.ReportKeys;
+import dealership.api.changefeed.ChangeListener;
+import dealership.api.changefeed.ChangeTable;
+import dealership.api.changefeed.RowChange;
+import dealership.api.dao.OwnerDao;
+import dealership.api.model.OwnerSummaryRow;
+import dealership.api.resilience.ReportResult;
+import dealership.api.resilience.ResilientReportLoader;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pushes owner summary updates to dashboards over Server-Sent Events.
+ * <p>
+ * Each subscriber first receives a {@code summary} event with the full
+ * {@link OwnerSummaryRow}, then {@code summary-delta} events holding only the
+ * fields that changed, and {@code report-changed} events naming a report to
+ * reload. The summary is recomputed once per change, through the shared
+ * {@link ReportCache} and {@link ResilientReportLoader} exactly like the
+ * {@code /api/owner/summary} endpoint, so both share one cached
+ * {@link ReportResult}. Every event is serialized once and handed to all
+ * subscribers.
+ * </p>
+ * <p>
+ * Changes come from the change feed when it is enabled. The summary is also
+ * refreshed on a fixed interval while anyone is subscribed, which bounds the
+ * staleness by that interval plus the summary TTL when the feed is off.
+ * </p>
+ * <p>
+ * Streams are asynchronous requests, so no servlet thread is held per
+ * connection. Each subscriber has a bounded queue drained by a small shared
+ * sender pool. A subscriber whose queue is full, because it reads more
+ * slowly than updates arrive, is disconnected and can reconnect to start
+ * again from a fresh snapshot. A comment line is sent as a heartbeat so that
+ * idle connections are kept open by proxies and dead ones are detected.
+ * </p>
+ * <p>
+ * A single write can still block on a client that stopped reading, and the
+ * servlet container only gives up on it after its own write timeout. A send
+ * running longer than the send timeout therefore disconnects its subscriber,
+ * interrupts the sender and lends the pool another thread until the stuck
+ * write returns, so that one stalled socket never holds up the other
+ * subscribers. Closing a stream never waits for a write in progress either;
+ * the sender completes it once the write returns.
+ * </p>
+ * <p>
+ * On shutdown every stream is completed as a lifecycle bean in the highest
+ * phase, which stops before the web server's graceful shutdown. Otherwise
+ * that shutdown would wait for the open streams until its timeout.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "dealership.live.enabled", havingValue = "true", matchIfMissing = true)
+public class SummaryBroadcaster implements ChangeListener, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(SummaryBroadcaster.class);
+
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+
+    private final ReportCache reportCache;
+    private final ResilientReportLoader resilientReportLoader;
+    private final OwnerDao ownerDao;
+    private final JsonMapper jsonMapper;
+    private final int queueCapacity;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+    private final int senderThreads;
+    private final long sendTimeoutNanos;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Set<Subscriber> sending = ConcurrentHashMap.newKeySet();
+    private final Map<ChangeTable, Set<DataWithMediaType>> reportChangedEvents = new EnumMap<>(ChangeTable.class);
+    private final ThreadPoolExecutor senders;
+    private final ThreadPoolExecutor refresher;
+    private final LongAdder evicted = new LongAdder();
+    private int stalledSenders;
+
+    private volatile boolean running;
+    private volatile OwnerSummaryRow current;
+    private volatile Set<DataWithMediaType> snapshotEvent;
+
+    /**
+     * Creates a new broadcaster.
+     *
+     * @param reportCache cache the summary is loaded through
+     * @param resilientReportLoader loader falling back to the last good summary when the database struggles
+     * @param ownerDao data access object computing the summary
+     * @param jsonMapper mapper serializing event payloads
+     * @param queueCapacity events buffered per subscriber before it is evicted as too slow
+     * @param maxSubscribers maximum number of concurrent subscribers
+     * @param timeoutMillis lifetime of a stream before the client has to reconnect
+     * @param senderThreads threads writing events to subscribers
+     * @param sendTimeoutMillis time a single write may take before its subscriber is disconnected
+     */
+    public SummaryBroadcaster(ReportCache reportCache, ResilientReportLoader resilientReportLoader,
+                              OwnerDao ownerDao, JsonMapper jsonMapper,
+                              @Value("${dealership.live.queue-capacity:32}") int queueCapacity,
+                              @Value("${dealership.live.max-subscribers:500}") int maxSubscribers,
+                              @Value("${dealership.live.timeout-ms:1800000}") long timeoutMillis,
+                              @Value("${dealership.live.sender-threads:2}") int senderThreads,
+                              @Value("${dealership.live.send-timeout-ms:10000}") long sendTimeoutMillis) {
+        this.reportCache = reportCache;
+        this.resilientReportLoader = resilientReportLoader;
+        this.ownerDao = ownerDao;
+        this.jsonMapper = jsonMapper;
+        this.queueCapacity = queueCapacity;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeoutMillis;
+        this.senderThreads = senderThreads;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        for (ChangeTable table : ChangeTable.values()) {
+            reportChangedEvents.put(table, event("report-changed", Map.of("report", table.getReport())));
+        }
+        this.senders = executor("live-sender-", senderThreads, new LinkedBlockingQueue<>());
+        // One refresh running and at most one queued: bursts of changes collapse into one recomputation.
+        this.refresher = executor("live-refresh-", 1, new ArrayBlockingQueue<>(1));
+        this.refresher.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /**
+     * Opens a new stream and schedules a refresh of the summary.
+     *
+     * @return the event stream of the new subscriber
+     * @throws TooManySubscribersException if the subscriber limit is reached
+     */
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new TooManySubscribersException(maxSubscribers);
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        register(emitter);
+        requestRefresh();
+        return emitter;
+    }
+
+    /**
+     * Announces the changed report and schedules a refresh of the summary.
+     *
+     * @param changes changed rows of one table
+     */
+    @Override
+    public void onChanges(List<RowChange> changes) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        broadcast(reportChangedEvents.get(changes.get(0).getTable()));
+        requestRefresh();
+    }
+
+    /**
+     * Refreshes the summary periodically while anyone is subscribed.
+     */
+    @Scheduled(fixedDelayString = "${dealership.live.refresh-interval-ms:30000}")
+    public void periodicRefresh() {
+        if (!subscribers.isEmpty()) {
+            requestRefresh();
+        }
+    }
+
+    /**
+     * Sends a heartbeat to every subscriber.
+     */
+    @Scheduled(fixedDelayString = "${dealership.live.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        broadcast(HEARTBEAT);
+    }
+
+    /**
+     * Disconnects subscribers whose write has been blocked for longer than the send timeout.
+     */
+    @Scheduled(fixedDelayString = "${dealership.live.send-check-interval-ms:1000}")
+    public void expireStalledSends() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : sending) {
+            subscriber.expireSend(now);
+        }
+    }
+
+    /**
+     * Returns the number of connected subscribers.
+     *
+     * @return subscriber count
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Returns the number of subscribers disconnected for reading too slowly,
+     * either by falling behind on their queue or by stalling a write.
+     *
+     * @return eviction count
+     */
+    public long getEvicted() {
+        return evicted.sum();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    /**
+     * Completes every open stream so that the web server can shut down gracefully.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        closeSubscribers();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Closes any remaining stream and stops the background threads.
+     */
+    @PreDestroy
+    public void shutdown() {
+        closeSubscribers();
+        refresher.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    private void closeSubscribers() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.close();
+        }
+    }
+
+    /**
+     * Adds a subscriber and queues the latest snapshot for it, if there is one.
+     *
+     * @param emitter stream of the subscriber
+     */
+    void register(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter, queueCapacity);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(ex -> subscriber.close());
+        subscribers.add(subscriber);
+        Set<DataWithMediaType> snapshot = snapshotEvent;
+        if (snapshot != null) {
+            subscriber.enqueue(snapshot);
+        }
+    }
+
+    /**
+     * Recomputes the summary and sends what changed.
+     * <p>
+     * The first computation is sent as a full snapshot; later ones only as a
+     * delta, and only when a field actually changed.
+     * </p>
+     */
+    void refresh() {
+        OwnerSummaryRow next;
+        try {
+            ReportResult<OwnerSummaryRow> result = reportCache.get(
+                    ReportKeys.SUMMARY,
+                    () -> resilientReportLoader.fetch(ReportKeys.SUMMARY, ownerDao::getSummary),
+                    ReportResult::isFresh
+            );
+            next = result.getValue();
+        } catch (RuntimeException ex) {
+            log.warn("Could not refresh live summary: {}", ex.getMessage());
+            return;
+        }
+        OwnerSummaryRow previous = current;
+        current = next;
+        snapshotEvent = event("summary", next);
+        if (previous == null) {
+            broadcast(snapshotEvent);
+            return;
+        }
+        Map<String, Object> delta = delta(previous, next);
+        if (!delta.isEmpty()) {
+            broadcast(event("summary-delta", delta));
+        }
+    }
+
+    private void requestRefresh() {
+        refresher.execute(this::refresh);
+    }
+
+    private void broadcast(Set<DataWithMediaType> event) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(event);
+        }
+    }
+
+    private Set<DataWithMediaType> event(String name, Object payload) {
+        return SseEmitter.event()
+                .name(name)
+                .data(jsonMapper.writeValueAsString(payload), MediaType.APPLICATION_JSON)
+                .build();
+    }
+
+    private static Map<String, Object> delta(OwnerSummaryRow previous, OwnerSummaryRow next) {
+        Map<String, Object> delta = new LinkedHashMap<>();
+        if (previous.getSalesCount() != next.getSalesCount()) {
+            delta.put("salesCount", next.getSalesCount());
+        }
+        if (!sameAmount(previous.getSalesTotal(), next.getSalesTotal())) {
+            delta.put("salesTotal", next.getSalesTotal());
+        }
+        if (previous.getRepairsCount() != next.getRepairsCount()) {
+            delta.put("repairsCount", next.getRepairsCount());
+        }
+        if (!sameAmount(previous.getRepairsTotal(), next.getRepairsTotal())) {
+            delta.put("repairsTotal", next.getRepairsTotal());
+        }
+        if (previous.getUnsoldStockCount() != next.getUnsoldStockCount()) {
+            delta.put("unsoldStockCount", next.getUnsoldStockCount());
+        }
+        return delta;
+    }
+
+    private static boolean sameAmount(BigDecimal a, BigDecimal b) {
+        return a == null || b == null ? Objects.equals(a, b) : a.compareTo(b) == 0;
+    }
+
+    /**
+     * Adjusts the sender pool by the number of threads blocked in abandoned writes.
+     *
+     * @param delta {@code 1} when a write is abandoned, {@code -1} when it returns
+     */
+    private synchronized void resizeSenders(int delta) {
+        stalledSenders += delta;
+        int size = senderThreads + stalledSenders;
+        // The maximum can never drop below the core size, so the order depends on the direction.
+        if (delta > 0) {
+            senders.setMaximumPoolSize(size);
+            senders.setCorePoolSize(size);
+        } else {
+            senders.setCorePoolSize(size);
+            senders.setMaximumPoolSize(size);
+        }
+    }
+
+    private static ThreadPoolExecutor executor(String prefix, int threads, BlockingQueue<Runnable> queue) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, queue, runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * One connected stream with its bounded queue of pending events.
+     * <p>
+     * At most one sender task drains a subscriber at a time, so events are
+     * written in order. The thread writing and the start of its write are
+     * guarded by the subscriber, so that closing it and expiring the write
+     * never interrupt the thread once it has moved on.
+     * </p>
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+        private Thread sender;
+        private long sendStartedNanos;
+        private boolean abandoned;
+
+        private Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        private void enqueue(Set<DataWithMediaType> event) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                evicted.increment();
+                log.debug("Evicting slow live summary subscriber");
+                close();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Set<DataWithMediaType> event = queue.poll();
+                if (event == null) {
+                    draining.set(false);
+                    // An event queued after the poll but before the reset would otherwise wait for the next one.
+                    if (queue.isEmpty() || !draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                if (!send(event)) {
+                    return;
+                }
+            }
+        }
+
+        private boolean send(Set<DataWithMediaType> event) {
+            synchronized (this) {
+                if (closed) {
+                    return false;
+                }
+                sender = Thread.currentThread();
+                sendStartedNanos = System.nanoTime();
+            }
+            sending.add(this);
+            boolean sent = false;
+            try {
+                emitter.send(event);
+                sent = true;
+            } catch (IOException | IllegalStateException ex) {
+                // The client went away or the stream was completed; closed below.
+            } finally {
+                sending.remove(this);
+                boolean wasAbandoned;
+                synchronized (this) {
+                    sender = null;
+                    wasAbandoned = abandoned;
+                    abandoned = false;
+                    // Clears an interrupt meant for this write, not for the next task of the thread.
+                    Thread.interrupted();
+                }
+                if (wasAbandoned) {
+                    resizeSenders(-1);
+                }
+            }
+            if (!sent || closed) {
+                close();
+                return false;
+            }
+            return true;
+        }
+
+        private void expireSend(long now) {
+            synchronized (this) {
+                if (sender == null || abandoned || now - sendStartedNanos < sendTimeoutNanos) {
+                    return;
+                }
+                abandoned = true;
+                // Grown while still holding the subscriber, so the write returning cannot shrink it first.
+                resizeSenders(1);
+            }
+            evicted.increment();
+            log.debug("Evicting live summary subscriber stalled in a write");
+            close();
+        }
+
+        private void close() {
+            boolean writing;
+            synchronized (this) {
+                closed = true;
+                writing = sender != null;
+                if (writing) {
+                    sender.interrupt();
+                }
+            }
+            subscribers.remove(this);
+            queue.clear();
+            // Completing waits for the emitter's write lock, so a write in progress completes it once it returns.
+            if (!writing) {
+                emitter.complete();
+            }
+        }
+    }
+}
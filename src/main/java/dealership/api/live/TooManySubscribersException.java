@@ -0,0 +1,16 @@
+package dealership.api.live;
+
+/**
+ * Thrown when a live stream is requested while the subscriber limit is reached.
+ */
+public class TooManySubscribersException extends RuntimeException {
+
+    /**
+     * Creates a new exception.
+     *
+     * @param limit maximum number of concurrent subscribers
+     */
+    public TooManySubscribersException(int limit) {
+        super("Live stream subscriber limit reached: " + limit);
+    }
+}
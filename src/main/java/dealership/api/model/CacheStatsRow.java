@@ -0,0 +1,95 @@
+package dealership.api.model;
+
+/**
+ * Data transfer object representing report cache statistics.
+ * <p>
+ * Counts are cumulative since application startup and are intended for
+ * monitoring how effectively the owner report cache absorbs dashboard load.
+ * </p>
+ */
+public class CacheStatsRow {
+
+    private long hits;
+    private long misses;
+    private long coalesced;
+    private int entries;
+
+    /**
+     * Default constructor.
+     * <p>
+     * Required for object instantiation and framework deserialization.
+     * </p>
+     */
+    public CacheStatsRow() {}
+
+    /**
+     * Creates a new instance with all statistics populated.
+     *
+     * @param hits requests answered from a cached result
+     * @param misses requests that triggered a database load
+     * @param coalesced requests that waited on another request's load
+     * @param entries reports currently cached or loading
+     */
+    public CacheStatsRow(long hits, long misses, long coalesced, int entries) {
+        this.hits = hits;
+        this.misses = misses;
+        this.coalesced = coalesced;
+        this.entries = entries;
+    }
+
+    /**
+     * Returns the number of cache hits.
+     *
+     * @return hit count
+     */
+    public long getHits() { return hits; }
+
+    /**
+     * Sets the number of cache hits.
+     *
+     * @param hits hit count to set
+     */
+    public void setHits(long hits) { this.hits = hits; }
+
+    /**
+     * Returns the number of cache misses.
+     *
+     * @return miss count
+     */
+    public long getMisses() { return misses; }
+
+    /**
+     * Sets the number of cache misses.
+     *
+     * @param misses miss count to set
+     */
+    public void setMisses(long misses) { this.misses = misses; }
+
+    /**
+     * Returns the number of coalesced requests.
+     *
+     * @return coalesced request count
+     */
+    public long getCoalesced() { return coalesced; }
+
+    /**
+     * Sets the number of coalesced requests.
+     *
+     * @param coalesced coalesced request count to set
+     */
+    public void setCoalesced(long coalesced) { this.coalesced = coalesced; }
+
+    /**
+     * Returns the number of cached or loading reports.
+     *
+     * @return entry count
+     */
+    public int getEntries() { return entries; }
+
+    /**
+     * Sets the number of cached or loading reports.
+     *
+     * @param entries entry count to set
+     */
+    public void setEntries(int entries) { this.entries = entries; }
+}
@@ -0,0 +1,148 @@
+package dealership.api.model;
+
+/**
+ * Data transfer object representing the statistics of one string canonicalization pool.
+ * <p>
+ * Counts are cumulative since application startup. Saved bytes estimate the
+ * heap that duplicate strings would have taken had every hit kept its own
+ * copy; the actual saving depends on how long the rows are retained.
+ * </p>
+ */
+public class CanonicalStringStatsRow {
+
+    private String name;
+    private int entries;
+    private int maxEntries;
+    private long hits;
+    private long misses;
+    private long rejected;
+    private long savedBytes;
+
+    /**
+     * Default constructor.
+     * <p>
+     * Required for object instantiation and framework deserialization.
+     * </p>
+     */
+    public CanonicalStringStatsRow() {}
+
+    /**
+     * Creates a new instance with all statistics populated.
+     *
+     * @param name pool name
+     * @param entries distinct values currently pooled
+     * @param maxEntries maximum number of pooled values
+     * @param hits lookups answered with a pooled instance
+     * @param misses lookups that added a new value
+     * @param rejected lookups of unknown values while the pool was full
+     * @param savedBytes estimated heap saved by the hits
+     */
+    public CanonicalStringStatsRow(String name, int entries, int maxEntries, long hits, long misses,
+                                   long rejected, long savedBytes) {
+        this.name = name;
+        this.entries = entries;
+        this.maxEntries = maxEntries;
+        this.hits = hits;
+        this.misses = misses;
+        this.rejected = rejected;
+        this.savedBytes = savedBytes;
+    }
+
+    /**
+     * Returns the pool name.
+     *
+     * @return pool name
+     */
+    public String getName() { return name; }
+
+    /**
+     * Sets the pool name.
+     *
+     * @param name pool name
+     */
+    public void setName(String name) { this.name = name; }
+
+    /**
+     * Returns the number of pooled values.
+     *
+     * @return distinct values currently pooled
+     */
+    public int getEntries() { return entries; }
+
+    /**
+     * Sets the number of pooled values.
+     *
+     * @param entries distinct values currently pooled
+     */
+    public void setEntries(int entries) { this.entries = entries; }
+
+    /**
+     * Returns the pool bound.
+     *
+     * @return maximum number of pooled values
+     */
+    public int getMaxEntries() { return maxEntries; }
+
+    /**
+     * Sets the pool bound.
+     *
+     * @param maxEntries maximum number of pooled values
+     */
+    public void setMaxEntries(int maxEntries) { this.maxEntries = maxEntries; }
+
+    /**
+     * Returns the number of hits.
+     *
+     * @return lookups answered with a pooled instance
+     */
+    public long getHits() { return hits; }
+
+    /**
+     * Sets the number of hits.
+     *
+     * @param hits lookups answered with a pooled instance
+     */
+    public void setHits(long hits) { this.hits = hits; }
+
+    /**
+     * Returns the number of misses.
+     *
+     * @return lookups that added a new value
+     */
+    public long getMisses() { return misses; }
+
+    /**
+     * Sets the number of misses.
+     *
+     * @param misses lookups that added a new value
+     */
+    public void setMisses(long misses) { this.misses = misses; }
+
+    /**
+     * Returns the number of rejected lookups.
+     *
+     * @return lookups of unknown values while the pool was full
+     */
+    public long getRejected() { return rejected; }
+
+    /**
+     * Sets the number of rejected lookups.
+     *
+     * @param rejected lookups of unknown values while the pool was full
+     */
+    public void setRejected(long rejected) { this.rejected = rejected; }
+
+    /**
+     * Returns the estimated saved bytes.
+     *
+     * @return estimated heap saved by the hits
+     */
+    public long getSavedBytes() { return savedBytes; }
+
+    /**
+     * Sets the estimated saved bytes.
+     *
+     * @param savedBytes estimated heap saved by the hits
+     */
+    public void setSavedBytes(long savedBytes) { this.savedBytes = savedBytes; }
+}
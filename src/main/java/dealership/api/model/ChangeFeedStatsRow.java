@@ -0,0 +1,147 @@
+package dealership.api.model;
+
+/**
+ * Data transfer object representing the state of one change feed stream.
+ * <p>
+ * A stream is one tailed table on one shard. Counts are cumulative since
+ * application startup.
+ * </p>
+ */
+public class ChangeFeedStatsRow {
+
+    private String shard;
+    private String table;
+    private String watermark;
+    private long lagMillis;
+    private long intervalMillis;
+    private long published;
+    private long failures;
+
+    /**
+     * Default constructor.
+     * <p>
+     * Required for object instantiation and framework deserialization.
+     * </p>
+     */
+    public ChangeFeedStatsRow() {}
+
+    /**
+     * Creates a new instance with all fields populated.
+     *
+     * @param shard shard holding the table
+     * @param table tailed table
+     * @param watermark {@code updated_at} of the last row published, ISO-8601, or {@code null} before the first poll
+     * @param lagMillis time since the last poll that caught up, or -1 if none has yet
+     * @param intervalMillis current delay between two polls
+     * @param published rows published since startup
+     * @param failures failed polls since startup
+     */
+    public ChangeFeedStatsRow(String shard, String table, String watermark, long lagMillis,
+                              long intervalMillis, long published, long failures) {
+        this.shard = shard;
+        this.table = table;
+        this.watermark = watermark;
+        this.lagMillis = lagMillis;
+        this.intervalMillis = intervalMillis;
+        this.published = published;
+        this.failures = failures;
+    }
+
+    /**
+     * Returns the shard name.
+     *
+     * @return shard name
+     */
+    public String getShard() { return shard; }
+
+    /**
+     * Sets the shard name.
+     *
+     * @param shard shard name to set
+     */
+    public void setShard(String shard) { this.shard = shard; }
+
+    /**
+     * Returns the table name.
+     *
+     * @return table name
+     */
+    public String getTable() { return table; }
+
+    /**
+     * Sets the table name.
+     *
+     * @param table table name to set
+     */
+    public void setTable(String table) { this.table = table; }
+
+    /**
+     * Returns the watermark.
+     *
+     * @return watermark timestamp
+     */
+    public String getWatermark() { return watermark; }
+
+    /**
+     * Sets the watermark.
+     *
+     * @param watermark watermark timestamp to set
+     */
+    public void setWatermark(String watermark) { this.watermark = watermark; }
+
+    /**
+     * Returns the lag in milliseconds.
+     *
+     * @return lag in milliseconds
+     */
+    public long getLagMillis() { return lagMillis; }
+
+    /**
+     * Sets the lag in milliseconds.
+     *
+     * @param lagMillis lag in milliseconds to set
+     */
+    public void setLagMillis(long lagMillis) { this.lagMillis = lagMillis; }
+
+    /**
+     * Returns the current poll interval.
+     *
+     * @return poll interval in milliseconds
+     */
+    public long getIntervalMillis() { return intervalMillis; }
+
+    /**
+     * Sets the current poll interval.
+     *
+     * @param intervalMillis poll interval in milliseconds to set
+     */
+    public void setIntervalMillis(long intervalMillis) { this.intervalMillis = intervalMillis; }
+
+    /**
+     * Returns the number of published rows.
+     *
+     * @return published row count
+     */
+    public long getPublished() { return published; }
+
+    /**
+     * Sets the number of published rows.
+     *
+     * @param published published row count to set
+     */
+    public void setPublished(long published) { this.published = published; }
+
+    /**
+     * Returns the number of failed polls.
+     *
+     * @return failed poll count
+     */
+    public long getFailures() { return failures; }
+
+    /**
+     * Sets the number of failed polls.
+     *
+     * @param failures failed poll count to set
+     */
+    public void setFailures(long failures) { this.failures = failures; }
+}
@@ -0,0 +1,81 @@
+package dealership.api.model;
+
+import dealership.api.json.ProjectedRows;
+
+import java.util.List;
+
+/**
+ * Dictionary-encoded user listing returned by {@code GET /api/owner/users?shape=compact}.
+ * <p>
+ * Instead of repeating the dealership and role names on every user, the
+ * names are listed once, for the identifiers referenced by the users only,
+ * and the users carry just the identifiers. A dictionary is empty when the
+ * matching name was not selected through the {@code fields} parameter.
+ * </p>
+ */
+public class CompactUsersResponse {
+
+    private List<IdNameRow> dealerships;
+    private List<IdNameRow> roles;
+    private ProjectedRows<UserRow> users;
+
+    /**
+     * Default constructor.
+     */
+    public CompactUsersResponse() {}
+
+    /**
+     * Creates a new response.
+     *
+     * @param dealerships dealerships referenced by the users
+     * @param roles roles referenced by the users
+     * @param users users, written with identifiers in place of names
+     */
+    public CompactUsersResponse(List<IdNameRow> dealerships, List<IdNameRow> roles, ProjectedRows<UserRow> users) {
+        this.dealerships = dealerships;
+        this.roles = roles;
+        this.users = users;
+    }
+
+    /**
+     * Returns the dealerships referenced by the users.
+     *
+     * @return dealership identifier and name rows
+     */
+    public List<IdNameRow> getDealerships() { return dealerships; }
+
+    /**
+     * Sets the dealerships referenced by the users.
+     *
+     * @param dealerships dealership identifier and name rows
+     */
+    public void setDealerships(List<IdNameRow> dealerships) { this.dealerships = dealerships; }
+
+    /**
+     * Returns the roles referenced by the users.
+     *
+     * @return role identifier and name rows
+     */
+    public List<IdNameRow> getRoles() { return roles; }
+
+    /**
+     * Sets the roles referenced by the users.
+     *
+     * @param roles role identifier and name rows
+     */
+    public void setRoles(List<IdNameRow> roles) { this.roles = roles; }
+
+    /**
+     * Returns the users.
+     *
+     * @return users, written with identifiers in place of names
+     */
+    public ProjectedRows<UserRow> getUsers() { return users; }
+
+    /**
+     * Sets the users.
+     *
+     * @param users users, written with identifiers in place of names
+     */
+    public void setUsers(ProjectedRows<UserRow> users) { this.users = users; }
+}
@@ -0,0 +1,219 @@
+package dealership.api.model;
+
+/**
+ * Data transfer object representing the cost of one endpoint or DAO method.
+ * <p>
+ * Allocation and CPU time are measured on the thread serving the call and
+ * are cumulative since application startup. The {@code dao*} fields are only
+ * filled in for endpoints: they give the share of a request spent inside
+ * DAO calls on its own thread.
+ * </p>
+ */
+public class CostStatsRow {
+
+    private String name;
+    private long calls;
+    private long avgLatencyMicros;
+    private long maxLatencyMicros;
+    private long allocatedBytesPerCall;
+    private long cpuMicrosPerCall;
+    private long totalAllocatedBytes;
+    private long totalCpuMillis;
+    private double daoCallsPerCall;
+    private long daoAllocatedBytesPerCall;
+    private long daoCpuMicrosPerCall;
+
+    /**
+     * Default constructor.
+     * <p>
+     * Required for object instantiation and framework deserialization.
+     * </p>
+     */
+    public CostStatsRow() {}
+
+    /**
+     * Creates a new instance with all fields populated.
+     *
+     * @param name endpoint or DAO method
+     * @param calls calls recorded since startup
+     * @param avgLatencyMicros mean wall-clock time of a call in microseconds
+     * @param maxLatencyMicros longest wall-clock time of a call in microseconds
+     * @param allocatedBytesPerCall mean heap bytes allocated by a call
+     * @param cpuMicrosPerCall mean CPU time of a call in microseconds
+     * @param totalAllocatedBytes heap bytes allocated by all calls
+     * @param totalCpuMillis CPU time of all calls in milliseconds
+     * @param daoCallsPerCall mean number of DAO calls made on the request thread
+     * @param daoAllocatedBytesPerCall mean heap bytes allocated inside those DAO calls
+     * @param daoCpuMicrosPerCall mean CPU time of those DAO calls in microseconds
+     */
+    public CostStatsRow(String name, long calls, long avgLatencyMicros, long maxLatencyMicros,
+                        long allocatedBytesPerCall, long cpuMicrosPerCall, long totalAllocatedBytes,
+                        long totalCpuMillis, double daoCallsPerCall, long daoAllocatedBytesPerCall,
+                        long daoCpuMicrosPerCall) {
+        this.name = name;
+        this.calls = calls;
+        this.avgLatencyMicros = avgLatencyMicros;
+        this.maxLatencyMicros = maxLatencyMicros;
+        this.allocatedBytesPerCall = allocatedBytesPerCall;
+        this.cpuMicrosPerCall = cpuMicrosPerCall;
+        this.totalAllocatedBytes = totalAllocatedBytes;
+        this.totalCpuMillis = totalCpuMillis;
+        this.daoCallsPerCall = daoCallsPerCall;
+        this.daoAllocatedBytesPerCall = daoAllocatedBytesPerCall;
+        this.daoCpuMicrosPerCall = daoCpuMicrosPerCall;
+    }
+
+    /**
+     * Returns the name.
+     *
+     * @return endpoint or DAO method
+     */
+    public String getName() { return name; }
+
+    /**
+     * Sets the name.
+     *
+     * @param name endpoint or DAO method
+     */
+    public void setName(String name) { this.name = name; }
+
+    /**
+     * Returns the call count.
+     *
+     * @return calls recorded since startup
+     */
+    public long getCalls() { return calls; }
+
+    /**
+     * Sets the call count.
+     *
+     * @param calls calls recorded since startup
+     */
+    public void setCalls(long calls) { this.calls = calls; }
+
+    /**
+     * Returns the mean latency.
+     *
+     * @return mean wall-clock time of a call in microseconds
+     */
+    public long getAvgLatencyMicros() { return avgLatencyMicros; }
+
+    /**
+     * Sets the mean latency.
+     *
+     * @param avgLatencyMicros mean wall-clock time of a call in microseconds
+     */
+    public void setAvgLatencyMicros(long avgLatencyMicros) { this.avgLatencyMicros = avgLatencyMicros; }
+
+    /**
+     * Returns the maximum latency.
+     *
+     * @return longest wall-clock time of a call in microseconds
+     */
+    public long getMaxLatencyMicros() { return maxLatencyMicros; }
+
+    /**
+     * Sets the maximum latency.
+     *
+     * @param maxLatencyMicros longest wall-clock time of a call in microseconds
+     */
+    public void setMaxLatencyMicros(long maxLatencyMicros) { this.maxLatencyMicros = maxLatencyMicros; }
+
+    /**
+     * Returns the allocation per call.
+     *
+     * @return mean heap bytes allocated by a call
+     */
+    public long getAllocatedBytesPerCall() { return allocatedBytesPerCall; }
+
+    /**
+     * Sets the allocation per call.
+     *
+     * @param allocatedBytesPerCall mean heap bytes allocated by a call
+     */
+    public void setAllocatedBytesPerCall(long allocatedBytesPerCall) { this.allocatedBytesPerCall = allocatedBytesPerCall; }
+
+    /**
+     * Returns the CPU time per call.
+     *
+     * @return mean CPU time of a call in microseconds
+     */
+    public long getCpuMicrosPerCall() { return cpuMicrosPerCall; }
+
+    /**
+     * Sets the CPU time per call.
+     *
+     * @param cpuMicrosPerCall mean CPU time of a call in microseconds
+     */
+    public void setCpuMicrosPerCall(long cpuMicrosPerCall) { this.cpuMicrosPerCall = cpuMicrosPerCall; }
+
+    /**
+     * Returns the total allocation.
+     *
+     * @return heap bytes allocated by all calls
+     */
+    public long getTotalAllocatedBytes() { return totalAllocatedBytes; }
+
+    /**
+     * Sets the total allocation.
+     *
+     * @param totalAllocatedBytes heap bytes allocated by all calls
+     */
+    public void setTotalAllocatedBytes(long totalAllocatedBytes) { this.totalAllocatedBytes = totalAllocatedBytes; }
+
+    /**
+     * Returns the total CPU time.
+     *
+     * @return CPU time of all calls in milliseconds
+     */
+    public long getTotalCpuMillis() { return totalCpuMillis; }
+
+    /**
+     * Sets the total CPU time.
+     *
+     * @param totalCpuMillis CPU time of all calls in milliseconds
+     */
+    public void setTotalCpuMillis(long totalCpuMillis) { this.totalCpuMillis = totalCpuMillis; }
+
+    /**
+     * Returns the DAO calls per request.
+     *
+     * @return mean number of DAO calls made on the request thread
+     */
+    public double getDaoCallsPerCall() { return daoCallsPerCall; }
+
+    /**
+     * Sets the DAO calls per request.
+     *
+     * @param daoCallsPerCall mean number of DAO calls made on the request thread
+     */
+    public void setDaoCallsPerCall(double daoCallsPerCall) { this.daoCallsPerCall = daoCallsPerCall; }
+
+    /**
+     * Returns the DAO allocation per request.
+     *
+     * @return mean heap bytes allocated inside those DAO calls
+     */
+    public long getDaoAllocatedBytesPerCall() { return daoAllocatedBytesPerCall; }
+
+    /**
+     * Sets the DAO allocation per request.
+     *
+     * @param daoAllocatedBytesPerCall mean heap bytes allocated inside those DAO calls
+     */
+    public void setDaoAllocatedBytesPerCall(long daoAllocatedBytesPerCall) { this.daoAllocatedBytesPerCall = daoAllocatedBytesPerCall; }
+
+    /**
+     * Returns the DAO CPU time per request.
+     *
+     * @return mean CPU time of those DAO calls in microseconds
+     */
+    public long getDaoCpuMicrosPerCall() { return daoCpuMicrosPerCall; }
+
+    /**
+     * Sets the DAO CPU time per request.
+     *
+     * @param daoCpuMicrosPerCall mean CPU time of those DAO calls in microseconds
+     */
+    public void setDaoCpuMicrosPerCall(long daoCpuMicrosPerCall) { this.daoCpuMicrosPerCall = daoCpuMicrosPerCall; }
+}
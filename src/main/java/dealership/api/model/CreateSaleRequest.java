@@ -0,0 +1,80 @@
+package dealership.api.model;
+
+import java.math.BigDecimal;
+
+/**
+ * One sale posted through the batched sale recording endpoint.
+ * <p>
+ * Recording the sale also marks the vehicle as sold, so every vehicle may
+ * appear at most once per batch.
+ * </p>
+ */
+public class CreateSaleRequest {
+
+    private int vehicleId;
+    private int sellerUserId;
+    private BigDecimal price;
+
+    /**
+     * Default constructor.
+     * <p>
+     * Required for object instantiation and request body deserialization.
+     * </p>
+     */
+    public CreateSaleRequest() {}
+
+    /**
+     * Creates a new sale request.
+     *
+     * @param vehicleId vehicle sold
+     * @param sellerUserId user who sold the vehicle
+     * @param price sale price
+     */
+    public CreateSaleRequest(int vehicleId, int sellerUserId, BigDecimal price) {
+        this.vehicleId = vehicleId;
+        this.sellerUserId = sellerUserId;
+        this.price = price;
+    }
+
+    /**
+     * Returns the vehicle sold.
+     *
+     * @return vehicle identifier
+     */
+    public int getVehicleId() { return vehicleId; }
+
+    /**
+     * Sets the vehicle sold.
+     *
+     * @param vehicleId vehicle identifier
+     */
+    public void setVehicleId(int vehicleId) { this.vehicleId = vehicleId; }
+
+    /**
+     * Returns the user who sold the vehicle.
+     *
+     * @return seller user identifier
+     */
+    public int getSellerUserId() { return sellerUserId; }
+
+    /**
+     * Sets the user who sold the vehicle.
+     *
+     * @param sellerUserId seller user identifier
+     */
+    public void setSellerUserId(int sellerUserId) { this.sellerUserId = sellerUserId; }
+
+    /**
+     * Returns the sale price.
+     *
+     * @return sale price
+     */
+    public BigDecimal getPrice() { return price; }
+
+    /**
+     * Sets the sale price.
+     *
+     * @param price sale price
+     */
+    public void setPrice(BigDecimal price) { this.price = price; }
+}
@@ -0,0 +1,133 @@
+package dealership.api.model;
+
+import java.util.List;
+
+/**
+ * Data transfer object representing the result of the background database probe.
+ * <p>
+ * Latency is the round trip of the last {@code SELECT 1}, including the
+ * connection checkout from the pool. Pool figures are read when the
+ * snapshot is requested.
+ * </p>
+ */
+public class DbHealthRow {
+
+    private String status;
+    private long latencyMicros;
+    private long checkedAt;
+    private long ageMillis;
+    private String error;
+    private List<PoolHealthRow> pools;
+
+    /**
+     * Default constructor.
+     * <p>
+     * Required for object instantiation and framework deserialization.
+     * </p>
+     */
+    public DbHealthRow() {}
+
+    /**
+     * Creates a new instance with all fields populated.
+     *
+     * @param status UP, DOWN or UNKNOWN
+     * @param latencyMicros round-trip latency of the last probe in microseconds
+     * @param checkedAt epoch milliseconds of the last probe
+     * @param ageMillis age of the last probe in milliseconds
+     * @param error failure reason, or {@code null} when healthy
+     * @param pools saturation of each connection pool
+     */
+    public DbHealthRow(String status, long latencyMicros, long checkedAt, long ageMillis,
+                       String error, List<PoolHealthRow> pools) {
+        this.status = status;
+        this.latencyMicros = latencyMicros;
+        this.checkedAt = checkedAt;
+        this.ageMillis = ageMillis;
+        this.error = error;
+        this.pools = pools;
+    }
+
+    /**
+     * Returns the database status.
+     *
+     * @return UP, DOWN or UNKNOWN
+     */
+    public String getStatus() { return status; }
+
+    /**
+     * Sets the database status.
+     *
+     * @param status UP, DOWN or UNKNOWN
+     */
+    public void setStatus(String status) { this.status = status; }
+
+    /**
+     * Returns the round-trip latency of the last probe.
+     *
+     * @return latency in microseconds
+     */
+    public long getLatencyMicros() { return latencyMicros; }
+
+    /**
+     * Sets the round-trip latency of the last probe.
+     *
+     * @param latencyMicros latency in microseconds
+     */
+    public void setLatencyMicros(long latencyMicros) { this.latencyMicros = latencyMicros; }
+
+    /**
+     * Returns the time of the last probe.
+     *
+     * @return epoch milliseconds
+     */
+    public long getCheckedAt() { return checkedAt; }
+
+    /**
+     * Sets the time of the last probe.
+     *
+     * @param checkedAt epoch milliseconds
+     */
+    public void setCheckedAt(long checkedAt) { this.checkedAt = checkedAt; }
+
+    /**
+     * Returns the age of the last probe.
+     *
+     * @return age in milliseconds
+     */
+    public long getAgeMillis() { return ageMillis; }
+
+    /**
+     * Sets the age of the last probe.
+     *
+     * @param ageMillis age in milliseconds
+     */
+    public void setAgeMillis(long ageMillis) { this.ageMillis = ageMillis; }
+
+    /**
+     * Returns the failure reason.
+     *
+     * @return error message, or {@code null} when healthy
+     */
+    public String getError() { return error; }
+
+    /**
+     * Sets the failure reason.
+     *
+     * @param error error message
+     */
+    public void setError(String error) { this.error = error; }
+
+    /**
+     * Returns the saturation of each connection pool.
+     *
+     * @return pool figures
+     */
+    public List<PoolHealthRow> getPools() { return pools; }
+
+    /**
+     * Sets the saturation of each connection pool.
+     *
+     * @param pools pool figures
+     */
+    public void setPools(List<PoolHealthRow> pools) { this.pools = pools; }
+}
@@ -0,0 +1,113 @@
+package dealership.api.model;
+
+/**
+ * Data transfer object describing the on-demand flight recording.
+ * <p>
+ * {@code state} is {@code NONE} before the first recording, then the JFR
+ * recording state ({@code RUNNING}, {@code STOPPED}, ...).
+ * </p>
+ */
+public class JfrRecordingRow {
+
+    private String state;
+    private String startedAt;
+    private long maxDurationSeconds;
+    private long maxSizeBytes;
+    private long sizeBytes;
+
+    /**
+     * Default constructor.
+     * <p>
+     * Required for object instantiation and framework deserialization.
+     * </p>
+     */
+    public JfrRecordingRow() {}
+
+    /**
+     * Creates a new instance with all fields populated.
+     *
+     * @param state recording state
+     * @param startedAt ISO-8601 start time, or {@code null} if never started
+     * @param maxDurationSeconds time after which the recording stops by itself
+     * @param maxSizeBytes size at which the oldest recorded data is discarded
+     * @param sizeBytes bytes recorded so far
+     */
+    public JfrRecordingRow(String state, String startedAt, long maxDurationSeconds, long maxSizeBytes,
+                           long sizeBytes) {
+        this.state = state;
+        this.startedAt = startedAt;
+        this.maxDurationSeconds = maxDurationSeconds;
+        this.maxSizeBytes = maxSizeBytes;
+        this.sizeBytes = sizeBytes;
+    }
+
+    /**
+     * Returns the recording state.
+     *
+     * @return state name
+     */
+    public String getState() { return state; }
+
+    /**
+     * Sets the recording state.
+     *
+     * @param state state name to set
+     */
+    public void setState(String state) { this.state = state; }
+
+    /**
+     * Returns when the recording started.
+     *
+     * @return ISO-8601 start time, or {@code null}
+     */
+    public String getStartedAt() { return startedAt; }
+
+    /**
+     * Sets when the recording started.
+     *
+     * @param startedAt ISO-8601 start time to set
+     */
+    public void setStartedAt(String startedAt) { this.startedAt = startedAt; }
+
+    /**
+     * Returns the time after which the recording stops by itself.
+     *
+     * @return maximum duration in seconds
+     */
+    public long getMaxDurationSeconds() { return maxDurationSeconds; }
+
+    /**
+     * Sets the time after which the recording stops by itself.
+     *
+     * @param maxDurationSeconds maximum duration in seconds to set
+     */
+    public void setMaxDurationSeconds(long maxDurationSeconds) { this.maxDurationSeconds = maxDurationSeconds; }
+
+    /**
+     * Returns the size at which the oldest recorded data is discarded.
+     *
+     * @return maximum size in bytes
+     */
+    public long getMaxSizeBytes() { return maxSizeBytes; }
+
+    /**
+     * Sets the size at which the oldest recorded data is discarded.
+     *
+     * @param maxSizeBytes maximum size in bytes to set
+     */
+    public void setMaxSizeBytes(long maxSizeBytes) { this.maxSizeBytes = maxSizeBytes; }
+
+    /**
+     * Returns the bytes recorded so far.
+     *
+     * @return recorded size in bytes
+     */
+    public long getSizeBytes() { return sizeBytes; }
+
+    /**
+     * Sets the bytes recorded so far.
+     *
+     * @param sizeBytes recorded size in bytes to set
+     */
+    public void setSizeBytes(long sizeBytes) { this.sizeBytes = sizeBytes; }
+}
@@ -0,0 +1,129 @@
+package dealership.api.model;
+
+/**
+ * Data transfer object representing the saturation of a connection pool.
+ * <p>
+ * A pool with threads waiting for a connection, or with all of its maximum
+ * connections active, cannot absorb more load without queueing requests.
+ * </p>
+ */
+public class PoolHealthRow {
+
+    private String pool;
+    private int active;
+    private int idle;
+    private int total;
+    private int waiting;
+    private int max;
+
+    /**
+     * Default constructor.
+     * <p>
+     * Required for object instantiation and framework deserialization.
+     * </p>
+     */
+    public PoolHealthRow() {}
+
+    /**
+     * Creates a new instance with all figures populated.
+     *
+     * @param pool pool name
+     * @param active connections currently borrowed
+     * @param idle connections available in the pool
+     * @param total connections currently open
+     * @param waiting threads waiting for a connection
+     * @param max maximum pool size
+     */
+    public PoolHealthRow(String pool, int active, int idle, int total, int waiting, int max) {
+        this.pool = pool;
+        this.active = active;
+        this.idle = idle;
+        this.total = total;
+        this.waiting = waiting;
+        this.max = max;
+    }
+
+    /**
+     * Returns the pool name.
+     *
+     * @return pool name
+     */
+    public String getPool() { return pool; }
+
+    /**
+     * Sets the pool name.
+     *
+     * @param pool pool name
+     */
+    public void setPool(String pool) { this.pool = pool; }
+
+    /**
+     * Returns the number of borrowed connections.
+     *
+     * @return active connection count
+     */
+    public int getActive() { return active; }
+
+    /**
+     * Sets the number of borrowed connections.
+     *
+     * @param active active connection count
+     */
+    public void setActive(int active) { this.active = active; }
+
+    /**
+     * Returns the number of idle connections.
+     *
+     * @return idle connection count
+     */
+    public int getIdle() { return idle; }
+
+    /**
+     * Sets the number of idle connections.
+     *
+     * @param idle idle connection count
+     */
+    public void setIdle(int idle) { this.idle = idle; }
+
+    /**
+     * Returns the number of open connections.
+     *
+     * @return total connection count
+     */
+    public int getTotal() { return total; }
+
+    /**
+     * Sets the number of open connections.
+     *
+     * @param total total connection count
+     */
+    public void setTotal(int total) { this.total = total; }
+
+    /**
+     * Returns the number of threads waiting for a connection.
+     *
+     * @return waiting thread count
+     */
+    public int getWaiting() { return waiting; }
+
+    /**
+     * Sets the number of threads waiting for a connection.
+     *
+     * @param waiting waiting thread count
+     */
+    public void setWaiting(int waiting) { this.waiting = waiting; }
+
+    /**
+     * Returns the maximum pool size.
+     *
+     * @return maximum pool size
+     */
+    public int getMax() { return max; }
+
+    /**
+     * Sets the maximum pool size.
+     *
+     * @param max maximum pool size
+     */
+    public void setMax(int max) { this.max = max; }
+}
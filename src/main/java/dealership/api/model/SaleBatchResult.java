@@ -0,0 +1,98 @@
+package dealership.api.model;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Outcome of a batched sale recording.
+ * <p>
+ * Every requested sale is either recorded or a conflict: its vehicle had
+ * already been sold.
+ * </p>
+ */
+public class SaleBatchResult {
+
+    private int requested;
+    private int recorded;
+    private BigDecimal recordedTotal;
+    private List<Integer> conflicts;
+
+    /**
+     * Default constructor.
+     * <p>
+     * Required for object instantiation and framework deserialization.
+     * </p>
+     */
+    public SaleBatchResult() {}
+
+    /**
+     * Creates a new result.
+     *
+     * @param requested number of sales requested
+     * @param recorded number of sales inserted
+     * @param recordedTotal sum of the prices of the inserted sales
+     * @param conflicts vehicles that were already sold
+     */
+    public SaleBatchResult(int requested, int recorded, BigDecimal recordedTotal, List<Integer> conflicts) {
+        this.requested = requested;
+        this.recorded = recorded;
+        this.recordedTotal = recordedTotal;
+        this.conflicts = conflicts;
+    }
+
+    /**
+     * Returns the number of sales requested.
+     *
+     * @return number of sales requested
+     */
+    public int getRequested() { return requested; }
+
+    /**
+     * Sets the number of sales requested.
+     *
+     * @param requested number of sales requested
+     */
+    public void setRequested(int requested) { this.requested = requested; }
+
+    /**
+     * Returns the number of sales inserted.
+     *
+     * @return number of sales inserted
+     */
+    public int getRecorded() { return recorded; }
+
+    /**
+     * Sets the number of sales inserted.
+     *
+     * @param recorded number of sales inserted
+     */
+    public void setRecorded(int recorded) { this.recorded = recorded; }
+
+    /**
+     * Returns the sum of the prices of the inserted sales.
+     *
+     * @return total price of the inserted sales
+     */
+    public BigDecimal getRecordedTotal() { return recordedTotal; }
+
+    /**
+     * Sets the sum of the prices of the inserted sales.
+     *
+     * @param recordedTotal total price of the inserted sales
+     */
+    public void setRecordedTotal(BigDecimal recordedTotal) { this.recordedTotal = recordedTotal; }
+
+    /**
+     * Returns the vehicles that were already sold.
+     *
+     * @return vehicles that were already sold
+     */
+    public List<Integer> getConflicts() { return conflicts; }
+
+    /**
+     * Sets the vehicles that were already sold.
+     *
+     * @param conflicts vehicles that were already sold
+     */
+    public void setConflicts(List<Integer> conflicts) { this.conflicts = conflicts; }
+}
@@ -0,0 +1,79 @@
+package dealership.api.model;
+
+/**
+ * One vehicle status change requested through the bulk status transition endpoint.
+ * <p>
+ * The change is optimistic: it only applies while the vehicle is still in
+ * {@code fromStatus}, so a vehicle changed concurrently by someone else is
+ * reported as a conflict instead of being overwritten.
+ * </p>
+ */
+public class VehicleStatusTransition {
+
+    private int vehicleId;
+    private String fromStatus;
+    private String toStatus;
+
+    /**
+     * Default constructor.
+     * <p>
+     * Required for object instantiation and framework deserialization.
+     * </p>
+     */
+    public VehicleStatusTransition() {}
+
+    /**
+     * Creates a new transition.
+     *
+     * @param vehicleId vehicle identifier
+     * @param fromStatus status the vehicle is expected to have
+     * @param toStatus status to move the vehicle to
+     */
+    public VehicleStatusTransition(int vehicleId, String fromStatus, String toStatus) {
+        this.vehicleId = vehicleId;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+    }
+
+    /**
+     * Returns the vehicle identifier.
+     *
+     * @return vehicle identifier
+     */
+    public int getVehicleId() { return vehicleId; }
+
+    /**
+     * Sets the vehicle identifier.
+     *
+     * @param vehicleId vehicle identifier
+     */
+    public void setVehicleId(int vehicleId) { this.vehicleId = vehicleId; }
+
+    /**
+     * Returns the expected current status.
+     *
+     * @return status the vehicle is expected to have
+     */
+    public String getFromStatus() { return fromStatus; }
+
+    /**
+     * Sets the expected current status.
+     *
+     * @param fromStatus status the vehicle is expected to have
+     */
+    public void setFromStatus(String fromStatus) { this.fromStatus = fromStatus; }
+
+    /**
+     * Returns the target status.
+     *
+     * @return status to move the vehicle to
+     */
+    public String getToStatus() { return toStatus; }
+
+    /**
+     * Sets the target status.
+     *
+     * @param toStatus status to move the vehicle to
+     */
+    public void setToStatus(String toStatus) { this.toStatus = toStatus; }
+}
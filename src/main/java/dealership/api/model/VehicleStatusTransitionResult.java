@@ -0,0 +1,97 @@
+package dealership.api.model;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk vehicle status transition.
+ * <p>
+ * Every requested vehicle is either applied, not found, or a conflict:
+ * found but no longer in the expected status.
+ * </p>
+ */
+public class VehicleStatusTransitionResult {
+
+    private int requested;
+    private int applied;
+    private List<Integer> notFound;
+    private List<Integer> conflicts;
+
+    /**
+     * Default constructor.
+     * <p>
+     * Required for object instantiation and framework deserialization.
+     * </p>
+     */
+    public VehicleStatusTransitionResult() {}
+
+    /**
+     * Creates a new result.
+     *
+     * @param requested number of transitions requested
+     * @param applied number of vehicles whose status was changed
+     * @param notFound vehicles that do not exist
+     * @param conflicts vehicles that were not in the expected status
+     */
+    public VehicleStatusTransitionResult(int requested, int applied, List<Integer> notFound, List<Integer> conflicts) {
+        this.requested = requested;
+        this.applied = applied;
+        this.notFound = notFound;
+        this.conflicts = conflicts;
+    }
+
+    /**
+     * Returns the number of transitions requested.
+     *
+     * @return number of transitions requested
+     */
+    public int getRequested() { return requested; }
+
+    /**
+     * Sets the number of transitions requested.
+     *
+     * @param requested number of transitions requested
+     */
+    public void setRequested(int requested) { this.requested = requested; }
+
+    /**
+     * Returns the number of vehicles changed.
+     *
+     * @return number of vehicles whose status was changed
+     */
+    public int getApplied() { return applied; }
+
+    /**
+     * Sets the number of vehicles changed.
+     *
+     * @param applied number of vehicles whose status was changed
+     */
+    public void setApplied(int applied) { this.applied = applied; }
+
+    /**
+     * Returns the vehicles that do not exist.
+     *
+     * @return vehicles that do not exist
+     */
+    public List<Integer> getNotFound() { return notFound; }
+
+    /**
+     * Sets the vehicles that do not exist.
+     *
+     * @param notFound vehicles that do not exist
+     */
+    public void setNotFound(List<Integer> notFound) { this.notFound = notFound; }
+
+    /**
+     * Returns the vehicles that were not in the expected status.
+     *
+     * @return vehicles that were not in the expected status
+     */
+    public List<Integer> getConflicts() { return conflicts; }
+
+    /**
+     * Sets the vehicles that were not in the expected status.
+     *
+     * @param conflicts vehicles that were not in the expected status
+     */
+    public void setConflicts(List<Integer> conflicts) { this.conflicts = conflicts; }
+}
@@ -0,0 +1,65 @@
+package dealership.api.projection;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Function;
+
+/**
+ * Parses and formats the comma-separated {@code fields} request parameter.
+ */
+final class FieldSelection {
+
+    private FieldSelection() {
+    }
+
+    /**
+     * Parses a field list against the fields of one row type.
+     *
+     * @param fields comma-separated JSON property names; {@code null} or blank selects every field
+     * @param type enum listing the fields of the row type
+     * @param jsonName JSON property name of each field
+     * @param <E> field enum type
+     * @return the selected fields
+     * @throws UnknownFieldException if a name does not match any field
+     */
+    static <E extends Enum<E>> EnumSet<E> parse(String fields, Class<E> type, Function<E, String> jsonName) {
+        if (fields == null || fields.isBlank()) {
+            return EnumSet.allOf(type);
+        }
+        EnumSet<E> selected = EnumSet.noneOf(type);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            selected.add(find(trimmed, type, jsonName));
+        }
+        return selected.isEmpty() ? EnumSet.allOf(type) : selected;
+    }
+
+    /**
+     * Formats a selection in canonical order, for use in cache keys.
+     *
+     * @param fields selected fields
+     * @param jsonName JSON property name of each field
+     * @param <E> field enum type
+     * @return comma-separated property names in declaration order
+     */
+    static <E extends Enum<E>> String format(Set<E> fields, Function<E, String> jsonName) {
+        StringJoiner joiner = new StringJoiner(",");
+        for (E field : EnumSet.copyOf(fields)) {
+            joiner.add(jsonName.apply(field));
+        }
+        return joiner.toString();
+    }
+
+    private static <E extends Enum<E>> E find(String name, Class<E> type, Function<E, String> jsonName) {
+        for (E field : type.getEnumConstants()) {
+            if (jsonName.apply(field).equals(name)) {
+                return field;
+            }
+        }
+        throw new UnknownFieldException(name);
+    }
+}
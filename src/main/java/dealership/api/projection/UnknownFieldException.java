@@ -0,0 +1,16 @@
+package dealership.api.projection;
+
+/**
+ * Thrown when a {@code fields} parameter names a field the endpoint does not have.
+ */
+public class UnknownFieldException extends IllegalArgumentException {
+
+    /**
+     * Creates a new exception.
+     *
+     * @param field the unknown field name
+     */
+    public UnknownFieldException(String field) {
+        super("Unknown field: " + field);
+    }
+}
@@ -0,0 +1,57 @@
+package dealership.api.projection;
+
+import java.util.EnumSet;
+
+/**
+ * Fields of {@link dealership.api.model.UserRow} selectable through the {@code fields} parameter.
+ * <p>
+ * Declaration order is the JSON property order. The dealership and role
+ * names are the only fields not read from the {@code user} table; they are
+ * resolved from {@link dealership.api.cache.ReferenceDataCache}.
+ * </p>
+ */
+public enum UserField {
+
+    /** User identifier. */
+    ID("id"),
+    /** Dealership identifier. */
+    DEALERSHIP_ID("dealershipId"),
+    /** Dealership name, resolved from the cached {@code dealership} names. */
+    DEALERSHIP_NAME("dealershipName"),
+    /** Role identifier. */
+    ROLE_ID("roleId"),
+    /** Role name, resolved from the cached {@code role} names. */
+    ROLE_NAME("roleName"),
+    /** Login name. */
+    USERNAME("username"),
+    /** Display name. */
+    FULL_NAME("fullName"),
+    /** Whether the user is active. */
+    ACTIVE("active");
+
+    private final String jsonName;
+
+    UserField(String jsonName) {
+        this.jsonName = jsonName;
+    }
+
+    /**
+     * Returns the JSON property name of the field.
+     *
+     * @return property name
+     */
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    /**
+     * Parses a {@code fields} parameter.
+     *
+     * @param fields comma-separated property names; {@code null} or blank selects every field
+     * @return the selected fields
+     * @throws UnknownFieldException if a name does not match any field
+     */
+    public static EnumSet<UserField> parse(String fields) {
+        return FieldSelection.parse(fields, UserField.class, UserField::getJsonName);
+    }
+}
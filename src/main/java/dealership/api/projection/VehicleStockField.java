@@ -0,0 +1,64 @@
+package dealership.api.projection;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Fields of {@link dealership.api.model.VehicleStockRow} selectable through the {@code fields} parameter.
+ * <p>
+ * Declaration order is the JSON property order.
+ * </p>
+ */
+public enum VehicleStockField {
+
+    /** Vehicle identifier. */
+    ID("id"),
+    /** License plate. */
+    PLATE("plate"),
+    /** Brand. */
+    BRAND("brand"),
+    /** Model. */
+    MODEL("model"),
+    /** Manufacturing year. */
+    YEAR("year"),
+    /** Mileage. */
+    MILEAGE("mileage"),
+    /** Stock status. */
+    STATUS("status");
+
+    private final String jsonName;
+
+    VehicleStockField(String jsonName) {
+        this.jsonName = jsonName;
+    }
+
+    /**
+     * Returns the JSON property name of the field.
+     *
+     * @return property name
+     */
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    /**
+     * Parses a {@code fields} parameter.
+     *
+     * @param fields comma-separated property names; {@code null} or blank selects every field
+     * @return the selected fields
+     * @throws UnknownFieldException if a name does not match any field
+     */
+    public static EnumSet<VehicleStockField> parse(String fields) {
+        return FieldSelection.parse(fields, VehicleStockField.class, VehicleStockField::getJsonName);
+    }
+
+    /**
+     * Formats a selection in canonical order.
+     *
+     * @param fields selected fields
+     * @return comma-separated property names in declaration order
+     */
+    public static String format(Set<VehicleStockField> fields) {
+        return FieldSelection.format(fields, VehicleStockField::getJsonName);
+    }
+}
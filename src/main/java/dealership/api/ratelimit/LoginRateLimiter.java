@@ -0,0 +1,96 @@
+package dealership.api.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Admission control for login attempts.
+ * <p>
+ * Two independent token buckets protect the login endpoint: one per client IP,
+ * limiting how fast a single source can try credentials, and one per username,
+ * limiting how fast a single account can be attacked from many sources. Both
+ * checks are in-memory and run before any database lookup or BCrypt work.
+ * </p>
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final TokenBucketLimiter byIp;
+    private final TokenBucketLimiter byUsername;
+
+    /**
+     * Creates a new login rate limiter.
+     *
+     * @param ipCapacity burst size allowed per client IP
+     * @param ipRefillPerMinute login attempts regained per client IP and minute
+     * @param usernameCapacity burst size allowed per username
+     * @param usernameRefillPerMinute login attempts regained per username and minute
+     * @param maxKeys upper bound of buckets kept in memory by each limiter
+     * @param stripes number of lock stripes of each limiter
+     */
+    public LoginRateLimiter(
+            @Value("${dealership.login-rate-limit.ip.capacity:20}") int ipCapacity,
+            @Value("${dealership.login-rate-limit.ip.refill-per-minute:20}") double ipRefillPerMinute,
+            @Value("${dealership.login-rate-limit.username.capacity:5}") int usernameCapacity,
+            @Value("${dealership.login-rate-limit.username.refill-per-minute:5}") double usernameRefillPerMinute,
+            @Value("${dealership.login-rate-limit.max-keys:100000}") int maxKeys,
+            @Value("${dealership.login-rate-limit.stripes:64}") int stripes
+    ) {
+        this.byIp = new TokenBucketLimiter(ipCapacity, ipRefillPerMinute, maxKeys, stripes);
+        this.byUsername = new TokenBucketLimiter(usernameCapacity, usernameRefillPerMinute, maxKeys, stripes);
+    }
+
+    /**
+     * Checks the per-IP budget of a client.
+     *
+     * @param clientIp remote address of the client
+     * @return {@code true} if the attempt is admitted
+     */
+    public boolean tryAcquireForIp(String clientIp) {
+        return byIp.tryAcquire(clientIp);
+    }
+
+    /**
+     * Checks the per-username budget of an account.
+     * <p>
+     * Usernames are compared case-insensitively, matching the database
+     * collation, so case variations do not yield extra attempts.
+     * </p>
+     *
+     * @param username trimmed username of the attempt
+     * @return {@code true} if the attempt is admitted
+     */
+    public boolean tryAcquireForUsername(String username) {
+        return byUsername.tryAcquire(username.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Returns the suggested wait for a client rejected by its IP budget.
+     *
+     * @return value for the {@code Retry-After} header, in seconds
+     */
+    public long ipRetryAfterSeconds() {
+        return byIp.retryAfterSeconds();
+    }
+
+    /**
+     * Returns the suggested wait for an attempt rejected by the username budget.
+     *
+     * @return value for the {@code Retry-After} header, in seconds
+     */
+    public long usernameRetryAfterSeconds() {
+        return byUsername.retryAfterSeconds();
+    }
+
+    /**
+     * Periodically drops buckets that have fully refilled.
+     */
+    @Scheduled(fixedDelayString = "${dealership.login-rate-limit.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        byIp.evictIdle();
+        byUsername.evictIdle();
+    }
+}
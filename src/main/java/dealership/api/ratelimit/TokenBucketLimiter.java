@@ -0,0 +1,189 @@
+package dealership.api.ratelimit;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-striped, memory-bounded token-bucket rate limiter.
+ * <p>
+ * Each key (a client IP, a username) owns a bucket holding up to
+ * {@code capacity} tokens that refill continuously at a fixed rate. A request
+ * consumes one token and is rejected when the bucket is empty.
+ * </p>
+ * <p>
+ * Buckets are spread over a fixed number of stripes, each guarded by its own
+ * lock, so concurrent logins for different keys rarely contend. Every stripe
+ * is an access-ordered map capped at a fixed size; when a flood of distinct
+ * keys fills it, the least recently used bucket is dropped, which keeps memory
+ * bounded regardless of how many keys an attacker cycles through. Buckets that
+ * have refilled completely carry no information and are removed by
+ * {@link #evictIdle()}.
+ * </p>
+ */
+public class TokenBucketLimiter {
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final double capacity;
+    private final double tokensPerNano;
+    private final long fullRefillNanos;
+    private final LongSupplier nanoClock;
+
+    /**
+     * Creates a new limiter using {@link System#nanoTime()} as clock.
+     *
+     * @param capacity maximum burst size per key
+     * @param refillPerMinute tokens added to each bucket per minute
+     * @param maxKeys upper bound of buckets kept in memory
+     * @param stripes number of lock stripes, rounded up to a power of two
+     */
+    public TokenBucketLimiter(int capacity, double refillPerMinute, int maxKeys, int stripes) {
+        this(capacity, refillPerMinute, maxKeys, stripes, System::nanoTime);
+    }
+
+    /**
+     * Creates a new limiter with an explicit clock.
+     *
+     * @param capacity maximum burst size per key
+     * @param refillPerMinute tokens added to each bucket per minute
+     * @param maxKeys upper bound of buckets kept in memory
+     * @param stripes number of lock stripes, rounded up to a power of two
+     * @param nanoClock monotonic clock in nanoseconds
+     */
+    public TokenBucketLimiter(int capacity, double refillPerMinute, int maxKeys, int stripes, LongSupplier nanoClock) {
+        if (capacity <= 0 || refillPerMinute <= 0 || maxKeys <= 0 || stripes <= 0) {
+            throw new IllegalArgumentException("Rate limiter settings must be positive");
+        }
+        int stripeCount = 1;
+        while (stripeCount < stripes) {
+            stripeCount <<= 1;
+        }
+        int perStripe = Math.max(1, maxKeys / stripeCount);
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new Stripe(perStripe);
+        }
+        this.stripeMask = stripeCount - 1;
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerMinute / 60_000_000_000d;
+        this.fullRefillNanos = (long) Math.ceil(capacity / tokensPerNano);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Tries to take one token from the bucket of the given key.
+     *
+     * @param key client key
+     * @return {@code true} if the request is admitted, {@code false} if it must be rejected
+     */
+    public boolean tryAcquire(String key) {
+        Stripe stripe = stripeFor(key);
+        long now = nanoClock.getAsLong();
+        synchronized (stripe) {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(capacity, now);
+                stripe.buckets.put(key, bucket);
+            } else {
+                bucket.refill(now, capacity, tokensPerNano);
+            }
+            if (bucket.tokens < 1d) {
+                return false;
+            }
+            bucket.tokens -= 1d;
+            return true;
+        }
+    }
+
+    /**
+     * Removes buckets that have refilled completely since their last use.
+     *
+     * @return number of removed buckets
+     */
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int removed = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                Iterator<Bucket> it = stripe.buckets.values().iterator();
+                while (it.hasNext()) {
+                    if (now - it.next().lastRefillNanos >= fullRefillNanos) {
+                        it.remove();
+                        removed++;
+                    }
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the number of buckets currently held in memory.
+     *
+     * @return bucket count
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.buckets.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns the time a rejected client should wait before one token is available again.
+     *
+     * @return seconds until a single token refills, rounded up
+     */
+    public long retryAfterSeconds() {
+        return Math.max(1L, (long) Math.ceil(1d / tokensPerNano / 1_000_000_000d));
+    }
+
+    private Stripe stripeFor(String key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & stripeMask];
+    }
+
+    /**
+     * A group of buckets sharing one lock.
+     */
+    private static final class Stripe {
+
+        private final LinkedHashMap<String, Bucket> buckets;
+
+        private Stripe(int maxBuckets) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > maxBuckets;
+                }
+            };
+        }
+    }
+
+    /**
+     * Token state of a single key.
+     */
+    private static final class Bucket {
+
+        private double tokens;
+        private long lastRefillNanos;
+
+        private Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.lastRefillNanos = now;
+        }
+
+        private void refill(long now, double capacity, double tokensPerNano) {
+            long elapsed = now - lastRefillNanos;
+            if (elapsed > 0) {
+                tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+                lastRefillNanos = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package dealership.api.resilience;
+
+/**
+ * Minimal circuit breaker protecting the database from repeated report queries.
+ * <p>
+ * After a number of consecutive failed or slow loads the breaker opens and
+ * rejects new loads for a cool-down period. Once the period has elapsed a
+ * single trial load is let through: its success closes the breaker again,
+ * its failure re-opens it.
+ * </p>
+ */
+public class CircuitBreaker {
+
+    /**
+     * Possible breaker states.
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationNanos;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private boolean trialInFlight;
+
+    /**
+     * Creates a new closed circuit breaker.
+     *
+     * @param failureThreshold consecutive failures needed to open the breaker
+     * @param openDurationMillis time the breaker stays open before allowing a trial
+     */
+    public CircuitBreaker(int failureThreshold, long openDurationMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDurationMillis * 1_000_000L;
+    }
+
+    /**
+     * Asks whether a new load may hit the database.
+     *
+     * @return {@code true} if the load may proceed
+     */
+    public synchronized boolean tryAcquirePermission() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openedAtNanos < openDurationNanos) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                trialInFlight = true;
+                return true;
+            default:
+                if (trialInFlight) {
+                    return false;
+                }
+                trialInFlight = true;
+                return true;
+        }
+    }
+
+    /**
+     * Records a load that completed within its latency budget.
+     */
+    public synchronized void recordSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    /**
+     * Records a load that failed or exceeded its latency budget.
+     */
+    public synchronized void recordFailure() {
+        trialInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAtNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Returns the current breaker state.
+     *
+     * @return breaker state
+     */
+    public synchronized State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,64 @@
+package dealership.api.resilience;
+
+import java.util.function.Supplier;
+
+/**
+ * Query timeout applied to the statements a report load runs on its thread.
+ * <p>
+ * {@link ResilientReportLoader} sets it around each load, and
+ * {@link QueryTimeoutJdbcTemplate} applies it to every statement, so a hung
+ * query fails and frees its refresh thread instead of holding it forever.
+ * Statements run outside a load, such as streamed exports, keep no timeout.
+ * </p>
+ */
+public final class QueryTimeout {
+
+    private static final ThreadLocal<Integer> SECONDS = new ThreadLocal<>();
+
+    private QueryTimeout() {
+    }
+
+    /**
+     * Runs a task with the given query timeout on the current thread.
+     *
+     * @param seconds query timeout in seconds, or {@code 0} for none
+     * @param task task to run
+     * @param <T> result type
+     * @return the result of the task
+     */
+    public static <T> T call(int seconds, Supplier<T> task) {
+        Integer previous = SECONDS.get();
+        SECONDS.set(seconds);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                SECONDS.remove();
+            } else {
+                SECONDS.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Returns a task running with the current thread's query timeout, wherever it runs.
+     *
+     * @param task task to hand over to another thread
+     * @param <T> result type
+     * @return the task, bound to the current query timeout
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        int seconds = current();
+        return seconds == 0 ? task : () -> call(seconds, task);
+    }
+
+    /**
+     * Returns the query timeout of the current thread.
+     *
+     * @return query timeout in seconds, or {@code 0} for none
+     */
+    public static int current() {
+        Integer seconds = SECONDS.get();
+        return seconds == null ? 0 : seconds;
+    }
+}
@@ -0,0 +1,31 @@
+package dealership.api.resilience;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * JDBC template applying the {@link QueryTimeout} of the current thread to its statements.
+ */
+public class QueryTimeoutJdbcTemplate extends JdbcTemplate {
+
+    /**
+     * Creates a new template.
+     *
+     * @param dataSource data source handing out the connections
+     */
+    public QueryTimeoutJdbcTemplate(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    @Override
+    protected void applyStatementSettings(Statement stmt) throws SQLException {
+        super.applyStatementSettings(stmt);
+        int seconds = QueryTimeout.current();
+        if (seconds > 0) {
+            stmt.setQueryTimeout(seconds);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package dealership.api.resilience;
+
+/**
+ * Result of a report load, possibly served from the last good value.
+ *
+ * @param <T> report value type
+ */
+public final class ReportResult<T> {
+
+    private final T value;
+    private final boolean stale;
+    private final long ageMillis;
+
+    private ReportResult(T value, boolean stale, long ageMillis) {
+        this.value = value;
+        this.stale = stale;
+        this.ageMillis = ageMillis;
+    }
+
+    /**
+     * Creates a result that was just loaded from the database.
+     *
+     * @param value report value
+     * @param <T> report value type
+     * @return a fresh result
+     */
+    public static <T> ReportResult<T> fresh(T value) {
+        return new ReportResult<>(value, false, 0);
+    }
+
+    /**
+     * Creates a result served from the last good value.
+     *
+     * @param value last good report value
+     * @param ageMillis time elapsed since that value was loaded
+     * @param <T> report value type
+     * @return a stale result
+     */
+    public static <T> ReportResult<T> stale(T value, long ageMillis) {
+        return new ReportResult<>(value, true, ageMillis);
+    }
+
+    /**
+     * Returns the report value.
+     *
+     * @return report value
+     */
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * Indicates whether the value was served from the last good result.
+     *
+     * @return {@code true} if the value is stale
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * Indicates whether the value was just loaded from the database.
+     *
+     * @return {@code true} if the value is fresh
+     */
+    public boolean isFresh() {
+        return !stale;
+    }
+
+    /**
+     * Returns the age of a stale value.
+     *
+     * @return milliseconds since the value was loaded, {@code 0} for fresh values
+     */
+    public long getAgeMillis() {
+        return ageMillis;
+    }
+}
@@ -0,0 +1,17 @@
+package dealership.api.resilience;
+
+/**
+ * Thrown when a report cannot be loaded and no previous result is available.
+ */
+public class ReportUnavailableException extends RuntimeException {
+
+    /**
+     * Creates a new exception.
+     *
+     * @param report name of the unavailable report
+     * @param cause underlying failure, or {@code null} if the circuit breaker rejected the load
+     */
+    public ReportUnavailableException(String report, Throwable cause) {
+        super("Report unavailable: " + report, cause);
+    }
+}
@@ -0,0 +1,305 @@
+package dealership.api.resilience;
+
+import dealership.api.cache.ReportKeys;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Resilience layer around the report DAOs.
+ * <p>
+ * Every report load runs on a small background pool and the caller waits at
+ * most the configured latency budget. If the load is slow or fails, the last
+ * good result of that report is served immediately, marked as stale, while
+ * the load keeps running (or a single retry is started) in the background to
+ * refresh it. A shared {@link CircuitBreaker} stops issuing new loads while the
+ * database keeps failing or answering slowly.
+ * </p>
+ * <p>
+ * When a report has never been loaded successfully there is nothing to fall
+ * back on, so the caller keeps waiting for the load, up to the load timeout.
+ * </p>
+ * <p>
+ * A load exceeding the latency budget counts as a failure of the circuit
+ * breaker as soon as a caller gives up on it, not only once it completes, so
+ * a hanging database opens the circuit. Every statement of a load runs with
+ * the load timeout as its {@link QueryTimeout}, so a hung query fails and
+ * frees its refresh thread.
+ * </p>
+ * <p>
+ * Report names include the dealership and field selection of scoped reports,
+ * so the state of a report not fetched for {@code dealership.resilience.state-idle-ms}
+ * is dropped, together with its last good result, by a periodic eviction.
+ * </p>
+ */
+@Component
+public class ResilientReportLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(ResilientReportLoader.class);
+
+    private final ConcurrentHashMap<String, ReportState> states = new ConcurrentHashMap<>();
+    private final CircuitBreaker circuitBreaker;
+    private final ThreadPoolExecutor refreshExecutor;
+    private final long latencyBudgetMillis;
+    private final long loadTimeoutMillis;
+    private final int queryTimeoutSeconds;
+    private final long stateIdleNanos;
+
+    /**
+     * Creates a new loader.
+     *
+     * @param latencyBudgetMillis time a caller waits for a fresh result before falling back
+     * @param failureThreshold consecutive failed or slow loads that open the circuit breaker
+     * @param openDurationMillis time the circuit breaker stays open before a trial load
+     * @param refreshThreads number of threads running report loads
+     * @param loadTimeoutMillis longest wait for a report never loaded before, also the query timeout of the loads
+     * @param stateIdleMillis time after its last fetch when the state of a report is dropped
+     */
+    public ResilientReportLoader(
+            @Value("${dealership.resilience.latency-budget-ms:2000}") long latencyBudgetMillis,
+            @Value("${dealership.resilience.failure-threshold:5}") int failureThreshold,
+            @Value("${dealership.resilience.open-duration-ms:30000}") long openDurationMillis,
+            @Value("${dealership.resilience.refresh-threads:4}") int refreshThreads,
+            @Value("${dealership.resilience.load-timeout-ms:30000}") long loadTimeoutMillis,
+            @Value("${dealership.resilience.state-idle-ms:600000}") long stateIdleMillis
+    ) {
+        this.latencyBudgetMillis = latencyBudgetMillis;
+        this.loadTimeoutMillis = loadTimeoutMillis;
+        this.queryTimeoutSeconds = (int) Math.max(1, (loadTimeoutMillis + 999) / 1000);
+        this.stateIdleNanos = TimeUnit.MILLISECONDS.toNanos(stateIdleMillis);
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openDurationMillis);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.refreshExecutor = new ThreadPoolExecutor(
+                refreshThreads, refreshThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(64),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "report-refresh-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Loads a report, falling back to its last good result when the database is slow or failing.
+     *
+     * @param report report name
+     * @param loader DAO query producing the report
+     * @param <T> report value type
+     * @return a fresh result, or the last good result marked as stale
+     * @throws ReportUnavailableException if the report cannot be loaded in time and no previous result exists
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ReportResult<T> fetch(String report, Supplier<T> loader) {
+        long now = System.nanoTime();
+        ReportState state = states.compute(report, (key, existing) -> {
+            ReportState current = existing == null ? new ReportState() : existing;
+            current.lastFetchNanos = now;
+            return current;
+        });
+
+        Load load = startOrJoin(state, loader);
+        if (load == null) {
+            return serveStale(report, state, null);
+        }
+
+        try {
+            return ReportResult.fresh((T) load.get(latencyBudgetMillis, TimeUnit.MILLISECONDS));
+        } catch (TimeoutException ex) {
+            recordFailure(load);
+            if (state.lastGood == null) {
+                return ReportResult.fresh((T) awaitFirstLoad(report, load));
+            }
+            log.warn("Report {} exceeded its {} ms budget, serving last good result", report, latencyBudgetMillis);
+            return serveStale(report, state, ex);
+        } catch (ExecutionException ex) {
+            startOrJoin(state, loader);
+            return serveStale(report, state, ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return serveStale(report, state, ex);
+        }
+    }
+
+    /**
+     * Drops the last good result of a report and of all its scoped variants.
+     * <p>
+     * Called when the report's data has changed, so that a slow database
+     * does not bring back a result known to be outdated. Loads still in
+     * flight complete for their callers but are not kept.
+     * </p>
+     *
+     * @param report report name
+     * @see ReportKeys#reportOf(String)
+     */
+    public void invalidateReport(String report) {
+        states.keySet().removeIf(key -> ReportKeys.reportOf(key).equals(report));
+    }
+
+    /**
+     * Periodically drops the state of reports that have not been fetched for the idle time.
+     */
+    @Scheduled(fixedDelayString = "${dealership.resilience.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        for (String report : states.keySet()) {
+            states.computeIfPresent(report, (key, state) ->
+                    state.inFlight.get() == null && now - state.lastFetchNanos > stateIdleNanos ? null : state);
+        }
+    }
+
+    /**
+     * Returns the number of reports whose state is kept.
+     *
+     * @return report count
+     */
+    public int size() {
+        return states.size();
+    }
+
+    /**
+     * Returns the state of the circuit breaker shared by all reports.
+     *
+     * @return circuit breaker state
+     */
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    /**
+     * Stops the background refresh threads on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private Load startOrJoin(ReportState state, Supplier<?> loader) {
+        while (true) {
+            Load inFlight = state.inFlight.get();
+            if (inFlight != null) {
+                return inFlight;
+            }
+            Load load = new Load();
+            if (!state.inFlight.compareAndSet(null, load)) {
+                continue;
+            }
+            if (!circuitBreaker.tryAcquirePermission()) {
+                state.inFlight.compareAndSet(load, null);
+                return null;
+            }
+            try {
+                refreshExecutor.execute(() -> runLoad(state, loader, load));
+            } catch (RejectedExecutionException ex) {
+                recordFailure(load);
+                state.inFlight.compareAndSet(load, null);
+                load.completeExceptionally(ex);
+            }
+            return load;
+        }
+    }
+
+    private void runLoad(ReportState state, Supplier<?> loader, Load load) {
+        long start = System.nanoTime();
+        Object value;
+        try {
+            value = QueryTimeout.call(queryTimeoutSeconds, loader);
+        } catch (RuntimeException ex) {
+            recordFailure(load);
+            state.inFlight.compareAndSet(load, null);
+            load.completeExceptionally(ex);
+            return;
+        } catch (Throwable ex) {
+            // An Error must not leave the load in flight, or every later fetch would join it.
+            recordFailure(load);
+            state.inFlight.compareAndSet(load, null);
+            load.completeExceptionally(ex);
+            throw ex;
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (elapsedMillis > latencyBudgetMillis) {
+            recordFailure(load);
+        } else {
+            circuitBreaker.recordSuccess();
+        }
+        state.lastGood = new LastGood(value, System.nanoTime());
+        state.inFlight.compareAndSet(load, null);
+        load.complete(value);
+    }
+
+    private void recordFailure(Load load) {
+        // Counted once per load, however many callers gave up on it.
+        if (load.failureRecorded.compareAndSet(false, true)) {
+            circuitBreaker.recordFailure();
+        }
+    }
+
+    private Object awaitFirstLoad(String report, Load load) {
+        try {
+            return load.get(Math.max(0, loadTimeoutMillis - latencyBudgetMillis), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            log.warn("Report {} was not loaded within {} ms", report, loadTimeoutMillis);
+            throw new ReportUnavailableException(report, ex);
+        } catch (ExecutionException ex) {
+            throw new ReportUnavailableException(report, ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ReportUnavailableException(report, ex);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ReportResult<T> serveStale(String report, ReportState state, Throwable cause) {
+        LastGood lastGood = state.lastGood;
+        if (lastGood == null) {
+            throw new ReportUnavailableException(report, cause);
+        }
+        long ageMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastGood.loadedAtNanos);
+        return ReportResult.stale((T) lastGood.value, ageMillis);
+    }
+
+    /**
+     * Last good result and in-flight load of a single report.
+     */
+    private static final class ReportState {
+        private final AtomicReference<Load> inFlight = new AtomicReference<>();
+        private volatile LastGood lastGood;
+        private volatile long lastFetchNanos;
+    }
+
+    /**
+     * A report load, remembering whether it has been counted as a failure.
+     */
+    private static final class Load extends CompletableFuture<Object> {
+        private final AtomicBoolean failureRecorded = new AtomicBoolean();
+    }
+
+    /**
+     * A successfully loaded report value and its load time.
+     */
+    private static final class LastGood {
+        private final Object value;
+        private final long loadedAtNanos;
+
+        private LastGood(Object value, long loadedAtNanos) {
+            this.value = value;
+            this.loadedAtNanos = loadedAtNanos;
+        }
+    }
+}
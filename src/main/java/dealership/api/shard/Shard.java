@@ -0,0 +1,78 @@
+package dealership.api.shard;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Set;
+
+/**
+ * A MySQL instance holding the operational data of a group of dealerships.
+ * <p>
+ * Every shard carries the full schema. Users, vehicles, sales and repair
+ * orders live on the shard of their dealership, while the small
+ * {@code dealership} and {@code role} reference tables are replicated to
+ * every shard.
+ * </p>
+ */
+public final class Shard {
+
+    private final String name;
+    private final JdbcTemplate jdbc;
+    private final JdbcTemplate readJdbc;
+    private final Set<Integer> dealershipIds;
+
+    /**
+     * Creates a new shard.
+     *
+     * @param name shard name, used in logs and pool names
+     * @param jdbc JDBC template bound to the shard's primary, used for writes
+     * @param readJdbc JDBC template used for read-only queries on this shard
+     * @param dealershipIds dealerships explicitly assigned to this shard
+     */
+    public Shard(String name, JdbcTemplate jdbc, JdbcTemplate readJdbc, Set<Integer> dealershipIds) {
+        this.name = name;
+        this.jdbc = jdbc;
+        this.readJdbc = readJdbc;
+        this.dealershipIds = Set.copyOf(dealershipIds);
+    }
+
+    /**
+     * Returns the shard name.
+     *
+     * @return shard name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the JDBC template bound to the shard's primary.
+     *
+     * @return primary JDBC template
+     */
+    public JdbcTemplate getJdbc() {
+        return jdbc;
+    }
+
+    /**
+     * Returns the JDBC template used for read-only queries.
+     *
+     * @return read JDBC template
+     */
+    public JdbcTemplate getReadJdbc() {
+        return readJdbc;
+    }
+
+    /**
+     * Returns the dealerships explicitly assigned to this shard.
+     *
+     * @return dealership identifiers
+     */
+    public Set<Integer> getDealershipIds() {
+        return dealershipIds;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,152 @@
+package dealership.api.shard;
+
+import dealership.api.jfr.TracingDataSource;
+import dealership.api.resilience.QueryTimeout;
+
+import javax.sql.DataSource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+/**
+ * Routes queries to dealership shards and runs owner-wide queries on all of them.
+ * <p>
+ * Dealerships listed for a shard are served by that shard; every other
+ * dealership lives on the default shard, which is the original
+ * {@code spring.datasource} database. Without extra shards configured all
+ * routing resolves to the default shard and scatter queries run inline on
+ * the caller's thread, so the single-database setup behaves as before.
+ * </p>
+ * <p>
+ * Scatter-gather runs one task per shard in parallel and fails as a whole if
+ * any shard fails: owner aggregates must never silently miss a shard.
+ * Identifiers must be unique across shards (for example through
+ * {@code auto_increment_increment}/{@code auto_increment_offset}) so that
+ * partial results can be merged by key. Scatter tasks keep the
+ * {@link QueryTimeout} of the calling thread.
+ * </p>
+ */
+public class ShardRouter implements AutoCloseable {
+
+    private final Shard defaultShard;
+    private final List<Shard> shards;
+    private final Map<Integer, Shard> byDealership = new HashMap<>();
+    private final Executor executor;
+
+    /**
+     * Creates a new router.
+     *
+     * @param defaultShard shard serving dealerships not assigned elsewhere
+     * @param extraShards additional shards with their assigned dealerships
+     * @param executor executor running scatter tasks when there is more than one shard
+     * @throws IllegalStateException if a dealership is assigned to more than one shard
+     */
+    public ShardRouter(Shard defaultShard, List<Shard> extraShards, Executor executor) {
+        this.defaultShard = defaultShard;
+        this.executor = executor;
+        List<Shard> all = new ArrayList<>();
+        all.add(defaultShard);
+        all.addAll(extraShards);
+        this.shards = List.copyOf(all);
+        for (Shard shard : shards) {
+            for (Integer dealershipId : shard.getDealershipIds()) {
+                Shard previous = byDealership.put(dealershipId, shard);
+                if (previous != null) {
+                    throw new IllegalStateException("Dealership " + dealershipId
+                            + " is assigned to both shard " + previous + " and shard " + shard);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the shard holding the data of a dealership.
+     *
+     * @param dealershipId dealership identifier
+     * @return the owning shard
+     */
+    public Shard shardFor(int dealershipId) {
+        return byDealership.getOrDefault(dealershipId, defaultShard);
+    }
+
+    /**
+     * Returns the default shard, which also serves the replicated reference tables.
+     *
+     * @return default shard
+     */
+    public Shard defaultShard() {
+        return defaultShard;
+    }
+
+    /**
+     * Returns all shards, the default shard first.
+     *
+     * @return all shards
+     */
+    public List<Shard> all() {
+        return shards;
+    }
+
+    /**
+     * Runs a query on every shard in parallel and returns the partial results.
+     *
+     * @param query query to run against one shard
+     * @param <T> partial result type
+     * @return one partial result per shard, in shard order
+     * @throws RuntimeException the first failure of any shard, as thrown by the query
+     */
+    public <T> List<T> scatter(Function<Shard, T> query) {
+        if (shards.size() == 1) {
+            return List.of(query.apply(defaultShard));
+        }
+
+        List<CompletableFuture<T>> futures = new ArrayList<>(shards.size());
+        for (Shard shard : shards) {
+            futures.add(CompletableFuture.supplyAsync(QueryTimeout.propagate(() -> query.apply(shard)), executor));
+        }
+        List<T> results = new ArrayList<>(shards.size());
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException ex) {
+            futures.forEach(future -> future.cancel(true));
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+        return results;
+    }
+
+    /**
+     * Stops the scatter threads and closes the pools of the additional shards.
+     * <p>
+     * The default shard's data source is managed by Spring and left open.
+     * </p>
+     *
+     * @throws Exception if a pool fails to close
+     */
+    @Override
+    public void close() throws Exception {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+        for (Shard shard : shards) {
+            if (shard == defaultShard) {
+                continue;
+            }
+            DataSource dataSource = TracingDataSource.unwrap(shard.getJdbc().getDataSource());
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
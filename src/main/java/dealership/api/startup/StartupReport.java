@@ -0,0 +1,163 @@
+package dealership.api.startup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Logs a startup report once the application is ready to serve requests.
+ * <p>
+ * The report lists the slowest bean initializations by self time (excluding
+ * the time spent creating their dependencies), together with JVM-level
+ * figures: uptime, loaded classes, class loading and initialization time,
+ * JIT compilation time, and whether a class-data-sharing archive is in use.
+ * </p>
+ * <p>
+ * Class loading and initialization times come from HotSpot's internal
+ * counters, which are only readable when the JVM is started with
+ * {@code --add-exports java.management/sun.management=ALL-UNNAMED}; without
+ * that flag they are reported as unavailable.
+ * </p>
+ */
+@Component
+public class StartupReport {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupReport.class);
+
+    private static final String BEAN_INSTANTIATE_STEP = "spring.beans.instantiate";
+
+    private final boolean enabled;
+    private final int topBeans;
+
+    /**
+     * Creates a new startup report.
+     *
+     * @param enabled whether the report is logged
+     * @param topBeans number of slowest beans to list
+     */
+    public StartupReport(@Value("${dealership.startup-report.enabled:true}") boolean enabled,
+                         @Value("${dealership.startup-report.top-beans:10}") int topBeans) {
+        this.enabled = enabled;
+        this.topBeans = topBeans;
+    }
+
+    /**
+     * Logs the report when the application becomes ready.
+     *
+     * @param event application ready event
+     */
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+        ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+        CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+
+        StringBuilder report = new StringBuilder("Startup report\n");
+        report.append(String.format("  application ready in %d ms, JVM uptime %d ms%n",
+                event.getTimeTaken().toMillis(),
+                runtime.getUptime()));
+        report.append(String.format("  classes loaded %d, class loading %s, class initialization %s%n",
+                classLoading.getTotalLoadedClassCount(),
+                hotspotClassLoadingTime("getClassLoadingTime"),
+                hotspotClassLoadingTime("getClassInitializationTime")));
+        report.append(String.format("  JIT compilation %s, CDS archive %s, lazy initialization %s%n",
+                compilation.isCompilationTimeMonitoringSupported()
+                        ? compilation.getTotalCompilationTime() + " ms" : "n/a",
+                runtime.getInputArguments().stream().anyMatch(arg -> arg.startsWith("-XX:SharedArchiveFile"))
+                        ? "in use" : "not in use",
+                event.getApplicationContext().getEnvironment()
+                        .getProperty("spring.main.lazy-initialization", "false")));
+
+        List<BeanTiming> slowest = slowestBeans(event.getApplicationContext().getApplicationStartup());
+        if (slowest.isEmpty()) {
+            report.append("  bean timings unavailable (BufferingApplicationStartup not configured)");
+        } else {
+            report.append(String.format("  slowest bean initializations (self time):%n"));
+            for (BeanTiming timing : slowest) {
+                report.append(String.format("    %6d ms  %s%n", timing.selfMillis, timing.beanName));
+            }
+        }
+        log.info(report.toString().stripTrailing());
+    }
+
+    private List<BeanTiming> slowestBeans(ApplicationStartup applicationStartup) {
+        if (!(applicationStartup instanceof BufferingApplicationStartup buffering)) {
+            return List.of();
+        }
+
+        List<StartupTimeline.TimelineEvent> events = buffering.drainBufferedTimeline().getEvents();
+        Map<Long, Long> childNanos = new HashMap<>();
+        for (StartupTimeline.TimelineEvent event : events) {
+            Long parentId = event.getStartupStep().getParentId();
+            if (parentId != null && BEAN_INSTANTIATE_STEP.equals(event.getStartupStep().getName())) {
+                childNanos.merge(parentId, event.getDuration().toNanos(), Long::sum);
+            }
+        }
+
+        List<BeanTiming> timings = new ArrayList<>();
+        for (StartupTimeline.TimelineEvent event : events) {
+            StartupStep step = event.getStartupStep();
+            if (!BEAN_INSTANTIATE_STEP.equals(step.getName())) {
+                continue;
+            }
+            long selfNanos = event.getDuration().toNanos() - childNanos.getOrDefault(step.getId(), 0L);
+            timings.add(new BeanTiming(beanName(step), selfNanos / 1_000_000L));
+        }
+        timings.sort(Comparator.comparingLong((BeanTiming timing) -> timing.selfMillis).reversed());
+        return timings.subList(0, Math.min(topBeans, timings.size()));
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return "?";
+    }
+
+    private static String hotspotClassLoadingTime(String method) {
+        try {
+            Class<?> helper = Class.forName("sun.management.ManagementFactoryHelper");
+            Object bean = helper.getMethod("getHotspotClassLoadingMBean").invoke(null);
+            Class<?> type = Class.forName("sun.management.HotspotClassLoadingMBean");
+            return type.getMethod(method).invoke(bean) + " ms";
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError ex) {
+            return "n/a";
+        }
+    }
+
+    /**
+     * Self time of a single bean instantiation.
+     */
+    private static final class BeanTiming {
+        private final String beanName;
+        private final long selfMillis;
+
+        private BeanTiming(String beanName, long selfMillis) {
+            this.beanName = beanName;
+            this.selfMillis = selfMillis;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package dealership.api.strings;
+
+import dealership.api.model.CanonicalStringStatsRow;
+
+import java.util.List;
+
+/**
+ * Shared {@link StringCanonicalizer pools} for the low-cardinality columns read by the DAOs.
+ * <p>
+ * The pools are process-wide, like the row mappers using them, and each is
+ * sized well above the vocabulary it is meant for; a column outgrowing its
+ * pool shows up as rejected lookups in {@link #stats()}.
+ * </p>
+ */
+public final class CanonicalStrings {
+
+    /** Vehicle brands, {@code vehicle.brand}. */
+    public static final StringCanonicalizer VEHICLE_BRAND = new StringCanonicalizer("vehicle.brand", 512);
+
+    /** Vehicle models, {@code vehicle.model}. */
+    public static final StringCanonicalizer VEHICLE_MODEL = new StringCanonicalizer("vehicle.model", 4096);
+
+    /** Vehicle statuses, {@code vehicle.status}. */
+    public static final StringCanonicalizer VEHICLE_STATUS = new StringCanonicalizer("vehicle.status", 64);
+
+    /** Role names, {@code role.name}. */
+    public static final StringCanonicalizer ROLE_NAME = new StringCanonicalizer("role.name", 64);
+
+    /** Dealership names, {@code dealership.name}. */
+    public static final StringCanonicalizer DEALERSHIP_NAME = new StringCanonicalizer("dealership.name", 1024);
+
+    private static final List<StringCanonicalizer> ALL =
+            List.of(VEHICLE_BRAND, VEHICLE_MODEL, VEHICLE_STATUS, ROLE_NAME, DEALERSHIP_NAME);
+
+    private CanonicalStrings() {
+    }
+
+    /**
+     * Returns the statistics of every pool.
+     *
+     * @return one row per pool
+     */
+    public static List<CanonicalStringStatsRow> stats() {
+        return ALL.stream().map(StringCanonicalizer::stats).toList();
+    }
+}
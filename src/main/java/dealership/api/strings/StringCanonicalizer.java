@@ -0,0 +1,139 @@
+package dealership.api.strings;
+
+import dealership.api.model.CanonicalStringStatsRow;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, thread-safe pool handing out one shared {@link String} instance per distinct value.
+ * <p>
+ * Row mappers pass the strings of low-cardinality columns, such as vehicle
+ * brands or role names, through a canonicalizer so that rows kept in
+ * memory, for example in the report cache, share a handful of instances
+ * instead of holding one copy per row. The copy read from the result set
+ * becomes garbage right away, while it is still in the young generation.
+ * </p>
+ * <p>
+ * Unlike {@link String#intern()}, the pool is bounded: once it holds
+ * {@code maxEntries} values, unknown values are returned as they are and
+ * counted as rejected, so a column that turns out not to be low-cardinality
+ * cannot grow it without limit. The bound is checked without locking and
+ * may be exceeded by a few entries under concurrent inserts.
+ * </p>
+ */
+public final class StringCanonicalizer {
+
+    private static final int STRING_BYTES = 24;
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    private final String name;
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder savedBytes = new LongAdder();
+
+    /**
+     * Creates a new canonicalizer.
+     *
+     * @param name name reported in the statistics
+     * @param maxEntries maximum number of distinct values kept
+     */
+    public StringCanonicalizer(String name, int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.name = name;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Returns the shared instance equal to a value.
+     *
+     * @param value value read from a result set; may be {@code null}
+     * @return the pooled instance, or {@code value} itself if it is {@code null},
+     *         seen for the first time, or rejected because the pool is full
+     */
+    public String canonicalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        Entry entry = entries.get(value);
+        if (entry != null) {
+            hits.increment();
+            savedBytes.add(entry.retainedBytes);
+            return entry.value;
+        }
+        if (entries.size() >= maxEntries) {
+            rejected.increment();
+            return value;
+        }
+        Entry fresh = new Entry(value);
+        entry = entries.putIfAbsent(value, fresh);
+        if (entry != null) {
+            hits.increment();
+            savedBytes.add(entry.retainedBytes);
+            return entry.value;
+        }
+        misses.increment();
+        return value;
+    }
+
+    /**
+     * Returns the pool statistics.
+     * <p>
+     * Saved bytes are estimated as the size of one {@link String} and its
+     * backing array per hit, assuming compressed object pointers and compact
+     * strings.
+     * </p>
+     *
+     * @return counts since startup
+     */
+    public CanonicalStringStatsRow stats() {
+        return new CanonicalStringStatsRow(name, entries.size(), maxEntries,
+                hits.sum(), misses.sum(), rejected.sum(), savedBytes.sum());
+    }
+
+    /**
+     * Returns the name reported in the statistics.
+     *
+     * @return pool name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Estimates the heap retained by a string and its backing array.
+     *
+     * @param value string to measure
+     * @return estimated size in bytes
+     */
+    static long retainedBytes(String value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) > 0xFF) {
+                length = value.length() * 2;
+                break;
+            }
+        }
+        return STRING_BYTES + ((ARRAY_HEADER_BYTES + length + 7) & ~7);
+    }
+
+    /**
+     * A pooled value with its precomputed size.
+     */
+    private static final class Entry {
+
+        private final String value;
+        private final long retainedBytes;
+
+        private Entry(String value) {
+            this.value = value;
+            this.retainedBytes = StringCanonicalizer.retainedBytes(value);
+        }
+    }
+}
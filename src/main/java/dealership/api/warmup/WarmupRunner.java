@@ -0,0 +1,216 @@
+package dealership.api.warmup;
+
+import com.zaxxer.hikari.HikariDataSource;
+import dealership.api.dao.AuthDao;
+import dealership.api.dao.DealershipDao;
+import dealership.api.dao.OwnerDao;
+import dealership.api.dao.OwnerUserDao;
+import dealership.api.dao.RepairDao;
+import dealership.api.dao.RoleDao;
+import dealership.api.dao.SalesDao;
+import dealership.api.dao.VehicleDao;
+import dealership.api.model.CacheStatsRow;
+import dealership.api.model.CreateUserRequest;
+import dealership.api.model.LoginRequest;
+import dealership.api.model.LoginResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Warms the application up before it is reported as ready.
+ * <p>
+ * Right after startup the connection pools are empty, prepared statements
+ * have never been parsed and every code path runs interpreted, which makes
+ * the first requests much slower than steady state. Once the application has
+ * started, this runner fills the connection pools, runs every DAO query a
+ * configurable number of times, and serializes each response DTO with the
+ * application's JSON mapper. Only then is {@link WarmupState} flipped to ready,
+ * which the readiness endpoint reports to the load balancer.
+ * </p>
+ * <p>
+ * Failures are logged and do not block readiness: an unreachable database is
+ * reported by the deep health check, not by keeping the instance warming up
+ * forever. A query that fails is not run again, and a pool that cannot be
+ * filled or a query that cannot get a connection ends the warm-up at once, so
+ * a database outage costs one connection timeout rather than one per query
+ * and iteration.
+ * </p>
+ */
+@Component
+public class WarmupRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private static final String WARMUP_USERNAME = "__warmup__";
+
+    private final VehicleDao vehicleDao;
+    private final SalesDao salesDao;
+    private final RepairDao repairDao;
+    private final OwnerDao ownerDao;
+    private final RoleDao roleDao;
+    private final DealershipDao dealershipDao;
+    private final OwnerUserDao ownerUserDao;
+    private final AuthDao authDao;
+    private final JsonMapper jsonMapper;
+    private final ObjectProvider<HikariDataSource> pools;
+    private final WarmupState warmupState;
+    private final boolean enabled;
+    private final int iterations;
+
+    /**
+     * Creates a new warm-up runner.
+     *
+     * @param vehicleDao vehicle DAO to exercise
+     * @param salesDao sales DAO to exercise
+     * @param repairDao repair DAO to exercise
+     * @param ownerDao owner summary DAO to exercise
+     * @param roleDao role DAO to exercise
+     * @param dealershipDao dealership DAO to exercise
+     * @param ownerUserDao owner user DAO to exercise
+     * @param authDao authentication DAO to exercise
+     * @param jsonMapper JSON mapper used by the HTTP message converters
+     * @param pools connection pools to pre-fill
+     * @param warmupState readiness state flipped once warm-up completes
+     * @param enabled whether warm-up runs at all; when disabled the application is ready immediately
+     * @param iterations number of times each query and serialization is executed
+     */
+    public WarmupRunner(VehicleDao vehicleDao, SalesDao salesDao, RepairDao repairDao, OwnerDao ownerDao,
+                        RoleDao roleDao, DealershipDao dealershipDao, OwnerUserDao ownerUserDao, AuthDao authDao,
+                        JsonMapper jsonMapper, ObjectProvider<HikariDataSource> pools, WarmupState warmupState,
+                        @Value("${dealership.warmup.enabled:true}") boolean enabled,
+                        @Value("${dealership.warmup.iterations:20}") int iterations) {
+        this.vehicleDao = vehicleDao;
+        this.salesDao = salesDao;
+        this.repairDao = repairDao;
+        this.ownerDao = ownerDao;
+        this.roleDao = roleDao;
+        this.dealershipDao = dealershipDao;
+        this.ownerUserDao = ownerUserDao;
+        this.authDao = authDao;
+        this.jsonMapper = jsonMapper;
+        this.pools = pools;
+        this.warmupState = warmupState;
+        this.enabled = enabled;
+        this.iterations = iterations;
+    }
+
+    /**
+     * Starts the warm-up on a background thread once the application has started.
+     *
+     * @param event application ready event
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        if (!enabled) {
+            warmupState.markReady();
+            return;
+        }
+        Thread thread = new Thread(this::warmUp, "warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Runs all warm-up steps and marks the application as ready.
+     */
+    void warmUp() {
+        long start = System.nanoTime();
+        try {
+            for (HikariDataSource pool : pools.orderedStream().toList()) {
+                if (!fillPool(pool)) {
+                    return;
+                }
+            }
+
+            Map<String, Supplier<Object>> queries = new LinkedHashMap<>();
+            queries.put("unsold stock", vehicleDao::findUnsoldStock);
+            queries.put("sales by employee", salesDao::findSalesByEmployee);
+            queries.put("repair revenue", repairDao::findRepairRevenueByDealership);
+            queries.put("owner summary", ownerDao::getSummary);
+            queries.put("roles", roleDao::findAllRoles);
+            queries.put("dealerships", dealershipDao::findAllDealerships);
+            queries.put("users", () -> ownerUserDao.findUsers(null, null, null));
+            queries.put("filtered users", () -> ownerUserDao.findUsers(1, 1, Boolean.TRUE));
+            queries.put("username check", () -> ownerUserDao.existsUsername(WARMUP_USERNAME));
+            queries.put("login lookup", () -> authDao.findLoginUserByUsername(WARMUP_USERNAME));
+            List<Object> samples = new ArrayList<>(List.of(
+                    new LoginResponse(0, 0, "", WARMUP_USERNAME, ""),
+                    new CacheStatsRow(0, 0, 0, 0)
+            ));
+
+            for (int i = 0; i < iterations; i++) {
+                Iterator<Map.Entry<String, Supplier<Object>>> remaining = queries.entrySet().iterator();
+                while (remaining.hasNext()) {
+                    Map.Entry<String, Supplier<Object>> query = remaining.next();
+                    Object result;
+                    try {
+                        result = query.getValue().get();
+                    } catch (CannotGetJdbcConnectionException ex) {
+                        throw ex;
+                    } catch (RuntimeException ex) {
+                        log.warn("Warm-up query {} failed and is skipped: {}", query.getKey(), ex.getMessage());
+                        remaining.remove();
+                        continue;
+                    }
+                    if (result != null) {
+                        serialize(result);
+                    }
+                }
+                samples.forEach(this::serialize);
+                jsonMapper.readValue("{\"username\":\"u\",\"password\":\"p\"}", LoginRequest.class);
+                jsonMapper.readValue("{\"dealershipId\":1,\"roleId\":1,\"username\":\"u\",\"password\":\"p\","
+                        + "\"fullName\":\"f\",\"active\":true}", CreateUserRequest.class);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Warm-up aborted: {}", ex.getMessage());
+        } finally {
+            warmupState.markReady();
+            log.info("Warm-up finished in {} ms, instance is ready",
+                    (System.nanoTime() - start) / 1_000_000L);
+        }
+    }
+
+    private boolean fillPool(HikariDataSource pool) {
+        int connections = Math.max(1, Math.min(pool.getMinimumIdle(), pool.getMaximumPoolSize()));
+        List<Connection> borrowed = new ArrayList<>(connections);
+        try {
+            for (int i = 0; i < connections; i++) {
+                Connection connection = pool.getConnection();
+                borrowed.add(connection);
+                connection.isValid(1);
+            }
+        } catch (SQLException ex) {
+            log.warn("Could not pre-fill pool {}, skipping warm-up: {}", pool.getPoolName(), ex.getMessage());
+            return false;
+        } finally {
+            for (Connection connection : borrowed) {
+                try {
+                    connection.close();
+                } catch (SQLException ex) {
+                    log.debug("Could not return warm-up connection", ex);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void serialize(Object value) {
+        jsonMapper.writeValueAsBytes(value);
+    }
+}
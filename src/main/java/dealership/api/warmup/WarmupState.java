@@ -0,0 +1,33 @@
+package dealership.api.warmup;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the readiness state of the application.
+ * <p>
+ * The application starts as not ready and is flipped to ready by the
+ * {@link WarmupRunner} once connection pools, DAO queries and JSON
+ * serialization have been exercised.
+ * </p>
+ */
+@Component
+public class WarmupState {
+
+    private volatile boolean ready;
+
+    /**
+     * Indicates whether the warm-up phase has completed.
+     *
+     * @return {@code true} if the application may receive traffic
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Marks the warm-up phase as completed.
+     */
+    public void markReady() {
+        this.ready = true;
+    }
+}
@@ -0,0 +1,41 @@
+-- Indexes tailored to the DAO queries. InnoDB appends the primary key to
+-- every secondary index, so id never needs to be listed explicitly.
+
+-- VehicleDao.findUnsoldStock and OwnerDao unsold count:
+--   WHERE status <> 'SOLD', selecting the stock columns.
+-- The optimizer turns <> into two ranges on status and answers the query
+-- from the index alone.
+CREATE INDEX idx_vehicle_stock
+    ON vehicle (status, plate, brand, model, year, mileage);
+
+-- VehicleDao.findUnsoldStock(dealershipId):
+--   WHERE status <> 'SOLD' AND current_dealership_id = ?
+CREATE INDEX idx_vehicle_dealership_stock
+    ON vehicle (current_dealership_id, status, plate, brand, model, year, mileage);
+
+-- SalesDao.findSalesByEmployee and OwnerDao sales count and total:
+--   GROUP BY seller_user_id with COUNT(*) and SUM(price).
+-- Rows arrive already grouped, so no temporary table is needed.
+CREATE INDEX idx_sale_seller_price
+    ON sale (seller_user_id, price);
+
+-- RepairDao.findRepairRevenueByDealership and OwnerDao repair count and total:
+--   WHERE status = 'FINISHED' AND estimated_budget IS NOT NULL,
+--   joining vehicle on vehicle_id.
+CREATE INDEX idx_repair_order_status_budget
+    ON repair_order (status, estimated_budget, vehicle_id);
+
+-- AuthDao.findLoginUserByUsername and OwnerUserDao.existsUsername:
+--   WHERE username = ? [AND is_active = 1].
+-- The login lookup reads a single row, so the wide full_name and
+-- password_hash columns are left to the primary key lookup instead of
+-- being copied into the index.
+CREATE INDEX idx_user_login
+    ON `user` (username, is_active, role_id);
+
+-- OwnerUserDao.findUsers:
+--   WHERE dealership_id = ? [AND role_id = ?] [AND is_active = ?] ORDER BY id.
+-- With every filter set, the trailing primary key keeps the rows in id
+-- order and no filesort is needed.
+CREATE INDEX idx_user_dealership_role_active
+    ON `user` (dealership_id, role_id, is_active);
@@ -0,0 +1,12 @@
+-- Login audit rows and last-login times written by LoginAuditDao.
+
+CREATE TABLE login_audit (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id INT NULL,
+    username VARCHAR(100) NOT NULL,
+    success TINYINT(1) NOT NULL,
+    ip VARCHAR(45) NOT NULL,
+    occurred_at DATETIME(3) NOT NULL
+);
+
+ALTER TABLE `user` ADD COLUMN last_login_at DATETIME(3) NULL;
@@ -0,0 +1,17 @@
+-- updated_at watermarks tailed by the change feed. Each poll is a range scan
+-- on (updated_at, id).
+
+ALTER TABLE vehicle
+    ADD COLUMN updated_at DATETIME(3) NOT NULL
+        DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3);
+CREATE INDEX idx_vehicle_updated_at_id ON vehicle (updated_at, id);
+
+ALTER TABLE sale
+    ADD COLUMN updated_at DATETIME(3) NOT NULL
+        DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3);
+CREATE INDEX idx_sale_updated_at_id ON sale (updated_at, id);
+
+ALTER TABLE repair_order
+    ADD COLUMN updated_at DATETIME(3) NOT NULL
+        DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3);
+CREATE INDEX idx_repair_order_updated_at_id ON repair_order (updated_at, id);
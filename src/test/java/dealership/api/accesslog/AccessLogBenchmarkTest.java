@@ -0,0 +1,88 @@
+package dealership.api.accesslog;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Measures the per-request cost of recording an access log event.
+ * <p>
+ * Producer threads record events while a single consumer drains them, as
+ * the writer thread does, so the figures include contention on the tail
+ * and slot sequences. The cost of formatting and writing lines is paid by
+ * the consumer and is not on the request path.
+ * </p>
+ * <p>
+ * Run with {@code mvn test -Dtest=AccessLogBenchmarkTest -Dbenchmarks=true}.
+ * </p>
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class AccessLogBenchmarkTest {
+
+    private static final int OPS_PER_THREAD = 2_000_000;
+
+    @Test
+    void recordOverhead() throws Exception {
+        for (int threads : new int[] {1, 4, 16}) {
+            run(threads);
+            Result result = run(threads);
+            System.out.printf("access log: %2d threads, %.1f ns/record per thread, %.1f M records/s, %.2f%% dropped%n",
+                    threads,
+                    (double) result.elapsedNanos / OPS_PER_THREAD,
+                    (double) OPS_PER_THREAD * threads * 1_000 / result.elapsedNanos,
+                    100.0 * result.dropped / ((long) OPS_PER_THREAD * threads));
+        }
+    }
+
+    private static Result run(int threads) throws Exception {
+        AccessLogRingBuffer buffer = new AccessLogRingBuffer(16384);
+        AtomicBoolean draining = new AtomicBoolean(true);
+        Thread consumer = new Thread(() -> {
+            long sink = 0;
+            while (draining.get()) {
+                sink += buffer.drain(event -> { }, 512);
+            }
+            if (sink < 0) {
+                System.out.println(sink);
+            }
+        });
+        consumer.start();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < OPS_PER_THREAD; i++) {
+                        long begin = System.nanoTime();
+                        buffer.offer(System.currentTimeMillis(), "GET", "/api/owner/stock-unsold", 200,
+                                (System.nanoTime() - begin) / 1_000L, 25, 4096);
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+        draining.set(false);
+        consumer.join();
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+        return new Result(elapsed, buffer.getDropped());
+    }
+
+    private record Result(long elapsedNanos, long dropped) {
+    }
+}
@@ -0,0 +1,77 @@
+package dealership.api.accesslog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccessLogRingBufferTest {
+
+    @Test
+    void drainsEventsInOfferOrder() {
+        AccessLogRingBuffer buffer = new AccessLogRingBuffer(8);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(buffer.offer(i, "GET", "/api/owner/summary", 200, i * 10L, i, i * 100L));
+        }
+
+        List<Long> latencies = new ArrayList<>();
+        assertEquals(3, buffer.drain(event -> latencies.add(event.getLatencyMicros()), 3));
+        assertEquals(2, buffer.drain(event -> latencies.add(event.getLatencyMicros()), 10));
+        assertEquals(List.of(0L, 10L, 20L, 30L, 40L), latencies);
+        assertEquals(0, buffer.drain(event -> latencies.add(event.getLatencyMicros()), 10));
+    }
+
+    @Test
+    void dropsAndCountsWhenFull() {
+        AccessLogRingBuffer buffer = new AccessLogRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i, "GET", "/api/health/deep", 200, 1, -1, 0));
+        }
+
+        assertFalse(buffer.offer(4, "GET", "/api/health/deep", 200, 1, -1, 0));
+        assertFalse(buffer.offer(5, "GET", "/api/health/deep", 200, 1, -1, 0));
+        assertEquals(2, buffer.getDropped());
+
+        buffer.drain(event -> { }, 1);
+        assertTrue(buffer.offer(6, "GET", "/api/health/deep", 200, 1, -1, 0));
+    }
+
+    @Test
+    void concurrentProducersLoseNothingWhileDrained() throws Exception {
+        int producers = 4;
+        int perProducer = 50_000;
+        AccessLogRingBuffer buffer = new AccessLogRingBuffer(1024);
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            pool.execute(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(0, "GET", "/", 200, (long) producer * perProducer + i, 0, 0)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        Set<Long> seen = new HashSet<>();
+        while (done.getCount() > 0 || buffer.drain(event -> seen.add(event.getLatencyMicros()), 256) > 0) {
+            buffer.drain(event -> seen.add(event.getLatencyMicros()), 256);
+        }
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertEquals(producers * perProducer, seen.size());
+    }
+}
@@ -0,0 +1,61 @@
+package dealership.api.accesslog;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccessLogWriterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void failedBatchesAreDroppedAndCountedSoTheBufferKeepsMoving() throws Exception {
+        Path blocker = Files.writeString(dir.resolve("not-a-directory"), "");
+        AccessLogWriter writer = new AccessLogWriter(blocker.resolve("access.log").toString(), 8, 4, 1 << 20, 1);
+        try {
+            for (int i = 0; i < 3; i++) {
+                writer.record("GET", "/api/owner/summary", 200, 10, 1, 100);
+            }
+            awaitFailed(writer, 3);
+
+            // a stuck buffer would drop these once the earlier events filled it
+            for (int i = 0; i < 6; i++) {
+                writer.record("GET", "/api/owner/summary", 200, 10, 1, 100);
+            }
+            awaitFailed(writer, 9);
+            assertEquals(0, writer.getDropped());
+        } finally {
+            writer.shutdown();
+        }
+    }
+
+    @Test
+    void rollsOnEncodedSizeRatherThanCharacterCount() throws Exception {
+        Path file = dir.resolve("access.log");
+        String endpoint = "/api/owner/" + "é".repeat(100);
+        AccessLogWriter writer = new AccessLogWriter(file.toString(), 8, 1, 250, 1);
+        writer.record("GET", endpoint, 200, 10, 1, 100);
+        writer.record("GET", endpoint, 200, 10, 1, 100);
+        writer.shutdown();
+
+        assertEquals(1, Files.readAllLines(file, StandardCharsets.UTF_8).size());
+        assertEquals(1, Files.readAllLines(dir.resolve("access.log.1"), StandardCharsets.UTF_8).size());
+        assertEquals(0, writer.getFailed());
+    }
+
+    private static void awaitFailed(AccessLogWriter writer, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (writer.getFailed() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(writer.getFailed() >= expected, "failed " + writer.getFailed() + " < " + expected);
+    }
+}
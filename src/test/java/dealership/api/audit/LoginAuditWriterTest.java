@@ -0,0 +1,114 @@
+package dealership.api.audit;
+
+import dealership.api.dao.LoginAuditDao;
+import dealership.api.shard.Shard;
+import dealership.api.shard.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginAuditWriterTest {
+
+    private JdbcTemplate jdbc;
+    private LoginAuditDao dao;
+    private ShardRouter router;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:login-audit;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbc.execute("DROP ALL OBJECTS");
+        jdbc.execute("CREATE TABLE `user` (id INT PRIMARY KEY, last_login_at TIMESTAMP(3) NULL)");
+        jdbc.execute("CREATE TABLE login_audit (id BIGINT AUTO_INCREMENT PRIMARY KEY, user_id INT NULL, "
+                + "username VARCHAR(100) NOT NULL, success TINYINT NOT NULL, ip VARCHAR(45) NOT NULL, "
+                + "occurred_at TIMESTAMP(3) NOT NULL)");
+        jdbc.update("INSERT INTO `user` VALUES (1, NULL), (2, NULL)");
+        router = new ShardRouter(new Shard("default", jdbc, jdbc, Set.of()), List.of(), Runnable::run);
+        dao = new LoginAuditDao(router);
+    }
+
+    @Test
+    void shutdownFlushesBufferedEventsAndCoalescesLastLogin() throws InterruptedException {
+        LoginAuditWriter writer = new LoginAuditWriter(dao, 100, 1000, 60_000);
+
+        writer.record(1, 1, "ana", true, "10.0.0.1");
+        writer.record(1, 1, "ana", false, "10.0.0.1");
+        writer.record(1, 1, "ana", true, "10.0.0.2");
+        writer.record(null, null, "nobody", false, "10.0.0.3");
+        writer.shutdown();
+
+        assertEquals(4, jdbc.queryForObject("SELECT COUNT(*) FROM login_audit", Integer.class));
+        assertEquals(2, jdbc.queryForObject("SELECT COUNT(*) FROM login_audit WHERE success = 1", Integer.class));
+        assertEquals(1, jdbc.queryForObject("SELECT COUNT(*) FROM login_audit WHERE user_id IS NULL", Integer.class));
+
+        Timestamp lastLogin = jdbc.queryForObject("SELECT last_login_at FROM `user` WHERE id = 1", Timestamp.class);
+        Timestamp latestSuccess = jdbc.queryForObject(
+                "SELECT MAX(occurred_at) FROM login_audit WHERE user_id = 1 AND success = 1", Timestamp.class);
+        assertNotNull(lastLogin);
+        assertEquals(latestSuccess, lastLogin);
+        assertNull(jdbc.queryForObject("SELECT last_login_at FROM `user` WHERE id = 2", Timestamp.class));
+        assertEquals(4, writer.getWritten());
+    }
+
+    @Test
+    void fullBatchIsWrittenWithoutWaitingForTheInterval() throws InterruptedException {
+        LoginAuditWriter writer = new LoginAuditWriter(dao, 100, 2, 60_000);
+        try {
+            writer.record(2, 1, "bea", true, "10.0.0.1");
+            writer.record(2, 1, "bea", true, "10.0.0.1");
+
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (writer.getWritten() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(2, writer.getWritten());
+            assertNotNull(jdbc.queryForObject("SELECT last_login_at FROM `user` WHERE id = 2", Timestamp.class));
+        } finally {
+            writer.shutdown();
+        }
+    }
+
+    @Test
+    void eventsBeyondCapacityAreDroppedAndCounted() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        LoginAuditDao blockingDao = new LoginAuditDao(router) {
+            @Override
+            public void insertAttempts(Collection<LoginAuditEvent> events) {
+                writing.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                super.insertAttempts(events);
+            }
+        };
+        LoginAuditWriter writer = new LoginAuditWriter(blockingDao, 4, 1, 60_000);
+
+        // The first event holds the flush thread, so the next ones can only fill the queue.
+        writer.record(null, null, "user0", false, "10.0.0.1");
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 10; i++) {
+            writer.record(null, null, "user" + i, false, "10.0.0.1");
+        }
+        release.countDown();
+        writer.shutdown();
+
+        assertEquals(6, writer.getDropped());
+        assertEquals(5, jdbc.queryForObject("SELECT COUNT(*) FROM login_audit", Long.class));
+    }
+}
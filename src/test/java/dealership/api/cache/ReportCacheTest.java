@@ -0,0 +1,175 @@
+package dealership.api.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportCacheTest {
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        ReportCache cache = new ReportCache(Map.of(), Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(pool.submit(() -> cache.get("report", () -> {
+                loads.incrementAndGet();
+                loaderStarted.countDown();
+                await(release);
+                return "value";
+            })));
+            assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < callers; i++) {
+                results.add(pool.submit(() -> cache.get("report", () -> {
+                    loads.incrementAndGet();
+                    return "other";
+                })));
+            }
+            while (cache.getCoalesced() < callers - 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("value", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getMisses());
+        assertEquals(callers - 1, cache.getCoalesced());
+        assertEquals("value", cache.get("report", () -> "other"));
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void expiredEntriesAreReloaded() {
+        ReportCache cache = new ReportCache(Map.of("short", Duration.ZERO), Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("short", loads::incrementAndGet);
+        cache.get("short", loads::incrementAndGet);
+        cache.get("long", loads::incrementAndGet);
+        cache.get("long", loads::incrementAndGet);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void failedLoadsAreNotCached() {
+        ReportCache cache = new ReportCache(Map.of(), Duration.ofMinutes(1));
+
+        assertThrows(IllegalStateException.class, () -> cache.get("report", () -> {
+            throw new IllegalStateException("db down");
+        }));
+
+        assertEquals("value", cache.get("report", () -> "value"));
+        assertEquals(0, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void loaderErrorsReachWaitersAndAreNotCached() throws Exception {
+        ReportCache cache = new ReportCache(Map.of(), Duration.ofMinutes(1));
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> loading = pool.submit(() -> cache.get("report", () -> {
+                loaderStarted.countDown();
+                await(release);
+                throw new LinkageError("broken loader");
+            }));
+            assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+            Future<String> waiting = pool.submit(() -> cache.get("report", () -> "other"));
+            while (cache.getCoalesced() < 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            ExecutionException loaderFailure = assertThrows(ExecutionException.class,
+                    () -> loading.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(LinkageError.class, loaderFailure.getCause());
+            ExecutionException waiterFailure = assertThrows(ExecutionException.class,
+                    () -> waiting.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(LinkageError.class, waiterFailure.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals("value", cache.get("report", () -> "value"));
+    }
+
+    @Test
+    void invalidatingAReportDropsItsScopedVariants() {
+        ReportCache cache = new ReportCache(Map.of(), Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(ReportKeys.STOCK_UNSOLD, loads::incrementAndGet);
+        cache.get(ReportKeys.forDealership(ReportKeys.STOCK_UNSOLD, 3), loads::incrementAndGet);
+        cache.get(ReportKeys.SUMMARY, loads::incrementAndGet);
+        cache.invalidateReport(ReportKeys.STOCK_UNSOLD);
+
+        assertEquals(1, cache.size());
+        cache.get(ReportKeys.forDealership(ReportKeys.STOCK_UNSOLD, 3), loads::incrementAndGet);
+        cache.get(ReportKeys.SUMMARY, loads::incrementAndGet);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void evictionRemovesExpiredResultsButKeepsLiveOnes() throws Exception {
+        ReportCache cache = new ReportCache(Map.of(ReportKeys.SUMMARY, Duration.ofMinutes(1)), Duration.ofMillis(20));
+        for (int dealershipId = 1; dealershipId <= 3; dealershipId++) {
+            cache.get(ReportKeys.forDealership(ReportKeys.STOCK_UNSOLD, dealershipId), () -> "stock");
+        }
+        cache.get(ReportKeys.SUMMARY, () -> "summary");
+        Thread.sleep(50);
+
+        cache.evictExpired();
+
+        assertEquals(1, cache.size());
+        assertEquals("summary", cache.get(ReportKeys.SUMMARY, () -> "reloaded"));
+    }
+
+    @Test
+    void invalidationListenersHearTheInvalidatedReport() {
+        ReportCache cache = new ReportCache(Map.of(), Duration.ofMinutes(1));
+        List<String> invalidated = new ArrayList<>();
+        cache.addInvalidationListener(invalidated::add);
+
+        cache.invalidateReport(ReportKeys.SUMMARY);
+
+        assertEquals(List.of(ReportKeys.SUMMARY), invalidated);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package dealership.api.changefeed;
+
+import dealership.api.model.ChangeFeedStatsRow;
+import dealership.api.shard.Shard;
+import dealership.api.shard.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChangeFeedPollerTest {
+
+    private JdbcTemplate jdbc;
+    private ShardRouter router;
+    private final List<RowChange> received = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:change-feed;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbc.execute("DROP ALL OBJECTS");
+        jdbc.execute("CREATE TABLE vehicle (id INT PRIMARY KEY, current_dealership_id INT, "
+                + "updated_at TIMESTAMP(3) NOT NULL)");
+        jdbc.execute("CREATE TABLE sale (id INT PRIMARY KEY, vehicle_id INT, updated_at TIMESTAMP(3) NOT NULL)");
+        jdbc.execute("CREATE TABLE repair_order (id INT PRIMARY KEY, vehicle_id INT, "
+                + "updated_at TIMESTAMP(3) NOT NULL)");
+        jdbc.update("INSERT INTO vehicle VALUES (1, 1, TIMESTAMP '2024-01-01 10:00:00'), "
+                + "(2, 2, TIMESTAMP '2024-01-01 10:00:01')");
+        router = new ShardRouter(new Shard("default", jdbc, jdbc, Set.of()), List.of(), Runnable::run);
+    }
+
+    @Test
+    void startsAtTheHeadAndPublishesLaterChangesInWatermarkOrder() {
+        ChangeFeedPoller poller = poller(100);
+
+        assertEquals(0, poller.pollAll());
+
+        jdbc.update("UPDATE vehicle SET current_dealership_id = 3, updated_at = TIMESTAMP '2024-01-02 09:00:00' "
+                + "WHERE id = 1");
+        jdbc.update("INSERT INTO vehicle VALUES (3, 1, TIMESTAMP '2024-01-02 08:00:00')");
+        jdbc.update("INSERT INTO sale VALUES (10, 3, TIMESTAMP '2024-01-02 08:30:00')");
+
+        assertEquals(3, poller.pollAll());
+        assertEquals(List.of("VEHICLE INSERT #3 on default", "VEHICLE UPDATE #1 on default",
+                "SALE INSERT #10 on default"), received.stream().map(RowChange::toString).toList());
+        assertEquals(Integer.valueOf(1), received.get(2).getDealershipId());
+
+        assertEquals(0, poller.pollAll());
+    }
+
+    @Test
+    void readsLargeBacklogsOnePageAtATime() {
+        ChangeFeedPoller poller = poller(2);
+        poller.pollAll();
+        for (int id = 10; id < 15; id++) {
+            jdbc.update("INSERT INTO vehicle VALUES (?, 1, TIMESTAMP '2024-01-03 00:00:00')", id);
+        }
+
+        assertEquals(2, poller.pollAll());
+        assertEquals(2, poller.pollAll());
+        assertEquals(1, poller.pollAll());
+        assertEquals(List.of(10, 11, 12, 13, 14), received.stream().map(RowChange::getId).toList());
+
+        ChangeFeedStatsRow vehicles = poller.getStats().get(0);
+        assertEquals("vehicle", vehicles.getTable());
+        assertEquals(5, vehicles.getPublished());
+        assertTrue(vehicles.getLagMillis() >= 0);
+    }
+
+    @Test
+    void failingStreamDoesNotStopTheOthers() {
+        ChangeFeedPoller poller = poller(100);
+        poller.pollAll();
+        jdbc.execute("DROP TABLE repair_order");
+        jdbc.update("INSERT INTO vehicle VALUES (3, 1, TIMESTAMP '2024-01-02 08:00:00')");
+
+        assertEquals(1, poller.pollAll());
+        assertEquals(1, poller.getStats().get(2).getFailures());
+    }
+
+    @Test
+    void leavesRowsYoungerThanTheCommitGraceOnTheDatabaseClock() {
+        ChangeFeedPoller poller = poller(100, 60_000);
+        poller.pollAll();
+        jdbc.update("INSERT INTO vehicle VALUES (3, 1, TIMESTAMPADD(MINUTE, -2, CURRENT_TIMESTAMP(3)))");
+        jdbc.update("INSERT INTO vehicle VALUES (4, 1, TIMESTAMPADD(SECOND, -30, CURRENT_TIMESTAMP(3)))");
+
+        assertEquals(1, poller.pollAll());
+        assertEquals(List.of(3), received.stream().map(RowChange::getId).toList());
+    }
+
+    private ChangeFeedPoller poller(int pageSize) {
+        return poller(pageSize, 0);
+    }
+
+    private ChangeFeedPoller poller(int pageSize, long commitGraceMillis) {
+        ChangeFeedPoller poller = new ChangeFeedPoller(router,
+                new StaticListableBeanFactory().getBeanProvider(ChangeListener.class), 10, 100,
+                commitGraceMillis, pageSize);
+        poller.subscribe(received::addAll);
+        return poller;
+    }
+}
@@ -0,0 +1,74 @@
+package dealership.api.cost;
+
+import dealership.api.model.CostStatsRow;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.stereotype.Repository;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that request and DAO call costs are attributed to their endpoint and DAO method.
+ */
+class CostAccountingTest {
+
+    private static final int DAO_BYTES = 4 * 1024 * 1024;
+    private static final int HANDLER_BYTES = 1024 * 1024;
+
+    @Test
+    void requestCostIsSplitIntoDaoShareAndTheRest() throws Exception {
+        CostAccounting accounting = new CostAccounting(500);
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("costAccounting", accounting);
+        AllocatingDao dao = (AllocatingDao) new DaoCostPostProcessor(beanFactory.getBeanProvider(CostAccounting.class))
+                .postProcessAfterInitialization(new AllocatingDao(), "allocatingDao");
+        CostAccountingFilter filter = new CostAccountingFilter(accounting);
+
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/owner/stock-unsold");
+            filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/owner/stock-unsold");
+                byte[] rows = dao.load(DAO_BYTES);
+                byte[] body = new byte[HANDLER_BYTES];
+                body[0] = rows[0];
+                res.getOutputStream().write(body, 0, 1);
+            });
+        }
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/health"), new MockHttpServletResponse(),
+                (req, res) -> req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/health"));
+
+        List<CostStatsRow> endpoints = accounting.getEndpointStats("bytes");
+        assertEquals(List.of("GET /api/owner/stock-unsold", "GET /api/health"),
+                endpoints.stream().map(CostStatsRow::getName).toList());
+        CostStatsRow stock = endpoints.get(0);
+        assertEquals(3, stock.getCalls());
+        assertEquals(1.0, stock.getDaoCallsPerCall());
+        assertTrue(stock.getAllocatedBytesPerCall() >= DAO_BYTES + HANDLER_BYTES, stock.getAllocatedBytesPerCall() + "");
+        assertTrue(stock.getDaoAllocatedBytesPerCall() >= DAO_BYTES, stock.getDaoAllocatedBytesPerCall() + "");
+        assertTrue(stock.getDaoAllocatedBytesPerCall() < DAO_BYTES + HANDLER_BYTES,
+                stock.getDaoAllocatedBytesPerCall() + "");
+        assertEquals(0.0, endpoints.get(1).getDaoCallsPerCall());
+
+        List<CostStatsRow> daoMethods = accounting.getDaoStats("calls");
+        assertEquals(1, daoMethods.size());
+        assertEquals("AllocatingDao.load", daoMethods.get(0).getName());
+        assertEquals(3, daoMethods.get(0).getCalls());
+    }
+
+    /**
+     * Repository standing in for a DAO that materializes a large result.
+     */
+    @Repository
+    static class AllocatingDao {
+
+        public byte[] load(int bytes) {
+            return new byte[bytes];
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package dealership.api.dao;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Load comparison of the blocking and reactive unsold stock endpoints.
+ * <p>
+ * Each of {@code CLIENTS} concurrent clients sends {@code REQUESTS} requests
+ * back to back against the full application on an embedded H2 database, and
+ * the throughput, latency percentiles and peak JVM thread count of each path
+ * are printed. The report cache TTL is set to zero so both paths read the
+ * database; concurrent blocking misses still share one load.
+ * Run with {@code mvn test -Dtest=ReactiveLoadComparisonTest -Dbenchmarks=true}.
+ * </p>
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive-load;MODE=MySQL;NON_KEYWORDS=YEAR,USER;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.flyway.enabled=false",
+        "dealership.reactive.enabled=true",
+        "dealership.reactive.url=r2dbc:h2:mem:///reactive-load?options=MODE=MySQL;NON_KEYWORDS=YEAR,USER;DB_CLOSE_DELAY=-1",
+        "dealership.change-feed.enabled=false",
+        "dealership.warmup.enabled=false",
+        "dealership.access-log.enabled=false",
+        "dealership.cache.default-ttl=0s",
+        "dealership.cache.ttl.stock-unsold=0s"
+})
+class ReactiveLoadComparisonTest {
+
+    private static final int ROWS = 5_000;
+    private static final int CLIENTS = 500;
+    private static final int REQUESTS = 5;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void compareBlockingAndReactiveStock() {
+        jdbc.execute("DROP TABLE IF EXISTS vehicle");
+        jdbc.execute("CREATE TABLE vehicle (id INT PRIMARY KEY, current_dealership_id INT, plate VARCHAR(20), "
+                + "brand VARCHAR(50), model VARCHAR(50), year INT, mileage INT, status VARCHAR(20))");
+        jdbc.update("INSERT INTO vehicle SELECT X, MOD(X, 50) + 1, 'PL-' || X, 'Brand' || MOD(X, 20), "
+                + "'Model' || MOD(X, 200), 2000 + MOD(X, 25), X * 7, "
+                + "CASE WHEN MOD(X, 4) = 0 THEN 'SOLD' ELSE 'AVAILABLE' END FROM SYSTEM_RANGE(1, " + ROWS + ")");
+
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest blocking = request("/api/owner/stock-unsold", "application/json");
+        HttpRequest reactive = request("/api/owner/reactive/stock-unsold", "application/x-ndjson");
+
+        run("warm-up blocking", client, blocking, CLIENTS / 10);
+        run("warm-up reactive", client, reactive, CLIENTS / 10);
+        run("blocking", client, blocking, CLIENTS);
+        run("reactive", client, reactive, CLIENTS);
+    }
+
+    private HttpRequest request(String path, String accept) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept", accept)
+                .build();
+    }
+
+    private static void run(String name, HttpClient client, HttpRequest request, int clients) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+
+        long begin = System.nanoTime();
+        List<CompletableFuture<Void>> loops = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            loops.add(loop(client, request, REQUESTS, latencies));
+        }
+        CompletableFuture.allOf(loops.toArray(CompletableFuture[]::new)).join();
+        long elapsedNanos = System.nanoTime() - begin;
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        assertEquals(clients * REQUESTS, sorted.size());
+        System.out.printf("%s: %d requests in %.0f ms, %.0f req/s, p50 %.1f ms, p99 %.1f ms, peak threads %d%n",
+                name, sorted.size(), elapsedNanos / 1e6, sorted.size() / (elapsedNanos / 1e9),
+                percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6, threads.getPeakThreadCount());
+    }
+
+    private static CompletableFuture<Void> loop(HttpClient client, HttpRequest request, int remaining,
+                                                List<Long> latencies) {
+        if (remaining == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long start = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenCompose(response -> {
+                    assertEquals(200, response.statusCode());
+                    latencies.add(System.nanoTime() - start);
+                    return loop(client, request, remaining - 1, latencies);
+                });
+    }
+
+    private static long percentile(List<Long> sorted, double quantile) {
+        return sorted.get(Math.min(sorted.size() - 1, (int) (sorted.size() * quantile)));
+    }
+}
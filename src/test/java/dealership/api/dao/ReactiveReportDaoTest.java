@@ -0,0 +1,163 @@
+package dealership.api.dao;
+
+import dealership.api.datasource.ReplicaLagMonitor;
+import dealership.api.model.OwnerSummaryRow;
+import dealership.api.model.RepairRevenueRow;
+import dealership.api.model.SalesByEmployeeRow;
+import dealership.api.model.VehicleStockRow;
+import dealership.api.shard.Shard;
+import dealership.api.shard.ShardRouter;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the R2DBC report path against the blocking DAOs on two embedded H2 shards.
+ */
+class ReactiveReportDaoTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private JdbcTemplate defaultJdbc;
+    private JdbcTemplate northJdbc;
+    private ShardRouter router;
+    private ReactiveReportDao reactiveDao;
+
+    @BeforeEach
+    void setUp() {
+        defaultJdbc = shardDatabase("default");
+        northJdbc = shardDatabase("north");
+        router = new ShardRouter(
+                new Shard("default", defaultJdbc, defaultJdbc, Set.of()),
+                List.of(new Shard("north", northJdbc, northJdbc, Set.of(2))),
+                Runnable::run);
+        reactiveDao = new ReactiveReportDao(List.of(
+                connectionFactory("default"),
+                connectionFactory("north")));
+
+        defaultJdbc.update("INSERT INTO `user` VALUES (1, 1, 'Ana'), (3, 1, 'Carla')");
+        northJdbc.update("INSERT INTO `user` VALUES (2, 2, 'Bea')");
+        defaultJdbc.update("INSERT INTO vehicle VALUES (10, 1, 'P10', 'Seat', 'Ibiza', 2020, 1000, 'SOLD'), "
+                + "(11, 1, 'P11', 'Seat', 'Leon', 2021, 500, 'AVAILABLE'), "
+                + "(14, 1, 'P14', 'Seat', 'Arona', 2022, 50, 'RESERVED')");
+        northJdbc.update("INSERT INTO vehicle VALUES (12, 2, 'P12', 'Kia', 'Ceed', 2019, 9000, 'AVAILABLE'), "
+                + "(13, 2, 'P13', 'Kia', 'Rio', 2022, 10, 'SOLD'), "
+                + "(15, 2, 'P15', 'Kia', 'Niro', 2023, 5, 'AVAILABLE')");
+        defaultJdbc.update("INSERT INTO sale VALUES (100, 10, 1, 1000.00), (101, 10, 3, 4000.00)");
+        northJdbc.update("INSERT INTO sale VALUES (200, 13, 2, 3000.00)");
+        defaultJdbc.update("INSERT INTO repair_order VALUES (1000, 11, 'FINISHED', 100.00), "
+                + "(1001, 11, 'OPEN', 900.00)");
+        northJdbc.update("INSERT INTO repair_order VALUES (2000, 12, 'FINISHED', 250.00), "
+                + "(2001, 15, 'FINISHED', NULL)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        reactiveDao.close();
+    }
+
+    @Test
+    void reportsMatchTheBlockingDaos() {
+        List<VehicleStockRow> stock = reactiveDao.streamUnsoldStock().collectList().block(TIMEOUT);
+        assertEquals(List.of(15, 14, 12, 11), stock.stream().map(VehicleStockRow::getId).toList());
+        assertEquals(ids(new VehicleDao(router,
+                new StaticListableBeanFactory().getBeanProvider(ReplicaLagMonitor.class)).findUnsoldStock()), ids(stock));
+        assertEquals("Niro", stock.get(0).getModel());
+        assertEquals(2023, stock.get(0).getYear());
+
+        List<SalesByEmployeeRow> sales = reactiveDao.findSalesByEmployee().collectList().block(TIMEOUT);
+        assertEquals(List.of(3, 2, 1), sales.stream().map(SalesByEmployeeRow::getSellerUserId).toList());
+        assertEquals(new SalesDao(router, 100,
+                        new StaticListableBeanFactory().getBeanProvider(ReplicaLagMonitor.class))
+                        .findSalesByEmployee().stream()
+                        .map(row -> row.getEmployeeName() + "=" + row.getSalesTotal()).toList(),
+                sales.stream().map(row -> row.getEmployeeName() + "=" + row.getSalesTotal()).toList());
+
+        List<RepairRevenueRow> repairs = reactiveDao.findRepairRevenueByDealership().collectList().block(TIMEOUT);
+        assertEquals(List.of(2, 1), repairs.stream().map(RepairRevenueRow::getDealershipId).toList());
+        assertEquals(1, repairs.get(0).getNumReparaciones());
+
+        OwnerSummaryRow summary = reactiveDao.getSummary().block(TIMEOUT);
+        OwnerSummaryRow expected = new OwnerDao(router).getSummary();
+        assertEquals(expected.getSalesCount(), summary.getSalesCount());
+        assertEquals(0, expected.getSalesTotal().compareTo(summary.getSalesTotal()));
+        assertEquals(expected.getRepairsCount(), summary.getRepairsCount());
+        assertEquals(0, expected.getRepairsTotal().compareTo(summary.getRepairsTotal()));
+        assertEquals(4, summary.getUnsoldStockCount());
+    }
+
+    @Test
+    void stockIsOnlyReadAsFastAsItIsRequested() throws InterruptedException {
+        List<VehicleStockRow> received = new CopyOnWriteArrayList<>();
+        BaseSubscriber<VehicleStockRow> slowClient = new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                request(2);
+            }
+
+            @Override
+            protected void hookOnNext(VehicleStockRow row) {
+                received.add(row);
+            }
+        };
+        reactiveDao.streamUnsoldStock().subscribe(slowClient);
+
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (received.size() < 2 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertEquals(List.of(15, 14), ids(received));
+
+        slowClient.request(10);
+        deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (received.size() < 4 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertEquals(List.of(15, 14, 12, 11), ids(received));
+        assertTrue(slowClient.isDisposed());
+    }
+
+    private static List<Integer> ids(List<VehicleStockRow> rows) {
+        return rows.stream().map(VehicleStockRow::getId).toList();
+    }
+
+    private static ConnectionFactory connectionFactory(String name) {
+        return ConnectionFactories.get(ConnectionFactoryOptions
+                .parse("r2dbc:h2:mem:///reactive-" + name + "?options=MODE=MySQL;NON_KEYWORDS=YEAR,USER;DB_CLOSE_DELAY=-1")
+                .mutate()
+                .option(ConnectionFactoryOptions.USER, "sa")
+                .option(ConnectionFactoryOptions.PASSWORD, "")
+                .build());
+    }
+
+    private static JdbcTemplate shardDatabase(String name) {
+        JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:reactive-" + name + ";MODE=MySQL;NON_KEYWORDS=YEAR,USER;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbc.execute("DROP ALL OBJECTS");
+        jdbc.execute("CREATE TABLE `user` (id INT PRIMARY KEY, dealership_id INT, full_name VARCHAR(100))");
+        jdbc.execute("CREATE TABLE vehicle (id INT PRIMARY KEY, current_dealership_id INT, plate VARCHAR(20), "
+                + "brand VARCHAR(50), model VARCHAR(50), year INT, mileage INT, status VARCHAR(20))");
+        jdbc.execute("CREATE TABLE sale (id INT PRIMARY KEY, vehicle_id INT, seller_user_id INT, price DECIMAL(12,2))");
+        jdbc.execute("CREATE TABLE repair_order (id INT PRIMARY KEY, vehicle_id INT, status VARCHAR(20), "
+                + "estimated_budget DECIMAL(12,2))");
+        return jdbc;
+    }
+}
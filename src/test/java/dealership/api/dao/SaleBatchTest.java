@@ -0,0 +1,153 @@
+package dealership.api.dao;
+
+import dealership.api.cache.ReportCache;
+import dealership.api.cache.ReportKeys;
+import dealership.api.cache.StockReportUpdater;
+import dealership.api.controller.OwnerSaleController;
+import dealership.api.datasource.ReplicaLagMonitor;
+import dealership.api.model.CreateSaleRequest;
+import dealership.api.model.OwnerSummaryRow;
+import dealership.api.model.SaleBatchResult;
+import dealership.api.model.SalesByEmployeeRow;
+import dealership.api.model.VehicleStockRow;
+import dealership.api.resilience.ReportResult;
+import dealership.api.shard.Shard;
+import dealership.api.shard.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Batched sale recording over two shards, and the cached reports it patches.
+ * <p>
+ * Dealership 1 and its vehicles 1 to 3 and sellers 1 and 2 live on the
+ * default shard; dealership 2 with vehicle 10 and seller 3 on {@code north}.
+ * </p>
+ */
+class SaleBatchTest {
+
+    private JdbcTemplate defaultJdbc;
+    private JdbcTemplate northJdbc;
+    private ShardRouter router;
+    private SalesDao salesDao;
+
+    @BeforeEach
+    void setUp() {
+        defaultJdbc = database("default");
+        northJdbc = database("north");
+        router = new ShardRouter(new Shard("default", defaultJdbc, defaultJdbc, Set.of()),
+                List.of(new Shard("north", northJdbc, northJdbc, Set.of(2))), Runnable::run);
+        salesDao = new SalesDao(router, 100,
+                new StaticListableBeanFactory().getBeanProvider(ReplicaLagMonitor.class));
+        defaultJdbc.update("INSERT INTO `user` VALUES (1, 1, 2, 'ana', 'x', 'Ana', 1), (2, 1, 2, 'bob', 'x', 'Bob', 1), "
+                + "(4, 1, 2, 'old', 'x', 'Old', 0)");
+        northJdbc.update("INSERT INTO `user` VALUES (3, 2, 2, 'bea', 'x', 'Bea', 1)");
+        defaultJdbc.update("INSERT INTO vehicle VALUES (1, 1, 'P1', 'Seat', 'Ibiza', 2020, 10, 'AVAILABLE'), "
+                + "(2, 1, 'P2', 'Seat', 'Leon', 2021, 20, 'SOLD'), (3, 1, 'P3', 'Kia', 'Rio', 2022, 30, 'RESERVED')");
+        northJdbc.update("INSERT INTO vehicle VALUES (10, 2, 'P10', 'Kia', 'Ceed', 2018, 50, 'AVAILABLE')");
+        defaultJdbc.update("INSERT INTO sale (vehicle_id, seller_user_id, price) VALUES (2, 1, 1000.00)");
+    }
+
+    @Test
+    void salesAreRecordedPerShardAndPatchTheCachedReports() {
+        VehicleDao vehicleDao = new VehicleDao(router,
+                new StaticListableBeanFactory().getBeanProvider(ReplicaLagMonitor.class));
+        ReportCache cache = new ReportCache(Map.of(), Duration.ofMinutes(1));
+        cache.get(ReportKeys.STOCK_UNSOLD, () -> ReportResult.stale(vehicleDao.findUnsoldStock(), 5_000));
+        cache.get(ReportKeys.SALES_BY_EMPLOYEE, () -> ReportResult.fresh(salesDao.findSalesByEmployee()));
+        cache.get(ReportKeys.SUMMARY, () -> ReportResult.fresh(
+                new OwnerSummaryRow(1, new BigDecimal("1000.00"), 0, BigDecimal.ZERO, 3)));
+
+        OwnerSaleController controller = new OwnerSaleController(
+                salesDao, cache, new StockReportUpdater(cache), 2, 100);
+        ResponseEntity<?> response = controller.recordSales(List.of(
+                new CreateSaleRequest(1, 1, new BigDecimal("500.50")),
+                new CreateSaleRequest(2, 2, new BigDecimal("900")),
+                new CreateSaleRequest(3, 1, new BigDecimal("700")),
+                new CreateSaleRequest(10, 3, new BigDecimal("300"))));
+
+        SaleBatchResult result = (SaleBatchResult) response.getBody();
+        assertEquals(4, result.getRequested());
+        assertEquals(3, result.getRecorded());
+        assertEquals(new BigDecimal("1500.50"), result.getRecordedTotal());
+        assertEquals(List.of(2), result.getConflicts());
+        assertEquals(3, defaultJdbc.queryForObject("SELECT COUNT(*) FROM sale", Integer.class));
+        assertEquals(1, northJdbc.queryForObject("SELECT COUNT(*) FROM sale WHERE seller_user_id = 3", Integer.class));
+        assertEquals(0, defaultJdbc.queryForObject(
+                "SELECT COUNT(*) FROM vehicle WHERE status <> 'SOLD'", Integer.class));
+
+        ReportResult<List<VehicleStockRow>> stock = cache.get(ReportKeys.STOCK_UNSOLD, () -> {
+            throw new AssertionError("stock list should have been patched, not dropped");
+        });
+        assertEquals(List.of(), stock.getValue());
+        assertTrue(stock.isStale(), "patching keeps the freshness of the cached list");
+
+        // Counts are not patched: the cached summary may already include the sales.
+        ReportResult<OwnerSummaryRow> reloaded = ReportResult.fresh(
+                new OwnerSummaryRow(4, new BigDecimal("2500.50"), 0, BigDecimal.ZERO, 0));
+        assertSame(reloaded, cache.get(ReportKeys.SUMMARY, () -> reloaded));
+
+        // The report is dropped as well, so it is reloaded and matches the database.
+        ReportResult<List<SalesByEmployeeRow>> bySeller = cache.get(ReportKeys.SALES_BY_EMPLOYEE,
+                () -> ReportResult.fresh(salesDao.findSalesByEmployee()));
+        assertEquals(List.of("Ana:3:2200.50", "Bea:1:300.00"), bySeller.getValue().stream()
+                .map(row -> row.getEmployeeName() + ":" + row.getSalesCount() + ":" + row.getSalesTotal())
+                .toList());
+    }
+
+    @Test
+    void batchesNamingUnknownPartiesAreRejectedBeforeAnyWrite() {
+        assertThrows(InvalidSaleException.class, () -> salesDao.recordSales(List.of(
+                new CreateSaleRequest(1, 1, BigDecimal.TEN), new CreateSaleRequest(99, 1, BigDecimal.TEN)), 100));
+        assertThrows(InvalidSaleException.class, () -> salesDao.recordSales(List.of(
+                new CreateSaleRequest(1, 4, BigDecimal.TEN)), 100));
+        assertThrows(InvalidSaleException.class, () -> salesDao.recordSales(List.of(
+                new CreateSaleRequest(10, 1, BigDecimal.TEN)), 100));
+
+        assertEquals(1, defaultJdbc.queryForObject("SELECT COUNT(*) FROM sale", Integer.class));
+        assertEquals("AVAILABLE", defaultJdbc.queryForObject("SELECT status FROM vehicle WHERE id = 1", String.class));
+    }
+
+    @Test
+    void salesOnTheDefaultShardKeepReadsOnThePrimary() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(defaultJdbc.getDataSource(), "SELECT 0", "0", 2000, 60_000);
+        monitor.recordLag(0);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("replicaLagMonitor", monitor);
+        SalesDao monitored = new SalesDao(router, 100, beans.getBeanProvider(ReplicaLagMonitor.class));
+
+        monitored.recordSales(List.of(new CreateSaleRequest(10, 3, BigDecimal.TEN)), 100);
+        assertTrue(monitor.shouldReadFromReplica(), "a sale on another shard does not affect the replica");
+
+        monitored.recordSales(List.of(new CreateSaleRequest(1, 1, BigDecimal.TEN)), 100);
+        assertFalse(monitor.shouldReadFromReplica());
+    }
+
+    private static JdbcTemplate database(String name) {
+        JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:sales-" + name + ";MODE=MySQL;NON_KEYWORDS=YEAR,USER;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbc.execute("DROP ALL OBJECTS");
+        jdbc.execute("CREATE TABLE `user` (id INT PRIMARY KEY, dealership_id INT, role_id INT, "
+                + "username VARCHAR(100), password_hash VARCHAR(100), full_name VARCHAR(150), is_active TINYINT)");
+        jdbc.execute("CREATE TABLE vehicle (id INT PRIMARY KEY, current_dealership_id INT, plate VARCHAR(20), "
+                + "brand VARCHAR(50), model VARCHAR(50), year INT, mileage INT, status VARCHAR(20))");
+        jdbc.execute("CREATE TABLE sale (id INT AUTO_INCREMENT PRIMARY KEY, vehicle_id INT, seller_user_id INT, "
+                + "price DECIMAL(12,2))");
+        return jdbc;
+    }
+}
@@ -0,0 +1,174 @@
+package dealership.api.dao;
+
+import dealership.api.cache.ReportCache;
+import dealership.api.cache.ReportKeys;
+import dealership.api.cache.StockReportUpdater;
+import dealership.api.controller.OwnerVehicleController;
+import dealership.api.datasource.ReplicaLagMonitor;
+import dealership.api.json.ProjectedRows;
+import dealership.api.model.OwnerSummaryRow;
+import dealership.api.model.VehicleStatusTransition;
+import dealership.api.model.VehicleStatusTransitionResult;
+import dealership.api.model.VehicleStockRow;
+import dealership.api.projection.VehicleStockField;
+import dealership.api.resilience.ReportResult;
+import dealership.api.shard.Shard;
+import dealership.api.shard.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bulk status transitions over two shards, and the cached reports they patch.
+ * <p>
+ * Vehicles 1 to 4 belong to dealership 1 on the default shard, vehicles 10
+ * and 11 to dealership 2 on {@code north}.
+ * </p>
+ */
+class VehicleStatusTransitionTest {
+
+    private static final List<String> STATUSES = List.of("AVAILABLE", "RESERVED", "IN_REPAIR", "SOLD");
+
+    private JdbcTemplate defaultJdbc;
+    private JdbcTemplate northJdbc;
+    private ShardRouter router;
+
+    @BeforeEach
+    void setUp() {
+        defaultJdbc = database("default");
+        northJdbc = database("north");
+        router = new ShardRouter(new Shard("default", defaultJdbc, defaultJdbc, Set.of()),
+                List.of(new Shard("north", northJdbc, northJdbc, Set.of(2))), Runnable::run);
+        defaultJdbc.update("INSERT INTO vehicle VALUES (1, 1, 'P1', 'Seat', 'Ibiza', 2020, 10, 'AVAILABLE'), "
+                + "(2, 1, 'P2', 'Seat', 'Leon', 2021, 20, 'AVAILABLE'), (3, 1, 'P3', 'Kia', 'Rio', 2022, 30, 'RESERVED'), "
+                + "(4, 1, 'P4', 'Fiat', '500', 2019, 40, 'AVAILABLE')");
+        northJdbc.update("INSERT INTO vehicle VALUES (10, 2, 'P10', 'Kia', 'Ceed', 2018, 50, 'AVAILABLE'), "
+                + "(11, 2, 'P11', 'Fiat', 'Panda', 2023, 5, 'RESERVED')");
+    }
+
+    @Test
+    void transitionsApplyPerShardAndPatchTheCachedReports() {
+        VehicleDao vehicleDao = new VehicleDao(router,
+                new StaticListableBeanFactory().getBeanProvider(ReplicaLagMonitor.class));
+        ReportCache cache = new ReportCache(Map.of(), Duration.ofMinutes(1));
+        List<VehicleStockRow> stock = cache.get(ReportKeys.STOCK_UNSOLD, vehicleDao::findUnsoldStock);
+        EnumSet<VehicleStockField> fields = VehicleStockField.parse("plate,status");
+        String projectedKey = ReportKeys.withFields(ReportKeys.STOCK_UNSOLD, VehicleStockField.format(fields));
+        cache.get(projectedKey, () -> ProjectedRows.ofVehicles(vehicleDao.findUnsoldStock(fields), fields));
+        cache.get(ReportKeys.SUMMARY, () -> ReportResult.fresh(
+                new OwnerSummaryRow(3, BigDecimal.TEN, 1, BigDecimal.ONE, 6)));
+
+        OwnerVehicleController controller = new OwnerVehicleController(
+                vehicleDao, cache, new StockReportUpdater(cache), 2, 100, STATUSES);
+        ResponseEntity<?> response = controller.transitionStatuses(List.of(
+                new VehicleStatusTransition(1, "AVAILABLE", "SOLD"),
+                new VehicleStatusTransition(2, "RESERVED", "SOLD"),
+                new VehicleStatusTransition(3, "RESERVED", "AVAILABLE"),
+                new VehicleStatusTransition(4, "AVAILABLE", "SOLD"),
+                new VehicleStatusTransition(10, "AVAILABLE", "SOLD"),
+                new VehicleStatusTransition(11, " RESERVED ", "IN_REPAIR"),
+                new VehicleStatusTransition(99, "AVAILABLE", "SOLD")));
+
+        VehicleStatusTransitionResult result = (VehicleStatusTransitionResult) response.getBody();
+        assertEquals(7, result.getRequested());
+        assertEquals(5, result.getApplied());
+        assertEquals(List.of(99), result.getNotFound());
+        assertEquals(List.of(2), result.getConflicts());
+        assertEquals("AVAILABLE", defaultJdbc.queryForObject("SELECT status FROM vehicle WHERE id = 2", String.class));
+        assertEquals("SOLD", northJdbc.queryForObject("SELECT status FROM vehicle WHERE id = 10", String.class));
+
+        List<VehicleStockRow> patched = cache.get(ReportKeys.STOCK_UNSOLD, () -> {
+            throw new AssertionError("stock list should have been patched, not dropped");
+        });
+        assertEquals(List.of("11:IN_REPAIR", "3:AVAILABLE", "2:AVAILABLE"),
+                patched.stream().map(row -> row.getId() + ":" + row.getStatus()).toList());
+        assertEquals("AVAILABLE", stock.get(2).getStatus(), "cached rows are copied, not modified");
+
+        ProjectedRows<VehicleStockRow> projected = cache.get(projectedKey, () -> {
+            throw new AssertionError("projected stock list should have been patched, not dropped");
+        });
+        assertEquals(List.of("P11:IN_REPAIR", "P3:AVAILABLE", "P2:AVAILABLE"),
+                projected.getRows().stream().map(row -> row.getPlate() + ":" + row.getStatus()).toList());
+
+        // Counts are not patched: the cached summary may already include the change.
+        ReportResult<OwnerSummaryRow> reloaded = ReportResult.fresh(
+                new OwnerSummaryRow(3, BigDecimal.TEN, 1, BigDecimal.ONE, 3));
+        assertSame(reloaded, cache.get(ReportKeys.SUMMARY, () -> reloaded));
+    }
+
+    @Test
+    void returningASoldVehicleToStockDropsTheCachedStockLists() {
+        defaultJdbc.update("UPDATE vehicle SET status = 'SOLD' WHERE id = 4");
+        VehicleDao vehicleDao = new VehicleDao(router,
+                new StaticListableBeanFactory().getBeanProvider(ReplicaLagMonitor.class));
+        ReportCache cache = new ReportCache(Map.of(), Duration.ofMinutes(1));
+        List<VehicleStockRow> before = cache.get(ReportKeys.STOCK_UNSOLD, vehicleDao::findUnsoldStock);
+
+        new OwnerVehicleController(vehicleDao, cache, new StockReportUpdater(cache), 200, 100, STATUSES)
+                .transitionStatuses(List.of(new VehicleStatusTransition(4, "SOLD", "AVAILABLE")));
+
+        List<VehicleStockRow> after = cache.get(ReportKeys.STOCK_UNSOLD, vehicleDao::findUnsoldStock);
+        assertEquals(before.size() + 1, after.size());
+        assertSame(after, cache.get(ReportKeys.STOCK_UNSOLD, vehicleDao::findUnsoldStock));
+    }
+
+    @Test
+    void statusesAreMatchedCaseInsensitivelyAndUnknownOnesRejected() {
+        VehicleDao vehicleDao = new VehicleDao(router,
+                new StaticListableBeanFactory().getBeanProvider(ReplicaLagMonitor.class));
+        ReportCache cache = new ReportCache(Map.of(), Duration.ofMinutes(1));
+        OwnerVehicleController controller = new OwnerVehicleController(
+                vehicleDao, cache, new StockReportUpdater(cache), 200, 100, STATUSES);
+
+        ResponseEntity<?> rejected = controller.transitionStatuses(List.of(
+                new VehicleStatusTransition(1, "AVAILABLE", "SOLD"),
+                new VehicleStatusTransition(4, "AVAILABLE", "scrapped")));
+        assertEquals(400, rejected.getStatusCode().value());
+        assertEquals(Map.of("error", "Unknown vehicle status: scrapped"), rejected.getBody());
+        assertEquals("AVAILABLE", defaultJdbc.queryForObject("SELECT status FROM vehicle WHERE id = 1", String.class));
+
+        ResponseEntity<?> accepted = controller.transitionStatuses(List.of(
+                new VehicleStatusTransition(1, "available", " Sold ")));
+        assertEquals(1, ((VehicleStatusTransitionResult) accepted.getBody()).getApplied());
+        assertEquals("SOLD", defaultJdbc.queryForObject("SELECT status FROM vehicle WHERE id = 1", String.class));
+    }
+
+    @Test
+    void transitionsOnTheDefaultShardKeepReadsOnThePrimary() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(defaultJdbc.getDataSource(), "SELECT 0", "0", 2000, 60_000);
+        monitor.recordLag(0);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("replicaLagMonitor", monitor);
+        VehicleDao vehicleDao = new VehicleDao(router, beans.getBeanProvider(ReplicaLagMonitor.class));
+
+        vehicleDao.transitionStatuses(List.of(new VehicleStatusTransition(10, "AVAILABLE", "SOLD")), 100);
+        assertTrue(monitor.shouldReadFromReplica(), "a write to another shard does not affect the replica");
+
+        vehicleDao.transitionStatuses(List.of(new VehicleStatusTransition(1, "AVAILABLE", "SOLD")), 100);
+        assertFalse(monitor.shouldReadFromReplica());
+    }
+
+    private static JdbcTemplate database(String name) {
+        JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:transitions-" + name + ";MODE=MySQL;NON_KEYWORDS=YEAR,USER;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbc.execute("DROP ALL OBJECTS");
+        jdbc.execute("CREATE TABLE vehicle (id INT PRIMARY KEY, current_dealership_id INT, plate VARCHAR(20), "
+                + "brand VARCHAR(50), model VARCHAR(50), year INT, mileage INT, status VARCHAR(20))");
+        return jdbc;
+    }
+}
@@ -0,0 +1,98 @@
+package dealership.api.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Routing tests against two embedded H2 databases playing the primary and the replica.
+ */
+class ReadRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private JdbcTemplate replicaJdbc;
+
+    @BeforeEach
+    void setUp() {
+        primary = embedded("primary");
+        replica = embedded("replica");
+        replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.execute("DROP TABLE IF EXISTS replica_status");
+        replicaJdbc.execute("CREATE TABLE replica_status (lag_seconds INT)");
+        replicaJdbc.update("INSERT INTO replica_status VALUES (0)");
+    }
+
+    @Test
+    void readsStayOnPrimaryUntilReplicaHasBeenProbed() {
+        ReplicaLagMonitor monitor = monitor(replica);
+        assertEquals("primary", whoAnswers(monitor, replica));
+    }
+
+    @Test
+    void readsGoToReplicaWhenLagIsWithinBound() {
+        ReplicaLagMonitor monitor = monitor(replica);
+        monitor.probe();
+        assertEquals("replica", whoAnswers(monitor, replica));
+    }
+
+    @Test
+    void readsFallBackToPrimaryWhenReplicaLags() {
+        ReplicaLagMonitor monitor = monitor(replica);
+        replicaJdbc.update("UPDATE replica_status SET lag_seconds = 30");
+        monitor.probe();
+        assertFalse(monitor.isReplicaUsable());
+        assertEquals("primary", whoAnswers(monitor, replica));
+    }
+
+    @Test
+    void readsFallBackToPrimaryWhenReplicationStopped() {
+        ReplicaLagMonitor monitor = monitor(replica);
+        replicaJdbc.update("UPDATE replica_status SET lag_seconds = NULL");
+        monitor.probe();
+        assertEquals("primary", whoAnswers(monitor, replica));
+    }
+
+    @Test
+    void readsAfterLocalWriteGoToPrimary() {
+        ReplicaLagMonitor monitor = monitor(replica);
+        monitor.probe();
+        monitor.markPrimaryWrite();
+        assertEquals("primary", whoAnswers(monitor, replica));
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToPrimary() {
+        DataSource unreachable = new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/missing", "sa", "");
+        ReplicaLagMonitor monitor = monitor(replica);
+        monitor.probe();
+        assertEquals("primary", whoAnswers(monitor, unreachable));
+        assertFalse(monitor.isReplicaUsable());
+    }
+
+    private ReplicaLagMonitor monitor(DataSource probed) {
+        return new ReplicaLagMonitor(probed, "SELECT lag_seconds FROM replica_status", "lag_seconds", 2000, 60_000);
+    }
+
+    private String whoAnswers(ReplicaLagMonitor monitor, DataSource replicaTarget) {
+        ReadRoutingDataSource routing = new ReadRoutingDataSource(primary, replicaTarget, monitor);
+        routing.afterPropertiesSet();
+        return new JdbcTemplate(routing).queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private static DataSource embedded(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP TABLE IF EXISTS marker");
+        jdbc.execute("CREATE TABLE marker (name VARCHAR(20))");
+        jdbc.update("INSERT INTO marker VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,51 @@
+package dealership.api.export;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CsvWriterTest {
+
+    @Test
+    void quotesOnlyWhenNeeded() throws Exception {
+        StringWriter out = new StringWriter();
+        new CsvWriter(out)
+                .header("id", "name", "total")
+                .number(1).text("Ana").number(new BigDecimal("10.50")).endRow()
+                .number(2).text("Ruiz, \"Pepe\"").number((BigDecimal) null).endRow()
+                .number(3).text("line\nbreak").number(new BigDecimal("1E+3")).endRow()
+                .number(4).text(null).number(new BigDecimal("-0.01")).endRow()
+                .flush();
+
+        assertEquals("id,name,total\r\n"
+                + "1,Ana,10.50\r\n"
+                + "2,\"Ruiz, \"\"Pepe\"\"\",\r\n"
+                + "3,\"line\nbreak\",1000\r\n"
+                + "4,,-0.01\r\n", out.toString());
+    }
+
+    @Test
+    void neutralizesSpreadsheetFormulas() throws Exception {
+        StringWriter out = new StringWriter();
+        new CsvWriter(out).text("=SUM(A1:A9)").text("+1").text("@cmd").text("a=b").endRow().flush();
+
+        assertEquals("\"'=SUM(A1:A9)\",\"'+1\",\"'@cmd\",a=b\r\n", out.toString());
+    }
+
+    @Test
+    void writesThroughWhenTheBufferFills() throws Exception {
+        StringWriter out = new StringWriter();
+        CsvWriter csv = new CsvWriter(out, 16);
+        StringBuilder expected = new StringBuilder();
+        for (int i = -500; i < 500; i++) {
+            csv.number(i * 4_301).text("name-" + i).number(Integer.MIN_VALUE).endRow();
+            expected.append(i * 4_301).append(",name-").append(i).append(",-2147483648\r\n");
+        }
+        csv.flush();
+
+        assertEquals(expected.toString(), out.toString());
+    }
+}
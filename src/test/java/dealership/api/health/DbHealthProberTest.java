@@ -0,0 +1,48 @@
+package dealership.api.health;
+
+import com.zaxxer.hikari.HikariDataSource;
+import dealership.api.model.DbHealthRow;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DbHealthProberTest {
+
+    @Test
+    void probesOnItsOwnThreadUntilShutDown() throws Exception {
+        try (HikariDataSource pool = new HikariDataSource()) {
+            pool.setJdbcUrl("jdbc:h2:mem:health-probe;DB_CLOSE_DELAY=-1");
+            pool.setUsername("sa");
+            pool.setPassword("");
+            pool.setPoolName("primary");
+            StaticListableBeanFactory beans = new StaticListableBeanFactory();
+            beans.addBean("dataSource", pool);
+            DbHealthProber prober = new DbHealthProber(pool, beans.getBeanProvider(HikariDataSource.class), 50, 2);
+
+            assertEquals("UNKNOWN", prober.snapshot().getStatus());
+            prober.start();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            long firstCheck = -1;
+            while (System.nanoTime() < deadline) {
+                DbHealthRow snapshot = prober.snapshot();
+                if (firstCheck < 0 && "UP".equals(snapshot.getStatus())) {
+                    firstCheck = snapshot.getCheckedAt();
+                } else if (firstCheck >= 0 && snapshot.getCheckedAt() > firstCheck) {
+                    break;
+                }
+                Thread.sleep(10);
+            }
+            assertTrue(firstCheck >= 0 && prober.snapshot().getCheckedAt() > firstCheck,
+                    "the probe should repeat without a scheduler");
+            assertEquals(1, prober.snapshot().getPools().size());
+
+            long stopping = System.nanoTime();
+            prober.shutdown();
+            assertTrue(System.nanoTime() - stopping < TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+}
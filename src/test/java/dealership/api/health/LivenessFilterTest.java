@@ -0,0 +1,39 @@
+package dealership.api.health;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LivenessFilterTest {
+
+    private final LivenessFilter filter = new LivenessFilter();
+
+    @Test
+    void answersLivenessWithoutCallingTheChain() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/health"), response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("ok", response.getContentAsString());
+        assertEquals(2, response.getContentLength());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void passesOtherRequestsOn() throws Exception {
+        MockFilterChain readyChain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/health/ready"), new MockHttpServletResponse(), readyChain);
+        assertNotNull(readyChain.getRequest());
+
+        MockFilterChain postChain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/health"), new MockHttpServletResponse(), postChain);
+        assertNotNull(postChain.getRequest());
+    }
+}
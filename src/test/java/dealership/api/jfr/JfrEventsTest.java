@@ -0,0 +1,126 @@
+package dealership.api.jfr;
+
+import dealership.api.dao.VehicleDao;
+import dealership.api.datasource.ReplicaLagMonitor;
+import dealership.api.model.JfrRecordingRow;
+import dealership.api.shard.Shard;
+import dealership.api.shard.ShardRouter;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the custom flight recorder events and the on-demand recording lifecycle.
+ */
+class JfrEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void daoCallsAndPasswordHashesAreRecorded() throws Exception {
+        JdbcTemplate jdbc = new JdbcTemplate(new TracingDataSource(new DriverManagerDataSource(
+                "jdbc:h2:mem:jfr-events;MODE=MySQL;NON_KEYWORDS=YEAR,USER;DB_CLOSE_DELAY=-1", "sa", "")));
+        jdbc.execute("DROP ALL OBJECTS");
+        jdbc.execute("CREATE TABLE vehicle (id INT PRIMARY KEY, current_dealership_id INT, plate VARCHAR(20), "
+                + "brand VARCHAR(50), model VARCHAR(50), year INT, mileage INT, status VARCHAR(20))");
+        jdbc.update("INSERT INTO vehicle VALUES (1, 1, 'P1', 'Seat', 'Ibiza', 2020, 10, 'AVAILABLE'), "
+                + "(2, 1, 'P2', 'Seat', 'Leon', 2021, 20, 'SOLD'), (3, 1, 'P3', 'Kia', 'Rio', 2022, 30, 'RESERVED')");
+        ShardRouter router = new ShardRouter(new Shard("default", jdbc, jdbc, Set.of()), List.of(), Runnable::run);
+        VehicleDao vehicleDao = (VehicleDao) new DaoEventPostProcessor()
+                .postProcessAfterInitialization(new VehicleDao(router,
+                        new StaticListableBeanFactory().getBeanProvider(ReplicaLagMonitor.class)), "vehicleDao");
+        PasswordEncoder encoder = new JfrPasswordEncoder(new BCryptPasswordEncoder(4));
+
+        vehicleDao.findUnsoldStock();
+        Path file = tempDir.resolve("events.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("dealership.*");
+            recording.start();
+            assertEquals(2, vehicleDao.findUnsoldStock().size());
+            assertTrue(encoder.matches("secret", encoder.encode("secret")));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent daoCall = single(events, "dealership.DaoCall");
+        assertEquals("VehicleDao", daoCall.getString("dao"));
+        assertEquals("findUnsoldStock", daoCall.getString("method"));
+        assertEquals("SELECT v.id, v.plate, v.brand, v.model, v.year, v.mileage, v.status "
+                + "FROM vehicle v WHERE v.status <> ? ORDER BY v.id DESC", daoCall.getString("sql"));
+        assertEquals(1, daoCall.getInt("statements"));
+        assertEquals(2, daoCall.getLong("rows"));
+
+        List<String> hashes = events.stream()
+                .filter(event -> event.getEventType().getName().equals("dealership.PasswordHash"))
+                .map(event -> event.getString("operation") + ":" + event.getBoolean("matched"))
+                .toList();
+        assertEquals(List.of("encode:false", "matches:true"), hashes);
+    }
+
+    @Test
+    void recordingIsStartedOnceDumpedWhileRunningAndKeptAfterStop() throws Exception {
+        JfrRecordingManager manager = new JfrRecordingManager(
+                tempDir.toString(), "default", Duration.ofMinutes(1), 10_000_000);
+        try {
+            assertEquals("NONE", manager.status().getState());
+            assertThrows(IllegalStateException.class, manager::snapshot);
+
+            JfrRecordingRow started = manager.start(Duration.ofHours(1));
+            assertEquals("RUNNING", started.getState());
+            assertEquals(60, started.getMaxDurationSeconds());
+            assertThrows(IllegalStateException.class, () -> manager.start(null));
+            Path first = manager.snapshot();
+            Path second = manager.snapshot();
+            assertNotEquals(first, second);
+            assertTrue(Files.isRegularFile(first));
+            assertTrue(Files.isRegularFile(second));
+
+            manager.stop();
+            assertThrows(IllegalStateException.class, manager::stop);
+            Path recorded = manager.snapshot();
+            assertTrue(recorded.getFileName().toString().endsWith(".jfr"));
+            assertTrue(manager.status().getSizeBytes() > 0);
+            assertTrue(RecordingFile.readAllEvents(recorded).stream()
+                            .map(event -> event.getEventType().getName())
+                            .noneMatch(name -> name.equals("jdk.InitialEnvironmentVariable")
+                                    || name.equals("jdk.InitialSystemProperty")
+                                    || name.equals("jdk.JVMInformation")),
+                    "environment, system properties and JVM arguments stay out of the recording");
+
+            // A new recording deletes the previous file, but not a snapshot still being downloaded.
+            long recordedSize = Files.size(recorded);
+            manager.start(null);
+            assertEquals(recordedSize, Files.size(recorded));
+        } finally {
+            manager.close();
+        }
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .toList();
+        assertEquals(1, matching.size(), name + " events: " + matching);
+        return matching.get(0);
+    }
+}
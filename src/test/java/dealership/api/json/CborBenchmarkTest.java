@@ -0,0 +1,91 @@
+package dealership.api.json;
+
+import dealership.api.config.JsonConfig;
+import dealership.api.model.UserRow;
+import dealership.api.model.VehicleStockRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import tools.jackson.databind.JavaType;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares payload size and encode/decode cost of JSON and CBOR for the list endpoints.
+ * <p>
+ * Sizes are reported both raw and gzip-compressed, since slow links usually
+ * sit behind a compressing proxy.
+ * </p>
+ * <p>
+ * Run with {@code mvn test -Dtest=CborBenchmarkTest -Dbenchmarks=true}.
+ * </p>
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class CborBenchmarkTest {
+
+    private static final int ROWS = 20_000;
+    private static final int ROUNDS = 30;
+
+    @Test
+    void payloadSizeAndSpeed() throws Exception {
+        List<VehicleStockRow> vehicles = new ArrayList<>(ROWS);
+        List<UserRow> users = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            vehicles.add(new VehicleStockRow(i, String.format("%04d-%s", i % 10_000, "BCD"), "Brand" + (i % 20),
+                    "Model" + (i % 200), 2000 + i % 25, i * 7, "AVAILABLE"));
+            users.add(new UserRow(i, i % 50, "Dealership " + (i % 50), i % 4, "ROLE" + (i % 4),
+                    "user" + i, "User Number " + i, i % 3 != 0));
+        }
+
+        JsonMapper json = JsonMapper.builder().addModule(new JsonConfig().rowSerializersModule()).build();
+        CBORMapper cbor = CBORMapper.builder().addModule(new JsonConfig().rowSerializersModule()).build();
+
+        report("vehicles", json, cbor, vehicles, VehicleStockRow.class);
+        report("users", json, cbor, users, UserRow.class);
+    }
+
+    private static void report(String name, JsonMapper json, CBORMapper cbor, List<?> rows, Class<?> rowType)
+            throws Exception {
+        for (ObjectMapper mapper : new ObjectMapper[] {json, cbor}) {
+            JavaType type = mapper.getTypeFactory().constructCollectionType(List.class, rowType);
+            byte[] payload = mapper.writerFor(type).writeValueAsBytes(rows);
+            encode(mapper, type, rows);
+            decode(mapper, type, payload);
+            long encodeNanos = encode(mapper, type, rows);
+            long decodeNanos = decode(mapper, type, payload);
+            System.out.printf("%s %-4s: %8d bytes (%7d gzipped), encode %.1f ns/row, decode %.1f ns/row%n",
+                    name, mapper == json ? "json" : "cbor", payload.length, gzippedSize(payload),
+                    (double) encodeNanos / ((long) ROWS * ROUNDS),
+                    (double) decodeNanos / ((long) ROWS * ROUNDS));
+        }
+    }
+
+    private static long encode(ObjectMapper mapper, JavaType type, List<?> rows) {
+        long begin = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            mapper.writerFor(type).writeValueAsBytes(rows);
+        }
+        return System.nanoTime() - begin;
+    }
+
+    private static long decode(ObjectMapper mapper, JavaType type, byte[] payload) {
+        long begin = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            mapper.readerFor(type).readValue(payload);
+        }
+        return System.nanoTime() - begin;
+    }
+
+    private static int gzippedSize(byte[] payload) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(payload);
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,43 @@
+package dealership.api.json;
+
+import dealership.api.config.JsonConfig;
+import dealership.api.model.UserRow;
+import dealership.api.model.VehicleStockRow;
+import org.junit.jupiter.api.Test;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CborRowsTest {
+
+    private final CBORMapper cbor = CBORMapper.builder()
+            .addModule(new JsonConfig().rowSerializersModule())
+            .build();
+    private final JsonMapper json = JsonMapper.builder().build();
+
+    @Test
+    void vehicleRowsRoundTripThroughCbor() {
+        List<VehicleStockRow> rows = List.of(
+                new VehicleStockRow(1, "1234-ABC", "Seat", "Ibiza", 2021, 15_000, "AVAILABLE"),
+                new VehicleStockRow(-5, null, "Ñandú", "\"x\"", 0, Integer.MAX_VALUE, "RESERVED"));
+
+        List<VehicleStockRow> decoded = cbor.readValue(cbor.writeValueAsBytes(rows), new TypeReference<>() { });
+
+        assertEquals(json.writeValueAsString(rows), json.writeValueAsString(decoded));
+    }
+
+    @Test
+    void userRowsRoundTripThroughCbor() {
+        List<UserRow> rows = List.of(
+                new UserRow(7, 2, "Madrid Centro", 3, "SALES", "jdoe", "John Doe", true),
+                new UserRow(8, 0, null, 1, "OWNER", "ana", null, false));
+
+        List<UserRow> decoded = cbor.readValue(cbor.writeValueAsBytes(rows), new TypeReference<>() { });
+
+        assertEquals(json.writeValueAsString(rows), json.writeValueAsString(decoded));
+    }
+}
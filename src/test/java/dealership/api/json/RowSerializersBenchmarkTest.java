@@ -0,0 +1,70 @@
+package dealership.api.json;
+
+import dealership.api.config.JsonConfig;
+import dealership.api.model.UserRow;
+import dealership.api.model.VehicleStockRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares reflective and streaming serialization of large row lists.
+ * <p>
+ * Run with {@code mvn test -Dtest=RowSerializersBenchmarkTest -Dbenchmarks=true}.
+ * </p>
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class RowSerializersBenchmarkTest {
+
+    private static final int ROWS = 50_000;
+    private static final int ROUNDS = 40;
+
+    @Test
+    void serializationThroughput() {
+        List<VehicleStockRow> vehicles = new ArrayList<>(ROWS);
+        List<UserRow> users = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            vehicles.add(new VehicleStockRow(i, "PL-" + i, "Brand" + (i % 20), "Model" + (i % 200),
+                    2000 + i % 25, i * 7, "AVAILABLE"));
+            users.add(new UserRow(i, i % 50, "Dealership " + (i % 50), i % 4, "ROLE" + (i % 4),
+                    "user" + i, "User Number " + i, i % 3 != 0));
+        }
+
+        JsonMapper reflective = JsonMapper.builder().build();
+        JsonMapper streaming = JsonMapper.builder().addModule(new JsonConfig().rowSerializersModule()).build();
+
+        report("vehicles", reflective.writerFor(reflective.getTypeFactory()
+                        .constructCollectionType(List.class, VehicleStockRow.class)),
+                streaming.writerFor(streaming.getTypeFactory()
+                        .constructCollectionType(List.class, VehicleStockRow.class)),
+                vehicles);
+        report("users", reflective.writerFor(reflective.getTypeFactory()
+                        .constructCollectionType(List.class, UserRow.class)),
+                streaming.writerFor(streaming.getTypeFactory()
+                        .constructCollectionType(List.class, UserRow.class)),
+                users);
+    }
+
+    private static void report(String name, ObjectWriter reflective, ObjectWriter streaming, List<?> rows) {
+        time(reflective, rows);
+        time(streaming, rows);
+        long reflectiveNanos = time(reflective, rows);
+        long streamingNanos = time(streaming, rows);
+        System.out.printf("%s: reflective %.1f ns/row, streaming %.1f ns/row%n", name,
+                (double) reflectiveNanos / ((long) ROWS * ROUNDS),
+                (double) streamingNanos / ((long) ROWS * ROUNDS));
+    }
+
+    private static long time(ObjectWriter writer, List<?> rows) {
+        long begin = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            writer.writeValue(OutputStream.nullOutputStream(), rows);
+        }
+        return System.nanoTime() - begin;
+    }
+}
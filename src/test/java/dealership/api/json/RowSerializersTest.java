@@ -0,0 +1,39 @@
+package dealership.api.json;
+
+import dealership.api.config.JsonConfig;
+import dealership.api.model.UserRow;
+import dealership.api.model.VehicleStockRow;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class RowSerializersTest {
+
+    private final JsonMapper reflective = JsonMapper.builder().build();
+    private final JsonMapper streaming = JsonMapper.builder()
+            .addModule(new JsonConfig().rowSerializersModule())
+            .build();
+
+    @Test
+    void vehicleRowsMatchBeanSerialization() {
+        List<VehicleStockRow> rows = List.of(
+                new VehicleStockRow(1, "1234-ABC", "Seat", "Ibiza", 2021, 15_000, "AVAILABLE"),
+                new VehicleStockRow(Integer.MAX_VALUE, "\"quoted\"\\", null, "Ñandú € 🚗", -1, 0, "\n\t\u0001"),
+                new VehicleStockRow());
+
+        assertArrayEquals(reflective.writeValueAsBytes(rows), streaming.writeValueAsBytes(rows));
+    }
+
+    @Test
+    void userRowsMatchBeanSerialization() {
+        List<UserRow> rows = List.of(
+                new UserRow(7, 2, "Madrid Centro", 3, "SALES", "jdoe", "John Doe", true),
+                new UserRow(Integer.MIN_VALUE, 0, null, -4, "</script>", "éè", null, false),
+                new UserRow());
+
+        assertArrayEquals(reflective.writeValueAsBytes(rows), streaming.writeValueAsBytes(rows));
+    }
+}
@@ -0,0 +1,266 @@
+package dealership.api.live;
+
+import dealership.api.cache.ReportCache;
+import dealership.api.cache.ReportKeys;
+import dealership.api.changefeed.ChangeFeedPoller;
+import dealership.api.changefeed.ChangeTable;
+import dealership.api.changefeed.RowChange;
+import dealership.api.controller.OwnerController;
+import dealership.api.cost.CostAccounting;
+import dealership.api.dao.OwnerDao;
+import dealership.api.model.OwnerSummaryRow;
+import dealership.api.resilience.ResilientReportLoader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.web.server.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SummaryBroadcasterTest {
+
+    private volatile OwnerSummaryRow summary = new OwnerSummaryRow(1, new BigDecimal("100.00"), 2, BigDecimal.TEN, 3);
+
+    private final OwnerDao ownerDao = new OwnerDao(null) {
+        @Override
+        public OwnerSummaryRow getSummary() {
+            return summary;
+        }
+    };
+
+    private final ResilientReportLoader loader = new ResilientReportLoader(2_000, 5, 30_000, 1, 30_000, 600_000);
+
+    private final SummaryBroadcaster broadcaster = broadcaster(new ReportCache(Map.of(), Duration.ZERO));
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+        loader.shutdown();
+    }
+
+    @Test
+    void sendsSnapshotFirstAndThenOnlyChangedFields() {
+        CapturingEmitter emitter = new CapturingEmitter(null);
+        broadcaster.register(emitter);
+
+        broadcaster.refresh();
+        summary = new OwnerSummaryRow(2, new BigDecimal("150.00"), 2, new BigDecimal("10.00"), 3);
+        broadcaster.refresh();
+        broadcaster.refresh();
+        awaitUntil(() -> emitter.events.size() >= 2);
+
+        assertEquals(2, emitter.events.size());
+        assertEquals("event:summary\ndata:{\"salesCount\":1,\"salesTotal\":100.00,\"repairsCount\":2,"
+                + "\"repairsTotal\":10,\"unsoldStockCount\":3}\n\n", emitter.events.get(0));
+        assertEquals("event:summary-delta\ndata:{\"salesCount\":2,\"salesTotal\":150.00}\n\n", emitter.events.get(1));
+    }
+
+    @Test
+    void lateSubscribersStartFromTheLatestSnapshot() {
+        broadcaster.refresh();
+        CapturingEmitter emitter = new CapturingEmitter(null);
+        broadcaster.register(emitter);
+        broadcaster.onChanges(List.of(new RowChange(ChangeTable.SALE, RowChange.Kind.INSERT, "default", 1, 1,
+                Instant.now())));
+        awaitUntil(() -> emitter.events.size() >= 2);
+
+        assertTrue(emitter.events.get(0).startsWith("event:summary\n"));
+        assertEquals("event:report-changed\ndata:{\"report\":\"sales-by-employee\"}\n\n", emitter.events.get(1));
+    }
+
+    @Test
+    void slowSubscribersAreEvicted() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CapturingEmitter slow = new CapturingEmitter(release);
+        CapturingEmitter fast = new CapturingEmitter(null);
+        broadcaster.register(slow);
+
+        for (int i = 0; i < 5; i++) {
+            broadcaster.heartbeat();
+        }
+        assertEquals(1, broadcaster.getEvicted());
+        assertEquals(0, broadcaster.getSubscriberCount());
+        release.countDown();
+
+        broadcaster.register(fast);
+        broadcaster.heartbeat();
+        awaitUntil(() -> fast.events.size() == 1);
+        assertEquals(":heartbeat\n\n", fast.events.get(0));
+        assertEquals(1, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void stalledWritesAreAbandonedWithoutHoldingUpOtherSubscribers() {
+        CountDownLatch release = new CountDownLatch(1);
+        CapturingEmitter stuck = new CapturingEmitter(release, false);
+        CapturingEmitter fast = new CapturingEmitter(null);
+        broadcaster.register(stuck);
+        broadcaster.heartbeat();
+        awaitUntil(() -> stuck.sending);
+
+        awaitUntil(() -> {
+            broadcaster.expireStalledSends();
+            return broadcaster.getEvicted() == 1;
+        });
+        assertEquals(1, broadcaster.getEvicted());
+        assertEquals(0, broadcaster.getSubscriberCount());
+        assertFalse(stuck.completed, "completing would wait for the write in progress");
+
+        // The only sender thread is still blocked in the abandoned write.
+        broadcaster.register(fast);
+        broadcaster.heartbeat();
+        awaitUntil(() -> fast.events.size() == 1);
+        assertEquals(List.of(":heartbeat\n\n"), fast.events);
+
+        release.countDown();
+        awaitUntil(() -> stuck.completed);
+        assertTrue(stuck.completed);
+    }
+
+    @Test
+    void stoppingInterruptsWritesInProgress() {
+        CapturingEmitter slow = new CapturingEmitter(new CountDownLatch(1));
+        broadcaster.start();
+        broadcaster.register(slow);
+        broadcaster.heartbeat();
+        awaitUntil(() -> slow.sending);
+
+        broadcaster.stop();
+
+        assertEquals(0, broadcaster.getSubscriberCount());
+        awaitUntil(() -> slow.completed);
+        assertTrue(slow.completed);
+        assertTrue(slow.events.isEmpty());
+    }
+
+    @Test
+    void stoppingCompletesOpenStreamsBeforeTheWebServerShutsDown() {
+        CapturingEmitter emitter = new CapturingEmitter(null);
+        broadcaster.start();
+        broadcaster.register(emitter);
+
+        broadcaster.stop();
+
+        assertTrue(emitter.completed);
+        assertEquals(0, broadcaster.getSubscriberCount());
+        assertFalse(broadcaster.isRunning());
+        assertTrue(broadcaster.getPhase() > WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE);
+    }
+
+    @Test
+    void summaryIsCachedInTheSameShapeAsTheSummaryEndpoint() {
+        ReportCache cache = new ReportCache(Map.of(), Duration.ofMinutes(1));
+        SummaryBroadcaster shared = broadcaster(cache);
+        OwnerController controller = controller(cache);
+        try {
+            CapturingEmitter emitter = new CapturingEmitter(null);
+            shared.register(emitter);
+            shared.refresh();
+            assertEquals(3, controller.getSummary().getBody().getUnsoldStockCount());
+
+            summary = new OwnerSummaryRow(1, new BigDecimal("100.00"), 2, BigDecimal.TEN, 4);
+            cache.invalidate(ReportKeys.SUMMARY);
+            assertEquals(4, controller.getSummary().getBody().getUnsoldStockCount());
+            shared.refresh();
+            awaitUntil(() -> emitter.events.size() >= 2);
+            assertEquals("event:summary-delta\ndata:{\"unsoldStockCount\":4}\n\n", emitter.events.get(1));
+        } finally {
+            shared.shutdown();
+        }
+    }
+
+    private SummaryBroadcaster broadcaster(ReportCache cache) {
+        return new SummaryBroadcaster(cache, loader, ownerDao, JsonMapper.builder().build(), 2, 10, 60_000, 1,
+                100);
+    }
+
+    private OwnerController controller(ReportCache cache) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        return new OwnerController(null, null, null, ownerDao, cache, loader,
+                beans.getBeanProvider(ChangeFeedPoller.class), beans.getBeanProvider(CostAccounting.class));
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Emitter recording the raw text of every event, optionally blocking on the first write.
+     * <p>
+     * A write that ignores interrupts behaves like a servlet container blocked on a full socket.
+     * </p>
+     */
+    private static final class CapturingEmitter extends SseEmitter {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch release;
+        private final boolean interruptible;
+        private volatile boolean sending;
+        private volatile boolean completed;
+
+        private CapturingEmitter(CountDownLatch release) {
+            this(release, true);
+        }
+
+        private CapturingEmitter(CountDownLatch release, boolean interruptible) {
+            this.release = release;
+            this.interruptible = interruptible;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            sending = true;
+            if (release != null) {
+                awaitRelease();
+            }
+            StringBuilder text = new StringBuilder();
+            items.forEach(item -> text.append(item.getData()));
+            events.add(text.toString());
+        }
+
+        private void awaitRelease() throws IOException {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    release.await();
+                    break;
+                } catch (InterruptedException ex) {
+                    if (interruptible) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException(ex);
+                    }
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+            super.complete();
+        }
+    }
+}
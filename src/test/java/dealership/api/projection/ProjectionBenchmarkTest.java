@@ -0,0 +1,96 @@
+package dealership.api.projection;
+
+import dealership.api.cache.ReferenceDataCache;
+import dealership.api.cache.ReportCache;
+import dealership.api.config.JsonConfig;
+import dealership.api.dao.DealershipDao;
+import dealership.api.dao.OwnerUserDao;
+import dealership.api.dao.RoleDao;
+import dealership.api.dao.VehicleDao;
+import dealership.api.datasource.ReplicaLagMonitor;
+import dealership.api.json.ProjectedRows;
+import dealership.api.shard.Shard;
+import dealership.api.shard.ShardRouter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Compares full and projected stock and user listings: query time and JSON size.
+ * <p>
+ * Runs against an embedded H2 database, so the query times only show the
+ * relative effect of narrower select lists and dropped joins.
+ * Run with {@code mvn test -Dtest=ProjectionBenchmarkTest -Dbenchmarks=true}.
+ * </p>
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class ProjectionBenchmarkTest {
+
+    private static final int ROWS = 50_000;
+    private static final int ROUNDS = 20;
+
+    @Test
+    void projectionSavings() {
+        JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:projection-bench;MODE=MySQL;NON_KEYWORDS=YEAR,USER;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbc.execute("DROP ALL OBJECTS");
+        jdbc.execute("CREATE TABLE dealership (id INT PRIMARY KEY, name VARCHAR(50))");
+        jdbc.execute("CREATE TABLE role (id INT PRIMARY KEY, name VARCHAR(50))");
+        jdbc.execute("CREATE TABLE vehicle (id INT PRIMARY KEY, current_dealership_id INT, plate VARCHAR(20), "
+                + "brand VARCHAR(50), model VARCHAR(50), year INT, mileage INT, status VARCHAR(20))");
+        jdbc.execute("CREATE TABLE `user` (id INT PRIMARY KEY, dealership_id INT, role_id INT, "
+                + "username VARCHAR(50), full_name VARCHAR(100), is_active INT)");
+        jdbc.update("INSERT INTO dealership SELECT X, 'Dealership ' || X FROM SYSTEM_RANGE(1, 50)");
+        jdbc.update("INSERT INTO role SELECT X, 'ROLE' || X FROM SYSTEM_RANGE(1, 4)");
+        jdbc.update("INSERT INTO vehicle SELECT X, MOD(X, 50) + 1, 'PL-' || X, 'Brand' || MOD(X, 20), "
+                + "'Model' || MOD(X, 200), 2000 + MOD(X, 25), X * 7, 'AVAILABLE' FROM SYSTEM_RANGE(1, " + ROWS + ")");
+        jdbc.update("INSERT INTO `user` SELECT X, MOD(X, 50) + 1, MOD(X, 4) + 1, 'user' || X, 'User Number ' || X, "
+                + "MOD(X, 3) FROM SYSTEM_RANGE(1, " + ROWS + ")");
+
+        ShardRouter router = new ShardRouter(new Shard("default", jdbc, jdbc, Set.of()), List.of(), Runnable::run);
+        VehicleDao vehicleDao = new VehicleDao(router,
+                new StaticListableBeanFactory().getBeanProvider(ReplicaLagMonitor.class));
+        OwnerUserDao userDao = new OwnerUserDao(router, new ReferenceDataCache(
+                new ReportCache(Map.of(), Duration.ofMinutes(10)), new DealershipDao(jdbc), new RoleDao(jdbc)),
+                new StaticListableBeanFactory().getBeanProvider(ReplicaLagMonitor.class));
+        JsonMapper mapper = JsonMapper.builder().addModule(new JsonConfig().rowSerializersModule()).build();
+
+        EnumSet<VehicleStockField> stockFields = VehicleStockField.parse("plate,brand,model");
+        report("stock", mapper,
+                vehicleDao::findUnsoldStock,
+                () -> ProjectedRows.ofVehicles(vehicleDao.findUnsoldStock(stockFields), stockFields));
+
+        EnumSet<UserField> userFields = UserField.parse("id,username,fullName");
+        report("users", mapper,
+                () -> userDao.findUsers(null, null, null),
+                () -> ProjectedRows.ofUsers(userDao.findUsers(null, null, null, userFields), userFields));
+    }
+
+    private static void report(String name, JsonMapper mapper, Supplier<Object> full, Supplier<Object> projected) {
+        time(full);
+        time(projected);
+        long fullNanos = time(full);
+        long projectedNanos = time(projected);
+        System.out.printf("%s: query full %.1f ms, projected %.1f ms; JSON full %d bytes, projected %d bytes%n",
+                name, fullNanos / 1e6 / ROUNDS, projectedNanos / 1e6 / ROUNDS,
+                mapper.writeValueAsBytes(full.get()).length, mapper.writeValueAsBytes(projected.get()).length);
+    }
+
+    private static long time(Supplier<Object> query) {
+        long begin = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            query.get();
+        }
+        return System.nanoTime() - begin;
+    }
+}
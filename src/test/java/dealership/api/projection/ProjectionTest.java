@@ -0,0 +1,87 @@
+package dealership.api.projection;
+
+import dealership.api.cache.ReferenceDataCache;
+import dealership.api.cache.ReportCache;
+import dealership.api.config.JsonConfig;
+import dealership.api.dao.DealershipDao;
+import dealership.api.dao.OwnerUserDao;
+import dealership.api.dao.RoleDao;
+import dealership.api.dao.VehicleDao;
+import dealership.api.datasource.ReplicaLagMonitor;
+import dealership.api.json.ProjectedRows;
+import dealership.api.model.UserRow;
+import dealership.api.model.VehicleStockRow;
+import dealership.api.shard.Shard;
+import dealership.api.shard.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProjectionTest {
+
+    private final JsonMapper mapper = JsonMapper.builder().addModule(new JsonConfig().rowSerializersModule()).build();
+
+    private JdbcTemplate jdbc;
+    private ShardRouter router;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:projection;MODE=MySQL;NON_KEYWORDS=YEAR,USER;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbc.execute("DROP ALL OBJECTS");
+        jdbc.execute("CREATE TABLE vehicle (id INT PRIMARY KEY, current_dealership_id INT, plate VARCHAR(20), "
+                + "brand VARCHAR(50), model VARCHAR(50), year INT, mileage INT, status VARCHAR(20))");
+        jdbc.execute("CREATE TABLE `user` (id INT PRIMARY KEY, dealership_id INT, role_id INT, "
+                + "username VARCHAR(50), full_name VARCHAR(100), is_active INT)");
+        jdbc.update("INSERT INTO vehicle VALUES (1, 1, 'P1', 'Seat', 'Ibiza', 2020, 1000, 'AVAILABLE'), "
+                + "(2, 1, 'P2', 'Kia', 'Rio', 2021, 50, 'AVAILABLE'), (3, 1, 'P3', 'Fiat', '500', 2019, 9, 'SOLD')");
+        jdbc.update("INSERT INTO `user` VALUES (1, 1, 1, 'ana', 'Ana', 1), (2, 1, 2, 'bea', 'Bea', 0)");
+        router = new ShardRouter(new Shard("default", jdbc, jdbc, Set.of()), List.of(), Runnable::run);
+    }
+
+    @Test
+    void parsesFieldListsInDeclarationOrder() {
+        assertEquals(EnumSet.of(VehicleStockField.PLATE, VehicleStockField.MODEL),
+                VehicleStockField.parse(" model, plate ,"));
+        assertEquals(EnumSet.allOf(VehicleStockField.class), VehicleStockField.parse(" "));
+        assertEquals("plate,model", VehicleStockField.format(VehicleStockField.parse("model,plate")));
+        assertThrows(UnknownFieldException.class, () -> UserField.parse("username,password_hash"));
+    }
+
+    @Test
+    void projectedStockSelectsAndWritesOnlyTheRequestedFields() {
+        EnumSet<VehicleStockField> fields = VehicleStockField.parse("plate,brand,model");
+        List<VehicleStockRow> rows = new VehicleDao(router,
+                new StaticListableBeanFactory().getBeanProvider(ReplicaLagMonitor.class)).findUnsoldStock(fields);
+
+        assertEquals("[{\"plate\":\"P2\",\"brand\":\"Kia\",\"model\":\"Rio\"},"
+                        + "{\"plate\":\"P1\",\"brand\":\"Seat\",\"model\":\"Ibiza\"}]",
+                mapper.writeValueAsString(ProjectedRows.ofVehicles(rows, fields)));
+    }
+
+    @Test
+    void userListingSkipsJoinsForNamesThatAreNotRequested() {
+        // Neither dealership nor role exists, so any join would fail.
+        OwnerUserDao dao = new OwnerUserDao(router, new ReferenceDataCache(
+                new ReportCache(Map.of(), Duration.ofMinutes(10)), new DealershipDao(jdbc), new RoleDao(jdbc)),
+                new StaticListableBeanFactory().getBeanProvider(ReplicaLagMonitor.class));
+        EnumSet<UserField> fields = UserField.parse("id,username,active");
+
+        List<UserRow> rows = dao.findUsers(null, null, Boolean.TRUE, fields);
+
+        assertEquals("[{\"id\":1,\"username\":\"ana\",\"active\":true}]",
+                mapper.writeValueAsString(ProjectedRows.ofUsers(rows, fields)));
+    }
+}
@@ -0,0 +1,74 @@
+package dealership.api.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-attempt cost of the login admission check.
+ * <p>
+ * Run with {@code mvn test -Dtest=TokenBucketLimiterBenchmarkTest -Dbenchmarks=true}.
+ * </p>
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class TokenBucketLimiterBenchmarkTest {
+
+    private static final int KEYS = 4096;
+    private static final int OPS_PER_THREAD = 2_000_000;
+
+    @Test
+    void admissionCheckOverhead() throws Exception {
+        String[] keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "10.0." + (i >> 8) + "." + (i & 0xff);
+        }
+
+        for (int threads : new int[] {1, 4, 16}) {
+            TokenBucketLimiter limiter = new TokenBucketLimiter(20, 20, 100_000, 64);
+            run(limiter, keys, threads);
+            long elapsedNanos = run(limiter, keys, threads);
+            System.out.printf("token bucket: %2d threads, %.1f ns/check per thread, %.1f M checks/s%n",
+                    threads,
+                    (double) elapsedNanos / OPS_PER_THREAD,
+                    (double) OPS_PER_THREAD * threads * 1_000 / elapsedNanos);
+        }
+    }
+
+    private static long run(TokenBucketLimiter limiter, String[] keys, int threads) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int offset = t * 31;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    int admitted = 0;
+                    for (int i = 0; i < OPS_PER_THREAD; i++) {
+                        if (limiter.tryAcquire(keys[(i + offset) & (KEYS - 1)])) {
+                            admitted++;
+                        }
+                    }
+                    if (admitted < 0) {
+                        System.out.println(admitted);
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+        return elapsed;
+    }
+}
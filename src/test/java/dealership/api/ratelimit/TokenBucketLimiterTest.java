@@ -0,0 +1,65 @@
+package dealership.api.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void burstUpToCapacityThenRejects() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, 60, 100, 4, clock::get);
+
+        assertTrue(limiter.tryAcquire("10.0.0.1"));
+        assertTrue(limiter.tryAcquire("10.0.0.1"));
+        assertTrue(limiter.tryAcquire("10.0.0.1"));
+        assertFalse(limiter.tryAcquire("10.0.0.1"));
+        assertTrue(limiter.tryAcquire("10.0.0.2"));
+    }
+
+    @Test
+    void tokensRefillOverTime() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 60, 100, 4, clock::get);
+
+        assertTrue(limiter.tryAcquire("key"));
+        assertFalse(limiter.tryAcquire("key"));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertFalse(limiter.tryAcquire("key"));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertTrue(limiter.tryAcquire("key"));
+        assertEquals(1, limiter.retryAfterSeconds());
+    }
+
+    @Test
+    void bucketCountStaysBounded() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(5, 60, 64, 4, clock::get);
+
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire("user-" + i);
+        }
+
+        assertTrue(limiter.size() <= 64, "buckets: " + limiter.size());
+    }
+
+    @Test
+    void fullyRefilledBucketsAreEvicted() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, 60, 100, 4, clock::get);
+        limiter.tryAcquire("idle");
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        limiter.tryAcquire("busy");
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1500));
+
+        assertEquals(1, limiter.evictIdle());
+        assertEquals(1, limiter.size());
+    }
+}
@@ -0,0 +1,202 @@
+package dealership.api.resilience;
+
+import dealership.api.cache.ReportKeys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResilientReportLoaderTest {
+
+    private final ResilientReportLoader loader = new ResilientReportLoader(100, 2, 60_000, 2, 5_000, 600_000);
+
+    @AfterEach
+    void tearDown() {
+        loader.shutdown();
+    }
+
+    @Test
+    void failedLoadServesLastGoodResult() {
+        assertEquals("v1", loader.fetch("report", () -> "v1").getValue());
+
+        ReportResult<String> result = loader.fetch("report", () -> {
+            throw new IllegalStateException("db down");
+        });
+
+        assertTrue(result.isStale());
+        assertEquals("v1", result.getValue());
+    }
+
+    @Test
+    void slowLoadServesLastGoodResultAndRefreshesInBackground() throws Exception {
+        loader.fetch("report", () -> "v1");
+        CountDownLatch release = new CountDownLatch(1);
+
+        ReportResult<String> result = loader.fetch("report", () -> {
+            await(release);
+            return "v2";
+        });
+        assertTrue(result.isStale());
+        assertEquals("v1", result.getValue());
+
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        String latest;
+        do {
+            Thread.sleep(10);
+            latest = loader.<String>fetch("report", () -> {
+                throw new IllegalStateException("db down");
+            }).getValue();
+        } while (!"v2".equals(latest) && System.nanoTime() < deadline);
+        assertEquals("v2", latest);
+    }
+
+    @Test
+    void openCircuitStopsCallingTheDatabase() {
+        loader.fetch("report", () -> "v1");
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 10; i++) {
+            loader.fetch("report", () -> {
+                calls.incrementAndGet();
+                throw new IllegalStateException("db down");
+            });
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, loader.getCircuitState());
+        assertTrue(calls.get() <= 4, "calls after opening: " + calls.get());
+    }
+
+    @Test
+    void loaderErrorDoesNotLeaveTheLoadInFlight() {
+        // The failed load is retried in the background, so allow both failures before the circuit opens.
+        ResilientReportLoader tolerant = new ResilientReportLoader(100, 5, 60_000, 2, 5_000, 600_000);
+        try {
+            // A load left in flight would block every fetch of the report forever.
+            ReportResult<String> result = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                assertThrows(ReportUnavailableException.class, () -> tolerant.fetch("report", () -> {
+                    throw new LinkageError("broken loader");
+                }));
+                while (true) {
+                    try {
+                        // A background retry finishing first makes the result stale rather than fresh.
+                        ReportResult<String> latest = tolerant.fetch("report", () -> "v1");
+                        if (latest.isFresh()) {
+                            return latest;
+                        }
+                    } catch (ReportUnavailableException ex) {
+                        // retried below
+                    }
+                    Thread.sleep(10);
+                }
+            });
+            assertTrue(result.isFresh());
+            assertEquals("v1", result.getValue());
+        } finally {
+            tolerant.shutdown();
+        }
+    }
+
+    @Test
+    void hungLoadsOpenTheCircuitAndFirstLoadsGiveUp() {
+        ResilientReportLoader bounded = new ResilientReportLoader(100, 2, 60_000, 2, 300, 600_000);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+                for (String report : List.of("first", "second")) {
+                    assertThrows(ReportUnavailableException.class, () -> bounded.fetch(report, () -> {
+                        await(release);
+                        return "v1";
+                    }));
+                }
+            });
+            assertEquals(CircuitBreaker.State.OPEN, bounded.getCircuitState());
+        } finally {
+            release.countDown();
+            bounded.shutdown();
+        }
+    }
+
+    @Test
+    void hungQueryFailsAtTheLoadTimeoutAndFreesTheLoad() {
+        JdbcTemplate jdbc = new QueryTimeoutJdbcTemplate(
+                new DriverManagerDataSource("jdbc:h2:mem:query-timeout;DB_CLOSE_DELAY=-1", "sa", ""));
+        ResilientReportLoader bounded = new ResilientReportLoader(100, 5, 60_000, 2, 500, 600_000);
+        try {
+            ReportResult<Long> result = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                assertThrows(ReportUnavailableException.class, () -> bounded.fetch("report",
+                        () -> jdbc.queryForObject("SELECT SUM(X) FROM SYSTEM_RANGE(1, 100000000000)", Long.class)));
+                while (true) {
+                    try {
+                        return bounded.fetch("report", () -> jdbc.queryForObject("SELECT 1", Long.class));
+                    } catch (ReportUnavailableException ex) {
+                        Thread.sleep(10);
+                    }
+                }
+            });
+            assertEquals(1L, result.getValue());
+        } finally {
+            bounded.shutdown();
+        }
+    }
+
+    @Test
+    void idleReportStatesAreEvicted() throws Exception {
+        ResilientReportLoader shortLived = new ResilientReportLoader(100, 5, 60_000, 2, 5_000, 50);
+        try {
+            shortLived.fetch("stock-unsold:d1", () -> "v1");
+            shortLived.fetch("stock-unsold:d2", () -> "v1");
+            shortLived.evictIdle();
+            assertEquals(2, shortLived.size());
+
+            Thread.sleep(100);
+            shortLived.fetch("stock-unsold:d2", () -> "v2");
+            shortLived.evictIdle();
+            assertEquals(1, shortLived.size());
+            assertThrows(ReportUnavailableException.class, () -> shortLived.fetch("stock-unsold:d1", () -> {
+                throw new IllegalStateException("db down");
+            }), "the last good result went with the evicted state");
+        } finally {
+            shortLived.shutdown();
+        }
+    }
+
+    @Test
+    void invalidatingAReportDropsTheLastGoodResultsOfItsVariants() {
+        loader.fetch(ReportKeys.forDealership(ReportKeys.STOCK_UNSOLD, 3), () -> "v1");
+        loader.fetch(ReportKeys.SUMMARY, () -> "v1");
+
+        loader.invalidateReport(ReportKeys.STOCK_UNSOLD);
+
+        assertEquals(1, loader.size());
+        assertThrows(ReportUnavailableException.class,
+                () -> loader.fetch(ReportKeys.forDealership(ReportKeys.STOCK_UNSOLD, 3), () -> {
+                    throw new IllegalStateException("db down");
+                }));
+    }
+
+    @Test
+    void reportWithoutPreviousResultIsUnavailable() {
+        assertThrows(ReportUnavailableException.class, () -> loader.fetch("report", () -> {
+            throw new IllegalStateException("db down");
+        }));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package dealership.api.schema;
+
+import dealership.api.cache.ReferenceDataCache;
+import dealership.api.cache.ReportCache;
+import dealership.api.dao.AuthDao;
+import dealership.api.dao.DealershipDao;
+import dealership.api.dao.OwnerDao;
+import dealership.api.dao.OwnerUserDao;
+import dealership.api.dao.RepairDao;
+import dealership.api.dao.RoleDao;
+import dealership.api.dao.SalesDao;
+import dealership.api.dao.VehicleDao;
+import dealership.api.datasource.ReplicaLagMonitor;
+import dealership.api.projection.UserField;
+import dealership.api.projection.VehicleStockField;
+import dealership.api.shard.Shard;
+import dealership.api.shard.ShardRouter;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the schema migrations apply on top of the existing tables and
+ * that every DAO query is planned on the index created for it.
+ * <p>
+ * The queries are captured while the real DAO methods run, so the check
+ * follows any change to their SQL. Each captured statement is explained with
+ * its parameters bound to {@code '1'}.
+ * </p>
+ * <p>
+ * The embedded H2 check runs on every build, but H2 cannot turn
+ * {@code status <> 'SOLD'} into index ranges, so the unsold stock and owner
+ * summary plans are only asserted against MySQL. Point
+ * {@code -Dexplain.mysql.url} at an empty scratch database to run that check;
+ * its tables are dropped and recreated.
+ * </p>
+ */
+class SchemaMigrationTest {
+
+    private static final String[] TABLES = {
+            "flyway_schema_history", "login_audit", "repair_order", "sale", "vehicle", "`user`", "role", "dealership"
+    };
+
+    @Test
+    void migrationsApplyOnTopOfTheExistingSchema() {
+        JdbcTemplate jdbc = h2Database();
+        createBaseSchema(jdbc);
+        seed(jdbc);
+
+        MigrateResult first = flyway(jdbc.getDataSource()).migrate();
+        MigrateResult second = flyway(jdbc.getDataSource()).migrate();
+
+        assertEquals("3", first.targetSchemaVersion);
+        assertEquals(0, second.migrationsExecuted);
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM login_audit", Integer.class));
+        assertEquals(0, jdbc.queryForObject(
+                "SELECT COUNT(*) FROM `user` WHERE last_login_at IS NOT NULL", Integer.class));
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM vehicle WHERE updated_at IS NULL", Integer.class));
+    }
+
+    @Test
+    void daoQueriesUseTheirIndexesOnH2() {
+        JdbcTemplate jdbc = h2Database();
+        createBaseSchema(jdbc);
+        seed(jdbc);
+        flyway(jdbc.getDataSource()).migrate();
+
+        assertPlans(jdbc.getDataSource(), false, sql -> jdbc.queryForObject("EXPLAIN " + sql, String.class));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "explain.mysql.url", matches = ".+")
+    void daoQueriesUseTheirIndexesOnMySql() {
+        JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(
+                System.getProperty("explain.mysql.url"),
+                System.getProperty("explain.mysql.username", "root"),
+                System.getProperty("explain.mysql.password", "root")));
+        for (String table : TABLES) {
+            jdbc.execute("DROP TABLE IF EXISTS " + table);
+        }
+        createBaseSchema(jdbc);
+        seed(jdbc);
+        flyway(jdbc.getDataSource()).migrate();
+        jdbc.execute("ANALYZE TABLE vehicle, sale, repair_order, `user`");
+
+        assertPlans(jdbc.getDataSource(), true, sql -> String.join(",", jdbc.query("EXPLAIN " + sql,
+                (rs, rowNum) -> String.valueOf(rs.getString("key")))));
+    }
+
+    /**
+     * Runs every DAO query and asserts that each captured statement is planned on its index.
+     *
+     * @param dataSource migrated database
+     * @param mySql whether the plans come from MySQL, enabling the {@code <>} range checks
+     * @param explain returns the plan of a statement, mentioning the indexes it uses
+     */
+    private static void assertPlans(DataSource dataSource, boolean mySql, Function<String, String> explain) {
+        List<String> captured = new ArrayList<>();
+        JdbcTemplate recording = new JdbcTemplate(new RecordingDataSource(dataSource, captured));
+        ShardRouter router = new ShardRouter(
+                new Shard("default", recording, recording, Set.of()), List.of(), Runnable::run);
+
+        VehicleDao vehicleDao = new VehicleDao(router,
+                new StaticListableBeanFactory().getBeanProvider(ReplicaLagMonitor.class));
+        SalesDao salesDao = new SalesDao(router, 100,
+                new StaticListableBeanFactory().getBeanProvider(ReplicaLagMonitor.class));
+        RepairDao repairDao = new RepairDao(router, 100);
+        OwnerDao ownerDao = new OwnerDao(router);
+        AuthDao authDao = new AuthDao(router);
+        JdbcTemplate reference = new JdbcTemplate(dataSource);
+        OwnerUserDao ownerUserDao = new OwnerUserDao(router, new ReferenceDataCache(
+                new ReportCache(Map.of(), Duration.ofMinutes(10)), new DealershipDao(reference), new RoleDao(reference)),
+                new StaticListableBeanFactory().getBeanProvider(ReplicaLagMonitor.class));
+
+        List<PlanCase> cases = new ArrayList<>(List.of(
+                new PlanCase("stock of a dealership", () -> vehicleDao.findUnsoldStock(1),
+                        "idx_vehicle_dealership_stock"),
+                new PlanCase("projected stock of a dealership",
+                        () -> vehicleDao.findUnsoldStock(1, EnumSet.of(VehicleStockField.PLATE)),
+                        "idx_vehicle_dealership_stock"),
+                new PlanCase("sales by employee", salesDao::findSalesByEmployee,
+                        "idx_sale_seller_price"),
+                new PlanCase("repair revenue by dealership", repairDao::findRepairRevenueByDealership,
+                        "idx_repair_order_status_budget"),
+                new PlanCase("login lookup", () -> authDao.findLoginUserByUsername("user1"),
+                        "idx_user_login"),
+                new PlanCase("username check", () -> ownerUserDao.existsUsername("user1"),
+                        "idx_user_login"),
+                new PlanCase("users of a dealership", () -> ownerUserDao.findUsers(1, null, null),
+                        "idx_user_dealership_role_active"),
+                new PlanCase("filtered users", () -> ownerUserDao.findUsers(1, 2, Boolean.TRUE,
+                        EnumSet.of(UserField.ID, UserField.USERNAME)),
+                        "idx_user_dealership_role_active")
+        ));
+        if (mySql) {
+            cases.add(new PlanCase("unsold stock", vehicleDao::findUnsoldStock,
+                    "idx_vehicle_stock"));
+            cases.add(new PlanCase("owner summary", ownerDao::getSummary,
+                    null, "idx_sale_seller_price",
+                    "idx_repair_order_status_budget", "idx_repair_order_status_budget",
+                    "idx_vehicle_stock"));
+        }
+
+        for (PlanCase planCase : cases) {
+            captured.clear();
+            planCase.query.run();
+            assertEquals(planCase.indexes.size(), captured.size(), planCase.name + ": captured statements");
+            for (int i = 0; i < captured.size(); i++) {
+                String index = planCase.indexes.get(i);
+                if (index == null) {
+                    continue;
+                }
+                String plan = explain.apply(captured.get(i).replace("?", "'1'"));
+                assertTrue(plan.toLowerCase(Locale.ROOT).contains(index),
+                        planCase.name + " should use " + index + " but was planned as:\n" + plan);
+            }
+        }
+    }
+
+    private static JdbcTemplate h2Database() {
+        JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:migrations;MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR,USER", "sa", ""));
+        jdbc.execute("DROP ALL OBJECTS");
+        return jdbc;
+    }
+
+    private static Flyway flyway(DataSource dataSource) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load();
+    }
+
+    /**
+     * Creates the tables as they exist before the first migration.
+     */
+    private static void createBaseSchema(JdbcTemplate jdbc) {
+        jdbc.execute("CREATE TABLE dealership (id INT PRIMARY KEY, name VARCHAR(100) NOT NULL)");
+        jdbc.execute("CREATE TABLE role (id INT PRIMARY KEY, name VARCHAR(50) NOT NULL)");
+        jdbc.execute("CREATE TABLE `user` (id INT AUTO_INCREMENT PRIMARY KEY, dealership_id INT NOT NULL, "
+                + "role_id INT NOT NULL, username VARCHAR(100) NOT NULL, password_hash VARCHAR(100) NOT NULL, "
+                + "full_name VARCHAR(150) NOT NULL, is_active TINYINT(1) NOT NULL)");
+        jdbc.execute("CREATE TABLE vehicle (id INT AUTO_INCREMENT PRIMARY KEY, current_dealership_id INT NOT NULL, "
+                + "plate VARCHAR(20) NOT NULL, brand VARCHAR(50) NOT NULL, model VARCHAR(50) NOT NULL, "
+                + "year INT NOT NULL, mileage INT NOT NULL, status VARCHAR(20) NOT NULL)");
+        jdbc.execute("CREATE TABLE sale (id INT AUTO_INCREMENT PRIMARY KEY, vehicle_id INT NOT NULL, "
+                + "seller_user_id INT NOT NULL, price DECIMAL(12,2) NOT NULL)");
+        jdbc.execute("CREATE TABLE repair_order (id INT AUTO_INCREMENT PRIMARY KEY, vehicle_id INT NOT NULL, "
+                + "status VARCHAR(20) NOT NULL, estimated_budget DECIMAL(12,2) NULL)");
+    }
+
+    /**
+     * Seeds a realistic distribution: most vehicles sold, a minority of repairs finished.
+     */
+    private static void seed(JdbcTemplate jdbc) {
+        jdbc.update("INSERT INTO dealership VALUES (1, 'Centro'), (2, 'Norte'), (3, 'Sur'), (4, 'Este')");
+        jdbc.update("INSERT INTO role VALUES (1, 'OWNER'), (2, 'SALES'), (3, 'MECHANIC')");
+
+        List<Object[]> users = new ArrayList<>();
+        for (int id = 1; id <= 400; id++) {
+            users.add(new Object[] {id, id % 4 + 1, id % 3 + 1, "user" + id, "hash", "User " + id, id % 5 == 0 ? 0 : 1});
+        }
+        jdbc.batchUpdate("INSERT INTO `user` (id, dealership_id, role_id, username, password_hash, full_name, "
+                + "is_active) VALUES (?, ?, ?, ?, ?, ?, ?)", users);
+
+        List<Object[]> vehicles = new ArrayList<>();
+        List<Object[]> sales = new ArrayList<>();
+        List<Object[]> repairs = new ArrayList<>();
+        for (int id = 1; id <= 4000; id++) {
+            boolean sold = id % 20 != 0;
+            vehicles.add(new Object[] {id, id % 4 + 1, "P" + id, "Brand" + id % 7, "Model" + id % 11,
+                    2010 + id % 14, id * 13 % 200_000, sold ? "SOLD" : "AVAILABLE"});
+            if (sold) {
+                sales.add(new Object[] {id, id, id % 400 + 1, 10_000 + id % 5_000});
+            }
+            repairs.add(new Object[] {id, id, id % 10 == 0 ? "FINISHED" : "OPEN", id % 3 == 0 ? null : 100 + id % 900});
+        }
+        jdbc.batchUpdate("INSERT INTO vehicle (id, current_dealership_id, plate, brand, model, year, mileage, status) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", vehicles);
+        jdbc.batchUpdate("INSERT INTO sale (id, vehicle_id, seller_user_id, price) VALUES (?, ?, ?, ?)", sales);
+        jdbc.batchUpdate("INSERT INTO repair_order (id, vehicle_id, status, estimated_budget) VALUES (?, ?, ?, ?)",
+                repairs);
+    }
+
+    /**
+     * A DAO call and the index expected for each statement it runs, {@code null} meaning unchecked.
+     */
+    private static final class PlanCase {
+        private final String name;
+        private final Runnable query;
+        private final List<String> indexes;
+
+        private PlanCase(String name, Runnable query, String... indexes) {
+            this.name = name;
+            this.query = query;
+            this.indexes = Arrays.asList(indexes);
+        }
+    }
+
+    /**
+     * Data source recording the SQL of every statement prepared or executed on it.
+     */
+    private static final class RecordingDataSource extends DelegatingDataSource {
+
+        private final List<String> captured;
+
+        private RecordingDataSource(DataSource target, List<String> captured) {
+            super(target);
+            this.captured = captured;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("prepare") && args != null && args[0] instanceof String sql) {
+                            captured.add(sql);
+                        }
+                        Object result = invoke(connection, method, args);
+                        if (result instanceof Statement statement && method.getName().equals("createStatement")) {
+                            return recording(statement);
+                        }
+                        return result;
+                    });
+        }
+
+        private Statement recording(Statement statement) {
+            return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Statement.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("execute") && args != null && args[0] instanceof String sql) {
+                            captured.add(sql);
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package dealership.api.shard;
+
+import dealership.api.cache.ReferenceDataCache;
+import dealership.api.cache.ReportCache;
+import dealership.api.config.JsonConfig;
+import dealership.api.controller.OwnerManagementController;
+import dealership.api.dao.AuthDao;
+import dealership.api.dao.DealershipDao;
+import dealership.api.dao.OwnerDao;
+import dealership.api.dao.OwnerUserDao;
+import dealership.api.dao.RepairDao;
+import dealership.api.dao.RoleDao;
+import dealership.api.dao.SalesDao;
+import dealership.api.dao.VehicleDao;
+import dealership.api.datasource.ReplicaLagMonitor;
+import dealership.api.model.CreateUserRequest;
+import dealership.api.model.OwnerSummaryRow;
+import dealership.api.model.RepairRevenueRow;
+import dealership.api.model.SalesByEmployeeRow;
+import dealership.api.model.UserRow;
+import dealership.api.model.VehicleStockRow;
+import dealership.api.projection.UserField;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Routing and scatter-gather tests against three embedded H2 databases.
+ * <p>
+ * Dealership 1 lives on the default shard, dealerships 2 and 3 on
+ * {@code north}, dealership 4 on {@code south}.
+ * </p>
+ */
+class ShardedDaoTest {
+
+    private ExecutorService executor;
+    private JdbcTemplate defaultJdbc;
+    private JdbcTemplate northJdbc;
+    private JdbcTemplate southJdbc;
+    private ShardRouter router;
+    private ReferenceDataCache referenceData;
+
+    @BeforeEach
+    void setUp() {
+        defaultJdbc = shardDatabase("default");
+        northJdbc = shardDatabase("north");
+        southJdbc = shardDatabase("south");
+        executor = Executors.newFixedThreadPool(3);
+        router = new ShardRouter(
+                new Shard("default", defaultJdbc, defaultJdbc, Set.of()),
+                List.of(new Shard("north", northJdbc, northJdbc, Set.of(2, 3)),
+                        new Shard("south", southJdbc, southJdbc, Set.of(4))),
+                executor);
+        referenceData = new ReferenceDataCache(new ReportCache(Map.of(), Duration.ofMinutes(10)),
+                new DealershipDao(defaultJdbc), new RoleDao(defaultJdbc));
+
+        defaultJdbc.update("INSERT INTO `user` VALUES (1, 1, 1, 'ana', 'x', 'Ana', 1)");
+        northJdbc.update("INSERT INTO `user` VALUES (2, 2, 2, 'bea', 'x', 'Bea', 1), (3, 3, 2, 'carl', 'x', 'Carl', 0)");
+        southJdbc.update("INSERT INTO `user` VALUES (4, 4, 2, 'dan', 'x', 'Dan', 1)");
+
+        defaultJdbc.update("INSERT INTO vehicle VALUES (10, 1, 'P10', 'Seat', 'Ibiza', 2020, 1000, 'SOLD'), "
+                + "(11, 1, 'P11', 'Seat', 'Leon', 2021, 500, 'AVAILABLE')");
+        northJdbc.update("INSERT INTO vehicle VALUES (20, 2, 'P20', 'Kia', 'Ceed', 2019, 9000, 'SOLD'), "
+                + "(21, 3, 'P21', 'Kia', 'Rio', 2022, 10, 'AVAILABLE')");
+        southJdbc.update("INSERT INTO vehicle VALUES (30, 4, 'P30', 'Fiat', '500', 2018, 40000, 'SOLD'), "
+                + "(31, 4, 'P31', 'Fiat', 'Panda', 2023, 5, 'AVAILABLE')");
+
+        defaultJdbc.update("INSERT INTO sale VALUES (100, 10, 1, 1000.00)");
+        northJdbc.update("INSERT INTO sale VALUES (200, 20, 2, 3000.00)");
+        southJdbc.update("INSERT INTO sale VALUES (300, 30, 4, 1500.00), (301, 31, 4, 1000.00)");
+
+        defaultJdbc.update("INSERT INTO repair_order VALUES (1000, 11, 'FINISHED', 100.00)");
+        northJdbc.update("INSERT INTO repair_order VALUES (2000, 21, 'FINISHED', 250.00), "
+                + "(2001, 21, 'OPEN', 999.00)");
+        southJdbc.update("INSERT INTO repair_order VALUES (3000, 31, 'FINISHED', 50.00)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void summaryAddsUpEveryShard() {
+        OwnerSummaryRow summary = new OwnerDao(router).getSummary();
+
+        assertEquals(4, summary.getSalesCount());
+        assertEquals(0, new BigDecimal("6500.00").compareTo(summary.getSalesTotal()));
+        assertEquals(3, summary.getRepairsCount());
+        assertEquals(0, new BigDecimal("400.00").compareTo(summary.getRepairsTotal()));
+        assertEquals(3, summary.getUnsoldStockCount());
+    }
+
+    @Test
+    void salesAndRepairRevenueAreMergedAndReordered() {
+        List<SalesByEmployeeRow> sales = new SalesDao(router, 100,
+                new StaticListableBeanFactory().getBeanProvider(ReplicaLagMonitor.class)).findSalesByEmployee();
+        assertEquals(List.of(2, 4, 1), sales.stream().map(SalesByEmployeeRow::getSellerUserId).toList());
+        assertEquals(2, sales.get(1).getSalesCount());
+
+        List<RepairRevenueRow> repairs = new RepairDao(router, 100).findRepairRevenueByDealership();
+        assertEquals(List.of(3, 1, 4), repairs.stream().map(RepairRevenueRow::getDealershipId).toList());
+    }
+
+    @Test
+    void exportedSalesAreMergedPerEmployeeAcrossShards() {
+        SalesDao salesDao = new SalesDao(router, 100,
+                new StaticListableBeanFactory().getBeanProvider(ReplicaLagMonitor.class));
+        List<String> exported = new ArrayList<>();
+        salesDao.streamSalesByEmployee(row -> exported.add(row.getSellerUserId() + ":" + row.getSalesCount()));
+
+        assertEquals(salesDao.findSalesByEmployee().stream()
+                .map(row -> row.getSellerUserId() + ":" + row.getSalesCount())
+                .toList(), exported);
+        assertEquals(3, exported.size(), "one row per employee");
+    }
+
+    @Test
+    void dealershipQueriesOnlyHitTheOwningShard() {
+        // A stray row on the default shard must not show up for a dealership that lives on north.
+        defaultJdbc.update("INSERT INTO vehicle VALUES (99, 3, 'P99', 'Stray', 'Row', 2000, 1, 'AVAILABLE')");
+        defaultJdbc.update("INSERT INTO `user` VALUES (99, 3, 1, 'stray', 'x', 'Stray', 1)");
+
+        List<VehicleStockRow> stock = new VehicleDao(router,
+                new StaticListableBeanFactory().getBeanProvider(ReplicaLagMonitor.class)).findUnsoldStock(3);
+        assertEquals(List.of(21), stock.stream().map(VehicleStockRow::getId).toList());
+
+        List<UserRow> users = ownerUserDao().findUsers(3, null, null);
+        assertEquals(List.of("carl"), users.stream().map(UserRow::getUsername).toList());
+
+        List<UserRow> everyone = ownerUserDao().findUsers(null, 2, Boolean.TRUE);
+        assertEquals(List.of("bea", "dan"), everyone.stream().map(UserRow::getUsername).toList());
+    }
+
+    @Test
+    void userNamesComeFromTheCachedDictionariesInsteadOfJoins() {
+        // Any join on north would now fail.
+        northJdbc.execute("DROP TABLE dealership");
+        northJdbc.execute("DROP TABLE role");
+
+        List<UserRow> users = ownerUserDao().findUsers(null, null, null);
+        assertEquals(List.of("Centro", "Norte", "Norte II", "Sur"),
+                users.stream().map(UserRow::getDealershipName).toList());
+        assertEquals(List.of("OWNER", "SALES", "SALES", "SALES"), users.stream().map(UserRow::getRoleName).toList());
+
+        // A dealership created after the dictionary was cached is picked up by reloading it.
+        defaultJdbc.update("INSERT INTO dealership VALUES (5, 'Este')");
+        defaultJdbc.update("INSERT INTO `user` VALUES (5, 5, 1, 'eva', 'x', 'Eva', 1)");
+        EnumSet<UserField> fields = UserField.parse("id,dealershipName");
+        assertEquals("Este", ownerUserDao().findUsers(5, null, null, fields).get(0).getDealershipName());
+
+        JsonMapper mapper = JsonMapper.builder().addModule(new JsonConfig().rowSerializersModule()).build();
+        Object compact = new OwnerManagementController(null, null, ownerUserDao(), referenceData)
+                .getUsers(null, 2, null, "id,dealershipName,roleName", "compact").getBody();
+        assertEquals("{\"dealerships\":[{\"id\":2,\"name\":\"Norte\"},"
+                        + "{\"id\":3,\"name\":\"Norte II\"},{\"id\":4,\"name\":\"Sur\"}],"
+                        + "\"roles\":[{\"id\":2,\"name\":\"SALES\"}],"
+                        + "\"users\":[{\"id\":2,\"dealershipId\":2,\"roleId\":2},"
+                        + "{\"id\":3,\"dealershipId\":3,\"roleId\":2},{\"id\":4,\"dealershipId\":4,\"roleId\":2}]}",
+                mapper.writeValueAsString(compact));
+    }
+
+    @Test
+    void usersWithAnUnknownDealershipAreLeftOutWithoutReloadingEveryListing() throws Exception {
+        defaultJdbc.update("INSERT INTO `user` VALUES (9, 9, 1, 'ghost', 'x', 'Ghost', 1)");
+        ReportCache cache = new ReportCache(Map.of(), Duration.ofMinutes(10));
+        referenceData = new ReferenceDataCache(cache, new DealershipDao(defaultJdbc), new RoleDao(defaultJdbc));
+
+        EnumSet<UserField> fields = UserField.parse("id,dealershipName");
+        for (int i = 0; i < 3; i++) {
+            assertEquals(List.of(1, 2, 3, 4),
+                    ownerUserDao().findUsers(null, null, null, fields).stream().map(UserRow::getId).toList());
+        }
+        assertEquals(2, cache.getMisses(), "one load, and one reload for the unknown dealership");
+
+        JsonMapper mapper = JsonMapper.builder().addModule(new JsonConfig().rowSerializersModule()).build();
+        Object compact = new OwnerManagementController(null, null, ownerUserDao(), referenceData)
+                .getUsers(null, 1, null, "id,dealershipName", "compact").getBody();
+        assertEquals("{\"dealerships\":[{\"id\":1,\"name\":\"Centro\"}],\"roles\":[],"
+                        + "\"users\":[{\"id\":1,\"dealershipId\":1}]}",
+                mapper.writeValueAsString(compact));
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void loginAndUsernameChecksSearchEveryShard() {
+        AuthDao authDao = new AuthDao(router);
+        assertEquals(4, authDao.findLoginUserByUsername("dan").orElseThrow().getDealershipId());
+        assertTrue(authDao.findLoginUserByUsername("carl").isEmpty());
+        assertTrue(ownerUserDao().existsUsername("bea"));
+        assertFalse(ownerUserDao().existsUsername("zoe"));
+    }
+
+    @Test
+    void newUsersAreWrittenToTheirDealershipShard() {
+        CreateUserRequest req = new CreateUserRequest();
+        req.setDealershipId(4);
+        req.setRoleId(2);
+        req.setUsername("eve");
+        req.setFullName("Eve");
+        req.setActive(true);
+
+        ownerUserDao().insertUser(req, "hash");
+
+        assertEquals(1, southJdbc.queryForObject("SELECT COUNT(*) FROM `user` WHERE username = 'eve'", Integer.class));
+        assertEquals(0, defaultJdbc.queryForObject("SELECT COUNT(*) FROM `user` WHERE username = 'eve'", Integer.class));
+    }
+
+    @Test
+    void aggregateFailsWhenAnyShardFails() {
+        southJdbc.execute("DROP TABLE repair_order");
+        assertThrows(BadSqlGrammarException.class, () -> new OwnerDao(router).getSummary());
+    }
+
+    @Test
+    void dealershipCannotBelongToTwoShards() {
+        assertThrows(IllegalStateException.class, () -> new ShardRouter(
+                new Shard("default", defaultJdbc, defaultJdbc, Set.of(1)),
+                List.of(new Shard("north", northJdbc, northJdbc, Set.of(1))),
+                executor));
+    }
+
+    private OwnerUserDao ownerUserDao() {
+        return new OwnerUserDao(router, referenceData,
+                new StaticListableBeanFactory().getBeanProvider(ReplicaLagMonitor.class));
+    }
+
+    private static JdbcTemplate shardDatabase(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:shard-" + name + ";MODE=MySQL;NON_KEYWORDS=YEAR,USER;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP ALL OBJECTS");
+        jdbc.execute("CREATE TABLE dealership (id INT PRIMARY KEY, name VARCHAR(50))");
+        jdbc.execute("CREATE TABLE role (id INT PRIMARY KEY, name VARCHAR(50))");
+        jdbc.execute("CREATE TABLE `user` (id INT AUTO_INCREMENT PRIMARY KEY, dealership_id INT, role_id INT, "
+                + "username VARCHAR(50), password_hash VARCHAR(100), full_name VARCHAR(100), is_active INT)");
+        jdbc.execute("CREATE TABLE vehicle (id INT PRIMARY KEY, current_dealership_id INT, plate VARCHAR(20), "
+                + "brand VARCHAR(50), model VARCHAR(50), year INT, mileage INT, status VARCHAR(20))");
+        jdbc.execute("CREATE TABLE sale (id INT PRIMARY KEY, vehicle_id INT, seller_user_id INT, price DECIMAL(12,2))");
+        jdbc.execute("CREATE TABLE repair_order (id INT PRIMARY KEY, vehicle_id INT, status VARCHAR(20), "
+                + "estimated_budget DECIMAL(12,2))");
+        jdbc.update("INSERT INTO dealership VALUES (1, 'Centro'), (2, 'Norte'), (3, 'Norte II'), (4, 'Sur')");
+        jdbc.update("INSERT INTO role VALUES (1, 'OWNER'), (2, 'SALES')");
+        return jdbc;
+    }
+}
@@ -0,0 +1,82 @@
+package dealership.api.strings;
+
+import dealership.api.model.CanonicalStringStatsRow;
+import dealership.api.model.VehicleStockRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the heap retained by a million-row stock snapshot with and without canonicalization.
+ * <p>
+ * Every row gets freshly allocated brand, model and status strings, as a
+ * JDBC driver decoding a result set would, drawn from vocabularies of the
+ * size found in a dealership group's stock. Plates are unique in both
+ * snapshots.
+ * Run with {@code mvn test -Dtest=StockSnapshotHeapBenchmarkTest -Dbenchmarks=true}.
+ * </p>
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class StockSnapshotHeapBenchmarkTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final String[] STATUSES = {"AVAILABLE", "RESERVED", "IN_REPAIR"};
+
+    @Test
+    void canonicalizedSnapshotRetainsLessHeap() {
+        long plain = retainedBytes(UnaryOperator.identity());
+
+        StringCanonicalizer brands = new StringCanonicalizer("vehicle.brand", 512);
+        StringCanonicalizer models = new StringCanonicalizer("vehicle.model", 4096);
+        StringCanonicalizer statuses = new StringCanonicalizer("vehicle.status", 64);
+        long canonical = retainedBytes(row -> {
+            row.setBrand(brands.canonicalize(row.getBrand()));
+            row.setModel(models.canonicalize(row.getModel()));
+            row.setStatus(statuses.canonicalize(row.getStatus()));
+            return row;
+        });
+
+        System.out.printf("stock snapshot of %d rows: plain %.1f MB, canonicalized %.1f MB (%.1f%% less)%n",
+                ROWS, plain / 1e6, canonical / 1e6, 100.0 * (plain - canonical) / plain);
+        long estimated = 0;
+        for (StringCanonicalizer pool : List.of(brands, models, statuses)) {
+            CanonicalStringStatsRow stats = pool.stats();
+            estimated += stats.getSavedBytes();
+            System.out.printf("  %-15s %5d entries, %8d hits, estimated %.1f MB saved%n",
+                    stats.getName(), stats.getEntries(), stats.getHits(), stats.getSavedBytes() / 1e6);
+        }
+        System.out.printf("  measured saving %.1f MB, estimated %.1f MB%n", (plain - canonical) / 1e6, estimated / 1e6);
+        assertTrue(canonical < plain, "canonical " + canonical + " >= plain " + plain);
+    }
+
+    private static long retainedBytes(UnaryOperator<VehicleStockRow> mapper) {
+        long before = usedHeap();
+        List<VehicleStockRow> snapshot = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            snapshot.add(mapper.apply(new VehicleStockRow(i, "PL-" + i,
+                    "Brand" + (i % 40),
+                    "Model " + (i % 40) + "-" + (i % 25),
+                    2000 + i % 25,
+                    i * 7,
+                    new String(STATUSES[i % STATUSES.length].toCharArray()))));
+        }
+        long retained = usedHeap() - before;
+        if (snapshot.size() != ROWS) {
+            throw new AssertionError();
+        }
+        return retained;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,43 @@
+package dealership.api.strings;
+
+import dealership.api.model.CanonicalStringStatsRow;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class StringCanonicalizerTest {
+
+    @Test
+    void equalValuesShareOneInstanceUntilThePoolIsFull() {
+        StringCanonicalizer pool = new StringCanonicalizer("brand", 2);
+
+        String seat = pool.canonicalize(new String("Seat"));
+        assertSame(seat, pool.canonicalize(new String("Seat")));
+        assertSame(seat, pool.canonicalize(new String("Seat")));
+        String kia = pool.canonicalize(new String("Kia"));
+        assertSame(kia, pool.canonicalize(new String("Kia")));
+
+        String fiat = new String("Fiat");
+        assertSame(fiat, pool.canonicalize(fiat));
+        assertSame(seat, pool.canonicalize(new String("Seat")));
+        assertNull(pool.canonicalize(null));
+
+        CanonicalStringStatsRow stats = pool.stats();
+        assertEquals("brand", stats.getName());
+        assertEquals(2, stats.getEntries());
+        assertEquals(4, stats.getHits());
+        assertEquals(2, stats.getMisses());
+        assertEquals(1, stats.getRejected());
+        // Three hits on "Seat" and one on "Kia": a 24-byte String plus a 24-byte array each.
+        assertEquals(4 * 48, stats.getSavedBytes());
+    }
+
+    @Test
+    void estimatesTwoBytesPerCharForNonLatin1Strings() {
+        assertEquals(24 + 24, StringCanonicalizer.retainedBytes("SOLD"));
+        assertEquals(24 + 24, StringCanonicalizer.retainedBytes("Citroën"));
+        assertEquals(24 + 32, StringCanonicalizer.retainedBytes("Škoda"));
+    }
+}
@@ -0,0 +1,216 @@
+package dealership.api.warmup;
+
+import com.zaxxer.hikari.HikariDataSource;
+import dealership.api.cache.ReferenceDataCache;
+import dealership.api.cache.ReportCache;
+import dealership.api.dao.AuthDao;
+import dealership.api.dao.DealershipDao;
+import dealership.api.dao.OwnerDao;
+import dealership.api.dao.OwnerUserDao;
+import dealership.api.dao.RepairDao;
+import dealership.api.dao.RoleDao;
+import dealership.api.dao.SalesDao;
+import dealership.api.dao.VehicleDao;
+import dealership.api.datasource.ReplicaLagMonitor;
+import dealership.api.model.VehicleStockRow;
+import dealership.api.shard.Shard;
+import dealership.api.shard.ShardRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WarmupRunnerTest {
+
+    private HikariDataSource pool;
+    private JdbcTemplate jdbc;
+    private ShardRouter router;
+    private final WarmupState state = new WarmupState();
+    private final AtomicInteger stockQueries = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:warmup;MODE=MySQL;NON_KEYWORDS=YEAR,USER;DB_CLOSE_DELAY=-1");
+        pool.setUsername("sa");
+        pool.setPassword("");
+        pool.setMinimumIdle(2);
+        pool.setMaximumPoolSize(2);
+        jdbc = new JdbcTemplate(pool);
+        jdbc.execute("DROP ALL OBJECTS");
+        jdbc.execute("CREATE TABLE dealership (id INT PRIMARY KEY, name VARCHAR(50))");
+        jdbc.execute("CREATE TABLE role (id INT PRIMARY KEY, name VARCHAR(50))");
+        jdbc.execute("CREATE TABLE `user` (id INT PRIMARY KEY, dealership_id INT, role_id INT, "
+                + "username VARCHAR(50), password_hash VARCHAR(100), full_name VARCHAR(100), is_active INT)");
+        jdbc.execute("CREATE TABLE vehicle (id INT PRIMARY KEY, current_dealership_id INT, plate VARCHAR(20), "
+                + "brand VARCHAR(50), model VARCHAR(50), year INT, mileage INT, status VARCHAR(20))");
+        jdbc.execute("CREATE TABLE sale (id INT PRIMARY KEY, vehicle_id INT, seller_user_id INT, price DECIMAL(12,2))");
+        jdbc.execute("CREATE TABLE repair_order (id INT PRIMARY KEY, vehicle_id INT, status VARCHAR(20), "
+                + "estimated_budget DECIMAL(12,2))");
+        jdbc.update("INSERT INTO dealership VALUES (1, 'Centro')");
+        jdbc.update("INSERT INTO role VALUES (1, 'OWNER')");
+        jdbc.update("INSERT INTO `user` VALUES (1, 1, 1, 'ana', 'x', 'Ana', 1)");
+        jdbc.update("INSERT INTO vehicle VALUES (1, 1, 'P1', 'Seat', 'Ibiza', 2020, 10, 'AVAILABLE')");
+        router = new ShardRouter(new Shard("default", jdbc, jdbc, Set.of()), List.of(), Runnable::run);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void warmUpRunsEveryIterationBeforeMarkingReady() {
+        WarmupRunner runner = runner(true, countingVehicleDao(null));
+        assertFalse(state.isReady());
+
+        runner.warmUp();
+
+        assertTrue(state.isReady());
+        assertEquals(3, stockQueries.get());
+        assertEquals(2, pool.getHikariPoolMXBean().getTotalConnections());
+    }
+
+    @Test
+    void failingQueriesAreSkippedAndTheInstanceStillBecomesReady() {
+        jdbc.execute("DROP TABLE sale");
+        WarmupRunner runner = runner(true, countingVehicleDao(null));
+
+        runner.warmUp();
+
+        assertTrue(state.isReady());
+        assertEquals(3, stockQueries.get(), "queries after the failing one still run");
+    }
+
+    @Test
+    void aFailedQueryIsNotRunAgain() {
+        WarmupRunner runner = runner(true, failingVehicleDao(new IllegalStateException("broken query")));
+
+        runner.warmUp();
+
+        assertTrue(state.isReady());
+        assertEquals(1, stockQueries.get());
+    }
+
+    @Test
+    void connectionFailureEndsTheWarmUp() {
+        WarmupRunner runner = runner(true, failingVehicleDao(new CannotGetJdbcConnectionException("database down")));
+
+        runner.warmUp();
+
+        assertTrue(state.isReady());
+        assertEquals(1, stockQueries.get());
+    }
+
+    @Test
+    void unreachableDatabaseSkipsTheQueries() {
+        WarmupRunner runner = runner(true, countingVehicleDao(null));
+        pool.close();
+
+        runner.warmUp();
+
+        assertTrue(state.isReady());
+        assertEquals(0, stockQueries.get());
+    }
+
+    @Test
+    void abortedWarmUpStillMarksReady() {
+        // A result that fails to serialize aborts the whole warm-up.
+        WarmupRunner runner = runner(true, countingVehicleDao(new Unserializable()));
+
+        runner.warmUp();
+
+        assertTrue(state.isReady());
+        assertEquals(1, stockQueries.get());
+    }
+
+    @Test
+    void warmUpRunsInTheBackgroundOnceTheApplicationIsReady() throws InterruptedException {
+        runner(true, countingVehicleDao(null)).onApplicationReady(null);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!state.isReady() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(state.isReady());
+        assertEquals(3, stockQueries.get());
+    }
+
+    @Test
+    void disabledWarmUpIsReadyImmediately() {
+        runner(false, countingVehicleDao(null)).onApplicationReady(null);
+
+        assertTrue(state.isReady());
+        assertEquals(0, stockQueries.get());
+    }
+
+    private WarmupRunner runner(boolean enabled, VehicleDao vehicleDao) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("dataSource", pool);
+        ReferenceDataCache referenceData = new ReferenceDataCache(new ReportCache(Map.of(), Duration.ofMinutes(1)),
+                new DealershipDao(jdbc), new RoleDao(jdbc));
+        return new WarmupRunner(vehicleDao,
+                new SalesDao(router, 100, beans.getBeanProvider(ReplicaLagMonitor.class)), new RepairDao(router, 100),
+                new OwnerDao(router), new RoleDao(jdbc), new DealershipDao(jdbc),
+                new OwnerUserDao(router, referenceData, beans.getBeanProvider(ReplicaLagMonitor.class)),
+                new AuthDao(router), JsonMapper.builder().build(), beans.getBeanProvider(HikariDataSource.class),
+                state, enabled, 3);
+    }
+
+    /**
+     * Counts stock queries, optionally appending a row that cannot be serialized.
+     */
+    private VehicleDao countingVehicleDao(Object extraRow) {
+        return new VehicleDao(router, new StaticListableBeanFactory().getBeanProvider(ReplicaLagMonitor.class)) {
+            @Override
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            public List<VehicleStockRow> findUnsoldStock() {
+                stockQueries.incrementAndGet();
+                List<VehicleStockRow> rows = super.findUnsoldStock();
+                if (extraRow == null) {
+                    return rows;
+                }
+                List mixed = new ArrayList<>(rows);
+                mixed.add(extraRow);
+                return mixed;
+            }
+        };
+    }
+
+    /**
+     * Counts stock queries, each failing with the given exception.
+     */
+    private VehicleDao failingVehicleDao(RuntimeException failure) {
+        return new VehicleDao(router, new StaticListableBeanFactory().getBeanProvider(ReplicaLagMonitor.class)) {
+            @Override
+            public List<VehicleStockRow> findUnsoldStock() {
+                stockQueries.incrementAndGet();
+                throw failure;
+            }
+        };
+    }
+
+    /**
+     * Row whose serialization always fails.
+     */
+    public static final class Unserializable {
+        public String getValue() {
+            throw new IllegalStateException("cannot serialize");
+        }
+    }
+}